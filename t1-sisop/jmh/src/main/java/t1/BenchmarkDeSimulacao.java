@@ -0,0 +1,85 @@
+package t1;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Simulação completa (iniciarEscalonamento) de cada motor. Além das execuções por segundo, o contador
+// auxiliar 'milissegundosSimulados' é reportado pelo JMH como ms simulados por segundo de relógio.
+// Com o Escalonador por ticks, cargas grandes demoram muito; use -p quantidade=... para incluí-las.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkDeSimulacao {
+
+    @Param({"10", "1000", "10000"})
+    int quantidade;
+
+    @Param({"CPU", "ES", "PRIORIDADES"})
+    FormaDeCarga forma;
+
+    @Param({"TICKS", "EVENTOS", "COMPACTO"})
+    String motor;
+
+    private List<Processo> processos;
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Contadores {
+        public long milissegundosSimulados;
+
+        @Setup(Level.Iteration)
+        public void zerar() {
+            milissegundosSimulados = 0;
+        }
+    }
+
+    // A carga é gerada de novo antes de cada execução, fora da medição
+    @Setup(Level.Invocation)
+    public void preparar() {
+        processos = forma.gerar(quantidade, false);
+    }
+
+    @Benchmark
+    public int iniciarEscalonamento(Contadores contadores) {
+        int tempo;
+        switch (motor) {
+            case "EVENTOS": {
+                MotorDeEventos m = new MotorDeEventos(processos, SaidaSilenciosa.INSTANCIA);
+                m.iniciarEscalonamento();
+                tempo = m.getTempo();
+                break;
+            }
+            case "COMPACTO": {
+                EscalonadorCompacto c = new EscalonadorCompacto(TabelaDeProcessos.de(processos));
+                c.iniciarEscalonamento();
+                tempo = c.getTempo();
+                break;
+            }
+            default: {
+                Escalonador e = new Escalonador(processos, SaidaSilenciosa.INSTANCIA);
+                e.iniciarEscalonamento();
+                tempo = e.getTempo();
+                break;
+            }
+        }
+        contadores.milissegundosSimulados += tempo;
+        return tempo;
+    }
+}
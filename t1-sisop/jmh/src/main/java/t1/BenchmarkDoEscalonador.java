@@ -0,0 +1,58 @@
+package t1;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Caminhos quentes do Escalonador em regime permanente (processos que nunca terminam). O
+// resultado de cada benchmark é em operações por segundo; 'decisao' é uma volta completa do laço
+// principal, ou seja, decisões de escalonamento por segundo.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkDoEscalonador {
+
+    @Param({"10", "1000", "100000", "1000000"})
+    int quantidade;
+
+    @Param({"CPU", "ES", "PRIORIDADES"})
+    FormaDeCarga forma;
+
+    private Escalonador escalonador;
+
+    // Recria o escalonador a cada iteração para o tempo simulado não crescer sem limite
+    @Setup(Level.Iteration)
+    public void preparar() {
+        escalonador = new Escalonador(forma.gerar(quantidade, true), SaidaSilenciosa.INSTANCIA);
+    }
+
+    @Benchmark
+    public Processo selecionarProcesso() {
+        return escalonador.selecionarProcesso();
+    }
+
+    @Benchmark
+    public void resetarCreditos() {
+        escalonador.resetarCreditos();
+    }
+
+    @Benchmark
+    public int decisao() {
+        escalonador.executarCiclo();
+        return escalonador.getTempo();
+    }
+}
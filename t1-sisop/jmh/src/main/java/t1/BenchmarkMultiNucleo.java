@@ -0,0 +1,66 @@
+package t1;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Simulação completa do EscalonadorMultiNucleo saltando de evento em evento (SALTOS) contra a
+// mesma simulação andando de 1 em 1ms (PASSOS), que é o que acontece quando a saída pede
+// CPU_EXECUTADA. A saída dos PASSOS aceita e descarta tudo, então a diferença é só o avanço do tempo.
+// Nas cargas de surtos curtos quase todo ms tem um evento e os dois empatam; o ganho aparece em LONGOS,
+// maior quanto menos núcleos (com muitos núcleos algum surto termina a quase todo ms).
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkMultiNucleo {
+
+    @Param({"1000", "10000"})
+    int quantidade;
+
+    @Param({"CPU", "ES", "PRIORIDADES", "LONGOS"})
+    FormaDeCarga forma;
+
+    @Param({"4", "16", "64"})
+    int nucleos;
+
+    @Param({"SALTOS", "PASSOS"})
+    String avanco;
+
+    private List<Processo> processos;
+
+    // Aceita todos os eventos (o escalonador anda de 1 em 1ms) e não faz nada com eles
+    private static final class SaidaQueDescarta implements SaidaDoEscalonador {
+        @Override
+        public void registrar(TipoDeEvento tipo, int tempo, Processo p) {
+        }
+    }
+
+    // A carga é gerada de novo antes de cada execução, fora da medição
+    @Setup(Level.Invocation)
+    public void preparar() {
+        processos = forma.gerar(quantidade, false);
+    }
+
+    @Benchmark
+    public int iniciarEscalonamento() {
+        SaidaDoEscalonador saida = avanco.equals("PASSOS") ? new SaidaQueDescarta() : SaidaSilenciosa.INSTANCIA;
+        EscalonadorMultiNucleo escalonador = new EscalonadorMultiNucleo(processos, nucleos, saida);
+        escalonador.iniciarEscalonamento();
+        return escalonador.getTempo();
+    }
+}
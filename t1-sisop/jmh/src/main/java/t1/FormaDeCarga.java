@@ -0,0 +1,55 @@
+package t1;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Formatos de carga usados nos benchmarks, sempre com a mesma semente para serem comparáveis
+// entre versões
+public enum FormaDeCarga {
+    // Surtos longos, sem E/S e prioridades parecidas
+    CPU,
+    // Surtos curtos seguidos de E/S longa: a maior parte dos processos fica bloqueada
+    ES,
+    // Mistura de E/S e CPU com prioridades muito diferentes (baldes de créditos espalhados)
+    PRIORIDADES,
+    // Surtos longos com créditos para o surto inteiro: poucos eventos por ms simulado
+    LONGOS;
+
+    // Gera os processos; com 'infinitos' o tempo total de CPU é tão grande que nenhum termina,
+    // deixando o escalonador em regime permanente para medir decisões isoladas
+    public List<Processo> gerar(int quantidade, boolean infinitos) {
+        Random random = new Random(42);
+        List<Processo> processos = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            int surto;
+            int es;
+            int prioridade;
+            switch (this) {
+                case CPU:
+                    surto = 2 + random.nextInt(7);
+                    es = 0;
+                    prioridade = 3 + random.nextInt(3);
+                    break;
+                case ES:
+                    surto = 1 + random.nextInt(3);
+                    es = 5 + random.nextInt(46);
+                    prioridade = 3 + random.nextInt(3);
+                    break;
+                case LONGOS:
+                    surto = 50 + random.nextInt(151);
+                    es = random.nextInt(21);
+                    prioridade = 100 + random.nextInt(101);
+                    break;
+                default:
+                    surto = 1 + random.nextInt(6);
+                    es = random.nextBoolean() ? 0 : random.nextInt(21);
+                    prioridade = 1 + random.nextInt(32);
+                    break;
+            }
+            int total = infinitos ? Integer.MAX_VALUE / 2 : this == LONGOS ? 500 + random.nextInt(1501) : 20 + random.nextInt(61);
+            processos.add(new Processo("P" + i, surto, es, total, prioridade, random.nextInt(quantidade)));
+        }
+        return processos;
+    }
+}
@@ -0,0 +1,330 @@
+package t1;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// Cache dos resultados de simulações completas do Escalonador. O escalonador é determinístico,
+// então o resultado depende só dos parâmetros dos processos (na ordem da lista), da política e da
+// versão dos resultados (Escalonador.VERSAO_DOS_RESULTADOS). A chave é o SHA-256 da descrição
+// canônica dos processos e da política; a versão fica fora dela, no cabeçalho do arquivo, para que
+// a mesma carga numa versão nova caia no mesmo arquivo e o substitua. Cada entrada guarda o estado
+// final de cada processo e o tempo final.
+//
+// Há dois níveis: uma LRU em memória e, opcionalmente, um diretório com um arquivo por chave, lido
+// por mapeamento em memória (e promovido para a LRU). Num acerto a simulação não roda: os processos
+// recebem o estado final guardado e a saída recebe os PROCESSO_FINALIZADO e o
+// ESCALONAMENTO_CONCLUIDO, que bastam para o ColetorDeMetricas calcular as mesmas métricas. Por
+// isso o cache só é usado quando a saída não aceita nenhum outro evento; caso contrário, simula.
+//
+// Formato do arquivo (big-endian): MAGICO, FORMATO, versão dos resultados, a chave (32 bytes),
+// tempo final, quantidade; por processo: estado (1 byte), créditos, CPU restante, tempo de início,
+// turnaround e bloqueios. Arquivos de outra versão (ou com conteúdo inválido) são apagados quando
+// encontrados, e o resultado novo é gravado no lugar.
+public final class CacheDeResultados {
+
+    public static final int MAGICO = 0x52534C54; // "RSLT"
+    public static final int FORMATO = 1;
+    private static final int TAMANHO_DA_CHAVE = 32;
+    private static final int CABECALHO = 5 * Integer.BYTES + TAMANHO_DA_CHAVE;
+    private static final int CAMPOS = 5;
+    private static final int REGISTRO = 1 + CAMPOS * Integer.BYTES;
+    private static final EstadoProcesso[] ESTADOS = EstadoProcesso.values();
+
+    private final Map<String, Entrada> memoria;
+    private final Path diretorio;
+    private final int versao;
+    private final LongAdder acertosNaMemoria = new LongAdder();
+    private final LongAdder acertosNoDisco = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+
+    public CacheDeResultados(int capacidadeEmMemoria) {
+        this(capacidadeEmMemoria, null);
+    }
+
+    // Com 'diretorio' diferente de null, os resultados também ficam em disco entre execuções
+    public CacheDeResultados(int capacidadeEmMemoria, Path diretorio) {
+        this(capacidadeEmMemoria, diretorio, Escalonador.VERSAO_DOS_RESULTADOS);
+    }
+
+    // Com uma versão dos resultados explícita, para simular a troca de versão do escalonador
+    public CacheDeResultados(int capacidadeEmMemoria, Path diretorio, int versao) {
+        if (capacidadeEmMemoria < 1) {
+            throw new IllegalArgumentException("O cache precisa guardar pelo menos um resultado em memória.");
+        }
+        this.memoria = new LinkedHashMap<String, Entrada>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entrada> maisAntiga) {
+                return size() > capacidadeEmMemoria;
+            }
+        };
+        this.diretorio = diretorio;
+        this.versao = versao;
+        if (diretorio != null) {
+            try {
+                Files.createDirectories(diretorio);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    // Executa o escalonamento dos processos com a política (null é a de créditos) até o fim, como
+    // iniciarEscalonamento, ou aplica o resultado guardado. Processos com chegada são admitidos
+    // por chegada, como no construtor do Escalonador que recebe um Iterator. Retorna o tempo final
+    public int simular(List<Processo> processos, String politica, SaidaDoEscalonador saida) {
+        String nomeDaPolitica = politica == null ? "CREDITOS" : politica.toUpperCase();
+        PoliticaDeEscalonamento escolhida = PoliticaDeEscalonamento.porNome(nomeDaPolitica);
+        if (!podeUsarCache(processos, saida)) {
+            return executar(processos, escolhida, saida);
+        }
+
+        byte[] chave = chave(processos, nomeDaPolitica);
+        String nome = hexadecimal(chave);
+        Entrada entrada;
+        synchronized (memoria) {
+            entrada = memoria.get(nome);
+        }
+        if (entrada != null) {
+            acertosNaMemoria.increment();
+        } else if ((entrada = lerDoDisco(nome, chave, processos.size())) != null) {
+            acertosNoDisco.increment();
+            guardarNaMemoria(nome, entrada);
+        }
+        if (entrada != null) {
+            entrada.aplicar(processos, saida);
+            return entrada.tempoFinal;
+        }
+
+        falhas.increment();
+        int tempoFinal = executar(processos, escolhida, saida);
+        entrada = Entrada.capturar(processos, tempoFinal);
+        guardarNaMemoria(nome, entrada);
+        gravarNoDisco(nome, chave, entrada);
+        return tempoFinal;
+    }
+
+    public long getAcertosNaMemoria() {
+        return acertosNaMemoria.sum();
+    }
+
+    public long getAcertosNoDisco() {
+        return acertosNoDisco.sum();
+    }
+
+    public long getFalhas() {
+        return falhas.sum();
+    }
+
+    private static int executar(List<Processo> processos, PoliticaDeEscalonamento politica, SaidaDoEscalonador saida) {
+        boolean comChegadas = false;
+        for (Processo p : processos) {
+            comChegadas |= p.getChegada() > 0;
+        }
+        Escalonador escalonador = comChegadas
+                ? new Escalonador(processos.iterator(), saida, politica)
+                : new Escalonador(processos, saida, politica);
+        escalonador.iniciarEscalonamento();
+        return escalonador.getTempo();
+    }
+
+    // Só processos ainda não escalonados, numa saída que o acerto consegue reproduzir
+    private static boolean podeUsarCache(List<Processo> processos, SaidaDoEscalonador saida) {
+        for (TipoDeEvento tipo : TipoDeEvento.values()) {
+            if (tipo != TipoDeEvento.PROCESSO_FINALIZADO && tipo != TipoDeEvento.ESCALONAMENTO_CONCLUIDO && saida.aceita(tipo)) {
+                return false;
+            }
+        }
+        for (Processo p : processos) {
+            if (p.getEstado() != EstadoProcesso.PRONTO || p.observador != null || p.getTempoDeInicio() != 0
+                    || p.getTurnaroundTime() != 0 || p.getBloqueios() != 0
+                    || p.getTempoTotalCpu() != p.getTempoTotalCpuInicial() || p.getCreditos() != p.getPrioridade()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // SHA-256 da política e dos parâmetros de cada processo, na ordem
+    static byte[] chave(List<Processo> processos, String politica) {
+        MessageDigest sha;
+        try {
+            sha = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível.", e);
+        }
+        ByteBuffer campos = ByteBuffer.allocate(6 * Integer.BYTES);
+        campos.putInt(processos.size());
+        sha.update(campos.array(), 0, campos.position());
+        atualizar(sha, campos, politica.getBytes(StandardCharsets.UTF_8));
+        for (Processo p : processos) {
+            atualizar(sha, campos, p.getNome().getBytes(StandardCharsets.UTF_8));
+            campos.clear();
+            campos.putInt(p.getSurtoCpu()).putInt(p.getTempoES()).putInt(p.getTempoTotalCpuInicial())
+                    .putInt(p.getPrioridade()).putInt(p.getOrdem()).putInt(p.getChegada());
+            sha.update(campos.array(), 0, campos.position());
+        }
+        return sha.digest();
+    }
+
+    // Bytes de tamanho variável vão precedidos do tamanho, para a descrição não ser ambígua
+    private static void atualizar(MessageDigest sha, ByteBuffer campos, byte[] bytes) {
+        campos.clear();
+        campos.putInt(bytes.length);
+        sha.update(campos.array(), 0, Integer.BYTES);
+        sha.update(bytes);
+    }
+
+    private static String hexadecimal(byte[] bytes) {
+        StringBuilder texto = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            texto.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return texto.toString();
+    }
+
+    private void guardarNaMemoria(String nome, Entrada entrada) {
+        synchronized (memoria) {
+            memoria.put(nome, entrada);
+        }
+    }
+
+    private Entrada lerDoDisco(String nome, byte[] chave, int quantidade) {
+        if (diretorio == null) {
+            return null;
+        }
+        Path arquivo = diretorio.resolve(nome + ".res");
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            long tamanho = canal.size();
+            if (tamanho < CABECALHO) {
+                return invalido(arquivo);
+            }
+            MappedByteBuffer dados = canal.map(FileChannel.MapMode.READ_ONLY, 0, tamanho);
+            if (dados.getInt() != MAGICO || dados.getInt() != FORMATO || dados.getInt() != versao) {
+                return invalido(arquivo);
+            }
+            byte[] chaveGravada = new byte[TAMANHO_DA_CHAVE];
+            dados.get(chaveGravada);
+            if (!Arrays.equals(chaveGravada, chave)) {
+                return invalido(arquivo);
+            }
+            int tempoFinal = dados.getInt();
+            if (dados.getInt() != quantidade || tamanho != CABECALHO + (long) quantidade * REGISTRO) {
+                return invalido(arquivo);
+            }
+            Entrada entrada = new Entrada(tempoFinal, quantidade);
+            for (int i = 0; i < quantidade; i++) {
+                byte estado = dados.get();
+                if (estado < 0 || estado >= ESTADOS.length) {
+                    return invalido(arquivo);
+                }
+                entrada.estados[i] = estado;
+                for (int c = 0; c < CAMPOS; c++) {
+                    entrada.campos[i * CAMPOS + c] = dados.getInt();
+                }
+            }
+            return entrada;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Arquivo de outra versão (ou corrompido): não serve mais e é apagado (o chamador trata como falha)
+    private static Entrada invalido(Path arquivo) throws IOException {
+        Files.deleteIfExists(arquivo);
+        return null;
+    }
+
+    // Escreve num temporário único e troca de uma vez, então leitores nunca veem um arquivo pela metade
+    private void gravarNoDisco(String nome, byte[] chave, Entrada entrada) {
+        if (diretorio == null) {
+            return;
+        }
+        int quantidade = entrada.estados.length;
+        ByteBuffer dados = ByteBuffer.allocate(CABECALHO + quantidade * REGISTRO);
+        dados.putInt(MAGICO).putInt(FORMATO).putInt(versao).put(chave)
+                .putInt(entrada.tempoFinal).putInt(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            dados.put(entrada.estados[i]);
+            for (int c = 0; c < CAMPOS; c++) {
+                dados.putInt(entrada.campos[i * CAMPOS + c]);
+            }
+        }
+        dados.flip();
+        try {
+            Path temporario = Files.createTempFile(diretorio, nome, ".tmp");
+            try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.WRITE)) {
+                while (dados.hasRemaining()) {
+                    canal.write(dados);
+                }
+            }
+            Files.move(temporario, diretorio.resolve(nome + ".res"), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Estado final de cada processo de uma simulação, em vetores paralelos à lista de processos
+    private static final class Entrada {
+        final int tempoFinal;
+        final byte[] estados;
+        final int[] campos; // Créditos, CPU restante, início, turnaround e bloqueios de cada processo
+
+        Entrada(int tempoFinal, int quantidade) {
+            this.tempoFinal = tempoFinal;
+            this.estados = new byte[quantidade];
+            this.campos = new int[quantidade * CAMPOS];
+        }
+
+        static Entrada capturar(List<Processo> processos, int tempoFinal) {
+            Entrada entrada = new Entrada(tempoFinal, processos.size());
+            for (int i = 0; i < processos.size(); i++) {
+                Processo p = processos.get(i);
+                entrada.estados[i] = (byte) p.getEstado().ordinal();
+                int base = i * CAMPOS;
+                entrada.campos[base] = p.getCreditos();
+                entrada.campos[base + 1] = p.getTempoTotalCpu();
+                entrada.campos[base + 2] = p.getTempoDeInicio();
+                entrada.campos[base + 3] = p.getTurnaroundTime();
+                entrada.campos[base + 4] = p.getBloqueios();
+            }
+            return entrada;
+        }
+
+        // Deixa os processos no estado final e publica os términos, em ordem de término
+        void aplicar(List<Processo> processos, SaidaDoEscalonador saida) {
+            List<Processo> finalizados = new ArrayList<>();
+            for (int i = 0; i < processos.size(); i++) {
+                Processo p = processos.get(i);
+                int base = i * CAMPOS;
+                p.restaurar(campos[base], campos[base + 1], ESTADOS[estados[i]], campos[base + 2], campos[base + 3], campos[base + 4]);
+                if (p.getEstado() == EstadoProcesso.FINALIZADO) {
+                    finalizados.add(p);
+                }
+            }
+            finalizados.sort((a, b) -> Integer.compare(a.getTempoDeInicio() + a.getTurnaroundTime(), b.getTempoDeInicio() + b.getTurnaroundTime()));
+            for (Processo p : finalizados) {
+                saida.registrar(TipoDeEvento.PROCESSO_FINALIZADO, p.getTempoDeInicio() + p.getTurnaroundTime(), p);
+            }
+            saida.registrar(TipoDeEvento.ESCALONAMENTO_CONCLUIDO, tempoFinal, null);
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package t1;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Carrega cargas de trabalho (definições de processos) direto para uma TabelaDeProcessos.
+// Os arquivos são mapeados em memória em janelas de até 1GB e lidos byte a byte, sem criar
+// Strings por linha: os números são convertidos à mão e o nome é copiado como bytes para a tabela.
+//
+// Formato CSV: uma linha por processo com nome,surtoCpu,tempoES,tempoTotalCpu,prioridade,ordem.
+// Linhas vazias e linhas começando com '#' são ignoradas, assim como um cabeçalho antes do
+// primeiro processo, desde que seja exatamente a lista de COLUNAS (sem diferenciar maiúsculas).
+//
+// Formato binário (big-endian): cabeçalho com MAGICO, VERSAO, quantidade de registros e largura
+// do nome; depois registros de tamanho fixo com o nome em UTF-8 (completado com zeros) e os cinco
+// campos inteiros na ordem do construtor do Processo.
+public final class CarregadorDeCarga {
+
+    public static final int MAGICO = 0x50524F43; // "PROC"
+    public static final int VERSAO = 1;
+    public static final int LARGURA_DO_NOME = 16;
+    public static final String[] COLUNAS = {"nome", "surtoCpu", "tempoES", "tempoTotalCpu", "prioridade", "ordem"};
+    private static final int CABECALHO = 16;
+    private static final long JANELA = 1L << 30;
+
+    private CarregadorDeCarga() {
+    }
+
+    // Escolhe o formato pelo conteúdo: binário só se o cabeçalho inteiro for válido (número
+    // mágico, versão e uma quantidade de registros que bate exatamente com o tamanho do arquivo),
+    // CSV caso contrário. Um CSV cujo primeiro nome comece com "PROC" não passa nessa conferência
+    public static TabelaDeProcessos carregar(Path arquivo) throws IOException {
+        return carregar(arquivo, 0, 1);
+    }
+
+    // Só uma partição do arquivo: o registro i (na ordem do arquivo) fica na partição i % particoes.
+    // Cada trabalhador do CoordenadorDistribuido carrega assim só a sua parte, sem que alguma JVM
+    // precise da carga inteira na memória. O arquivo todo continua sendo validado
+    public static TabelaDeProcessos carregar(Path arquivo, int particao, int particoes) throws IOException {
+        if (particoes < 1 || particao < 0 || particao >= particoes) {
+            throw new IllegalArgumentException("Partição " + particao + " inválida para " + particoes + " partições.");
+        }
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            return ehBinario(canal) ? carregarBinario(canal, particao, particoes) : carregarCsv(canal, particao, particoes);
+        }
+    }
+
+    private static boolean ehBinario(FileChannel canal) throws IOException {
+        long tamanho = canal.size();
+        if (tamanho < CABECALHO) {
+            return false;
+        }
+        ByteBuffer cabecalho = ByteBuffer.allocate(CABECALHO);
+        canal.read(cabecalho, 0);
+        int quantidade = cabecalho.getInt(8);
+        int larguraDoNome = cabecalho.getInt(12);
+        return cabecalho.getInt(0) == MAGICO && cabecalho.getInt(4) == VERSAO && quantidade >= 0 && larguraDoNome > 0
+                && CABECALHO + (long) quantidade * (larguraDoNome + 5 * Integer.BYTES) == tamanho;
+    }
+
+    public static TabelaDeProcessos carregarCsv(Path arquivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            return carregarCsv(canal, 0, 1);
+        }
+    }
+
+    public static TabelaDeProcessos carregarBinario(Path arquivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            return carregarBinario(canal, 0, 1);
+        }
+    }
+
+    private static TabelaDeProcessos carregarCsv(FileChannel canal, int particao, int particoes) throws IOException {
+        long tamanho = canal.size();
+        // Estimativa de ~24 bytes por linha (limitada) para evitar muitos crescimentos da tabela
+        TabelaDeProcessos tabela = new TabelaDeProcessos((int) Math.min(1 << 22, Math.max(16, tamanho / 24 / particoes)));
+        LeitorCsv leitor = new LeitorCsv(tabela, particao, particoes);
+        long posicao = 0;
+        while (posicao < tamanho) {
+            long comprimento = Math.min(JANELA, tamanho - posicao);
+            MappedByteBuffer janela = canal.map(FileChannel.MapMode.READ_ONLY, posicao, comprimento);
+            boolean ultima = posicao + comprimento == tamanho;
+            int consumido = leitor.lerLinhas(janela, ultima);
+            if (consumido == 0 && !ultima) {
+                throw new IllegalArgumentException("Linha " + leitor.linha + " maior que " + JANELA + " bytes.");
+            }
+            // A próxima janela começa na linha que ficou incompleta
+            posicao += consumido;
+            if (ultima) {
+                break;
+            }
+        }
+        return tabela;
+    }
+
+    private static TabelaDeProcessos carregarBinario(FileChannel canal, int particao, int particoes) throws IOException {
+        long tamanho = canal.size();
+        if (tamanho < CABECALHO) {
+            throw new IllegalArgumentException("Arquivo binário sem cabeçalho completo.");
+        }
+        ByteBuffer cabecalho = ByteBuffer.allocate(CABECALHO);
+        canal.read(cabecalho, 0);
+        if (cabecalho.getInt(0) != MAGICO || cabecalho.getInt(4) != VERSAO) {
+            throw new IllegalArgumentException("Arquivo binário com cabeçalho ou versão inválidos.");
+        }
+        int quantidade = cabecalho.getInt(8);
+        int larguraDoNome = cabecalho.getInt(12);
+        int registro = larguraDoNome + 5 * Integer.BYTES;
+        if (quantidade < 0 || larguraDoNome <= 0 || CABECALHO + (long) quantidade * registro > tamanho) {
+            throw new IllegalArgumentException("Arquivo binário truncado: esperava " + quantidade + " registros.");
+        }
+
+        TabelaDeProcessos tabela = new TabelaDeProcessos((quantidade - particao + particoes - 1) / particoes);
+        byte[] nome = new byte[larguraDoNome];
+        long porJanela = JANELA / registro;
+        long lidos = 0;
+        while (lidos < quantidade) {
+            long nestaJanela = Math.min(porJanela, quantidade - lidos);
+            MappedByteBuffer janela = canal.map(FileChannel.MapMode.READ_ONLY, CABECALHO + lidos * registro, nestaJanela * registro);
+            for (long r = 0; r < nestaJanela; r++) {
+                if ((lidos + r) % particoes != particao) {
+                    janela.position(janela.position() + registro);
+                    continue;
+                }
+                janela.get(nome);
+                int comprimento = 0;
+                while (comprimento < larguraDoNome && nome[comprimento] != 0) {
+                    comprimento++;
+                }
+                tabela.adicionar(nome, 0, comprimento, janela.getInt(), janela.getInt(), janela.getInt(), janela.getInt(), janela.getInt());
+            }
+            lidos += nestaJanela;
+        }
+        return tabela;
+    }
+
+    // Grava a tabela no formato binário (útil para converter um CSV grande uma única vez)
+    public static void gravarBinario(TabelaDeProcessos tabela, Path arquivo) throws IOException {
+        int registro = LARGURA_DO_NOME + 5 * Integer.BYTES;
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(Math.max(CABECALHO, registro) * 4096);
+            buffer.putInt(MAGICO).putInt(VERSAO).putInt(tabela.tamanho()).putInt(LARGURA_DO_NOME);
+            for (int i = 0; i < tabela.tamanho(); i++) {
+                if (buffer.remaining() < registro) {
+                    escrever(canal, buffer);
+                }
+                byte[] nome = tabela.nome(i).getBytes(StandardCharsets.UTF_8);
+                if (nome.length > LARGURA_DO_NOME) {
+                    throw new IllegalArgumentException("Nome do processo " + i + " tem mais de " + LARGURA_DO_NOME + " bytes.");
+                }
+                buffer.put(nome);
+                for (int k = nome.length; k < LARGURA_DO_NOME; k++) {
+                    buffer.put((byte) 0);
+                }
+                buffer.putInt(tabela.surtoCpu[i]).putInt(tabela.tempoES[i]).putInt(tabela.cpuTotal[i])
+                        .putInt(tabela.prioridade[i]).putInt(tabela.ordem[i]);
+            }
+            escrever(canal, buffer);
+        }
+    }
+
+    private static void escrever(FileChannel canal, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            canal.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    // Estado da leitura de CSV entre janelas: número da linha e vetor reaproveitado para os campos
+    private static final class LeitorCsv {
+        final TabelaDeProcessos tabela;
+        final int particao;
+        final int particoes;
+        final int[] campos = new int[5];
+        long linha;
+        long registros;
+        boolean cabecalhoPermitido = true; // Só antes da primeira linha com conteúdo
+
+        LeitorCsv(TabelaDeProcessos tabela, int particao, int particoes) {
+            this.tabela = tabela;
+            this.particao = particao;
+            this.particoes = particoes;
+        }
+
+        // Lê todas as linhas completas da janela e retorna quantos bytes foram consumidos
+        int lerLinhas(MappedByteBuffer janela, boolean ultima) {
+            int limite = janela.limit();
+            int inicio = 0;
+            while (inicio < limite) {
+                int fim = inicio;
+                while (fim < limite && janela.get(fim) != '\n') {
+                    fim++;
+                }
+                if (fim == limite && !ultima) {
+                    break; // Linha incompleta: fica para a próxima janela
+                }
+                linha++;
+                lerLinha(janela, inicio, fim);
+                inicio = fim + 1;
+            }
+            return Math.min(inicio, limite);
+        }
+
+        private void lerLinha(MappedByteBuffer janela, int inicio, int fim) {
+            if (fim > inicio && janela.get(fim - 1) == '\r') {
+                fim--;
+            }
+            while (inicio < fim && janela.get(inicio) == ' ') {
+                inicio++;
+            }
+            if (inicio == fim || janela.get(inicio) == '#') {
+                return;
+            }
+            if (cabecalhoPermitido) {
+                cabecalhoPermitido = false;
+                if (ehCabecalho(janela, inicio, fim)) {
+                    return;
+                }
+            }
+            int virgula = inicio;
+            while (virgula < fim && janela.get(virgula) != ',') {
+                virgula++;
+            }
+            int fimDoNome = virgula;
+            while (fimDoNome > inicio && janela.get(fimDoNome - 1) == ' ') {
+                fimDoNome--;
+            }
+
+            int p = virgula;
+            for (int c = 0; c < campos.length; c++) {
+                if (p >= fim) {
+                    throw new IllegalArgumentException("Linha " + linha + ": esperava 6 campos.");
+                }
+                p++; // Pula a vírgula
+                while (p < fim && janela.get(p) == ' ') {
+                    p++;
+                }
+                boolean negativo = p < fim && janela.get(p) == '-';
+                if (negativo) {
+                    p++;
+                }
+                int inicioDoNumero = p;
+                long valor = 0;
+                while (p < fim && janela.get(p) >= '0' && janela.get(p) <= '9') {
+                    valor = valor * 10 + (janela.get(p++) - '0');
+                    if (valor > Integer.MAX_VALUE) {
+                        throw new IllegalArgumentException("Linha " + linha + ": número fora do intervalo de int.");
+                    }
+                }
+                while (p < fim && janela.get(p) == ' ') {
+                    p++;
+                }
+                if (p == inicioDoNumero || (p < fim && janela.get(p) != ',')) {
+                    throw new IllegalArgumentException("Linha " + linha + ": campo " + (c + 2) + " não é um número.");
+                }
+                campos[c] = (int) (negativo ? -valor : valor);
+            }
+            if (p < fim) {
+                throw new IllegalArgumentException("Linha " + linha + ": campos demais.");
+            }
+            if (registros++ % particoes == particao) {
+                tabela.adicionarDe(janela, inicio, fimDoNome - inicio, campos[0], campos[1], campos[2], campos[3], campos[4]);
+            }
+        }
+
+        // A linha é exatamente COLUNAS separadas por vírgula (com espaços em volta, sem diferenciar
+        // maiúsculas)?
+        private static boolean ehCabecalho(MappedByteBuffer janela, int inicio, int fim) {
+            int p = inicio;
+            for (int c = 0; c < COLUNAS.length; c++) {
+                if (c > 0) {
+                    if (p >= fim || janela.get(p) != ',') {
+                        return false;
+                    }
+                    p++;
+                }
+                while (p < fim && janela.get(p) == ' ') {
+                    p++;
+                }
+                String coluna = COLUNAS[c];
+                for (int k = 0; k < coluna.length(); k++, p++) {
+                    if (p >= fim || Character.toLowerCase((char) janela.get(p)) != Character.toLowerCase(coluna.charAt(k))) {
+                        return false;
+                    }
+                }
+                while (p < fim && janela.get(p) == ' ') {
+                    p++;
+                }
+            }
+            return p == fim;
+        }
+    }
+}
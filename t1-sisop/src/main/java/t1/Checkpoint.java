@@ -0,0 +1,116 @@
+package t1;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+// Retrato binário completo de um Escalonador entre duas voltas do laço principal: o tempo global,
+// a definição de cada processo (para retomar sem o arquivo de carga original) e o seu estado
+// dinâmico, incluindo o instante em que os bloqueados acordam. O arquivo é escrito num temporário
+// e movido por cima do anterior, então uma queda no meio da escrita mantém o retrato anterior.
+//
+// Formato (big-endian): MAGICO, VERSAO, tempo, quantidade; por processo: tamanho do nome, nome em
+// UTF-8, surtoCpu, tempoES, tempoTotalCpuInicial, prioridade, ordem, créditos, CPU restante,
+// estado (1 byte), tempo de início, turnaround, bloqueios e instante de despertar (0 se não
+// estiver esperando E/S).
+public final class Checkpoint {
+
+    public static final int MAGICO = 0x434B5054; // "CKPT"
+    public static final int VERSAO = 2;
+    private static final int CABECALHO = 4 * Integer.BYTES;
+    private static final int CAMPOS_POR_PROCESSO = 13 * Integer.BYTES + 1;
+    private static final EstadoProcesso[] ESTADOS = EstadoProcesso.values();
+
+    private Checkpoint() {
+    }
+
+    // Grava o estado atual do escalonador (na thread atual)
+    public static void salvar(Escalonador escalonador, Path arquivo) throws IOException {
+        gravar(capturar(escalonador, null), arquivo);
+    }
+
+    // Lê um retrato e monta um escalonador pronto para continuar com iniciarEscalonamento
+    public static Escalonador retomar(Path arquivo, SaidaDoEscalonador saida) throws IOException {
+        ByteBuffer dados = ByteBuffer.wrap(Files.readAllBytes(arquivo));
+        if (dados.remaining() < CABECALHO || dados.getInt() != MAGICO || dados.getInt() != VERSAO) {
+            throw new IllegalArgumentException("O arquivo " + arquivo + " não é um checkpoint do escalonador.");
+        }
+        int tempo = dados.getInt();
+        int quantidade = dados.getInt();
+        List<Processo> processos = new ArrayList<>(quantidade);
+        int[] despertares = new int[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            byte[] nome = new byte[dados.getInt()];
+            dados.get(nome);
+            Processo p = new Processo(new String(nome, StandardCharsets.UTF_8),
+                    dados.getInt(), dados.getInt(), dados.getInt(), dados.getInt(), dados.getInt());
+            int creditos = dados.getInt();
+            int cpu = dados.getInt();
+            EstadoProcesso estado = ESTADOS[dados.get()];
+            p.restaurar(creditos, cpu, estado, dados.getInt(), dados.getInt(), dados.getInt());
+            despertares[i] = dados.getInt();
+            processos.add(p);
+        }
+
+        Escalonador escalonador = new Escalonador(processos, saida, tempo);
+        for (int i = 0; i < quantidade; i++) {
+            if (despertares[i] > 0) {
+                escalonador.agendarDespertar(processos.get(i), despertares[i]);
+            }
+        }
+        return escalonador;
+    }
+
+    // Serializa o escalonador no buffer (trocando-o por um maior se não couber) e o devolve pronto
+    // para leitura. Deve ser chamado entre duas voltas do laço principal
+    static ByteBuffer capturar(Escalonador escalonador, ByteBuffer buffer) {
+        if (!(escalonador.getPolitica() instanceof PoliticaDeCreditos)) {
+            throw new IllegalStateException("Os checkpoints só guardam o estado da política de créditos.");
+        }
+        List<Processo> processos = escalonador.getProcessos();
+        byte[][] nomes = new byte[processos.size()][];
+        long tamanho = CABECALHO;
+        for (int i = 0; i < nomes.length; i++) {
+            nomes[i] = processos.get(i).getNome().getBytes(StandardCharsets.UTF_8);
+            tamanho += CAMPOS_POR_PROCESSO + nomes[i].length;
+        }
+        if (tamanho > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Estado grande demais para um único checkpoint: " + tamanho + " bytes.");
+        }
+        if (buffer == null || buffer.capacity() < tamanho) {
+            buffer = ByteBuffer.allocateDirect((int) Math.min(Integer.MAX_VALUE - 8, tamanho + tamanho / 4));
+        }
+        buffer.clear();
+        buffer.putInt(MAGICO).putInt(VERSAO).putInt(escalonador.getTempo()).putInt(processos.size());
+        for (int i = 0; i < nomes.length; i++) {
+            Processo p = processos.get(i);
+            buffer.putInt(nomes[i].length).put(nomes[i]);
+            buffer.putInt(p.getSurtoCpu()).putInt(p.getTempoES()).putInt(p.getTempoTotalCpuInicial())
+                    .putInt(p.getPrioridade()).putInt(p.getOrdem());
+            buffer.putInt(p.getCreditos()).putInt(p.getTempoTotalCpu()).put((byte) p.getEstado().ordinal());
+            buffer.putInt(p.getTempoDeInicio()).putInt(p.getTurnaroundTime()).putInt(p.getBloqueios());
+            buffer.putInt(escalonador.instanteDeDespertar(p));
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    // Escreve os bytes num temporário ao lado do destino, força para o disco e troca os arquivos
+    static void gravar(ByteBuffer dados, Path arquivo) throws IOException {
+        Path temporario = arquivo.resolveSibling(arquivo.getFileName() + ".tmp");
+        try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (dados.hasRemaining()) {
+                canal.write(dados);
+            }
+            canal.force(false);
+        }
+        Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
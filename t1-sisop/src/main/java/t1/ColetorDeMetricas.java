@@ -0,0 +1,137 @@
+package t1;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.PrintStream;
+
+// Saída que calcula as métricas da simulação à medida que os processos terminam, sem guardar
+// nada por processo: turnaround, tempo de resposta e tempo de espera vão para histogramas de
+// memória fixa, e a vazão e a utilização da CPU vêm de somas simples.
+//
+// Turnaround: do envio do processo (sua chegada, ou o início da simulação se ele já estava lá) até
+// o fim. Não usa o turnaround do Processo, que começa na primeira execução e deixaria de fora a
+// espera antes do primeiro despacho.
+// Tempo de resposta: do envio até a primeira execução.
+// Tempo de espera: do envio ao fim, descontando a CPU usada e o tempo bloqueado em E/S.
+public class ColetorDeMetricas implements SaidaDoEscalonador {
+
+    private final HistogramaLogaritmico turnaround = new HistogramaLogaritmico();
+    private final HistogramaLogaritmico resposta = new HistogramaLogaritmico();
+    private final HistogramaLogaritmico espera = new HistogramaLogaritmico();
+    private final int tempoInicial;
+    private int nucleos = 1;
+    private long cpuOcupada;
+    private long finalizados;
+    private int tempoFinal;
+
+    public ColetorDeMetricas() {
+        this(1); // Os escalonadores começam a simulação no tempo 1
+    }
+
+    public ColetorDeMetricas(int tempoInicial) {
+        this.tempoInicial = tempoInicial;
+        this.tempoFinal = tempoInicial;
+    }
+
+    // Com vários núcleos a utilização é dividida pela capacidade total de CPU
+    public void setNucleos(int nucleos) {
+        this.nucleos = nucleos;
+    }
+
+    @Override
+    public boolean aceita(TipoDeEvento tipo) {
+        return tipo == TipoDeEvento.PROCESSO_FINALIZADO || tipo == TipoDeEvento.ESCALONAMENTO_CONCLUIDO;
+    }
+
+    @Override
+    public void registrar(TipoDeEvento tipo, int tempo, Processo p) {
+        tempoFinal = Math.max(tempoFinal, tempo);
+        if (tipo != TipoDeEvento.PROCESSO_FINALIZADO) {
+            return;
+        }
+        finalizados++;
+        cpuOcupada += p.getTempoTotalCpuInicial();
+        int envio = Math.max(tempoInicial, p.getChegada());
+        turnaround.registrar(Math.max(0, tempo - envio));
+        resposta.registrar(Math.max(0, p.getTempoDeInicio() - envio));
+        long bloqueado = (long) p.getBloqueios() * p.getTempoES();
+        espera.registrar(Math.max(0, tempo - envio - p.getTempoTotalCpuInicial() - bloqueado));
+    }
+
+    // Soma as métricas de outra parte da mesma simulação (por exemplo, de outro trabalhador do
+    // CoordenadorDistribuido), como se os términos dela tivessem sido registrados aqui
+    public void juntar(ColetorDeMetricas outro) {
+        turnaround.juntar(outro.turnaround);
+        resposta.juntar(outro.resposta);
+        espera.juntar(outro.espera);
+        cpuOcupada += outro.cpuOcupada;
+        finalizados += outro.finalizados;
+        tempoFinal = Math.max(tempoFinal, outro.tempoFinal);
+    }
+
+    // Grava os contadores e os histogramas para outra JVM refazer o coletor com ler
+    public void escrever(DataOutput destino) throws IOException {
+        destino.writeInt(tempoInicial);
+        destino.writeInt(tempoFinal);
+        destino.writeLong(finalizados);
+        destino.writeLong(cpuOcupada);
+        turnaround.escrever(destino);
+        resposta.escrever(destino);
+        espera.escrever(destino);
+    }
+
+    public static ColetorDeMetricas ler(DataInput origem) throws IOException {
+        ColetorDeMetricas metricas = new ColetorDeMetricas(origem.readInt());
+        metricas.tempoFinal = origem.readInt();
+        metricas.finalizados = origem.readLong();
+        metricas.cpuOcupada = origem.readLong();
+        metricas.turnaround.juntar(HistogramaLogaritmico.ler(origem));
+        metricas.resposta.juntar(HistogramaLogaritmico.ler(origem));
+        metricas.espera.juntar(HistogramaLogaritmico.ler(origem));
+        return metricas;
+    }
+
+    public HistogramaLogaritmico getTurnaround() {
+        return turnaround;
+    }
+
+    public HistogramaLogaritmico getResposta() {
+        return resposta;
+    }
+
+    public HistogramaLogaritmico getEspera() {
+        return espera;
+    }
+
+    public long getFinalizados() {
+        return finalizados;
+    }
+
+    // Processos finalizados por milissegundo simulado
+    public double getVazao() {
+        int decorrido = tempoFinal - tempoInicial;
+        return decorrido == 0 ? 0.0 : (double) finalizados / decorrido;
+    }
+
+    // Fração da capacidade de CPU usada pelos processos finalizados
+    public double getUtilizacao() {
+        int decorrido = tempoFinal - tempoInicial;
+        return decorrido == 0 ? 0.0 : (double) cpuOcupada / ((long) decorrido * nucleos);
+    }
+
+    public void imprimirResumo(PrintStream destino) {
+        destino.println("--- Métricas ---");
+        destino.println(String.format("Processos finalizados: %d em %dms", finalizados, tempoFinal - tempoInicial));
+        destino.println(String.format("Vazão: %.4f processos/ms", getVazao()));
+        destino.println(String.format("Utilização da CPU: %.1f%%", 100.0 * getUtilizacao()));
+        imprimir(destino, "Turnaround", turnaround);
+        imprimir(destino, "Resposta", resposta);
+        imprimir(destino, "Espera", espera);
+    }
+
+    private static void imprimir(PrintStream destino, String nome, HistogramaLogaritmico h) {
+        destino.println(String.format("%s: média = %.1fms, mín = %d, p50 = %d, p99 = %d, p999 = %d, máx = %d",
+                nome, h.getMedia(), h.getMinimo(), h.percentil(50), h.percentil(99), h.percentil(99.9), h.getMaximo()));
+    }
+}
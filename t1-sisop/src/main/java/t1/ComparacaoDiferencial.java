@@ -0,0 +1,382 @@
+package t1;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+// Teste diferencial entre o Escalonador de referência e um motor alternativo (o motor de eventos,
+// o compacto, ou um motor novo que se queira aprovar). Cargas aleatórias rodam nos dois, e são
+// comparados a sequência completa de decisões (cada seleção de processo e cada reset de créditos,
+// com o instante), o estado final de cada processo e o tempo final. A sequência de eventos de cada
+// motor também é conferida contra as transições permitidas por Processo.mudarEstado.
+//
+// Quando aparece uma divergência, a carga é encolhida: tenta-se tirar blocos de processos (e depois
+// processos isolados) e diminuir cada campo, mantendo só as mudanças que ainda divergem, até que
+// nenhuma mudança simples preserve a divergência. O resultado sai como CSV no formato do
+// CarregadorDeCarga, pronto para virar um caso de teste.
+public final class ComparacaoDiferencial {
+
+    // Um motor de escalonamento: simula os processos até o fim, publicando na saída, e deixa neles
+    // o estado final. Retorna o tempo final
+    @FunctionalInterface
+    public interface Motor {
+        int simular(List<Processo> processos, SaidaDoEscalonador saida);
+
+        Motor REFERENCIA = (processos, saida) -> {
+            Escalonador escalonador = new Escalonador(processos, saida);
+            escalonador.iniciarEscalonamento();
+            return escalonador.getTempo();
+        };
+
+        Motor EVENTOS = (processos, saida) -> {
+            MotorDeEventos motor = new MotorDeEventos(processos, saida);
+            motor.iniciarEscalonamento();
+            return motor.getTempo();
+        };
+
+        Motor COMPACTO = (processos, saida) -> {
+            TabelaDeProcessos tabela = TabelaDeProcessos.de(processos);
+            EscalonadorCompacto compacto = new EscalonadorCompacto(tabela, saida);
+            compacto.iniciarEscalonamento();
+            for (int i = 0; i < processos.size(); i++) {
+                tabela.copiarPara(i, processos.get(i));
+            }
+            return compacto.getTempo();
+        };
+
+        static Motor porNome(String nome) {
+            switch (nome.toUpperCase()) {
+                case "REFERENCIA":
+                    return REFERENCIA;
+                case "EVENTOS":
+                    return EVENTOS;
+                case "COMPACTO":
+                    return COMPACTO;
+                default:
+                    throw new IllegalArgumentException("Motor desconhecido: " + nome + " (use REFERENCIA, EVENTOS ou COMPACTO).");
+            }
+        }
+    }
+
+    private static final int CAMPOS = 5; // surtoCpu, tempoES, tempoTotalCpu, prioridade, ordem
+    private static final int[] MINIMOS = {1, 0, 1, 1, 0};
+    private static final String[] NOMES_DOS_CAMPOS = {"surtoCpu", "tempoES", "tempoTotalCpu", "prioridade", "ordem"};
+
+    private final Motor referencia;
+    private final Motor alternativo;
+    private int maximoDeProcessos = 200;
+
+    public ComparacaoDiferencial(Motor alternativo) {
+        this(Motor.REFERENCIA, alternativo);
+    }
+
+    public ComparacaoDiferencial(Motor referencia, Motor alternativo) {
+        this.referencia = referencia;
+        this.alternativo = alternativo;
+    }
+
+    // Maior quantidade de processos de uma carga aleatória
+    public ComparacaoDiferencial setMaximoDeProcessos(int maximo) {
+        if (maximo < 1) {
+            throw new IllegalArgumentException("As cargas precisam de pelo menos um processo.");
+        }
+        this.maximoDeProcessos = maximo;
+        return this;
+    }
+
+    // Roda 'cargas' cargas aleatórias a partir da semente. Retorna a primeira divergência, já
+    // encolhida, ou null se os motores concordaram em todas
+    public Divergencia procurar(long semente, int cargas) {
+        SplittableRandom random = new SplittableRandom(semente);
+        for (int i = 0; i < cargas; i++) {
+            int[][] carga = cargaAleatoria(random.split(), 1 + random.nextInt(maximoDeProcessos));
+            String diferenca = comparar(carga);
+            if (diferenca != null) {
+                int[][] minima = encolher(carga);
+                return new Divergencia(semente, i, carga.length, minima, comparar(minima));
+            }
+        }
+        return null;
+    }
+
+    // Compara os motores numa carga de processos (que não é alterada: cada motor recebe cópias).
+    // Retorna a descrição da primeira diferença, ou null se não houver
+    public String comparar(List<Processo> processos) {
+        int[][] carga = new int[processos.size()][];
+        for (int i = 0; i < carga.length; i++) {
+            Processo p = processos.get(i);
+            carga[i] = new int[] {p.getSurtoCpu(), p.getTempoES(), p.getTempoTotalCpuInicial(), p.getPrioridade(), p.getOrdem()};
+        }
+        return comparar(carga);
+    }
+
+    // Cargas variadas de propósito: muitos empates de ordem, processos sem E/S, surtos maiores que
+    // os créditos e CPU total menor que o surto
+    static int[][] cargaAleatoria(SplittableRandom random, int quantidade) {
+        int ordens = 1 + random.nextInt(Math.max(1, quantidade));
+        int[][] carga = new int[quantidade][];
+        for (int i = 0; i < quantidade; i++) {
+            carga[i] = new int[] {
+                    1 + random.nextInt(8),
+                    random.nextInt(3) == 0 ? 0 : random.nextInt(30),
+                    1 + random.nextInt(random.nextInt(10) == 0 ? 400 : 40),
+                    1 + random.nextInt(8),
+                    random.nextInt(ordens)};
+        }
+        return carga;
+    }
+
+    private static List<Processo> processos(int[][] carga) {
+        List<Processo> processos = new ArrayList<>(carga.length);
+        for (int i = 0; i < carga.length; i++) {
+            int[] c = carga[i];
+            processos.add(new Processo("P" + i, c[0], c[1], c[2], c[3], c[4]));
+        }
+        return processos;
+    }
+
+    private String comparar(int[][] carga) {
+        List<Processo> esperados = processos(carga);
+        List<Processo> obtidos = processos(carga);
+        RegistroDeDecisoes decisoesEsperadas = new RegistroDeDecisoes(esperados);
+        RegistroDeDecisoes decisoesObtidas = new RegistroDeDecisoes(obtidos);
+        int tempoEsperado;
+        int tempoObtido;
+        try {
+            tempoEsperado = referencia.simular(esperados, decisoesEsperadas);
+        } catch (RuntimeException e) {
+            return "a referência falhou: " + e;
+        }
+        try {
+            tempoObtido = alternativo.simular(obtidos, decisoesObtidas);
+        } catch (RuntimeException e) {
+            return "o motor alternativo falhou: " + e;
+        }
+
+        if (decisoesEsperadas.violacao != null) {
+            return "transição inválida na referência: " + decisoesEsperadas.violacao;
+        }
+        if (decisoesObtidas.violacao != null) {
+            return "transição inválida no motor alternativo: " + decisoesObtidas.violacao;
+        }
+        int n = Math.min(decisoesEsperadas.quantidade, decisoesObtidas.quantidade);
+        for (int d = 0; d < n; d++) {
+            if (!decisoesEsperadas.mesmaDecisao(d, decisoesObtidas)) {
+                return "decisão " + d + ": esperava " + decisoesEsperadas.descrever(d) + ", veio " + decisoesObtidas.descrever(d);
+            }
+        }
+        if (decisoesEsperadas.quantidade != decisoesObtidas.quantidade) {
+            return "esperava " + decisoesEsperadas.quantidade + " decisões, vieram " + decisoesObtidas.quantidade;
+        }
+        for (int i = 0; i < esperados.size(); i++) {
+            Processo e = esperados.get(i);
+            Processo o = obtidos.get(i);
+            if (e.getEstado() != o.getEstado() || e.getCreditos() != o.getCreditos() || e.getTempoTotalCpu() != o.getTempoTotalCpu()
+                    || e.getTempoDeInicio() != o.getTempoDeInicio() || e.getTurnaroundTime() != o.getTurnaroundTime()
+                    || e.getBloqueios() != o.getBloqueios()) {
+                return "estado final de " + e.getNome() + ": esperava " + descrever(e) + ", veio " + descrever(o);
+            }
+        }
+        if (tempoEsperado != tempoObtido) {
+            return "tempo final: esperava " + tempoEsperado + ", veio " + tempoObtido;
+        }
+        return null;
+    }
+
+    private static String descrever(Processo p) {
+        return p.getEstado() + " créditos=" + p.getCreditos() + " cpu=" + p.getTempoTotalCpu() + " início=" + p.getTempoDeInicio()
+                + " turnaround=" + p.getTurnaroundTime() + " bloqueios=" + p.getBloqueios();
+    }
+
+    // Encolhe a carga enquanto a divergência continuar aparecendo
+    int[][] encolher(int[][] carga) {
+        boolean mudou = true;
+        while (mudou) {
+            mudou = false;
+            // Tira blocos de processos, dos maiores aos isolados
+            for (int bloco = Math.max(1, carga.length / 2); bloco >= 1; bloco /= 2) {
+                for (int inicio = 0; inicio + bloco <= carga.length && carga.length > 1; ) {
+                    int[][] menor = new int[carga.length - bloco][];
+                    System.arraycopy(carga, 0, menor, 0, inicio);
+                    System.arraycopy(carga, inicio + bloco, menor, inicio, carga.length - inicio - bloco);
+                    if (comparar(menor) != null) {
+                        carga = menor;
+                        mudou = true;
+                    } else {
+                        inicio += bloco;
+                    }
+                }
+            }
+            // Diminui cada campo: primeiro direto para o mínimo, depois pela metade e de 1 em 1
+            for (int i = 0; i < carga.length; i++) {
+                for (int c = 0; c < CAMPOS; c++) {
+                    while (carga[i][c] > MINIMOS[c] && tentarValor(carga, i, c)) {
+                        mudou = true;
+                    }
+                }
+            }
+        }
+        return carga;
+    }
+
+    private boolean tentarValor(int[][] carga, int i, int c) {
+        int atual = carga[i][c];
+        for (int candidato : new int[] {MINIMOS[c], MINIMOS[c] + (atual - MINIMOS[c]) / 2, atual - 1}) {
+            if (candidato >= atual) {
+                continue;
+            }
+            carga[i][c] = candidato;
+            if (comparar(carga) != null) {
+                return true;
+            }
+        }
+        carga[i][c] = atual;
+        return false;
+    }
+
+    // Uma divergência encontrada, com a carga mínima que ainda a reproduz
+    public static final class Divergencia {
+        private final long semente;
+        private final int indiceDaCarga;
+        private final int processosOriginais;
+        private final int[][] carga;
+        private final String descricao;
+
+        Divergencia(long semente, int indiceDaCarga, int processosOriginais, int[][] carga, String descricao) {
+            this.semente = semente;
+            this.indiceDaCarga = indiceDaCarga;
+            this.processosOriginais = processosOriginais;
+            this.carga = carga;
+            this.descricao = descricao;
+        }
+
+        public String getDescricao() {
+            return descricao;
+        }
+
+        public int getProcessosOriginais() {
+            return processosOriginais;
+        }
+
+        // Processos novos com a carga mínima
+        public List<Processo> getCarga() {
+            return processos(carga);
+        }
+
+        public void imprimir(PrintStream destino) {
+            destino.println("Divergência na carga " + indiceDaCarga + " da semente " + semente + " (" + processosOriginais
+                    + " processos, encolhida para " + carga.length + "): " + descricao);
+            destino.println("# nome," + String.join(",", NOMES_DOS_CAMPOS));
+            for (int i = 0; i < carga.length; i++) {
+                StringBuilder linha = new StringBuilder("P").append(i);
+                for (int valor : carga[i]) {
+                    linha.append(',').append(valor);
+                }
+                destino.println(linha);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return descricao + " " + Arrays.deepToString(carga);
+        }
+    }
+
+    // Guarda as decisões de um motor e confere as transições de estado que os eventos implicam.
+    // Os processos são identificados pelo nome (únicos nas cargas geradas), já que motores como o
+    // compacto publicam com um Processo de visão em vez dos objetos da lista
+    private static final class RegistroDeDecisoes implements SaidaDoEscalonador {
+        private static final EstadoProcesso[] ESTADOS = EstadoProcesso.values();
+        private final Map<String, Integer> indices = new HashMap<>();
+        private final byte[] estados;
+        private int[] decisoes = new int[3 * 256]; // Tipo, tempo e índice do processo (-1 nos resets)
+        int quantidade;
+        String violacao;
+
+        RegistroDeDecisoes(List<Processo> processos) {
+            estados = new byte[processos.size()];
+            for (int i = 0; i < processos.size(); i++) {
+                indices.put(processos.get(i).getNome(), i);
+            }
+        }
+
+        // Só os eventos usados; os motores continuam livres para pular o resto (o reset preguiçoso, por exemplo)
+        @Override
+        public boolean aceita(TipoDeEvento tipo) {
+            return tipo == TipoDeEvento.PROCESSO_SELECIONADO || tipo == TipoDeEvento.RESET_DE_CREDITOS
+                    || tipo == TipoDeEvento.PROCESSO_BLOQUEADO || tipo == TipoDeEvento.PROCESSO_FINALIZADO
+                    || tipo == TipoDeEvento.ES_CONCLUIDA;
+        }
+
+        @Override
+        public void registrar(TipoDeEvento tipo, int tempo, Processo p) {
+            if (!aceita(tipo)) {
+                return;
+            }
+            int indice = p == null ? -1 : indices.getOrDefault(p.getNome(), -1);
+            switch (tipo) {
+                case PROCESSO_SELECIONADO:
+                    // Quem executou e não bloqueou nem terminou voltou para PRONTO sem evento
+                    transicao(indice, tipo, EstadoProcesso.EXECUTANDO, EstadoProcesso.PRONTO, EstadoProcesso.EXECUTANDO);
+                    anotar(tipo, tempo, indice);
+                    break;
+                case RESET_DE_CREDITOS:
+                    anotar(tipo, tempo, -1);
+                    break;
+                case PROCESSO_BLOQUEADO:
+                    transicao(indice, tipo, EstadoProcesso.BLOQUEADO, EstadoProcesso.EXECUTANDO, null);
+                    break;
+                case PROCESSO_FINALIZADO:
+                    transicao(indice, tipo, EstadoProcesso.FINALIZADO, EstadoProcesso.EXECUTANDO, null);
+                    break;
+                case ES_CONCLUIDA:
+                    transicao(indice, tipo, EstadoProcesso.PRONTO, EstadoProcesso.BLOQUEADO, null);
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        // Muda o estado do processo para 'novo' se ele estiver num dos estados permitidos
+        private void transicao(int indice, TipoDeEvento tipo, EstadoProcesso novo, EstadoProcesso permitido, EstadoProcesso tambemPermitido) {
+            if (violacao != null) {
+                return;
+            }
+            if (indice < 0) {
+                violacao = tipo + " de um processo que não está na carga";
+                return;
+            }
+            EstadoProcesso atual = ESTADOS[estados[indice]];
+            if (atual != permitido && atual != tambemPermitido) {
+                violacao = tipo + " com P" + indice + " em " + atual;
+                return;
+            }
+            estados[indice] = (byte) novo.ordinal();
+        }
+
+        private void anotar(TipoDeEvento tipo, int tempo, int indice) {
+            if (3 * quantidade == decisoes.length) {
+                decisoes = Arrays.copyOf(decisoes, decisoes.length * 2);
+            }
+            decisoes[3 * quantidade] = tipo.ordinal();
+            decisoes[3 * quantidade + 1] = tempo;
+            decisoes[3 * quantidade + 2] = indice;
+            quantidade++;
+        }
+
+        boolean mesmaDecisao(int d, RegistroDeDecisoes outro) {
+            return decisoes[3 * d] == outro.decisoes[3 * d] && decisoes[3 * d + 1] == outro.decisoes[3 * d + 1]
+                    && decisoes[3 * d + 2] == outro.decisoes[3 * d + 2];
+        }
+
+        String descrever(int d) {
+            TipoDeEvento tipo = TipoDeEvento.values()[decisoes[3 * d]];
+            String processo = decisoes[3 * d + 2] < 0 ? "" : " de P" + decisoes[3 * d + 2];
+            return tipo + processo + " em " + decisoes[3 * d + 1] + "ms";
+        }
+    }
+}
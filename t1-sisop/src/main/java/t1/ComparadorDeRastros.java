@@ -0,0 +1,114 @@
+package t1;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Compara dois rastros da mesma carga (por exemplo, gerados por versões ou motores diferentes do
+// escalonador). A comparação registro a registro mapeia os arquivos em memória em janelas alinhadas
+// aos registros e usa ByteBuffer.mismatch, sem decodificar os registros iguais. A comparação por
+// decisões olha só as seleções de processo e os resets de créditos: motores que publicam os demais
+// eventos em outra ordem (o MotorDeEventos avisa o fim da E/S depois do surto inteiro) ainda
+// chegam às mesmas decisões.
+public final class ComparadorDeRastros {
+
+    private static final long JANELA = (1L << 30) / SaidaDeRastro.REGISTRO * SaidaDeRastro.REGISTRO;
+    private static final int CONTEXTO = 3; // Registros iguais mostrados antes da divergência
+
+    private ComparadorDeRastros() {
+    }
+
+    // Índice do primeiro registro diferente, ou -1 se os rastros são iguais. Se um rastro é o
+    // começo do outro, a divergência está no primeiro registro que só o mais longo tem
+    public static long primeiraDivergencia(Path a, Path b) throws IOException {
+        try (LeitorDeRastro leitorA = new LeitorDeRastro(a); LeitorDeRastro leitorB = new LeitorDeRastro(b);
+             FileChannel canalA = FileChannel.open(a, StandardOpenOption.READ);
+             FileChannel canalB = FileChannel.open(b, StandardOpenOption.READ)) {
+            long comum = Math.min(leitorA.getQuantidade(), leitorB.getQuantidade()) * SaidaDeRastro.REGISTRO;
+            for (long posicao = 0; posicao < comum; posicao += JANELA) {
+                long comprimento = Math.min(JANELA, comum - posicao);
+                MappedByteBuffer janelaA = canalA.map(FileChannel.MapMode.READ_ONLY, SaidaDeRastro.CABECALHO + posicao, comprimento);
+                MappedByteBuffer janelaB = canalB.map(FileChannel.MapMode.READ_ONLY, SaidaDeRastro.CABECALHO + posicao, comprimento);
+                int diferenca = janelaA.mismatch(janelaB);
+                if (diferenca >= 0) {
+                    return (posicao + diferenca) / SaidaDeRastro.REGISTRO;
+                }
+            }
+            return leitorA.getQuantidade() == leitorB.getQuantidade() ? -1 : comum / SaidaDeRastro.REGISTRO;
+        }
+    }
+
+    // Número da primeira decisão diferente (contando só seleções e resets, a partir de 0), ou -1
+    // se os dois rastros tomam as mesmas decisões
+    public static long primeiraDecisaoDivergente(Path a, Path b) throws IOException {
+        try (LeitorDeRastro leitorA = new LeitorDeRastro(a); LeitorDeRastro leitorB = new LeitorDeRastro(b)) {
+            for (long decisao = 0; ; decisao++) {
+                boolean temA = proximaDecisao(leitorA);
+                boolean temB = proximaDecisao(leitorB);
+                if (!temA && !temB) {
+                    return -1;
+                }
+                if (temA != temB || !mesmoRegistro(leitorA, leitorB)) {
+                    return decisao;
+                }
+            }
+        }
+    }
+
+    // Imprime onde os rastros divergem, registro a registro e por decisões, com alguns registros em
+    // comum antes; retorna o índice do primeiro registro diferente
+    public static long imprimirDivergencia(Path a, Path b, PrintStream destino) throws IOException {
+        long indice = primeiraDivergencia(a, b);
+        if (indice < 0) {
+            destino.println("Os rastros são iguais.");
+            return indice;
+        }
+        destino.println("Os rastros divergem no registro #" + indice + ":");
+        try (LeitorDeRastro leitorA = new LeitorDeRastro(a); LeitorDeRastro leitorB = new LeitorDeRastro(b)) {
+            leitorA.irPara(Math.max(0, indice - CONTEXTO));
+            while (leitorA.getIndice() + 1 < indice && leitorA.proximo()) {
+                destino.println("  " + leitorA.descreverRegistro());
+            }
+            leitorA.irPara(indice);
+            leitorB.irPara(indice);
+            imprimirPar(leitorA, leitorA.proximo(), leitorB, leitorB.proximo(), destino);
+        }
+
+        long decisao = primeiraDecisaoDivergente(a, b);
+        if (decisao < 0) {
+            destino.println("As decisões são as mesmas; só a ordem ou o instante dos demais eventos muda.");
+            return indice;
+        }
+        destino.println("A primeira decisão diferente é a de número " + decisao + ":");
+        try (LeitorDeRastro leitorA = new LeitorDeRastro(a); LeitorDeRastro leitorB = new LeitorDeRastro(b)) {
+            for (long i = 0; i < decisao; i++) {
+                proximaDecisao(leitorA);
+                proximaDecisao(leitorB);
+            }
+            imprimirPar(leitorA, proximaDecisao(leitorA), leitorB, proximaDecisao(leitorB), destino);
+        }
+        return indice;
+    }
+
+    private static boolean proximaDecisao(LeitorDeRastro leitor) throws IOException {
+        while (leitor.proximo()) {
+            if (leitor.getTipo() == TipoDeEvento.PROCESSO_SELECIONADO || leitor.getTipo() == TipoDeEvento.RESET_DE_CREDITOS) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean mesmoRegistro(LeitorDeRastro a, LeitorDeRastro b) {
+        return a.getTempo() == b.getTempo() && a.getOrdem() == b.getOrdem() && a.getTipo() == b.getTipo()
+                && a.getCreditos() == b.getCreditos() && a.getCpu() == b.getCpu();
+    }
+
+    private static void imprimirPar(LeitorDeRastro a, boolean temA, LeitorDeRastro b, boolean temB, PrintStream destino) {
+        destino.println("< " + (temA ? a.descreverRegistro() : "(fim do rastro)"));
+        destino.println("> " + (temB ? b.descreverRegistro() : "(fim do rastro)"));
+    }
+}
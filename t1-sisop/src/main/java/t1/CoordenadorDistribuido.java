@@ -0,0 +1,520 @@
+package t1;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+// Simulação dividida entre várias JVMs da mesma máquina. Os processos são repartidos entre os
+// trabalhadores (o processo i vai para o trabalhador i % N, como os núcleos do
+// EscalonadorMultiNucleo), e cada trabalhador é uma JVM com um Escalonador por ticks só com a sua
+// partição, ou seja, uma CPU. O coordenador conversa com eles por sockets de domínio Unix.
+//
+// Para cargas maiores que o heap de uma JVM, cada trabalhador monta a própria partição: lê só os
+// seus registros do arquivo de carga (deArquivo) ou roda um GeradorDeCarga com a mesma
+// configuração e guarda só os seus processos (doGerador). Só uma lista que já está na memória é
+// mandada pelo socket.
+//
+// A única interação entre as partições é o reset de créditos, que continua global: acontece no
+// instante em que nenhum trabalhador tem processo para executar e algum tem prontos sem créditos,
+// e reseta todas as partições juntas. Como esse instante depende de todos, o tempo simulado avança
+// em janelas conservadoras:
+// 1. Cada trabalhador avança até o fim da janela, mas para no primeiro instante em que fica ocioso.
+// 2. Se algum chegou ao fim sem ficar ocioso, não houve barreira na janela e os parados só
+//    completam a janela (ociosos, sem resetar).
+// 3. Se todos pararam, a barreira só pode ser no maior desses instantes: os outros avançam até
+//    ele e, se todos estiverem ociosos lá, o coordenador manda resetar (ou, se ninguém tem
+//    prontos, salta para a próxima E/S que termina).
+// Assim o resultado não depende do tamanho da janela, e com um trabalhador é o mesmo do Escalonador.
+// Os processos nunca voltam para o coordenador: cada trabalhador registra os seus términos num
+// ColetorDeMetricas e no fim manda só os contadores e os histogramas, que o coordenador junta
+// num relatório só.
+public final class CoordenadorDistribuido {
+
+    public static final int JANELA_PADRAO = 1000;
+
+    private static final byte AVANCAR = 1;
+    private static final byte RESETAR = 2;
+    private static final byte CONCLUIR = 3;
+
+    private static final byte FONTE_LISTA = 1;
+    private static final byte FONTE_ARQUIVO = 2;
+    private static final byte FONTE_GERADOR = 3;
+
+    // Só uma das três fontes da carga é usada
+    private final List<Processo> processos;
+    private final Path arquivo;
+    private final GeradorDeCarga gerador;
+    private final int trabalhadores;
+    private final String politica;
+    private int janela = JANELA_PADRAO;
+    private boolean emThreads;
+    private List<String> opcoesDaJvm = List.of();
+
+    private int tempoFinal = 1;
+    private long janelas;
+    private long barreiras;
+    private final int[] processosPorTrabalhador;
+    private final long[] cpuPorTrabalhador;
+    private final int[] tempoPorTrabalhador;
+    private final double[] turnaroundPorTrabalhador;
+
+    // Os processos já estão na memória e cada trabalhador recebe a sua partição pelo socket
+    public CoordenadorDistribuido(List<Processo> processos, int trabalhadores, String politica) {
+        this(processos, null, null, trabalhadores, politica);
+    }
+
+    // Cada trabalhador carrega do arquivo (CSV ou binário, veja CarregadorDeCarga) só a sua partição
+    public static CoordenadorDistribuido deArquivo(Path carga, int trabalhadores, String politica) {
+        if (!Files.isRegularFile(carga)) {
+            throw new IllegalArgumentException("Arquivo de carga não encontrado: " + carga);
+        }
+        return new CoordenadorDistribuido(null, carga.toAbsolutePath(), null, trabalhadores, politica);
+    }
+
+    // Cada trabalhador gera a carga inteira com a mesma configuração e guarda só a sua partição
+    public static CoordenadorDistribuido doGerador(GeradorDeCarga gerador, int trabalhadores, String politica) {
+        if (gerador.temChegadas() || gerador.getQuantidade() == Long.MAX_VALUE) {
+            throw new IllegalArgumentException("A simulação distribuída precisa de uma quantidade finita de processos, todos presentes no início.");
+        }
+        return new CoordenadorDistribuido(null, null, gerador, trabalhadores, politica);
+    }
+
+    private CoordenadorDistribuido(List<Processo> processos, Path arquivo, GeradorDeCarga gerador, int trabalhadores, String politica) {
+        if (trabalhadores < 1) {
+            throw new IllegalArgumentException("É preciso pelo menos um trabalhador.");
+        }
+        this.processos = processos;
+        this.arquivo = arquivo;
+        this.gerador = gerador;
+        this.trabalhadores = trabalhadores;
+        this.politica = politica == null ? "CREDITOS" : politica;
+        PoliticaDeEscalonamento.porNome(this.politica); // Falha aqui, não nos trabalhadores
+        this.processosPorTrabalhador = new int[trabalhadores];
+        this.cpuPorTrabalhador = new long[trabalhadores];
+        this.tempoPorTrabalhador = new int[trabalhadores];
+        this.turnaroundPorTrabalhador = new double[trabalhadores];
+    }
+
+    // Tamanho em ms das janelas de sincronização; janelas maiores trocam menos mensagens
+    public void setJanela(int janela) {
+        if (janela < 1) {
+            throw new IllegalArgumentException("A janela precisa ser de pelo menos 1ms.");
+        }
+        this.janela = janela;
+    }
+
+    // Roda os trabalhadores em threads desta JVM (mesmo protocolo e sockets), para testes
+    public void setEmThreads(boolean emThreads) {
+        this.emThreads = emThreads;
+    }
+
+    // Opções passadas a cada JVM trabalhadora (por exemplo, -Xmx)
+    public void setOpcoesDaJvm(List<String> opcoes) {
+        this.opcoesDaJvm = List.copyOf(opcoes);
+    }
+
+    public int getTempoFinal() {
+        return tempoFinal;
+    }
+
+    public long getJanelas() {
+        return janelas;
+    }
+
+    public long getBarreiras() {
+        return barreiras;
+    }
+
+    // Roda a simulação distribuída e junta nas métricas as de todos os trabalhadores, com o fim do
+    // escalonamento no tempo final; retorna o tempo final
+    public int executar(ColetorDeMetricas metricas) throws IOException {
+        Path diretorio = Files.createTempDirectory("t1-distribuido");
+        Path socket = diretorio.resolve("coordenador.sock");
+        List<Process> jvms = new ArrayList<>();
+        Conexao[] conexoes = new Conexao[trabalhadores];
+        try (ServerSocketChannel servidor = ServerSocketChannel.open(StandardProtocolFamily.UNIX)) {
+            servidor.bind(UnixDomainSocketAddress.of(socket));
+            for (int i = 0; i < trabalhadores; i++) {
+                iniciarTrabalhador(servidor, socket, i, jvms);
+            }
+            for (int i = 0; i < trabalhadores; i++) {
+                Conexao conexao = new Conexao(servidor.accept());
+                conexoes[conexao.entrada.readInt()] = conexao;
+            }
+            enviarParticoes(conexoes);
+            coordenar(conexoes);
+            coletarResultados(conexoes, metricas);
+            for (Process jvm : jvms) {
+                jvm.waitFor();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrompido esperando os trabalhadores.", e);
+        } finally {
+            for (Conexao conexao : conexoes) {
+                if (conexao != null) {
+                    conexao.canal.close();
+                }
+            }
+            for (Process jvm : jvms) {
+                jvm.destroyForcibly();
+            }
+            Files.deleteIfExists(socket);
+            Files.deleteIfExists(diretorio);
+        }
+        return tempoFinal;
+    }
+
+    // Se um trabalhador morrer antes de conectar, fecha o servidor para o accept() não esperar para sempre
+    private void iniciarTrabalhador(ServerSocketChannel servidor, Path socket, int indice, List<Process> jvms) throws IOException {
+        if (emThreads) {
+            Thread t = new Thread(() -> {
+                try {
+                    trabalhar(socket, indice);
+                } catch (IOException | RuntimeException e) {
+                    fecharSemErro(servidor);
+                }
+            }, "trabalhador-" + indice);
+            t.setDaemon(true);
+            t.start();
+            return;
+        }
+        List<String> comando = new ArrayList<>();
+        comando.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        comando.addAll(opcoesDaJvm);
+        comando.add("-cp");
+        comando.add(System.getProperty("java.class.path"));
+        comando.add(Main.class.getName());
+        comando.add("--trabalhador");
+        comando.add(socket.toString());
+        comando.add(String.valueOf(indice));
+        Process jvm = new ProcessBuilder(comando)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        jvm.onExit().thenRun(() -> {
+            if (jvm.exitValue() != 0) {
+                fecharSemErro(servidor);
+            }
+        });
+        jvms.add(jvm);
+    }
+
+    private static void fecharSemErro(ServerSocketChannel servidor) {
+        try {
+            servidor.close();
+        } catch (IOException e) {
+            // O coordenador vai falhar no accept() de qualquer jeito
+        }
+    }
+
+    // Diz a cada trabalhador de onde vem a sua partição (ou a manda, se a carga é uma lista)
+    private void enviarParticoes(Conexao[] conexoes) throws IOException {
+        for (int t = 0; t < trabalhadores; t++) {
+            DataOutputStream saida = conexoes[t].saida;
+            saida.writeUTF(politica);
+            saida.writeInt(trabalhadores);
+            if (arquivo != null) {
+                saida.writeByte(FONTE_ARQUIVO);
+                saida.writeUTF(arquivo.toString());
+            } else if (gerador != null) {
+                saida.writeByte(FONTE_GERADOR);
+                gerador.escrever(saida);
+            } else {
+                saida.writeByte(FONTE_LISTA);
+                saida.writeInt((processos.size() - t + trabalhadores - 1) / trabalhadores);
+                for (int i = t; i < processos.size(); i += trabalhadores) {
+                    Processo p = processos.get(i);
+                    saida.writeUTF(p.getNome());
+                    saida.writeInt(p.getSurtoCpu());
+                    saida.writeInt(p.getTempoES());
+                    saida.writeInt(p.getTempoTotalCpuInicial());
+                    saida.writeInt(p.getPrioridade());
+                    saida.writeInt(p.getOrdem());
+                }
+            }
+            saida.flush();
+        }
+        for (Conexao conexao : conexoes) {
+            conexao.lerEstado();
+        }
+    }
+
+    // O laço de janelas descrito no começo da classe. 'verificado' é o último instante em que já
+    // se sabe se houve barreira
+    private void coordenar(Conexao[] conexoes) throws IOException {
+        List<Conexao> ativos = new ArrayList<>();
+        int verificado = 0;
+        while (true) {
+            ativos.clear();
+            for (Conexao conexao : conexoes) {
+                if (!conexao.finalizado) {
+                    ativos.add(conexao);
+                }
+            }
+            if (ativos.isEmpty()) {
+                return;
+            }
+            janelas++;
+            int limite = (int) Math.min(Integer.MAX_VALUE, (long) verificado + 1 + janela);
+            avancar(ativos, limite, verificado, true);
+
+            // Um trabalhador que terminou fica ocioso a partir do seu tempo final
+            int barreira = 0;
+            boolean todosPararam = true;
+            for (Conexao conexao : ativos) {
+                todosPararam &= conexao.parou || conexao.finalizado;
+                barreira = Math.max(barreira, conexao.tempo);
+            }
+            if (!todosPararam) {
+                List<Conexao> parados = new ArrayList<>();
+                for (Conexao conexao : ativos) {
+                    if (conexao.parou) {
+                        parados.add(conexao);
+                    }
+                }
+                avancar(parados, limite, verificado, false);
+                verificado = limite - 1;
+                continue;
+            }
+
+            List<Conexao> atrasados = new ArrayList<>();
+            for (Conexao conexao : ativos) {
+                if (!conexao.finalizado && conexao.tempo < barreira) {
+                    atrasados.add(conexao);
+                }
+            }
+            avancar(atrasados, barreira, verificado, false);
+            boolean todosOciosos = true;
+            boolean precisaDeReset = false;
+            int despertar = Integer.MAX_VALUE;
+            for (Conexao conexao : ativos) {
+                if (conexao.finalizado) {
+                    todosOciosos &= conexao.tempo <= barreira;
+                } else {
+                    todosOciosos &= conexao.tempo == barreira && conexao.ocioso;
+                    precisaDeReset |= conexao.precisaDeReset;
+                    if (conexao.despertar >= 0) {
+                        despertar = Math.min(despertar, conexao.despertar);
+                    }
+                }
+            }
+            verificado = barreira;
+            if (!todosOciosos) {
+                continue;
+            }
+            if (precisaDeReset) {
+                // Todas as partições resetam, inclusive as que já terminaram (o Escalonador
+                // também reseta os créditos dos finalizados)
+                barreiras++;
+                enviar(List.of(conexoes), RESETAR);
+            } else if (despertar != Integer.MAX_VALUE) {
+                // Ninguém tem prontos: nada acontece até a próxima E/S terminar
+                List<Conexao> esperando = new ArrayList<>();
+                for (Conexao conexao : ativos) {
+                    if (!conexao.finalizado) {
+                        esperando.add(conexao);
+                    }
+                }
+                avancar(esperando, despertar, verificado, false);
+                verificado = despertar - 1;
+            } else if (ativos.stream().anyMatch(conexao -> !conexao.finalizado)) {
+                throw new IllegalStateException("Os trabalhadores estão ociosos sem prontos nem E/S pendente no instante " + barreira + ".");
+            }
+        }
+    }
+
+    // Manda todos avançarem e só então lê as respostas, para as JVMs simularem em paralelo
+    private static void avancar(List<Conexao> conexoes, int limite, int desde, boolean pararSeOcioso) throws IOException {
+        for (Conexao conexao : conexoes) {
+            conexao.saida.writeByte(AVANCAR);
+            conexao.saida.writeInt(limite);
+            conexao.saida.writeInt(desde);
+            conexao.saida.writeBoolean(pararSeOcioso);
+            conexao.saida.flush();
+        }
+        for (Conexao conexao : conexoes) {
+            conexao.lerEstado();
+        }
+    }
+
+    private static void enviar(List<Conexao> conexoes, byte comando) throws IOException {
+        for (Conexao conexao : conexoes) {
+            conexao.saida.writeByte(comando);
+            conexao.saida.flush();
+        }
+        for (Conexao conexao : conexoes) {
+            conexao.lerEstado();
+        }
+    }
+
+    // Cada trabalhador devolve o seu tempo final, o tamanho da partição e as métricas dela
+    private void coletarResultados(Conexao[] conexoes, ColetorDeMetricas metricas) throws IOException {
+        for (Conexao conexao : conexoes) {
+            conexao.saida.writeByte(CONCLUIR);
+            conexao.saida.flush();
+        }
+        for (int t = 0; t < trabalhadores; t++) {
+            DataInputStream entrada = conexoes[t].entrada;
+            tempoPorTrabalhador[t] = entrada.readInt();
+            tempoFinal = Math.max(tempoFinal, tempoPorTrabalhador[t]);
+            processosPorTrabalhador[t] = entrada.readInt();
+            cpuPorTrabalhador[t] = entrada.readLong();
+            ColetorDeMetricas doTrabalhador = ColetorDeMetricas.ler(entrada);
+            turnaroundPorTrabalhador[t] = doTrabalhador.getTurnaround().getMedia();
+            metricas.juntar(doTrabalhador);
+        }
+        metricas.registrar(TipoDeEvento.ESCALONAMENTO_CONCLUIDO, tempoFinal, null);
+    }
+
+    public void imprimirRelatorio(PrintStream destino) {
+        destino.println("--- Simulação distribuída ---");
+        destino.println(String.format("Trabalhadores: %d, janelas de sincronização: %d, barreiras de reset: %d",
+                trabalhadores, janelas, barreiras));
+        for (int t = 0; t < trabalhadores; t++) {
+            int decorrido = tempoPorTrabalhador[t] - 1;
+            destino.println(String.format("Trabalhador %d: %d processos, terminou em %dms, utilização %.1f%%, turnaround médio %.1fms",
+                    t, processosPorTrabalhador[t], tempoPorTrabalhador[t],
+                    decorrido == 0 ? 0.0 : 100.0 * cpuPorTrabalhador[t] / decorrido, turnaroundPorTrabalhador[t]));
+        }
+    }
+
+    // Lado do trabalhador (Main --trabalhador SOCKET INDICE): monta a partição, obedece aos
+    // comandos do coordenador respondendo o estado depois de cada um, e no fim devolve as métricas
+    static void trabalhar(Path socket, int indice) throws IOException {
+        try (SocketChannel canal = SocketChannel.open(UnixDomainSocketAddress.of(socket))) {
+            DataInputStream entrada = new DataInputStream(new BufferedInputStream(Channels.newInputStream(canal)));
+            DataOutputStream saida = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(canal)));
+            saida.writeInt(indice);
+            saida.flush();
+
+            String politica = entrada.readUTF();
+            List<Processo> particao = receberParticao(entrada, indice);
+            long cpu = 0;
+            for (Processo p : particao) {
+                cpu += p.getTempoTotalCpuInicial();
+            }
+            ColetorDeMetricas metricas = new ColetorDeMetricas();
+            Escalonador escalonador = new Escalonador(particao, metricas, PoliticaDeEscalonamento.porNome(politica));
+            escalonador.setResetCoordenado(true);
+            escreverEstado(saida, escalonador, false);
+
+            while (true) {
+                byte comando = entrada.readByte();
+                boolean parou = false;
+                switch (comando) {
+                    case AVANCAR:
+                        int limite = entrada.readInt();
+                        int desde = entrada.readInt();
+                        parou = escalonador.avancarAte(limite, desde, entrada.readBoolean());
+                        break;
+                    case RESETAR:
+                        if (escalonador.todosProcessosFinalizados()) {
+                            escalonador.resetarCreditos(); // Sem avançar o tempo final da partição
+                        } else {
+                            escalonador.resetarNaBarreira();
+                        }
+                        break;
+                    case CONCLUIR:
+                        saida.writeInt(escalonador.getTempo());
+                        saida.writeInt(particao.size());
+                        saida.writeLong(cpu);
+                        metricas.escrever(saida);
+                        saida.flush();
+                        return;
+                    default:
+                        throw new IOException("Comando desconhecido do coordenador: " + comando);
+                }
+                escreverEstado(saida, escalonador, parou);
+            }
+        }
+    }
+
+    // Os processos i com i % trabalhadores == indice, da fonte que o coordenador indicou
+    private static List<Processo> receberParticao(DataInputStream entrada, int indice) throws IOException {
+        int trabalhadores = entrada.readInt();
+        byte fonte = entrada.readByte();
+        List<Processo> particao = new ArrayList<>();
+        switch (fonte) {
+            case FONTE_ARQUIVO: {
+                TabelaDeProcessos tabela = CarregadorDeCarga.carregar(Paths.get(entrada.readUTF()), indice, trabalhadores);
+                for (int i = 0; i < tabela.tamanho(); i++) {
+                    particao.add(tabela.paraProcesso(i));
+                }
+                break;
+            }
+            case FONTE_GERADOR: {
+                long i = 0;
+                for (Processo p : GeradorDeCarga.ler(entrada)) {
+                    if (i++ % trabalhadores == indice) {
+                        particao.add(p);
+                    }
+                }
+                break;
+            }
+            case FONTE_LISTA: {
+                int quantidade = entrada.readInt();
+                for (int i = 0; i < quantidade; i++) {
+                    particao.add(new Processo(entrada.readUTF(), entrada.readInt(), entrada.readInt(), entrada.readInt(),
+                            entrada.readInt(), entrada.readInt()));
+                }
+                break;
+            }
+            default:
+                throw new IOException("Fonte de carga desconhecida: " + fonte);
+        }
+        return particao;
+    }
+
+    private static void escreverEstado(DataOutputStream saida, Escalonador escalonador, boolean parou) throws IOException {
+        boolean finalizado = escalonador.todosProcessosFinalizados();
+        saida.writeInt(escalonador.getTempo());
+        saida.writeBoolean(finalizado);
+        saida.writeBoolean(parou);
+        saida.writeBoolean(!finalizado && escalonador.estaOcioso());
+        saida.writeBoolean(!finalizado && escalonador.getPolitica().precisaDeReset());
+        saida.writeInt(escalonador.proximoDespertar());
+        saida.flush();
+    }
+
+    // Um trabalhador visto do coordenador, com o último estado que ele informou
+    private static final class Conexao {
+        final SocketChannel canal;
+        final DataInputStream entrada;
+        final DataOutputStream saida;
+        int tempo;
+        boolean finalizado;
+        boolean parou;
+        boolean ocioso;
+        boolean precisaDeReset;
+        int despertar;
+
+        Conexao(SocketChannel canal) {
+            this.canal = canal;
+            this.entrada = new DataInputStream(new BufferedInputStream(Channels.newInputStream(canal)));
+            this.saida = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(canal)));
+        }
+
+        void lerEstado() throws IOException {
+            tempo = entrada.readInt();
+            finalizado = entrada.readBoolean();
+            parou = entrada.readBoolean();
+            ocioso = entrada.readBoolean();
+            precisaDeReset = entrada.readBoolean();
+            despertar = entrada.readInt();
+        }
+    }
+}
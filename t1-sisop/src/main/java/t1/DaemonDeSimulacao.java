@@ -0,0 +1,321 @@
+package t1;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Processo de longa duração que recebe cenários de simulação (pela entrada padrão ou por um socket
+// de domínio Unix) e devolve os resultados, evitando pagar a partida da JVM e o aquecimento do JIT
+// a cada simulação. Cada cenário roda numa thread própria (virtual, se a JVM tiver) com um
+// Escalonador novo, sobre código já aquecido por aquecer(); cenários repetidos saem do
+// CacheDeResultados sem simular.
+//
+// Protocolo, em linhas de texto UTF-8:
+//   cenario ID [politica=CREDITOS|CFS] [chegadas=MS] [carga=ARQUIVO] [limite=MS]
+//   nome,surtoCpu,tempoES,tempoTotalCpu,prioridade,ordem   (zero ou mais; somados aos da carga)
+//   fim
+// Linhas vazias e começando com '#' são ignoradas. As respostas podem sair fora da ordem dos
+// cenários, mas cada uma é escrita inteira de uma vez:
+//   processo ID NOME ESTADO inicio=.. turnaround=.. bloqueios=..   (um por processo)
+//   resultado ID tempo=.. finalizados=.. turnaround=.. resposta=.. espera=.. vazao=.. utilizacao=.. micros=..
+// ou, se o cenário for inválido ou falhar, uma única linha "erro ID mensagem". Processos precisam
+// de surto e prioridade positivos.
+//
+// Cada cenário tem um tempo limite de relógio (limite=MS, ou o padrão do daemon): ao estourar, o
+// daemon responde "erro ID tempo limite de MSms excedido" e interrompe a thread do cenário, que
+// desiste na próxima conferência do Escalonador. Todo cenário recebe exatamente uma resposta.
+public final class DaemonDeSimulacao implements AutoCloseable {
+
+    private final CacheDeResultados cache = new CacheDeResultados(1024);
+    private final ThreadFactory threads = ExecucaoReal.criarFabricaDeThreads("cenario-");
+    private final ScheduledThreadPoolExecutor vigia = criarVigia(); // Dispara os tempos limite
+    private volatile long limitePorCenario = 60_000; // ms
+    private ServerSocketChannel servidor;
+    private Path caminhoDoSocket;
+    private boolean fechado;
+
+    // Roda algumas simulações descartáveis para o JIT compilar o laço do escalonador antes do
+    // primeiro cenário de verdade
+    public DaemonDeSimulacao aquecer() {
+        for (int rodada = 0; rodada < 5; rodada++) {
+            for (String politica : new String[] {"CREDITOS", "CFS"}) {
+                List<Processo> processos = new ArrayList<>();
+                new GeradorDeCarga().semente(rodada).quantidade(2000).forEach(processos::add);
+                new Escalonador(processos, new ColetorDeMetricas(), PoliticaDeEscalonamento.porNome(politica)).iniciarEscalonamento();
+            }
+        }
+        return this;
+    }
+
+    // Tempo limite padrão de cada cenário, em ms de relógio
+    public DaemonDeSimulacao setLimitePorCenario(long milissegundos) {
+        if (milissegundos < 1) {
+            throw new IllegalArgumentException("O tempo limite por cenário precisa ser de pelo menos 1ms.");
+        }
+        this.limitePorCenario = milissegundos;
+        return this;
+    }
+
+    private static ScheduledThreadPoolExecutor criarVigia() {
+        ScheduledThreadPoolExecutor vigia = new ScheduledThreadPoolExecutor(1, tarefa -> {
+            Thread t = new Thread(tarefa, "vigia-de-cenarios");
+            t.setDaemon(true);
+            return t;
+        });
+        vigia.setRemoveOnCancelPolicy(true); // Os alarmes dos cenários que terminam a tempo não se acumulam
+        return vigia;
+    }
+
+    // Lê cenários até o fim da entrada, simulando cada um na sua thread, e só retorna depois de
+    // escrever todas as respostas (de cada cenário, o resultado ou o erro de tempo limite)
+    public void atender(BufferedReader entrada, Writer saida) throws IOException {
+        List<Cenario> emAndamento = new ArrayList<>();
+        String linha;
+        while ((linha = entrada.readLine()) != null) {
+            linha = linha.trim();
+            if (linha.isEmpty() || linha.startsWith("#")) {
+                continue;
+            }
+            String[] partes = linha.split("\\s+");
+            if (!partes[0].equals("cenario") || partes.length < 2) {
+                responder(saida, "erro - esperava 'cenario ID', veio: " + linha + "\n");
+                continue;
+            }
+            Cenario cenario = new Cenario(partes, saida);
+            while ((linha = entrada.readLine()) != null && !linha.trim().equals("fim")) {
+                cenario.linhas.add(linha);
+            }
+            cenario.iniciar();
+            emAndamento.add(cenario);
+            emAndamento.removeIf(anterior -> anterior.respondido.get());
+        }
+        for (Cenario cenario : emAndamento) {
+            try {
+                cenario.esperar();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    // Aceita conexões no socket até close(); cada conexão é atendida numa thread própria
+    public void escutar(Path socket) throws IOException {
+        Files.deleteIfExists(socket);
+        ServerSocketChannel canal = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        canal.bind(UnixDomainSocketAddress.of(socket));
+        synchronized (this) {
+            caminhoDoSocket = socket;
+            servidor = canal;
+            if (fechado) {
+                close(); // Fechado antes de começar a escutar
+            }
+        }
+        while (canal.isOpen()) {
+            SocketChannel conexao;
+            try {
+                conexao = canal.accept();
+            } catch (IOException e) {
+                if (!canal.isOpen()) {
+                    return; // Fechado por close()
+                }
+                throw e;
+            }
+            threads.newThread(() -> {
+                try (SocketChannel c = conexao;
+                     BufferedReader entrada = new BufferedReader(Channels.newReader(c, StandardCharsets.UTF_8));
+                     Writer saida = Channels.newWriter(c, StandardCharsets.UTF_8)) {
+                    atender(entrada, saida);
+                } catch (IOException e) {
+                    // O cliente desconectou; os outros continuam sendo atendidos
+                }
+            }).start();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        fechado = true;
+        if (servidor != null) {
+            servidor.close();
+            Files.deleteIfExists(caminhoDoSocket);
+        }
+    }
+
+    private static void responder(Writer saida, String resposta) {
+        synchronized (saida) {
+            try {
+                saida.write(resposta);
+                saida.flush();
+            } catch (IOException e) {
+                // O cliente foi embora; não há para quem responder
+            }
+        }
+    }
+
+    // Um cenário lido da entrada, simulado depois na sua própria thread
+    private final class Cenario {
+        final String id;
+        final String[] opcoes;
+        final List<String> linhas = new ArrayList<>();
+        final Writer saida;
+        final AtomicBoolean respondido = new AtomicBoolean();
+        long limite = limitePorCenario;
+        long prazo; // System.nanoTime() em que o limite estoura
+        Thread thread;
+        ScheduledFuture<?> alarme;
+
+        Cenario(String[] partes, Writer saida) {
+            this.id = partes[1];
+            this.opcoes = partes;
+            this.saida = saida;
+            for (int i = 2; i < partes.length; i++) {
+                if (partes[i].startsWith("limite=")) {
+                    try {
+                        limite = Math.max(1, Long.parseLong(partes[i].substring("limite=".length())));
+                    } catch (NumberFormatException e) {
+                        // Fica com o limite padrão; executar() recusa a opção com uma linha de erro
+                    }
+                }
+            }
+        }
+
+        void iniciar() {
+            prazo = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(limite);
+            thread = threads.newThread(() -> {
+                String resposta = executar();
+                alarme.cancel(false);
+                responder(resposta);
+            });
+            // Agendado antes de a thread começar, para ela sempre encontrar o alarme
+            alarme = vigia.schedule(this::expirar, limite, TimeUnit.MILLISECONDS);
+            thread.start();
+        }
+
+        // Só a primeira resposta do cenário sai (a do resultado ou a do tempo limite)
+        void responder(String resposta) {
+            if (respondido.compareAndSet(false, true)) {
+                DaemonDeSimulacao.responder(saida, resposta);
+            }
+        }
+
+        void expirar() {
+            responder("erro " + id + " tempo limite de " + limite + "ms excedido\n");
+            thread.interrupt();
+        }
+
+        // Espera a resposta até o prazo; depois dele, responde com o erro sem esperar pela thread
+        void esperar() throws InterruptedException {
+            long restante = prazo - System.nanoTime();
+            if (restante > 0) {
+                thread.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(restante)));
+            }
+            if (thread.isAlive()) {
+                expirar();
+            }
+        }
+
+        String executar() {
+            long inicio = System.nanoTime();
+            try {
+                String politica = null;
+                int chegadas = 0;
+                List<Processo> processos = new ArrayList<>();
+                for (int i = 2; i < opcoes.length; i++) {
+                    String opcao = opcoes[i];
+                    int igual = opcao.indexOf('=');
+                    String nome = igual < 0 ? opcao : opcao.substring(0, igual);
+                    String valor = igual < 0 ? "" : opcao.substring(igual + 1);
+                    switch (nome) {
+                        case "politica":
+                            politica = valor;
+                            break;
+                        case "chegadas":
+                            chegadas = Integer.parseInt(valor);
+                            break;
+                        case "limite":
+                            Long.parseLong(valor); // Já lido no construtor; aqui só valida
+                            break;
+                        case "carga":
+                            TabelaDeProcessos tabela = CarregadorDeCarga.carregar(Paths.get(valor));
+                            for (int p = 0; p < tabela.tamanho(); p++) {
+                                processos.add(validar(tabela.paraProcesso(p)));
+                            }
+                            break;
+                        default:
+                            throw new IllegalArgumentException("Opção desconhecida: " + opcao);
+                    }
+                }
+                for (String linha : linhas) {
+                    adicionarProcesso(processos, linha.trim());
+                }
+                if (chegadas > 0) {
+                    for (int i = 0; i < processos.size(); i++) {
+                        processos.get(i).setChegada(1 + i * chegadas);
+                    }
+                }
+
+                ColetorDeMetricas metricas = new ColetorDeMetricas();
+                int tempo = cache.simular(processos, politica, metricas);
+                long micros = (System.nanoTime() - inicio) / 1000;
+
+                StringBuilder resposta = new StringBuilder(64 * (processos.size() + 1));
+                for (Processo p : processos) {
+                    resposta.append("processo ").append(id).append(' ').append(p.getNome()).append(' ').append(p.getEstado())
+                            .append(" inicio=").append(p.getTempoDeInicio())
+                            .append(" turnaround=").append(p.getTurnaroundTime())
+                            .append(" bloqueios=").append(p.getBloqueios()).append('\n');
+                }
+                resposta.append(String.format(Locale.ROOT,
+                        "resultado %s tempo=%d finalizados=%d turnaround=%.1f resposta=%.1f espera=%.1f vazao=%.4f utilizacao=%.3f micros=%d%n",
+                        id, tempo, metricas.getFinalizados(), metricas.getTurnaround().getMedia(), metricas.getResposta().getMedia(),
+                        metricas.getEspera().getMedia(), metricas.getVazao(), metricas.getUtilizacao(), micros));
+                return resposta.toString();
+            } catch (Throwable e) {
+                // Qualquer falha (inclusive um Error) vira a resposta do cenário
+                String mensagem = e.getMessage() == null ? e.toString() : e.getMessage();
+                return "erro " + id + " " + mensagem.replace('\n', ' ') + "\n";
+            }
+        }
+
+        private void adicionarProcesso(List<Processo> processos, String linha) {
+            if (linha.isEmpty() || linha.startsWith("#")) {
+                return;
+            }
+            String[] campos = linha.split(",");
+            if (campos.length != 6) {
+                throw new IllegalArgumentException("Processo com " + campos.length + " campos (esperava 6): " + linha);
+            }
+            processos.add(validar(new Processo(campos[0].trim(), Integer.parseInt(campos[1].trim()), Integer.parseInt(campos[2].trim()),
+                    Integer.parseInt(campos[3].trim()), Integer.parseInt(campos[4].trim()), Integer.parseInt(campos[5].trim()))));
+        }
+
+        // Surto ou prioridade não positivos fariam o escalonador girar sem fim
+        private Processo validar(Processo p) {
+            if (p.getSurtoCpu() <= 0) {
+                throw new IllegalArgumentException("O processo " + p.getNome() + " tem surto " + p.getSurtoCpu() + " (precisa ser positivo).");
+            }
+            if (p.getPrioridade() <= 0) {
+                throw new IllegalArgumentException("O processo " + p.getNome() + " tem prioridade " + p.getPrioridade() + " (precisa ser positiva).");
+            }
+            return p;
+        }
+    }
+}
@@ -1,58 +1,427 @@
 package t1;
 
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.locks.LockSupport;
 
 public class Escalonador {
+    // Versão dos resultados das simulações: deve mudar a cada alteração que mude o escalonamento de
+    // alguma carga, pois invalida os resultados guardados pelo CacheDeResultados
+    public static final int VERSAO_DOS_RESULTADOS = 1;
+    // De quantos em quantos ciclos iniciarEscalonamento confere a interrupção (potência de 2)
+    private static final int CICLOS_ENTRE_INTERRUPCOES = 4096;
+
     private List<Processo> listaDeProcessos;
+    private final PoliticaDeEscalonamento politica;
+    private final SaidaDoEscalonador saida;
+    private final RodaDeTemporizacao bloqueados;
+    private Processo[] registro; // Processos indexados pelo id usado na roda de temporização
+    private int registrados;
+    private int[] idsLivres = new int[4]; // Ids de processos retirados, reaproveitados pelos próximos
+    private int livres;
+
+    // Sistema aberto: os processos chegam de um Iterator e saem ao terminar (null no sistema fechado)
+    private Iterator<Processo> chegadas;
+    private Processo proximaChegada;
+    private int ultimaChegada;
+    private int proximaSequencia;
+    private int vivos;
+    private long retirados;
+
+    // Processos enviados por outras threads com submit, admitidos em lotes a cada decisão
+    private static final int LOTE_DE_SUBMISSOES = 4096;
+    private final FilaDeSubmissoes submissoes = new FilaDeSubmissoes();
+    private volatile boolean submissoesAbertas;
+    private volatile Thread threadDoLaco;
     private int tempo;
+    private Path arquivoDeCheckpoint;
+    private int intervaloDeCheckpoint;
+    // Medições do custo do escalonador; null (o padrão) desliga tudo com um único teste por ciclo
+    private InstrumentacaoDoEscalonador instrumentacao;
+    private int selecoesMedidas;
+    private Processo ultimoExecutado;
+    // Partição de uma simulação distribuída: quem decide o reset de créditos é o coordenador
+    private boolean resetCoordenado;
 
     // Construtor que recebe a lista de processos
     public Escalonador(List<Processo> processos) {
+        this(processos, new SaidaDeTexto(System.out));
+    }
+
+    // Construtor que também recebe para onde os eventos do escalonamento devem ir
+    public Escalonador(List<Processo> processos, SaidaDoEscalonador saida) {
+        this(processos, saida, new PoliticaDeCreditos());
+    }
+
+    // Construtor que também escolhe a política de escalonamento (créditos, CFS, ...)
+    public Escalonador(List<Processo> processos, SaidaDoEscalonador saida, PoliticaDeEscalonamento politica) {
+        this(processos, saida, politica, 1); // Inicializa o tempo total do sistema
+    }
+
+    // Construtor de sistema aberto: cada processo é admitido quando o tempo chega à sua chegada
+    // (o Iterator deve entregá-los em ordem de chegada) e retirado assim que termina, depois de
+    // registrado na saída. A memória fica limitada aos processos vivos, mesmo com infinitas chegadas
+    public Escalonador(Iterator<Processo> chegadas, SaidaDoEscalonador saida) {
+        this(chegadas, saida, new PoliticaDeCreditos());
+    }
+
+    public Escalonador(Iterator<Processo> chegadas, SaidaDoEscalonador saida, PoliticaDeEscalonamento politica) {
+        this(new ArrayList<>(), saida, politica, 1);
+        this.chegadas = chegadas;
+        this.proximaChegada = chegadas.hasNext() ? chegadas.next() : null;
+    }
+
+    // Construtor usado para continuar uma simulação a partir de um checkpoint
+    Escalonador(List<Processo> processos, SaidaDoEscalonador saida, int tempoInicial) {
+        this(processos, saida, new PoliticaDeCreditos(), tempoInicial);
+    }
+
+    private Escalonador(List<Processo> processos, SaidaDoEscalonador saida, PoliticaDeEscalonamento politica, int tempoInicial) {
         this.listaDeProcessos = processos;
-        this.tempo = 1; // Inicializa o tempo total do sistema
+        this.saida = saida;
+        this.politica = politica;
+        this.tempo = tempoInicial;
+        this.bloqueados = new RodaDeTemporizacao(tempo, this::concluirES);
+        this.registro = new Processo[Math.max(4, processos.size())];
+
+        // Registra os processos na política; a posição na lista é usada no desempate
+        int sequencia = 0;
+        for (Processo p : processos) {
+            p.sequencia = sequencia++;
+            registrar(p);
+            politica.acompanhar(p);
+        }
+        this.proximaSequencia = sequencia;
     }
 
-    public void resetarCreditos() {
-        System.out.println("Resetando créditos de todos os processos...");
-        for (Processo p : listaDeProcessos) {
-            // Redistribui os créditos de acordo com a fórmula, independentemente do estado
-            p.resetarCreditos();
-            System.out.println("Processo: " + p.getNome() + " | Créditos resetados para: " + p.getCreditos());
+    // Dá ao processo um id neste escalonador (se ainda não tiver) e o retorna
+    private int registrar(Processo p) {
+        if (p.id >= 0 && p.id < registrados && registro[p.id] == p) {
+            return p.id;
+        }
+        if (registrados == registro.length) {
+            registro = Arrays.copyOf(registro, registrados * 2);
+        }
+        if (livres > 0) {
+            p.id = idsLivres[--livres];
+        } else {
+            p.id = registrados++;
         }
+        registro[p.id] = p;
+        return p.id;
     }
 
-    // Método que seleciona o processo com o maior número de créditos (e desempate por ordem)
-    public Processo selecionarProcesso() {
-        Processo processoSelecionado = null;
+    // Admite os processos cuja chegada já aconteceu. Com o sistema vazio, salta direto para a
+    // próxima chegada em vez de passar 1ms por vez
+    private void admitirChegadas() {
+        if (vivos == 0 && proximaChegada != null && proximaChegada.getChegada() > tempo) {
+            tempo = proximaChegada.getChegada();
+            bloqueados.avancar(tempo);
+        }
+        while (proximaChegada != null && proximaChegada.getChegada() <= tempo) {
+            Processo p = proximaChegada;
+            if (p.getChegada() < ultimaChegada) {
+                throw new IllegalArgumentException("O processo " + p.getNome() + " chega em " + p.getChegada()
+                        + "ms, antes do anterior (" + ultimaChegada + "ms): as chegadas devem vir em ordem.");
+            }
+            ultimaChegada = p.getChegada();
+            proximaChegada = chegadas.hasNext() ? chegadas.next() : null;
+            if (p.getEstado() == EstadoProcesso.FINALIZADO) {
+                retirados++;
+                continue;
+            }
+            admitir(p);
+        }
+    }
 
-        for (Processo p : listaDeProcessos) {
-            if (p.getEstado() == EstadoProcesso.PRONTO && p.getCreditos() > 0) {
-                if (processoSelecionado == null ||
-                        p.getCreditos() > processoSelecionado.getCreditos() ||
-                        (p.getCreditos() == processoSelecionado.getCreditos() && p.getOrdem() < processoSelecionado.getOrdem())) {
-                    processoSelecionado = p;
+    // Processo que chega com o escalonador já rodando: entra na política e sai ao terminar
+    private void admitir(Processo p) {
+        p.dinamico = true;
+        p.sequencia = proximaSequencia++;
+        registrar(p);
+        politica.acompanhar(p);
+        vivos++;
+    }
+
+    // Envia um processo para o escalonador; pode ser chamado de qualquer thread, inclusive com a
+    // simulação rodando. O processo é admitido na próxima decisão do laço principal, com chegada no
+    // tempo em que for admitido. Não trava: os produtores não disputam nada com o laço. Depois de
+    // fecharSubmissoes o processo não seria mais executado, então é recusado com exceção
+    public void submit(Processo p) {
+        if (!submissoes.oferecer(p)) {
+            throw new IllegalStateException("As submissões já foram fechadas; o processo " + p.getNome() + " não seria executado.");
+        }
+        Thread laco = threadDoLaco;
+        if (laco != null) {
+            LockSupport.unpark(laco); // Acorda o laço se ele estiver esperando submissões
+        }
+    }
+
+    // Enquanto as submissões estiverem abertas, iniciarEscalonamento não termina ao finalizar todos
+    // os processos: espera (sem avançar o tempo) por novos submit até fecharSubmissoes
+    public void abrirSubmissoes() {
+        if (submissoes.fechada()) {
+            throw new IllegalStateException("As submissões já foram fechadas.");
+        }
+        submissoesAbertas = true;
+    }
+
+    // Definitivo: os submit seguintes lançam IllegalStateException, e os que já foram aceitos
+    // (inclusive os que ainda estão no meio do submit) são executados antes de o laço terminar
+    public void fecharSubmissoes() {
+        submissoes.fechar();
+        submissoesAbertas = false;
+        Thread laco = threadDoLaco;
+        if (laco != null) {
+            LockSupport.unpark(laco);
+        }
+    }
+
+    // Admite um lote de processos submetidos. Sem nada para executar, espera o próximo submit
+    private void drenarSubmissoes() {
+        if (submissoesAbertas) {
+            // Publicada antes de olhar a fila: um produtor que não viu a thread já deixou o processo visível
+            threadDoLaco = Thread.currentThread();
+            while (submissoesAbertas && submissoes.vazia() && semTrabalho()) {
+                LockSupport.park(this);
+            }
+        }
+        Processo p;
+        for (int i = 0; i < LOTE_DE_SUBMISSOES && (p = submissoes.retirar()) != null; i++) {
+            admitirSubmetido(p);
+        }
+        // Sem trabalho, um produtor no meio do submit (entre o getAndSet e a ligação do nó) é a única
+        // coisa que falta: espera a ligação ficar visível em vez de deixar o relógio andar à toa
+        for (int voltas = 1; semTrabalho() && !submissoes.vazia(); voltas++) {
+            p = submissoes.retirar();
+            if (p != null) {
+                admitirSubmetido(p);
+            } else if (voltas % 64 == 0) {
+                Thread.yield(); // O produtor pode ter perdido a CPU no meio do submit
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    private void admitirSubmetido(Processo p) {
+        if (p.getEstado() == EstadoProcesso.FINALIZADO) {
+            retirados++;
+            return;
+        }
+        p.setChegada(Math.max(p.getChegada(), tempo));
+        admitir(p);
+    }
+
+    // Nenhum processo vivo nem chegada pendente
+    private boolean semTrabalho() {
+        return vivos == 0 && proximaChegada == null
+                && politica.quantidade(EstadoProcesso.FINALIZADO) == listaDeProcessos.size();
+    }
+
+    // Tira do escalonador um processo que terminou, liberando seu id para as próximas chegadas
+    private void retirar(Processo p) {
+        politica.deixarDeAcompanhar(p);
+        registro[p.id] = null;
+        if (livres == idsLivres.length) {
+            idsLivres = Arrays.copyOf(idsLivres, livres * 2);
+        }
+        idsLivres[livres++] = p.id;
+        p.id = -1;
+        vivos--;
+        retirados++;
+    }
+
+    public int getTempo() {
+        return tempo;
+    }
+
+    // Os processos da lista do construtor e os admitidos depois (por chegada ou submit) que ainda
+    // não terminaram
+    public List<Processo> getProcessos() {
+        if (vivos == 0) {
+            return listaDeProcessos;
+        }
+        List<Processo> processos = new ArrayList<>(listaDeProcessos.size() + vivos);
+        processos.addAll(listaDeProcessos);
+        for (int i = 0; i < registrados; i++) {
+            if (registro[i] != null && registro[i].dinamico) {
+                processos.add(registro[i]);
+            }
+        }
+        return processos;
+    }
+
+    // Quantos processos já terminaram e saíram do escalonador no sistema aberto
+    public long getRetirados() {
+        return retirados;
+    }
+
+    public PoliticaDeEscalonamento getPolitica() {
+        return politica;
+    }
+
+    // Grava um checkpoint no arquivo a cada 'intervalo' ms simulados (numa thread de fundo)
+    public void setCheckpoints(Path arquivo, int intervalo) {
+        if (intervalo < 1) {
+            throw new IllegalArgumentException("O intervalo entre checkpoints precisa ser pelo menos 1ms.");
+        }
+        if (!(politica instanceof PoliticaDeCreditos)) {
+            throw new IllegalStateException("Os checkpoints só guardam o estado da política de créditos.");
+        }
+        if (chegadas != null || submissoesAbertas) {
+            throw new IllegalStateException("Os checkpoints não guardam as chegadas ainda não admitidas.");
+        }
+        this.arquivoDeCheckpoint = arquivo;
+        this.intervaloDeCheckpoint = intervalo;
+    }
+
+    public void setInstrumentacao(InstrumentacaoDoEscalonador instrumentacao) {
+        this.instrumentacao = instrumentacao;
+        this.ultimoExecutado = null;
+    }
+
+    public InstrumentacaoDoEscalonador getInstrumentacao() {
+        return instrumentacao;
+    }
+
+    // Usado pelos trabalhadores do CoordenadorDistribuido: o escalonador é só uma partição dos
+    // processos, então quando nenhum pronto tem créditos a CPU fica ociosa em vez de resetar, até
+    // o coordenador mandar resetar todas as partições juntas com resetarNaBarreira()
+    void setResetCoordenado(boolean resetCoordenado) {
+        if (chegadas != null || submissoesAbertas) {
+            throw new IllegalStateException("O reset coordenado só vale para uma lista fixa de processos.");
+        }
+        this.resetCoordenado = resetCoordenado;
+    }
+
+    // Se nenhum processo pronto pode ser escolhido agora (a CPU ficaria ociosa ou resetaria)
+    boolean estaOcioso() {
+        return politica.selecionar() == null;
+    }
+
+    // Próximo instante em que a E/S de algum bloqueado termina, ou -1 se ninguém espera E/S
+    int proximoDespertar() {
+        return bloqueados.proximoVencimento();
+    }
+
+    // Executa ciclos até o tempo chegar a 'limite' (um surto pode passar dele) ou todos os processos
+    // terminarem. Com pararSeOcioso, para antes do primeiro ciclo ocioso depois de 'desde' e
+    // retorna true. Sem isso, sem nenhum pronto, salta direto para a próxima E/S que termina, como
+    // os ciclos ociosos fariam 1ms por vez
+    boolean avancarAte(int limite, int desde, boolean pararSeOcioso) {
+        while (tempo < limite && !todosProcessosFinalizados()) {
+            if (estaOcioso()) {
+                if (pararSeOcioso && tempo > desde) {
+                    return true;
+                }
+                int despertar = bloqueados.proximoVencimento();
+                if (!pararSeOcioso && politica.quantidade(EstadoProcesso.PRONTO) == 0 && despertar > tempo) {
+                    tempo = Math.min(limite, despertar);
+                    bloqueados.avancar(tempo);
+                    continue;
                 }
             }
+            executarCiclo();
+        }
+        return false;
+    }
+
+    // O ciclo de reset que o escalonador faria sozinho, no instante escolhido pelo coordenador
+    void resetarNaBarreira() {
+        resetarCreditos();
+        avancarTempo();
+    }
+
+    // Instante em que a E/S do processo termina, ou 0 se ele não está esperando E/S
+    int instanteDeDespertar(Processo p) {
+        boolean registrado = p.id >= 0 && p.id < registrados && registro[p.id] == p;
+        return registrado && bloqueados.contem(p.id) ? bloqueados.instanteDe(p.id) : 0;
+    }
+
+    // Milissegundos que faltam para o processo acordar da E/S, tirados do vencimento na roda
+    // (0 se não estiver esperando E/S)
+    public int tempoRestanteDeES(Processo p) {
+        int instante = instanteDeDespertar(p);
+        return instante == 0 ? 0 : instante - tempo;
+    }
+
+    // Agenda o fim da E/S de um processo restaurado de um checkpoint
+    void agendarDespertar(Processo p, int instante) {
+        bloqueados.agendar(registrar(p), instante);
+    }
+
+    public void resetarCreditos() {
+        InstrumentacaoDoEscalonador medidor = instrumentacao;
+        if (medidor == null) {
+            redistribuirCreditos();
+        } else {
+            // Os resets são raros, então todos são cronometrados
+            long inicio = System.nanoTime();
+            redistribuirCreditos();
+            medidor.registrarReset(System.nanoTime() - inicio);
+        }
+    }
+
+    private void redistribuirCreditos() {
+        saida.registrar(TipoDeEvento.RESET_DE_CREDITOS, tempo, null);
+        if ((!saida.aceita(TipoDeEvento.CREDITOS_RESETADOS) || !politica.resetGlobalAlcancaProcessos())
+                && politica.resetarSemPercorrer()) {
+            return;
+        }
+        // Redistribui os créditos de acordo com a fórmula, independentemente do estado, na ordem de
+        // getProcessos() mas sem montar a lista
+        for (Processo p : listaDeProcessos) {
+            redistribuirCreditos(p);
+        }
+        for (int i = 0; vivos > 0 && i < registrados; i++) {
+            if (registro[i] != null && registro[i].dinamico) {
+                redistribuirCreditos(registro[i]);
+            }
         }
+    }
 
-        return processoSelecionado; // Retorna o processo com maior crédito ou desempate por ordem
+    private void redistribuirCreditos(Processo p) {
+        p.resetarCreditos();
+        saida.registrar(TipoDeEvento.CREDITOS_RESETADOS, tempo, p);
+    }
+
+    // Método que seleciona o próximo processo segundo a política (por padrão, o de maior crédito)
+    public Processo selecionarProcesso() {
+        InstrumentacaoDoEscalonador medidor = instrumentacao;
+        if (medidor == null || !medidor.contarSelecao(selecoesMedidas++)) {
+            return politica.selecionar();
+        }
+        // Seleção amostrada: cronometra e anota o tamanho da fila de prontos neste instante
+        medidor.amostrarFila(politica.quantidade(EstadoProcesso.PRONTO), tempo);
+        long inicio = System.nanoTime();
+        Processo p = politica.selecionar();
+        medidor.registrarSelecaoCronometrada(System.nanoTime() - inicio);
+        return p;
     }
 
     // Método para finalizar o processo
     public void finalizarProcesso(Processo p) {
         p.mudarEstado(EstadoProcesso.FINALIZADO);
-        System.out.println("Processo " + p.getNome() + " finalizado.");
+        saida.registrar(TipoDeEvento.PROCESSO_FINALIZADO, tempo, p);
+        if (p.dinamico && p.id >= 0 && p.id < registrados && registro[p.id] == p) {
+            retirar(p); // As métricas já foram registradas pela saída
+        }
     }
 
 
     // Método principal para gerenciar a execução do processo
     public void executarProcesso(Processo p) {
-        if (p.getCreditos() > 0 && p.getEstado() == EstadoProcesso.PRONTO) {  // Certifique-se de que o processo tem créditos e está PRONTO
+        if (politica.podeExecutar(p, 0) && p.getEstado() == EstadoProcesso.PRONTO) {  // Certifique-se de que o processo pode executar e está PRONTO
             iniciarExecucao(p);
-            processarSurtoCPU(p);
+            int executado = processarSurtoCPU(p);
 
-            if (p.getTempoTotalCpu() > 0 && p.getCreditos() <= 0) {
-                // Se o processo não terminou a CPU e os créditos acabaram, retorna para PRONTO
+            if (p.getTempoTotalCpu() > 0 && politica.foiInterrompido(p, executado)) {
+                // Se o processo não terminou a CPU e a política o interrompeu (na de créditos, os
+                // créditos acabaram), retorna para PRONTO
                 p.mudarEstado(EstadoProcesso.PRONTO);
             } else {
                 // Caso contrário, decide se o processo será finalizado ou bloqueado
@@ -64,28 +433,34 @@ public class Escalonador {
     // Método para iniciar a execução do processo
     public void iniciarExecucao(Processo p) {
         p.mudarEstado(EstadoProcesso.EXECUTANDO);
-        System.out.println("Tempo: " + tempo + "ms - Executando processo: " + p.getNome() + " | Créditos: " + p.getCreditos());
+        saida.registrar(TipoDeEvento.EXECUCAO_INICIADA, tempo, p);
+        if (instrumentacao != null && p != ultimoExecutado) {
+            instrumentacao.registrarTrocaDeContexto();
+            ultimoExecutado = p;
+        }
     }
 
-    // Método para processar o surto de CPU
-    public void processarSurtoCPU(Processo p) {
+    // Método para processar o surto de CPU; retorna quantos ms o processo executou
+    public int processarSurtoCPU(Processo p) {
         int tempoExecutado = p.getSurtoCpu();
         if (p.getTempoDeInicio() == 0) p.setTempoDeInicio(tempo);
-        for (int i = 0; i < tempoExecutado; i++) {
-            if (p.getCreditos() > 0) {
-                p.decrementarCreditos(); // Reduz 1 crédito a cada milissegundo
-                p.decrementarTempoTotalCpu(1); // Desconta 1ms do tempo total de CPU
-                tempo++; // Incrementa o tempo global do sistema
+        int executado = 0;
+        // Executa 1ms por vez enquanto a política permitir (na de créditos, enquanto houver créditos)
+        while (executado < tempoExecutado && politica.podeExecutar(p, executado)) {
+            politica.contabilizar(p);
+            p.decrementarTempoTotalCpu(1); // Desconta 1ms do tempo total de CPU
+            executado++;
+            avancarTempo(); // Incrementa o tempo global do sistema
+
+            saida.registrar(TipoDeEvento.CPU_EXECUTADA, tempo, p);
 
-                System.out.println("Tempo: " + tempo + "ms - Processo: " + p.getNome() + " | Créditos restantes: " + p.getCreditos() + " | Tempo restante de CPU: " + p.getTempoTotalCpu());
-            }
             // Se o tempo total de CPU do processo acabar, interrompemos o loop
             if (p.getTempoTotalCpu() <= 0) {
                 p.calculaTurnaroundTime(tempo);
                 break;
             }
         }
-
+        return executado;
     }
 
     // Método para verificar se o processo deve ser finalizado ou bloqueado para E/S
@@ -102,49 +477,91 @@ public class Escalonador {
     // Método para bloquear o processo para operações de E/S
     public void bloquearParaES(Processo p) {
         p.mudarEstado(EstadoProcesso.BLOQUEADO);
-        System.out.println("Tempo: " + tempo + "ms - Processo " + p.getNome() + " bloqueado para E/S por " + p.getTempoES() + "ms.");
+        saida.registrar(TipoDeEvento.PROCESSO_BLOQUEADO, tempo, p);
 
-        // Incrementa o tempo global do sistema com o tempo de E/S
-        tempo += p.getTempoES();
+        // A E/S acontece em paralelo: a CPU segue com outros processos até o processo acordar
+        bloqueados.agendar(registrar(p), tempo + p.getTempoES());
     }
 
+    // Chamado pela roda de temporização quando a E/S de um processo termina
+    private void concluirES(int id) {
+        Processo p = registro[id];
+        p.mudarEstado(EstadoProcesso.PRONTO);
+        saida.registrar(TipoDeEvento.ES_CONCLUIDA, bloqueados.getAtual(), p);
+    }
 
-    // Verifica se todos os processos na fila de PRONTOS estão sem créditos
-    private boolean todosProcessosProntosSemCreditos() {
-        for (Processo p : listaDeProcessos) {
-            if (p.getEstado() == EstadoProcesso.PRONTO && p.getCreditos() > 0) {
-                return false; // Existe pelo menos um processo PRONTO com créditos
-            }
-        }
-        return true; // Todos os processos PRONTOS estão sem créditos
+    // Avança 1ms do tempo global, acordando os processos cuja E/S terminou
+    private void avancarTempo() {
+        tempo++;
+        bloqueados.avancar(tempo);
     }
 
+    // Quantos processos do escalonador estão no estado (contado pela política, sem percorrer a lista)
+    public int quantidadeDeProcessos(EstadoProcesso estado) {
+        return politica.quantidade(estado);
+    }
 
     public boolean todosProcessosFinalizados() {
-        for (Processo p : listaDeProcessos) {
-            if (p.getEstado() != EstadoProcesso.FINALIZADO) {
-                return false;  // Se algum processo não está finalizado, retorna false
+        return semTrabalho() && !submissoesAbertas && submissoes.vazia();
+    }
+
+    // Roda até o fim. A cada CICLOS_ENTRE_INTERRUPCOES confere se a thread foi interrompida e,
+    // se foi, desiste com IllegalStateException: é assim que quem impõe um tempo limite (como o
+    // DaemonDeSimulacao) para uma simulação que não termina
+    public void iniciarEscalonamento() {
+        int ciclos = 0;
+        if (arquivoDeCheckpoint == null) {
+            while (!todosProcessosFinalizados()) {
+                executarCiclo();
+                if ((++ciclos & (CICLOS_ENTRE_INTERRUPCOES - 1)) == 0) {
+                    pararSeInterrompido();
+                }
+            }
+        } else {
+            try (GravadorDeCheckpoints checkpoints = new GravadorDeCheckpoints(arquivoDeCheckpoint)) {
+                int proximoCheckpoint = tempo + intervaloDeCheckpoint;
+                while (!todosProcessosFinalizados()) {
+                    executarCiclo();
+                    if ((++ciclos & (CICLOS_ENTRE_INTERRUPCOES - 1)) == 0) {
+                        pararSeInterrompido();
+                    }
+                    if (tempo >= proximoCheckpoint) {
+                        checkpoints.salvar(this);
+                        proximoCheckpoint = tempo + intervaloDeCheckpoint;
+                    }
+                }
             }
         }
-        return true;  // Se todos os processos estão finalizados, retorna true
+        saida.registrar(TipoDeEvento.ESCALONAMENTO_CONCLUIDO, tempo, null);
     }
 
-    public void iniciarEscalonamento() {
-        while (!todosProcessosFinalizados()) {
-            Processo processoExecutando = selecionarProcesso();
+    private void pararSeInterrompido() {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new IllegalStateException("Escalonamento interrompido no tempo " + tempo + "ms.");
+        }
+    }
 
-            if (processoExecutando != null) {
-                System.out.println("Tempo: " + tempo + "ms - Processo selecionado para execução: " + processoExecutando.getNome());
-                executarProcesso(processoExecutando);
-            } else {
-                // Se nenhum processo tem créditos, redistribuímos os créditos
-                if (todosProcessosProntosSemCreditos()) {
-                    resetarCreditos();  // Redistribui os créditos de todos os processos
-                }
+    // Uma volta do laço principal: seleciona e executa um processo (ou redistribui os créditos)
+    // e avança 1ms. Separado para os benchmarks e testes medirem decisões individuais; no regime
+    // permanente não aloca nada (veja AlocacaoTest)
+    public void executarCiclo() {
+        if (chegadas != null) {
+            admitirChegadas();
+        }
+        drenarSubmissoes();
+        Processo processoExecutando = selecionarProcesso();
+
+        if (processoExecutando != null) {
+            saida.registrar(TipoDeEvento.PROCESSO_SELECIONADO, tempo, processoExecutando);
+            executarProcesso(processoExecutando);
+        } else {
+            // Se nenhum processo pronto tem créditos, redistribuímos os créditos. Se não há
+            // processo pronto algum, a CPU fica ociosa esperando a E/S dos bloqueados
+            if (politica.precisaDeReset() && !resetCoordenado) {
+                resetarCreditos();  // Redistribui os créditos de todos os processos
             }
-            // Incrementa o tempo global do sistema após cada ciclo de execução
-            tempo++;
         }
-        System.out.println("Todos os processos foram finalizados.");
+        // Incrementa o tempo global do sistema após cada ciclo de execução
+        avancarTempo();
     }
 }
\ No newline at end of file
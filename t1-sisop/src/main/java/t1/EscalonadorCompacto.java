@@ -0,0 +1,153 @@
+package t1;
+
+// Escalonador que trabalha direto sobre a TabelaDeProcessos, sem nenhum objeto por processo.
+// Segue as mesmas regras do Escalonador (créditos, desempate por ordem, reset, E/S em paralelo)
+// e, como o MotorDeEventos, calcula cada surto de uma vez e salta os períodos ociosos até o
+// próximo fim de E/S, chegando ao mesmo estado final e turnaround da simulação por ticks.
+// Posições acrescentadas à tabela depois da criação do escalonador (mesmo durante a execução, por
+// uma saída) são admitidas na próxima volta do laço.
+public class EscalonadorCompacto {
+
+    private final TabelaDeProcessos tabela;
+    private final FilaDeProntosCompacta filaDeProntos;
+    private final RodaDeTemporizacao bloqueados;
+    private final SaidaDoEscalonador saida;
+    private final Processo visao; // Reaproveitado para publicar eventos
+    private int tempo;
+    private int finalizados;
+    private int admitidos; // Posições da tabela já vistas pelo escalonador
+
+    public EscalonadorCompacto(TabelaDeProcessos tabela) {
+        this(tabela, SaidaSilenciosa.INSTANCIA);
+    }
+
+    public EscalonadorCompacto(TabelaDeProcessos tabela, SaidaDoEscalonador saida) {
+        this.tabela = tabela;
+        this.saida = saida;
+        this.tempo = 1;
+        this.filaDeProntos = new FilaDeProntosCompacta(tabela);
+        this.bloqueados = new RodaDeTemporizacao(tempo, this::concluirES);
+        this.visao = new Processo("", 0, 0, 0, 0, 0);
+        admitirNovos();
+    }
+
+    public int getTempo() {
+        return tempo;
+    }
+
+    public TabelaDeProcessos getTabela() {
+        return tabela;
+    }
+
+    public void iniciarEscalonamento() {
+        while (admitirNovos() > finalizados) {
+            int p = filaDeProntos.primeiro();
+            if (p >= 0) {
+                publicar(TipoDeEvento.PROCESSO_SELECIONADO, tempo, p);
+                executar(p);
+            } else if (filaDeProntos.tamanho() > 0) {
+                resetarCreditos();
+                if (!filaDeProntos.temProntoComCreditos() && bloqueados.tamanho() == 0) {
+                    throw new IllegalStateException("O reset não devolveu créditos a nenhum processo pronto no tempo " + tempo + "ms.");
+                }
+                avancarTempo();
+            } else if (bloqueados.tamanho() > 0) {
+                // CPU ociosa: salta direto para o fim da próxima E/S
+                tempo = bloqueados.proximoVencimento();
+                bloqueados.avancar(tempo);
+            } else {
+                throw new IllegalStateException("Nenhum processo pronto e nenhum evento pendente no tempo " + tempo + "ms.");
+            }
+        }
+        saida.registrar(TipoDeEvento.ESCALONAMENTO_CONCLUIDO, tempo, null);
+    }
+
+    // Coloca na fila as posições acrescentadas à tabela desde a última chamada e devolve o total
+    private int admitirNovos() {
+        int total = tabela.tamanho();
+        for (; admitidos < total; admitidos++) {
+            if (tabela.estado[admitidos] == TabelaDeProcessos.PRONTO) {
+                filaDeProntos.adicionar(admitidos, tabela.creditos[admitidos]);
+            } else if (tabela.estado[admitidos] == TabelaDeProcessos.FINALIZADO) {
+                finalizados++;
+            }
+        }
+        return total;
+    }
+
+    // Executa o surto inteiro de uma vez e decide o destino do processo
+    private void executar(int p) {
+        filaDeProntos.remover(p);
+        tabela.estado[p] = TabelaDeProcessos.EXECUTANDO;
+        publicar(TipoDeEvento.EXECUCAO_INICIADA, tempo, p);
+        // Lidos depois do evento: a saída pode ter feito a tabela crescer e trocar os vetores
+        int[] creditos = tabela.creditos;
+        int[] cpu = tabela.cpuRestante;
+        if (tabela.tempoDeInicio[p] == 0) tabela.tempoDeInicio[p] = tempo;
+
+        int duracao = MotorDeEventos.duracaoDoSurto(tabela.surtoCpu[p], creditos[p], cpu[p]);
+        creditos[p] -= duracao;
+        cpu[p] = Math.max(0, cpu[p] - duracao);
+        tempo += duracao;
+        if (tabela.surtoCpu[p] > 0 && cpu[p] <= 0) {
+            tabela.turnaround[p] += tempo - tabela.tempoDeInicio[p];
+        }
+
+        if (cpu[p] > 0 && creditos[p] <= 0) {
+            pronto(p);
+        } else if (cpu[p] <= 0) {
+            tabela.estado[p] = TabelaDeProcessos.FINALIZADO;
+            finalizados++;
+            publicar(TipoDeEvento.PROCESSO_FINALIZADO, tempo, p);
+        } else if (tabela.tempoES[p] > 0) {
+            tabela.estado[p] = TabelaDeProcessos.BLOQUEADO;
+            tabela.bloqueios[p]++;
+            publicar(TipoDeEvento.PROCESSO_BLOQUEADO, tempo, p);
+            bloqueados.agendar(p, tempo + tabela.tempoES[p]);
+        } else {
+            pronto(p);
+        }
+        avancarTempo();
+    }
+
+    private void pronto(int p) {
+        tabela.estado[p] = TabelaDeProcessos.PRONTO;
+        filaDeProntos.adicionar(p, tabela.creditos[p]);
+    }
+
+    private void resetarCreditos() {
+        int[] creditos = tabela.creditos;
+        int[] prioridade = tabela.prioridade;
+        boolean detalhado = saida.aceita(TipoDeEvento.CREDITOS_RESETADOS);
+        saida.registrar(TipoDeEvento.RESET_DE_CREDITOS, tempo, null);
+        for (int p = 0; p < admitidos; p++) {
+            creditos[p] = creditos[p] / 2 + prioridade[p];
+            if (filaDeProntos.contem(p)) {
+                filaDeProntos.remover(p);
+                filaDeProntos.adicionar(p, creditos[p]);
+            }
+            if (detalhado) {
+                publicar(TipoDeEvento.CREDITOS_RESETADOS, tempo, p);
+                creditos = tabela.creditos;
+                prioridade = tabela.prioridade;
+            }
+        }
+    }
+
+    private void concluirES(int p) {
+        pronto(p);
+        publicar(TipoDeEvento.ES_CONCLUIDA, bloqueados.getAtual(), p);
+    }
+
+    private void avancarTempo() {
+        tempo++;
+        bloqueados.avancar(tempo);
+    }
+
+    private void publicar(TipoDeEvento tipo, int instante, int p) {
+        if (saida.aceita(tipo)) {
+            tabela.carregarVisao(p, visao);
+            saida.registrar(tipo, instante, visao);
+        }
+    }
+}
@@ -0,0 +1,320 @@
+package t1;
+
+import java.io.PrintStream;
+import java.util.List;
+
+// Escalonador para máquinas com vários núcleos. Cada núcleo tem sua própria fila de prontos com a
+// mesma regra de créditos/ordem do Escalonador; um núcleo ocioso sem processos com créditos rouba
+// o melhor processo do núcleo com a maior fila. O tempo avança para todos os núcleos ao mesmo
+// tempo. Entre dois eventos que envolvem outros núcleos (fim de um surto, fim de uma E/S, reset de
+// créditos) cada núcleo só gasta o próprio processo, então o escalonador salta esse trecho de uma
+// vez; só a saída que pede CPU_EXECUTADA (um evento por ms) faz a simulação andar de 1 em 1ms.
+//
+// Diferenças em relação ao Escalonador de um núcleo: não há o milissegundo extra entre um surto e
+// o próximo, e o reset de créditos só acontece quando nenhum núcleo está executando (um processo
+// em execução ainda tem créditos, então a rodada de créditos não acabou).
+public class EscalonadorMultiNucleo {
+
+    private final Processo[] processos;
+    private final Nucleo[] nucleos;
+    private final RodaDeTemporizacao bloqueados;
+    private final SaidaDoEscalonador saida;
+    private final boolean porMilissegundo;
+    private int tempo;
+    private int tempoInicial;
+    private int finalizados;
+    private long migracoes;
+
+    public EscalonadorMultiNucleo(List<Processo> processos, int quantidadeDeNucleos) {
+        this(processos, quantidadeDeNucleos, new SaidaDeTexto(System.out));
+    }
+
+    public EscalonadorMultiNucleo(List<Processo> processos, int quantidadeDeNucleos, SaidaDoEscalonador saida) {
+        if (quantidadeDeNucleos < 1) {
+            throw new IllegalArgumentException("É preciso pelo menos um núcleo.");
+        }
+        this.processos = processos.toArray(new Processo[0]);
+        this.saida = saida;
+        this.porMilissegundo = saida.aceita(TipoDeEvento.CPU_EXECUTADA);
+        this.tempo = 1;
+        this.tempoInicial = tempo;
+        this.bloqueados = new RodaDeTemporizacao(tempo, this::concluirES);
+        this.nucleos = new Nucleo[quantidadeDeNucleos];
+        for (int i = 0; i < quantidadeDeNucleos; i++) {
+            nucleos[i] = new Nucleo(i);
+        }
+
+        // Distribui os processos entre os núcleos de forma circular
+        for (int i = 0; i < this.processos.length; i++) {
+            Processo p = this.processos[i];
+            p.id = i;
+            p.sequencia = i;
+            nucleos[i % quantidadeDeNucleos].fila.acompanhar(p);
+            if (p.getEstado() == EstadoProcesso.FINALIZADO) {
+                finalizados++;
+            }
+        }
+    }
+
+    public int getTempo() {
+        return tempo;
+    }
+
+    public int getQuantidadeDeNucleos() {
+        return nucleos.length;
+    }
+
+    // Fração do tempo simulado em que o núcleo esteve executando algum processo
+    public double getUtilizacao(int nucleo) {
+        int decorrido = tempo - tempoInicial;
+        return decorrido == 0 ? 0.0 : (double) nucleos[nucleo].ocupado / decorrido;
+    }
+
+    // Quantos processos o núcleo roubou de outros núcleos
+    public long getMigracoes(int nucleo) {
+        return nucleos[nucleo].migracoes;
+    }
+
+    public long getMigracoes() {
+        return migracoes;
+    }
+
+    public void iniciarEscalonamento() {
+        while (finalizados < processos.length) {
+            boolean algumExecutando = decidir();
+            if (!algumExecutando) {
+                if (totalDeProntos() > 0) {
+                    // Nenhum núcleo executando e nenhum pronto com créditos: fim da rodada
+                    resetarCreditos();
+                } else if (bloqueados.tamanho() > 0) {
+                    // Todos ociosos esperando E/S: salta para o próximo despertar
+                    tempo = bloqueados.proximoVencimento();
+                    bloqueados.avancar(tempo);
+                    continue;
+                } else if (finalizados < processos.length) {
+                    throw new IllegalStateException("Nenhum processo pode voltar a executar no tempo " + tempo + "ms.");
+                }
+            } else {
+                saltarAteOProximoEvento();
+                executarMilissegundo();
+                concluirSurtos();
+            }
+            tempo++;
+            bloqueados.avancar(tempo);
+        }
+        saida.registrar(TipoDeEvento.ESCALONAMENTO_CONCLUIDO, tempo, null);
+    }
+
+    // Escreve a utilização e as migrações de cada núcleo
+    public void imprimirRelatorio(PrintStream destino) {
+        destino.println("--- Núcleos ---");
+        for (Nucleo n : nucleos) {
+            destino.println(String.format("Núcleo %d: Utilização = %.1f%%, Migrações = %d",
+                    n.indice, 100.0 * getUtilizacao(n.indice), n.migracoes));
+        }
+        destino.println("Total de migrações: " + migracoes);
+    }
+
+    // Escolhe um processo para cada núcleo ocioso; retorna se algum núcleo está executando
+    private boolean decidir() {
+        boolean algumExecutando = false;
+        for (Nucleo n : nucleos) {
+            if (n.executando == null) {
+                Processo p = n.fila.primeiro();
+                if (p == null) {
+                    p = roubar(n);
+                }
+                if (p != null) {
+                    despachar(n, p);
+                }
+            }
+            algumExecutando |= n.executando != null;
+        }
+        return algumExecutando;
+    }
+
+    // Roubo de trabalho: pega o melhor processo do núcleo com a maior fila de prontos com créditos
+    private Processo roubar(Nucleo ladrao) {
+        Nucleo vitima = null;
+        for (Nucleo n : nucleos) {
+            if (n != ladrao && n.fila.temProntoComCreditos()
+                    && (vitima == null || n.fila.tamanho() > vitima.fila.tamanho())) {
+                vitima = n;
+            }
+        }
+        if (vitima == null) {
+            return null;
+        }
+        Processo p = vitima.fila.primeiro();
+        ladrao.fila.acompanhar(p); // Sai da fila da vítima e entra na do ladrão
+        ladrao.migracoes++;
+        migracoes++;
+        return p;
+    }
+
+    private void despachar(Nucleo n, Processo p) {
+        saida.registrar(TipoDeEvento.PROCESSO_SELECIONADO, tempo, p);
+        p.mudarEstado(EstadoProcesso.EXECUTANDO);
+        saida.registrar(TipoDeEvento.EXECUCAO_INICIADA, tempo, p);
+        if (p.getTempoDeInicio() == 0) p.setTempoDeInicio(tempo);
+        n.executando = p;
+        n.restanteNoSurto = p.getSurtoCpu();
+        if (n.restanteNoSurto <= 0) {
+            // Surto vazio: decide o destino do processo sem consumir CPU
+            n.desfecho = desfecho(p, 0);
+        }
+    }
+
+    // Aplica de uma vez os milissegundos em que nada muda fora de cada núcleo: até o último ms antes
+    // do primeiro fim de surto (ou de créditos, ou de CPU) e antes do próximo fim de E/S. Um núcleo
+    // ocioso continua ocioso nesse trecho, pois as filas só mudam com esses eventos
+    private void saltarAteOProximoEvento() {
+        if (porMilissegundo) {
+            return;
+        }
+        int salto = Integer.MAX_VALUE;
+        if (bloqueados.tamanho() > 0) {
+            salto = bloqueados.proximoVencimento() - tempo - 1;
+        }
+        for (Nucleo n : nucleos) {
+            if (n.executando != null) {
+                salto = Math.min(salto, n.milissegundosSemDesfecho());
+            }
+        }
+        if (salto <= 0) {
+            return;
+        }
+        for (Nucleo n : nucleos) {
+            if (n.executando != null) {
+                n.saltar(salto);
+            }
+        }
+        tempo += salto;
+        bloqueados.avancar(tempo);
+    }
+
+    // Executa 1ms em cada núcleo ocupado; cada núcleo só altera o seu próprio processo
+    private void executarMilissegundo() {
+        for (Nucleo n : nucleos) {
+            n.executarMilissegundo(tempo);
+        }
+    }
+
+    // Aplica em série (na ordem dos núcleos) o que cada núcleo decidiu sobre o seu processo
+    private void concluirSurtos() {
+        for (Nucleo n : nucleos) {
+            Processo p = n.executando;
+            if (p == null) {
+                continue;
+            }
+            if (n.executouNoPasso) {
+                saida.registrar(TipoDeEvento.CPU_EXECUTADA, tempo + 1, p);
+            }
+            if (n.desfecho == null) {
+                continue;
+            }
+            EstadoProcesso destino = n.desfecho;
+            n.executando = null;
+            n.desfecho = null;
+            int fim = n.executouNoPasso ? tempo + 1 : tempo;
+            if (destino == EstadoProcesso.FINALIZADO) {
+                p.mudarEstado(EstadoProcesso.FINALIZADO);
+                finalizados++;
+                saida.registrar(TipoDeEvento.PROCESSO_FINALIZADO, fim, p);
+            } else if (destino == EstadoProcesso.BLOQUEADO) {
+                p.mudarEstado(EstadoProcesso.BLOQUEADO);
+                saida.registrar(TipoDeEvento.PROCESSO_BLOQUEADO, fim, p);
+                bloqueados.agendar(p.id, fim + p.getTempoES());
+            } else {
+                p.mudarEstado(EstadoProcesso.PRONTO);
+            }
+        }
+    }
+
+    // Mesmas regras do Escalonador.executarProcesso para o fim de um surto
+    private static EstadoProcesso desfecho(Processo p, int restanteNoSurto) {
+        if (p.getTempoTotalCpu() > 0 && p.getCreditos() <= 0) {
+            return EstadoProcesso.PRONTO;
+        }
+        if (p.getTempoTotalCpu() <= 0) {
+            return EstadoProcesso.FINALIZADO;
+        }
+        if (restanteNoSurto > 0) {
+            return null; // O surto continua no próximo milissegundo
+        }
+        return p.getTempoES() > 0 ? EstadoProcesso.BLOQUEADO : EstadoProcesso.PRONTO;
+    }
+
+    private void resetarCreditos() {
+        saida.registrar(TipoDeEvento.RESET_DE_CREDITOS, tempo, null);
+        for (Processo p : processos) {
+            p.resetarCreditos();
+            saida.registrar(TipoDeEvento.CREDITOS_RESETADOS, tempo, p);
+        }
+    }
+
+    private void concluirES(int id) {
+        Processo p = processos[id];
+        p.mudarEstado(EstadoProcesso.PRONTO); // Volta para a fila do último núcleo onde executou
+        saida.registrar(TipoDeEvento.ES_CONCLUIDA, bloqueados.getAtual(), p);
+    }
+
+    private int totalDeProntos() {
+        int total = 0;
+        for (Nucleo n : nucleos) {
+            total += n.fila.tamanho();
+        }
+        return total;
+    }
+
+    // Estado de um núcleo: sua fila de prontos, o processo em execução e as estatísticas
+    private static final class Nucleo {
+        final int indice;
+        final FilaDeProntos fila = new FilaDeProntos();
+        Processo executando;
+        int restanteNoSurto;
+        EstadoProcesso desfecho;
+        boolean executouNoPasso;
+        long ocupado;
+        long migracoes;
+
+        Nucleo(int indice) {
+            this.indice = indice;
+        }
+
+        void executarMilissegundo(int tempo) {
+            Processo p = executando;
+            executouNoPasso = false;
+            if (p == null || desfecho != null) {
+                return;
+            }
+            if (p.getCreditos() > 0) {
+                p.decrementarCreditos();
+                p.decrementarTempoTotalCpu(1);
+                ocupado++;
+                executouNoPasso = true;
+            }
+            restanteNoSurto--;
+            if (p.getTempoTotalCpu() <= 0) {
+                p.calculaTurnaroundTime(tempo + 1);
+            }
+            desfecho = desfecho(p, restanteNoSurto);
+        }
+
+        // Quantos ms o processo ainda executa sem chegar a um desfecho (o último ms fica de fora)
+        int milissegundosSemDesfecho() {
+            Processo p = executando;
+            if (desfecho != null || p.getCreditos() <= 0) {
+                return 0;
+            }
+            return Math.min(Math.min(p.getCreditos(), p.getTempoTotalCpu()), restanteNoSurto) - 1;
+        }
+
+        // Mesmo efeito de 'ms' chamadas de executarMilissegundo que não chegam a um desfecho
+        void saltar(int ms) {
+            executando.consumirCpu(ms);
+            restanteNoSurto -= ms;
+            ocupado += ms;
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package t1;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+// Modo de execução real: cada Processo é apoiado por uma TarefaReal rodando numa thread virtual
+// (ou numa thread de plataforma, se a JVM ainda não tiver threads virtuais) e a política de
+// escalonamento decide qual delas usa a CPU. Só uma tarefa executa por vez: as demais ficam
+// estacionadas num semáforo, o que numa thread virtual libera a thread carregadora.
+//
+// Uma unidade de tempo da simulação (1 crédito, 1ms de surto) vale 'nanosPorUnidade' de tempo
+// real. A fatia de cada vez é min(surtoCpu, créditos) unidades, como no Escalonador, e a tarefa a
+// respeita nos seus pontos de cessão; ao voltar, o tempo usado é cobrado em créditos e CPU. Depois
+// do surto, um processo com tempoES espera essas unidades em tempo real antes de ficar PRONTO.
+// Os eventos vão para a saída com o tempo contado em unidades desde o início (a partir de 1).
+public class ExecucaoReal {
+
+    private final PoliticaDeEscalonamento politica;
+    private final SaidaDoEscalonador saida;
+    private final long nanosPorUnidade;
+    private final ThreadFactory threads = criarFabricaDeThreads("processo-");
+    private final Map<Processo, Tarefa> tarefas = new IdentityHashMap<>();
+    private final List<Tarefa> ordemDeChegada = new ArrayList<>();
+    private final PriorityQueue<Tarefa> bloqueadas = new PriorityQueue<>(Comparator.comparingLong((Tarefa t) -> t.acordarEm));
+    private final Semaphore devolvida = new Semaphore(0); // Liberado quando a tarefa em execução devolve a CPU
+    private long inicio;
+    private int finalizadas;
+    private Throwable erro;
+
+    public ExecucaoReal(long nanosPorUnidade) {
+        this(nanosPorUnidade, new PoliticaDeCreditos(), SaidaSilenciosa.INSTANCIA);
+    }
+
+    public ExecucaoReal(long nanosPorUnidade, PoliticaDeEscalonamento politica, SaidaDoEscalonador saida) {
+        if (nanosPorUnidade < 1) {
+            throw new IllegalArgumentException("Cada unidade de tempo precisa valer pelo menos 1ns.");
+        }
+        this.nanosPorUnidade = nanosPorUnidade;
+        this.politica = politica;
+        this.saida = saida;
+    }
+
+    // Threads virtuais quando a JVM tiver (Thread.ofVirtual, Java 21+); senão, threads de plataforma
+    // ('prefixo' seguido de um contador no nome das threads virtuais)
+    static ThreadFactory criarFabricaDeThreads(String prefixo) {
+        try {
+            // Chamadas pela interface pública Thread.Builder, que existe junto com Thread.ofVirtual
+            Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            Object construtor = Thread.class.getMethod("ofVirtual").invoke(null);
+            construtor = builder.getMethod("name", String.class, long.class).invoke(construtor, prefixo, 0L);
+            return (ThreadFactory) builder.getMethod("factory").invoke(construtor);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return tarefa -> {
+                Thread t = new Thread(tarefa, prefixo);
+                t.setDaemon(true);
+                return t;
+            };
+        }
+    }
+
+    public static boolean usaThreadsVirtuais() {
+        try {
+            Thread.class.getMethod("ofVirtual");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    public void adicionar(Processo p, TarefaReal tarefa) {
+        if (p.getSurtoCpu() <= 0) {
+            throw new IllegalArgumentException("O processo " + p.getNome() + " precisa de um surto de CPU positivo.");
+        }
+        if (p.getEstado() != EstadoProcesso.PRONTO || tarefas.containsKey(p)) {
+            throw new IllegalArgumentException("O processo " + p.getNome() + " já foi adicionado ou não está PRONTO.");
+        }
+        Tarefa t = new Tarefa(p, tarefa);
+        p.sequencia = ordemDeChegada.size();
+        tarefas.put(p, t);
+        ordemDeChegada.add(t);
+    }
+
+    // Turnaround medido em tempo real: da primeira execução até a tarefa terminar
+    public long getTurnaroundReal(Processo p) {
+        Tarefa t = tarefas.get(p);
+        return t.fimReal - t.inicioReal;
+    }
+
+    public long getNanosPorUnidade() {
+        return nanosPorUnidade;
+    }
+
+    // Executa todas as tarefas até o fim. Se alguma falhar, as outras continuam e o erro é
+    // relançado no final
+    public void executar() throws InterruptedException {
+        inicio = System.nanoTime();
+        for (Tarefa t : ordemDeChegada) {
+            politica.acompanhar(t.processo);
+            t.thread = threads.newThread(t);
+            t.thread.start();
+        }
+        try {
+            while (finalizadas < ordemDeChegada.size()) {
+                acordarVencidas();
+                Processo p = politica.selecionar();
+                if (p != null) {
+                    saida.registrar(TipoDeEvento.PROCESSO_SELECIONADO, agora(), p);
+                    rodar(tarefas.get(p));
+                } else if (politica.precisaDeReset()) {
+                    resetarCreditos();
+                } else if (!bloqueadas.isEmpty()) {
+                    // CPU ociosa: espera a próxima E/S terminar
+                    long espera = bloqueadas.peek().acordarEm - System.nanoTime();
+                    if (espera > 0) {
+                        TimeUnit.NANOSECONDS.sleep(espera);
+                    }
+                } else {
+                    throw new IllegalStateException("Nenhuma tarefa pronta e nenhuma E/S pendente.");
+                }
+            }
+        } finally {
+            for (Tarefa t : ordemDeChegada) {
+                if (t.thread.isAlive()) {
+                    t.thread.interrupt();
+                }
+            }
+        }
+        saida.registrar(TipoDeEvento.ESCALONAMENTO_CONCLUIDO, agora(), null);
+        if (erro != null) {
+            throw new IllegalStateException("Uma das tarefas falhou.", erro);
+        }
+    }
+
+    // Turnaround de cada processo na simulação (em unidades e no tempo real equivalente) ao lado do
+    // turnaround medido na execução real; as listas devem ter os mesmos processos na mesma ordem
+    public void imprimirComparacao(List<Processo> simulados, PrintStream destino) {
+        double msPorUnidade = nanosPorUnidade / 1e6;
+        destino.println("--- Turnaround simulado x real (1 unidade = " + msPorUnidade + "ms, threads "
+                + (usaThreadsVirtuais() ? "virtuais" : "de plataforma") + ") ---");
+        for (int i = 0; i < ordemDeChegada.size(); i++) {
+            Tarefa t = ordemDeChegada.get(i);
+            int simulado = simulados.get(i).getTurnaroundTime();
+            destino.printf("Processo %s | Simulado: %d unidades (%.2fms) | Real: %.2fms (%d unidades)%n",
+                    t.processo.getNome(), simulado, simulado * msPorUnidade,
+                    (t.fimReal - t.inicioReal) / 1e6, t.processo.getTurnaroundTime());
+        }
+    }
+
+    // Dá a CPU à tarefa por uma fatia e cobra o que ela usou quando devolver
+    private void rodar(Tarefa t) throws InterruptedException {
+        Processo p = t.processo;
+        int fatia = 0;
+        while (fatia < p.getSurtoCpu() && politica.podeExecutar(p, fatia)) {
+            fatia++;
+        }
+        p.mudarEstado(EstadoProcesso.EXECUTANDO);
+        saida.registrar(TipoDeEvento.EXECUCAO_INICIADA, agora(), p);
+        if (t.inicioReal == 0) {
+            t.inicioReal = System.nanoTime();
+            p.setTempoDeInicio(agora());
+        }
+        t.duracaoDaFatia = fatia * nanosPorUnidade;
+        t.vez.release();
+        devolvida.acquire();
+
+        // Cobra o tempo medido pela própria tarefa, sem a latência de acordar a thread
+        long usado = t.usadoNaVez;
+        int unidades = (int) Math.max(1, Math.min(fatia, (usado + nanosPorUnidade - 1) / nanosPorUnidade));
+        for (int i = 0; i < unidades; i++) {
+            politica.contabilizar(p);
+        }
+        p.decrementarTempoTotalCpu(unidades);
+
+        if (t.terminou) {
+            t.fimReal = System.nanoTime();
+            p.decrementarTempoTotalCpu(p.getTempoTotalCpu());
+            p.calculaTurnaroundTime(agora());
+            p.mudarEstado(EstadoProcesso.FINALIZADO);
+            finalizadas++;
+            saida.registrar(TipoDeEvento.PROCESSO_FINALIZADO, agora(), p);
+        } else if (politica.foiInterrompido(p, unidades) || p.getTempoES() <= 0) {
+            p.mudarEstado(EstadoProcesso.PRONTO);
+        } else {
+            p.mudarEstado(EstadoProcesso.BLOQUEADO);
+            saida.registrar(TipoDeEvento.PROCESSO_BLOQUEADO, agora(), p);
+            t.acordarEm = System.nanoTime() + p.getTempoES() * nanosPorUnidade;
+            bloqueadas.add(t);
+        }
+    }
+
+    private void acordarVencidas() {
+        long agora = System.nanoTime();
+        while (!bloqueadas.isEmpty() && bloqueadas.peek().acordarEm <= agora) {
+            Processo p = bloqueadas.poll().processo;
+            p.mudarEstado(EstadoProcesso.PRONTO);
+            saida.registrar(TipoDeEvento.ES_CONCLUIDA, agora(), p);
+        }
+    }
+
+    private void resetarCreditos() {
+        saida.registrar(TipoDeEvento.RESET_DE_CREDITOS, agora(), null);
+        if ((!saida.aceita(TipoDeEvento.CREDITOS_RESETADOS) || !politica.resetGlobalAlcancaProcessos())
+                && politica.resetarSemPercorrer()) {
+            return;
+        }
+        for (Tarefa t : ordemDeChegada) {
+            t.processo.resetarCreditos();
+            saida.registrar(TipoDeEvento.CREDITOS_RESETADOS, agora(), t.processo);
+        }
+    }
+
+    // Tempo atual em unidades, contando a partir de 1 como nos escalonadores simulados
+    private int agora() {
+        return 1 + (int) ((System.nanoTime() - inicio) / nanosPorUnidade);
+    }
+
+    // Estado de uma tarefa; também é o que roda na thread dela
+    private final class Tarefa implements Runnable, PontoDeCessao {
+        final Processo processo;
+        final TarefaReal trabalho;
+        final Semaphore vez = new Semaphore(0); // Liberado quando o escalonador dá a CPU à tarefa
+        Thread thread;
+        // Passados entre o escalonador e a thread da tarefa sempre através dos semáforos
+        long duracaoDaFatia;
+        long inicioDaVez;
+        long prazo;
+        long usadoNaVez;
+        boolean terminou;
+        long inicioReal;
+        long fimReal;
+        long acordarEm;
+
+        Tarefa(Processo processo, TarefaReal trabalho) {
+            this.processo = processo;
+            this.trabalho = trabalho;
+        }
+
+        @Override
+        public void run() {
+            try {
+                vez.acquire();
+                comecarVez();
+                trabalho.executar(this);
+            } catch (InterruptedException e) {
+                return; // A execução foi cancelada
+            } catch (Throwable falha) {
+                synchronized (ExecucaoReal.this) {
+                    if (erro == null) {
+                        erro = falha;
+                    }
+                }
+            }
+            usadoNaVez = System.nanoTime() - inicioDaVez;
+            terminou = true;
+            devolvida.release();
+        }
+
+        @Override
+        public void ceder() throws InterruptedException {
+            long agora = System.nanoTime();
+            if (agora >= prazo) {
+                usadoNaVez = agora - inicioDaVez;
+                devolvida.release();
+                vez.acquire();
+                comecarVez();
+            }
+        }
+
+        private void comecarVez() {
+            inicioDaVez = System.nanoTime();
+            prazo = inicioDaVez + duracaoDaFatia;
+        }
+    }
+}
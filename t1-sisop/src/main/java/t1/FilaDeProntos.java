@@ -0,0 +1,282 @@
+package t1;
+
+import java.util.Arrays;
+
+// Fila com apenas os processos PRONTOS, organizada em baldes indexados pelo número de créditos.
+// Um mapa de bits marca os baldes não vazios, então o balde de maior crédito é encontrado sem
+// percorrer os processos. Dentro de cada balde, um heap mantém o desempate por ordem e, em
+// seguida, pela posição do processo na lista do escalonador (a mesma regra da busca linear).
+//
+// Os prontos sem créditos ficam num segundo conjunto de baldes, indexado pelos créditos que
+// terão depois do próximo reset (creditos / 2 + prioridade). Como o reset só acontece quando
+// nenhum pronto tem créditos, basta trocar os dois conjuntos e avançar a época: os créditos de
+// cada processo são recalculados de forma preguiçosa quando ele for tocado de novo (veja
+// Processo.sincronizarCreditos). A fila também conta quantos processos acompanhados estão em
+// cada estado, para o escalonador não precisar percorrer a lista.
+//
+// Os baldes vão só até BALDE_DE_TRANSBORDO: acima dele todos os créditos dividem esse último
+// balde, cujo heap ordena primeiro pelos créditos. Assim uma prioridade enorme não aloca um vetor
+// de baldes do seu tamanho.
+class FilaDeProntos implements ObservadorDeProcesso {
+
+    static final int BALDE_DE_TRANSBORDO = 1 << 12;
+
+    private Baldes comCreditos;
+    private Baldes semCreditos;
+    private final int[] porEstado;
+    private int epoca;
+
+    public FilaDeProntos() {
+        this.comCreditos = new Baldes();
+        this.semCreditos = new Baldes();
+        this.porEstado = new int[EstadoProcesso.values().length];
+    }
+
+    public int tamanho() {
+        return comCreditos.tamanho + semCreditos.tamanho;
+    }
+
+    // Passa a acompanhar o processo: recebe suas notificações, conta seu estado e, se estiver
+    // PRONTO, coloca-o na fila. Se outra fila o acompanhava, ela deixa de acompanhá-lo.
+    public void acompanhar(Processo p) {
+        if (p.observador == this) {
+            return;
+        }
+        if (p.observador != null) {
+            p.observador.deixarDeAcompanhar(p);
+        }
+        p.sincronizarCreditos();
+        p.observador = this;
+        p.epoca = epoca;
+        porEstado[p.getEstado().ordinal()]++;
+        if (p.getEstado() == EstadoProcesso.PRONTO) {
+            adicionar(p);
+        }
+    }
+
+    @Override
+    public void deixarDeAcompanhar(Processo p) {
+        remover(p);
+        porEstado[p.getEstado().ordinal()]--;
+        p.sincronizarCreditos();
+        p.observador = null;
+    }
+
+    // Quantos processos acompanhados estão no estado
+    public int quantidade(EstadoProcesso estado) {
+        return porEstado[estado.ordinal()];
+    }
+
+    // Insere o processo no balde correspondente aos seus créditos
+    public void adicionar(Processo p) {
+        if (p.baldeNaFila != null) {
+            return; // Já está na fila
+        }
+        int creditos = p.getCreditos();
+        if (creditos > 0) {
+            comCreditos.inserir(p, creditos);
+        } else {
+            semCreditos.inserir(p, creditosAposReset(p, creditos));
+        }
+    }
+
+    // Retira o processo da fila, se ele estiver nela
+    public void remover(Processo p) {
+        Balde b = p.baldeNaFila;
+        if (b == null) {
+            return;
+        }
+        b.remover(p);
+    }
+
+    // Processo PRONTO com mais créditos (desempate por ordem); null se nenhum tiver créditos
+    public Processo primeiro() {
+        int maior = comCreditos.ocupados.maior();
+        if (maior <= 0) {
+            return null;
+        }
+        return comCreditos.baldes[maior].heap[0];
+    }
+
+    public boolean temProntoComCreditos() {
+        return comCreditos.tamanho > 0;
+    }
+
+    @Override
+    public int epocaDosCreditos() {
+        return epoca;
+    }
+
+    // Reset de créditos sem percorrer os processos. Só vale quando nenhum pronto tem créditos:
+    // os baldes dos prontos sem créditos já estão indexados pelos créditos pós-reset e passam a
+    // ser os baldes com créditos. Os demais processos são atualizados quando forem tocados.
+    public void resetarCreditos() {
+        if (comCreditos.tamanho > 0) {
+            throw new IllegalStateException("O reset preguiçoso exige que nenhum processo pronto tenha créditos.");
+        }
+        epoca++;
+        Baldes trocados = comCreditos;
+        comCreditos = semCreditos;
+        semCreditos = trocados;
+
+        // Quem continua sem créditos depois do reset (prioridade zero ou negativa) volta para o
+        // conjunto dos sem créditos, já indexado pelo reset seguinte
+        if (comCreditos.baldes[0] != null) {
+            Balde zerados = comCreditos.baldes[0];
+            while (zerados.tamanho > 0) {
+                Processo p = zerados.heap[zerados.tamanho - 1];
+                zerados.remover(p);
+                adicionar(p);
+            }
+        }
+    }
+
+    @Override
+    public void aoMudarEstado(Processo p, EstadoProcesso anterior) {
+        porEstado[anterior.ordinal()]--;
+        porEstado[p.getEstado().ordinal()]++;
+        if (p.getEstado() == EstadoProcesso.PRONTO) {
+            adicionar(p);
+        } else if (anterior == EstadoProcesso.PRONTO) {
+            remover(p);
+        }
+    }
+
+    @Override
+    public void aoMudarCreditos(Processo p, int creditosAnteriores) {
+        Balde b = p.baldeNaFila;
+        if (b == null) {
+            return;
+        }
+        int creditos = p.getCreditos();
+        // No balde de transbordo qualquer mudança de créditos muda a posição no heap
+        boolean mesmoBalde = b.creditos != BALDE_DE_TRANSBORDO && (creditos > 0
+                ? b.dono == comCreditos && b.creditos == creditos
+                : b.dono == semCreditos && b.creditos == creditosAposReset(p, creditos));
+        if (!mesmoBalde) {
+            remover(p);
+            adicionar(p);
+        }
+    }
+
+    // Índice do processo sem créditos no conjunto dos sem créditos; negativos ficam no balde zero
+    private static int creditosAposReset(Processo p, int creditos) {
+        return Math.max(0, creditos / 2 + p.getPrioridade());
+    }
+
+    // Conjunto de baldes indexados por créditos, com o mapa dos baldes não vazios
+    static final class Baldes {
+        Balde[] baldes = new Balde[64];
+        final MapaDeBits ocupados = new MapaDeBits(64);
+        int tamanho;
+
+        // Insere o processo no balde da chave (créditos, ou créditos após o reset)
+        void inserir(Processo p, int chave) {
+            p.chaveNaFila = chave;
+            balde(Math.min(chave, BALDE_DE_TRANSBORDO)).inserir(p);
+        }
+
+        Balde balde(int creditos) {
+            if (creditos >= baldes.length) {
+                baldes = Arrays.copyOf(baldes, Math.max(baldes.length * 2, creditos + 1));
+                ocupados.garantirCapacidade(baldes.length);
+            }
+            Balde b = baldes[creditos];
+            if (b == null) {
+                b = new Balde(this, creditos);
+                baldes[creditos] = b;
+            }
+            return b;
+        }
+    }
+
+    // Heap mínimo de processos com o mesmo número de créditos, ordenado por (ordem, sequência); no
+    // balde de transbordo, antes disso pelos créditos (chaveNaFila), do maior para o menor
+    static final class Balde {
+        final Baldes dono;
+        final int creditos;
+        Processo[] heap = new Processo[4];
+        int tamanho;
+
+        Balde(Baldes dono, int creditos) {
+            this.dono = dono;
+            this.creditos = creditos;
+        }
+
+        void inserir(Processo p) {
+            if (tamanho == heap.length) {
+                heap = Arrays.copyOf(heap, tamanho * 2);
+            }
+            if (tamanho == 0) {
+                dono.ocupados.ligar(creditos);
+            }
+            p.baldeNaFila = this;
+            subir(p, tamanho++);
+            dono.tamanho++;
+        }
+
+        void remover(Processo p) {
+            int i = p.posicaoNaFila;
+            p.baldeNaFila = null;
+            p.posicaoNaFila = -1;
+            Processo ultimo = heap[--tamanho];
+            heap[tamanho] = null;
+            if (ultimo != p) {
+                if (i > 0 && vemAntes(ultimo, heap[(i - 1) >>> 1])) {
+                    subir(ultimo, i);
+                } else {
+                    descer(ultimo, i);
+                }
+            }
+            if (tamanho == 0) {
+                dono.ocupados.desligar(creditos);
+            }
+            dono.tamanho--;
+        }
+
+        private void subir(Processo p, int i) {
+            while (i > 0) {
+                int pai = (i - 1) >>> 1;
+                Processo q = heap[pai];
+                if (!vemAntes(p, q)) {
+                    break;
+                }
+                colocar(q, i);
+                i = pai;
+            }
+            colocar(p, i);
+        }
+
+        private void descer(Processo p, int i) {
+            int metade = tamanho >>> 1;
+            while (i < metade) {
+                int filho = 2 * i + 1;
+                int direito = filho + 1;
+                if (direito < tamanho && vemAntes(heap[direito], heap[filho])) {
+                    filho = direito;
+                }
+                if (!vemAntes(heap[filho], p)) {
+                    break;
+                }
+                colocar(heap[filho], i);
+                i = filho;
+            }
+            colocar(p, i);
+        }
+
+        private void colocar(Processo p, int i) {
+            heap[i] = p;
+            p.posicaoNaFila = i;
+        }
+
+        private boolean vemAntes(Processo a, Processo b) {
+            if (creditos == BALDE_DE_TRANSBORDO && a.chaveNaFila != b.chaveNaFila) {
+                return a.chaveNaFila > b.chaveNaFila;
+            }
+            if (a.getOrdem() != b.getOrdem()) {
+                return a.getOrdem() < b.getOrdem();
+            }
+            return a.sequencia < b.sequencia;
+        }
+    }
+}
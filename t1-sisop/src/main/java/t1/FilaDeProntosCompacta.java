@@ -0,0 +1,158 @@
+package t1;
+
+import java.util.Arrays;
+
+// Versão da FilaDeProntos para a TabelaDeProcessos: os processos são posições inteiras da tabela e
+// cada balde é um heap de inteiros, sem nenhum objeto por processo. Mesma regra de seleção: mais
+// créditos primeiro, depois menor ordem e, por fim, menor posição na tabela. Os vetores por
+// processo crescem junto com a tabela, e a ordem é lida da tabela a cada comparação, então
+// posições acrescentadas depois da criação da fila também podem entrar nela.
+//
+// Como na FilaDeProntos, os baldes vão só até BALDE_DE_TRANSBORDO: os créditos acima dele dividem
+// o último balde, cujo heap ordena primeiro pelos créditos guardados em creditosDe.
+final class FilaDeProntosCompacta {
+
+    private static final int FORA = -1;
+    private static final int BALDE_DE_TRANSBORDO = FilaDeProntos.BALDE_DE_TRANSBORDO;
+
+    private final TabelaDeProcessos tabela;
+    private int[] baldeDe = new int[0];   // Balde (créditos) em que o processo está, ou FORA
+    private int[] posicaoDe = new int[0]; // Posição do processo dentro do heap do balde
+    private int[] creditosDe = new int[0]; // Créditos com que o processo entrou na fila
+    private int[][] heaps = new int[64][];
+    private int[] tamanhos = new int[64];
+    private final MapaDeBits ocupados = new MapaDeBits(64);
+    private int tamanho;
+
+    FilaDeProntosCompacta(TabelaDeProcessos tabela) {
+        this.tabela = tabela;
+        garantirCapacidade(tabela.tamanho());
+    }
+
+    public int tamanho() {
+        return tamanho;
+    }
+
+    public boolean contem(int p) {
+        return p < baldeDe.length && baldeDe[p] != FORA;
+    }
+
+    public void adicionar(int p, int creditos) {
+        if (p >= tabela.tamanho()) {
+            throw new IllegalArgumentException("A posição " + p + " não existe na tabela de " + tabela.tamanho() + " processos.");
+        }
+        garantirCapacidade(tabela.tamanho());
+        int b = Math.min(Math.max(0, creditos), BALDE_DE_TRANSBORDO);
+        if (b >= heaps.length) {
+            int novo = Math.min(Math.max(heaps.length * 2, b + 1), BALDE_DE_TRANSBORDO + 1);
+            heaps = Arrays.copyOf(heaps, novo);
+            tamanhos = Arrays.copyOf(tamanhos, novo);
+            ocupados.garantirCapacidade(novo);
+        }
+        int[] heap = heaps[b];
+        if (heap == null) {
+            heap = new int[4];
+            heaps[b] = heap;
+        } else if (tamanhos[b] == heap.length) {
+            heap = Arrays.copyOf(heap, heap.length * 2);
+            heaps[b] = heap;
+        }
+        if (tamanhos[b] == 0) {
+            ocupados.ligar(b);
+        }
+        baldeDe[p] = b;
+        creditosDe[p] = Math.max(0, creditos);
+        subir(heap, p, tamanhos[b]++);
+        tamanho++;
+    }
+
+    public void remover(int p) {
+        if (!contem(p)) {
+            return;
+        }
+        int b = baldeDe[p];
+        int[] heap = heaps[b];
+        int i = posicaoDe[p];
+        int ultimo = heap[--tamanhos[b]];
+        baldeDe[p] = FORA;
+        if (ultimo != p) {
+            if (i > 0 && vemAntes(ultimo, heap[(i - 1) >>> 1])) {
+                subir(heap, ultimo, i);
+            } else {
+                descer(heap, tamanhos[b], ultimo, i);
+            }
+        }
+        if (tamanhos[b] == 0) {
+            ocupados.desligar(b);
+        }
+        tamanho--;
+    }
+
+    // Processo com mais créditos (desempate por ordem e posição), ou -1 se nenhum tiver créditos
+    public int primeiro() {
+        int maior = ocupados.maior();
+        return maior <= 0 ? FORA : heaps[maior][0];
+    }
+
+    public boolean temProntoComCreditos() {
+        return ocupados.maior() > 0;
+    }
+
+    private void subir(int[] heap, int p, int i) {
+        while (i > 0) {
+            int pai = (i - 1) >>> 1;
+            int q = heap[pai];
+            if (!vemAntes(p, q)) {
+                break;
+            }
+            heap[i] = q;
+            posicaoDe[q] = i;
+            i = pai;
+        }
+        heap[i] = p;
+        posicaoDe[p] = i;
+    }
+
+    private void descer(int[] heap, int tamanhoDoHeap, int p, int i) {
+        int metade = tamanhoDoHeap >>> 1;
+        while (i < metade) {
+            int filho = 2 * i + 1;
+            int direito = filho + 1;
+            if (direito < tamanhoDoHeap && vemAntes(heap[direito], heap[filho])) {
+                filho = direito;
+            }
+            if (!vemAntes(heap[filho], p)) {
+                break;
+            }
+            heap[i] = heap[filho];
+            posicaoDe[heap[i]] = i;
+            i = filho;
+        }
+        heap[i] = p;
+        posicaoDe[p] = i;
+    }
+
+    private void garantirCapacidade(int capacidade) {
+        if (capacidade <= baldeDe.length) {
+            return;
+        }
+        int novo = Math.max(capacidade, baldeDe.length * 2);
+        int antigo = baldeDe.length;
+        baldeDe = Arrays.copyOf(baldeDe, novo);
+        posicaoDe = Arrays.copyOf(posicaoDe, novo);
+        creditosDe = Arrays.copyOf(creditosDe, novo);
+        Arrays.fill(baldeDe, antigo, novo, FORA);
+    }
+
+    // Fora do balde de transbordo os dois têm os mesmos créditos e decide a ordem
+    private boolean vemAntes(int a, int b) {
+        if (creditosDe[a] != creditosDe[b]) {
+            return creditosDe[a] > creditosDe[b];
+        }
+        int[] ordem = tabela.ordem;
+        if (ordem[a] != ordem[b]) {
+            return ordem[a] < ordem[b];
+        }
+        return a < b;
+    }
+}
@@ -0,0 +1,83 @@
+package t1;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Fila sem travas de vários produtores e um consumidor (a fila de Vyukov): cada produtor troca a
+// cauda com um único getAndSet e depois liga o nó anterior ao novo, e o consumidor anda pela cabeça
+// sem nenhuma operação atômica. Os produtores nunca esperam uns pelos outros nem pelo escalonador.
+//
+// Entre o getAndSet e a ligação, o nó novo ainda não é visível a partir da cabeça: retirar para
+// ali, mas vazia() continua falso, e o consumidor decide se espera pela ligação ou volta depois.
+//
+// A fila pode ser fechada: depois disso oferecer recusa novos processos. Os produtores que já
+// tinham passado pela conferência são contados, e a fila só fica vazia quando todos saírem, então
+// um processo aceito nunca se perde.
+final class FilaDeSubmissoes {
+
+    private static final int FECHADA = 1 << 30; // Bit de fechada; abaixo dele, os produtores em oferecer
+
+    private static final class No {
+        Processo processo;
+        volatile No proximo;
+
+        No(Processo processo) {
+            this.processo = processo;
+        }
+    }
+
+    private final AtomicReference<No> cauda;
+    private final AtomicInteger produtores = new AtomicInteger();
+    private No cabeca; // Só o consumidor mexe; é sempre um nó já consumido (ou o nó inicial vazio)
+
+    FilaDeSubmissoes() {
+        No vazio = new No(null);
+        this.cabeca = vazio;
+        this.cauda = new AtomicReference<>(vazio);
+    }
+
+    // Pode ser chamado de qualquer thread; false se a fila já estiver fechada
+    boolean oferecer(Processo p) {
+        int estado;
+        do {
+            estado = produtores.get();
+            if ((estado & FECHADA) != 0) {
+                return false;
+            }
+        } while (!produtores.compareAndSet(estado, estado + 1));
+        No novo = new No(p);
+        No anterior = cauda.getAndSet(novo);
+        anterior.proximo = novo;
+        produtores.decrementAndGet();
+        return true;
+    }
+
+    void fechar() {
+        int estado;
+        do {
+            estado = produtores.get();
+        } while ((estado & FECHADA) == 0 && !produtores.compareAndSet(estado, estado | FECHADA));
+    }
+
+    boolean fechada() {
+        return (produtores.get() & FECHADA) != 0;
+    }
+
+    // Só pelo consumidor: o próximo processo, ou null se não há nenhum visível agora
+    Processo retirar() {
+        No proximo = cabeca.proximo;
+        if (proximo == null) {
+            return null;
+        }
+        cabeca = proximo;
+        Processo p = proximo.processo;
+        proximo.processo = null; // O nó vira a nova cabeça e não deve segurar o processo
+        return p;
+    }
+
+    // Só pelo consumidor: true se nenhum produtor colocou nada que ainda não foi retirado, inclusive
+    // os que ainda não terminaram de ligar o nó ou estão no meio de oferecer
+    boolean vazia() {
+        return (produtores.get() & ~FECHADA) == 0 && cabeca.proximo == null && cauda.get() == cabeca;
+    }
+}
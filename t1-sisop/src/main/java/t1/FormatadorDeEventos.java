@@ -0,0 +1,48 @@
+package t1;
+
+// Gera o texto de cada evento exatamente como o escalonador sempre imprimiu
+final class FormatadorDeEventos {
+
+    private FormatadorDeEventos() {
+    }
+
+    // Acrescenta a linha do evento (sem quebra de linha); retorna false se o evento não tem texto
+    static boolean formatar(TipoDeEvento tipo, int tempo, Processo p, StringBuilder sb) {
+        switch (tipo) {
+            case PROCESSO_SELECIONADO:
+                sb.append("Tempo: ").append(tempo).append("ms - Processo selecionado para execução: ").append(p.getNome());
+                return true;
+            case EXECUCAO_INICIADA:
+                sb.append("Tempo: ").append(tempo).append("ms - Executando processo: ").append(p.getNome())
+                        .append(" | Créditos: ").append(p.getCreditos());
+                return true;
+            case CPU_EXECUTADA:
+                sb.append("Tempo: ").append(tempo).append("ms - Processo: ").append(p.getNome())
+                        .append(" | Créditos restantes: ").append(p.getCreditos())
+                        .append(" | Tempo restante de CPU: ").append(p.getTempoTotalCpu());
+                return true;
+            case PROCESSO_FINALIZADO:
+                sb.append("Processo ").append(p.getNome()).append(" finalizado.");
+                return true;
+            case PROCESSO_BLOQUEADO:
+                sb.append("Tempo: ").append(tempo).append("ms - Processo ").append(p.getNome())
+                        .append(" bloqueado para E/S por ").append(p.getTempoES()).append("ms.");
+                return true;
+            case ES_CONCLUIDA:
+                sb.append("Tempo: ").append(tempo).append("ms - Processo ").append(p.getNome())
+                        .append(" concluiu a E/S e voltou para PRONTO.");
+                return true;
+            case RESET_DE_CREDITOS:
+                sb.append("Resetando créditos de todos os processos...");
+                return true;
+            case CREDITOS_RESETADOS:
+                sb.append("Processo: ").append(p.getNome()).append(" | Créditos resetados para: ").append(p.getCreditos());
+                return true;
+            case ESCALONAMENTO_CONCLUIDO:
+                sb.append("Todos os processos foram finalizados.");
+                return true;
+            default:
+                return false;
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package t1;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// Gerador determinístico de cargas sintéticas. Os processos são criados sob demanda, um por vez,
+// por um Iterator (ou Spliterator/Stream), então milhões de processos nunca ficam todos na memória.
+// A mesma configuração e a mesma semente geram sempre a mesma carga, e cada iterator() recomeça do
+// início, o que deixa execuções de benchmark comparáveis entre si.
+//
+// Distribuições:
+// - mistura bimodal: uma fração dos processos é limitada por E/S (surtos curtos e E/S longa) e o
+//   resto é limitado por CPU (surtos longos e sem E/S);
+// - surtos e tempos de E/S exponenciais, com a média de cada classe;
+// - CPU total com cauda pesada (Pareto com mínimo e expoente alfa, limitada por um máximo);
+// - prioridades uniformes num intervalo;
+// - chegadas opcionais, com intervalos exponenciais (Poisson) entre processos consecutivos.
+public class GeradorDeCarga implements Iterable<Processo> {
+
+    private long semente = 42;
+    private long quantidade = Long.MAX_VALUE;
+    private double fracaoDeES = 0.5;
+    private double surtoMedioCpu = 8;
+    private double surtoMedioES = 2;
+    private double esMedio = 20;
+    private int cpuMinima = 10;
+    private double alfaDaCpu = 1.5;
+    private int cpuMaxima = 100_000;
+    private int prioridadeMinima = 1;
+    private int prioridadeMaxima = 8;
+    private double intervaloMedioDeChegada;
+
+    public GeradorDeCarga semente(long semente) {
+        this.semente = semente;
+        return this;
+    }
+
+    // Quantos processos gerar; Long.MAX_VALUE (o padrão) gera sem fim
+    public GeradorDeCarga quantidade(long quantidade) {
+        if (quantidade < 0) {
+            throw new IllegalArgumentException("A quantidade de processos não pode ser negativa.");
+        }
+        this.quantidade = quantidade;
+        return this;
+    }
+
+    // Fração (de 0 a 1) dos processos limitados por E/S
+    public GeradorDeCarga fracaoDeES(double fracao) {
+        if (fracao < 0 || fracao > 1) {
+            throw new IllegalArgumentException("A fração de processos de E/S precisa estar entre 0 e 1.");
+        }
+        this.fracaoDeES = fracao;
+        return this;
+    }
+
+    // Surto médio dos processos limitados por CPU e dos limitados por E/S
+    public GeradorDeCarga surtosMedios(double cpu, double es) {
+        this.surtoMedioCpu = positivo(cpu, "surto médio");
+        this.surtoMedioES = positivo(es, "surto médio");
+        return this;
+    }
+
+    // Tempo médio de E/S dos processos limitados por E/S
+    public GeradorDeCarga esMedio(double media) {
+        this.esMedio = positivo(media, "tempo médio de E/S");
+        return this;
+    }
+
+    // CPU total com distribuição de Pareto: 'minima' é o menor valor, alfas menores deixam a cauda
+    // mais pesada, e nenhum processo passa de 'maxima'
+    public GeradorDeCarga cpuTotal(int minima, double alfa, int maxima) {
+        if (minima < 1 || maxima < minima) {
+            throw new IllegalArgumentException("CPU total precisa de 1 <= mínima <= máxima.");
+        }
+        this.cpuMinima = minima;
+        this.alfaDaCpu = positivo(alfa, "alfa da CPU total");
+        this.cpuMaxima = maxima;
+        return this;
+    }
+
+    // Prioridade sorteada entre as duas; precisa ser positiva, senão o reset nunca devolve créditos
+    public GeradorDeCarga prioridades(int minima, int maxima) {
+        if (minima < 1 || maxima < minima) {
+            throw new IllegalArgumentException("As prioridades precisam de 1 <= mínima <= máxima.");
+        }
+        this.prioridadeMinima = minima;
+        this.prioridadeMaxima = maxima;
+        return this;
+    }
+
+    // Intervalo médio entre chegadas; 0 (o padrão) faz todos os processos chegarem no início
+    public GeradorDeCarga intervaloMedioDeChegada(double media) {
+        if (media < 0) {
+            throw new IllegalArgumentException("O intervalo médio de chegada não pode ser negativo.");
+        }
+        this.intervaloMedioDeChegada = media;
+        return this;
+    }
+
+    public boolean temChegadas() {
+        return intervaloMedioDeChegada > 0;
+    }
+
+    public long getQuantidade() {
+        return quantidade;
+    }
+
+    // Grava a configuração (não os processos): outra JVM refaz com ler o mesmo gerador e gera a
+    // mesma carga, como os trabalhadores do CoordenadorDistribuido
+    public void escrever(DataOutput destino) throws IOException {
+        destino.writeLong(semente);
+        destino.writeLong(quantidade);
+        destino.writeDouble(fracaoDeES);
+        destino.writeDouble(surtoMedioCpu);
+        destino.writeDouble(surtoMedioES);
+        destino.writeDouble(esMedio);
+        destino.writeInt(cpuMinima);
+        destino.writeDouble(alfaDaCpu);
+        destino.writeInt(cpuMaxima);
+        destino.writeInt(prioridadeMinima);
+        destino.writeInt(prioridadeMaxima);
+        destino.writeDouble(intervaloMedioDeChegada);
+    }
+
+    // Passa pelos mesmos setters, então uma configuração inválida falha do mesmo jeito
+    public static GeradorDeCarga ler(DataInput origem) throws IOException {
+        GeradorDeCarga gerador = new GeradorDeCarga().semente(origem.readLong()).quantidade(origem.readLong())
+                .fracaoDeES(origem.readDouble());
+        double surtoCpu = origem.readDouble();
+        gerador.surtosMedios(surtoCpu, origem.readDouble());
+        gerador.esMedio(origem.readDouble());
+        int cpuMinima = origem.readInt();
+        double alfa = origem.readDouble();
+        gerador.cpuTotal(cpuMinima, alfa, origem.readInt());
+        int prioridadeMinima = origem.readInt();
+        gerador.prioridades(prioridadeMinima, origem.readInt());
+        return gerador.intervaloMedioDeChegada(origem.readDouble());
+    }
+
+    private static double positivo(double valor, String nome) {
+        if (!(valor > 0)) {
+            throw new IllegalArgumentException("O " + nome + " precisa ser positivo.");
+        }
+        return valor;
+    }
+
+    @Override
+    public Iterator<Processo> iterator() {
+        return new Geracao();
+    }
+
+    @Override
+    public Spliterator<Processo> spliterator() {
+        int caracteristicas = Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE;
+        return quantidade == Long.MAX_VALUE
+                ? Spliterators.spliteratorUnknownSize(iterator(), caracteristicas)
+                : Spliterators.spliterator(iterator(), quantidade, caracteristicas);
+    }
+
+    // Stream sequencial dos processos (os processos são gerados em ordem, um por vez)
+    public Stream<Processo> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    // Estado de uma passada pela carga: o gerador aleatório e a posição
+    private final class Geracao implements Iterator<Processo> {
+        private final SplittableRandom random = new SplittableRandom(semente);
+        private long gerados;
+        private double chegada = 1; // Os escalonadores começam no tempo 1
+
+        @Override
+        public boolean hasNext() {
+            return gerados < quantidade;
+        }
+
+        @Override
+        public Processo next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            // Sempre o mesmo número de sorteios por processo, qualquer que seja a classe
+            boolean limitadoPorES = random.nextDouble() < fracaoDeES;
+            double sorteioDoSurto = random.nextDouble();
+            double sorteioDaES = random.nextDouble();
+            double sorteioDaCpu = random.nextDouble();
+            int prioridade = prioridadeMinima + (int) (random.nextDouble() * ((long) prioridadeMaxima - prioridadeMinima + 1));
+            double sorteioDaChegada = random.nextDouble();
+
+            int surto = Math.max(1, (int) Math.round(exponencial(sorteioDoSurto, limitadoPorES ? surtoMedioES : surtoMedioCpu)));
+            int es = limitadoPorES ? Math.max(1, (int) Math.round(exponencial(sorteioDaES, esMedio))) : 0;
+            double pareto = cpuMinima / Math.pow(1 - sorteioDaCpu, 1 / alfaDaCpu);
+            int cpu = (int) Math.min(cpuMaxima, Math.round(pareto));
+
+            long i = gerados++;
+            Processo p = new Processo("P" + i, surto, es, cpu, prioridade, (int) Math.min(Integer.MAX_VALUE, i + 1));
+            if (temChegadas()) {
+                if (i > 0) {
+                    chegada += exponencial(sorteioDaChegada, intervaloMedioDeChegada);
+                }
+                p.setChegada((int) Math.min(Integer.MAX_VALUE, Math.round(chegada)));
+            }
+            return p;
+        }
+    }
+
+    // Amostra exponencial com a média dada a partir de um sorteio uniforme em [0, 1)
+    private static double exponencial(double sorteio, double media) {
+        return -media * Math.log(1 - sorteio);
+    }
+}
@@ -0,0 +1,110 @@
+package t1;
+
+// Grade de parâmetros de uma varredura: cada dimensão lista os valores a testar e as simulações
+// são o produto cartesiano de todas as dimensões. Uma dimensão vazia mantém o valor original do
+// modelo de carga.
+public class GradeDeParametros {
+
+    static final int MAXIMO_DE_VALORES = 1 << 20; // Por dimensão
+
+    private int[] prioridades = new int[0];
+    private int[] surtos = new int[0];
+    private int[] temposES = new int[0];
+
+    public GradeDeParametros prioridades(int... valores) {
+        this.prioridades = valores.clone();
+        return this;
+    }
+
+    public GradeDeParametros surtos(int... valores) {
+        this.surtos = valores.clone();
+        return this;
+    }
+
+    public GradeDeParametros temposES(int... valores) {
+        this.temposES = valores.clone();
+        return this;
+    }
+
+    // Interpreta "prioridade=1,2,3;surto=2..6;es=0,5" (intervalos a..b incluem as pontas)
+    public static GradeDeParametros interpretar(String texto) {
+        GradeDeParametros grade = new GradeDeParametros();
+        for (String dimensao : texto.split(";")) {
+            if (dimensao.isBlank()) {
+                continue;
+            }
+            int igual = dimensao.indexOf('=');
+            if (igual < 0) {
+                throw new IllegalArgumentException("Dimensão sem valores: " + dimensao);
+            }
+            String nome = dimensao.substring(0, igual).trim();
+            int[] valores = interpretarValores(dimensao.substring(igual + 1));
+            switch (nome) {
+                case "prioridade":
+                    grade.prioridades(valores);
+                    break;
+                case "surto":
+                    grade.surtos(valores);
+                    break;
+                case "es":
+                    grade.temposES(valores);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Dimensão desconhecida: " + nome + " (use prioridade, surto ou es).");
+            }
+        }
+        return grade;
+    }
+
+    // Duas passadas: a primeira valida as partes e conta os valores, a segunda preenche o vetor já
+    // com o tamanho final. As contas são em long para um intervalo até Integer.MAX_VALUE terminar
+    private static int[] interpretarValores(String texto) {
+        String[] partes = texto.split(",");
+        int[] de = new int[partes.length];
+        int[] ate = new int[partes.length];
+        long quantidade = 0;
+        for (int i = 0; i < partes.length; i++) {
+            String parte = partes[i].trim();
+            int intervalo = parte.indexOf("..");
+            de[i] = Integer.parseInt(intervalo < 0 ? parte : parte.substring(0, intervalo).trim());
+            ate[i] = intervalo < 0 ? de[i] : Integer.parseInt(parte.substring(intervalo + 2).trim());
+            if (de[i] > ate[i]) {
+                throw new IllegalArgumentException("Intervalo vazio: " + parte + " (o início passa do fim).");
+            }
+            quantidade += (long) ate[i] - de[i] + 1;
+            if (quantidade > MAXIMO_DE_VALORES) {
+                throw new IllegalArgumentException("Mais de " + MAXIMO_DE_VALORES + " valores numa dimensão: " + texto.trim());
+            }
+        }
+        int[] valores = new int[(int) quantidade];
+        int proximo = 0;
+        for (int i = 0; i < partes.length; i++) {
+            for (long v = de[i]; v <= ate[i]; v++) {
+                valores[proximo++] = (int) v;
+            }
+        }
+        return valores;
+    }
+
+    // Quantidade de pontos (simulações) da grade
+    public int tamanho() {
+        return Math.multiplyExact(Math.multiplyExact(Math.max(1, prioridades.length), Math.max(1, surtos.length)), Math.max(1, temposES.length));
+    }
+
+    // O i-ésimo ponto do produto cartesiano; a última dimensão (E/S) varia mais rápido
+    public PontoDaGrade ponto(int i) {
+        if (i < 0 || i >= tamanho()) {
+            throw new IndexOutOfBoundsException("Ponto " + i + " fora da grade de " + tamanho() + " pontos.");
+        }
+        int es = valor(temposES, i % Math.max(1, temposES.length));
+        i /= Math.max(1, temposES.length);
+        int surto = valor(surtos, i % Math.max(1, surtos.length));
+        i /= Math.max(1, surtos.length);
+        int prioridade = valor(prioridades, i);
+        return new PontoDaGrade(prioridade, surto, es);
+    }
+
+    private static int valor(int[] valores, int i) {
+        return valores.length == 0 ? PontoDaGrade.ORIGINAL : valores[i];
+    }
+}
@@ -0,0 +1,114 @@
+package t1;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+// Grava checkpoints periódicos numa thread de fundo. O escalonador só paga a cópia do estado para
+// um buffer; a escrita e o force no disco acontecem em paralelo com a simulação. Se a gravação
+// anterior ainda não terminou, o novo checkpoint é pulado em vez de parar a simulação.
+final class GravadorDeCheckpoints implements AutoCloseable {
+
+    private final Path arquivo;
+    private final Thread escritora;
+    private ByteBuffer livre;    // Buffer que o escalonador pode preencher
+    private ByteBuffer pendente; // Buffer esperando a escrita (null se a thread está livre)
+    private boolean fechado;
+    private IOException erro;
+    private long gravados;
+    private long pulados;
+
+    GravadorDeCheckpoints(Path arquivo) {
+        this.arquivo = arquivo;
+        this.escritora = new Thread(this::escrever, "checkpoints-do-escalonador");
+        this.escritora.setDaemon(true);
+        this.escritora.start();
+    }
+
+    // Captura o estado e entrega para a escrita; retorna false se pulou por haver escrita pendente
+    boolean salvar(Escalonador escalonador) {
+        ByteBuffer buffer;
+        synchronized (this) {
+            verificarErro();
+            if (pendente != null) {
+                pulados++;
+                return false;
+            }
+            buffer = livre;
+            livre = null;
+        }
+        buffer = Checkpoint.capturar(escalonador, buffer);
+        synchronized (this) {
+            pendente = buffer;
+            notifyAll();
+        }
+        return true;
+    }
+
+    long getGravados() {
+        return gravados;
+    }
+
+    long getPulados() {
+        return pulados;
+    }
+
+    private void escrever() {
+        while (true) {
+            ByteBuffer buffer;
+            synchronized (this) {
+                while (pendente == null && !fechado) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (pendente == null) {
+                    return;
+                }
+                buffer = pendente;
+            }
+            IOException falha = null;
+            try {
+                Checkpoint.gravar(buffer, arquivo);
+            } catch (IOException e) {
+                falha = e;
+            }
+            synchronized (this) {
+                if (falha != null) {
+                    erro = falha;
+                } else {
+                    gravados++;
+                }
+                livre = buffer;
+                pendente = null;
+                notifyAll();
+            }
+        }
+    }
+
+    private void verificarErro() {
+        if (erro != null) {
+            throw new UncheckedIOException("Falha ao gravar o checkpoint em " + arquivo + ".", erro);
+        }
+    }
+
+    // Espera a escrita pendente terminar e encerra a thread
+    @Override
+    public void close() {
+        synchronized (this) {
+            fechado = true;
+            notifyAll();
+        }
+        try {
+            escritora.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            verificarErro();
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package t1;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Nó da hierarquia da PoliticaHierarquica: um inquilino (criado pela política, com grupos como
+// filhos) ou um grupo de um inquilino (com processos como filhos). Cada nó tem um peso e créditos
+// próprios: começa com o peso, gasta 1 crédito por ms de CPU de qualquer processo abaixo dele e,
+// quando o pai reseta os filhos, recebe creditos / 2 + peso (a fórmula dos processos, com o peso
+// no lugar da prioridade). Também conta a CPU usada abaixo dele, para o relatório de partilha.
+public final class GrupoDeProcessos {
+
+    private final PoliticaHierarquica politica;
+    private final String nome;
+    private final int peso;
+    private final GrupoDeProcessos inquilino; // null nos inquilinos
+    final int indice; // Ordem de criação na política, usada no desempate
+    int creditos;
+    int posicaoNoHeap = -1;
+    private long cpuUsada;
+    private int processos;
+
+    // Só nos inquilinos: todos os grupos e o heap dos que têm prontos
+    private final List<GrupoDeProcessos> grupos;
+    final HeapDeGrupos gruposComProntos;
+    // Só nos grupos: a fila de prontos dos processos
+    final FilaDoGrupo fila;
+
+    GrupoDeProcessos(PoliticaHierarquica politica, String nome, int peso, GrupoDeProcessos inquilino, int indice) {
+        if (peso < 1) {
+            throw new IllegalArgumentException("O peso de " + nome + " precisa ser pelo menos 1.");
+        }
+        this.politica = politica;
+        this.nome = nome;
+        this.peso = peso;
+        this.inquilino = inquilino;
+        this.indice = indice;
+        this.creditos = peso;
+        this.grupos = inquilino == null ? new ArrayList<>() : null;
+        this.gruposComProntos = inquilino == null ? new HeapDeGrupos() : null;
+        this.fila = inquilino == null ? null : new FilaDoGrupo();
+    }
+
+    // Cria um grupo deste inquilino
+    public GrupoDeProcessos criarGrupo(String nome, int peso) {
+        if (!ehInquilino()) {
+            throw new IllegalStateException("Grupos só podem ser criados em inquilinos, e " + this.nome + " é um grupo.");
+        }
+        GrupoDeProcessos grupo = new GrupoDeProcessos(politica, nome, peso, this, politica.proximoIndice());
+        grupos.add(grupo);
+        return grupo;
+    }
+
+    // Coloca o processo neste grupo; deve ser chamado antes de o processo entrar no escalonador
+    public GrupoDeProcessos adicionar(Processo p) {
+        if (ehInquilino()) {
+            throw new IllegalStateException("Processos só podem entrar em grupos, e " + nome + " é um inquilino.");
+        }
+        p.grupo = this;
+        return this;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public int getPeso() {
+        return peso;
+    }
+
+    public int getCreditos() {
+        return creditos;
+    }
+
+    // Milissegundos de CPU usados pelos processos abaixo deste nó
+    public long getCpuUsada() {
+        return cpuUsada;
+    }
+
+    // Quantos processos já foram acompanhados neste grupo (nos inquilinos, somando os grupos)
+    public int getProcessos() {
+        return processos;
+    }
+
+    public boolean ehInquilino() {
+        return inquilino == null;
+    }
+
+    // O inquilino de um grupo (null para um inquilino)
+    public GrupoDeProcessos getInquilino() {
+        return inquilino;
+    }
+
+    public List<GrupoDeProcessos> getGrupos() {
+        return grupos == null ? List.of() : List.copyOf(grupos);
+    }
+
+    PoliticaHierarquica getPolitica() {
+        return politica;
+    }
+
+    // Um ms de CPU de um processo do grupo: gasta um crédito do grupo e um do inquilino, e
+    // reposiciona os dois nos heaps (O(log n) em cada nível)
+    void gastarCredito() {
+        cpuUsada++;
+        creditos--;
+        if (posicaoNoHeap >= 0) {
+            inquilino.gruposComProntos.atualizar(this);
+        }
+        inquilino.cpuUsada++;
+        inquilino.creditos--;
+        if (inquilino.posicaoNoHeap >= 0) {
+            politica.inquilinosComProntos.atualizar(inquilino);
+        }
+    }
+
+    // Reset local do inquilino: todos os seus grupos recebem creditos / 2 + peso
+    void resetarGrupos() {
+        for (GrupoDeProcessos grupo : grupos) {
+            grupo.resetarCreditos();
+        }
+        gruposComProntos.reconstruir();
+    }
+
+    void resetarCreditos() {
+        creditos = creditos / 2 + peso;
+    }
+
+    // O grupo entra no heap do inquilino quando passa a ter prontos e sai quando fica sem nenhum;
+    // o inquilino faz o mesmo no heap da política
+    private void atualizarCandidatura() {
+        boolean candidato = fila.tamanho() > 0;
+        if (candidato == posicaoNoHeap >= 0) {
+            return;
+        }
+        if (candidato) {
+            inquilino.gruposComProntos.inserir(this);
+        } else {
+            inquilino.gruposComProntos.remover(this);
+        }
+        boolean inquilinoCandidato = inquilino.gruposComProntos.tamanho() > 0;
+        if (inquilinoCandidato != inquilino.posicaoNoHeap >= 0) {
+            if (inquilinoCandidato) {
+                politica.inquilinosComProntos.inserir(inquilino);
+            } else {
+                politica.inquilinosComProntos.remover(inquilino);
+            }
+        }
+    }
+
+    // Fila de prontos do grupo, que mantém o grupo nos heaps e as contagens da política em dia
+    final class FilaDoGrupo extends FilaDeProntos {
+
+        GrupoDeProcessos getGrupo() {
+            return GrupoDeProcessos.this;
+        }
+
+        @Override
+        public void acompanhar(Processo p) {
+            if (p.observador == this) {
+                return;
+            }
+            super.acompanhar(p);
+            processos++;
+            inquilino.processos++;
+            politica.contarEstado(null, p.getEstado());
+            atualizarCandidatura();
+        }
+
+        @Override
+        public void deixarDeAcompanhar(Processo p) {
+            super.deixarDeAcompanhar(p);
+            politica.contarEstado(p.getEstado(), null);
+            atualizarCandidatura();
+        }
+
+        @Override
+        public void aoMudarEstado(Processo p, EstadoProcesso anterior) {
+            super.aoMudarEstado(p, anterior);
+            politica.contarEstado(anterior, p.getEstado());
+            atualizarCandidatura();
+        }
+    }
+
+    // Heap máximo intrusivo de nós com prontos, ordenado por créditos e, no empate, pela ordem de
+    // criação; cada nó guarda sua posição em posicaoNoHeap, então nada é alocado por decisão
+    static final class HeapDeGrupos {
+        private GrupoDeProcessos[] heap = new GrupoDeProcessos[8];
+        private int tamanho;
+
+        int tamanho() {
+            return tamanho;
+        }
+
+        GrupoDeProcessos topo() {
+            return tamanho == 0 ? null : heap[0];
+        }
+
+        void inserir(GrupoDeProcessos g) {
+            if (tamanho == heap.length) {
+                heap = Arrays.copyOf(heap, tamanho * 2);
+            }
+            subir(g, tamanho++);
+        }
+
+        void remover(GrupoDeProcessos g) {
+            int i = g.posicaoNoHeap;
+            g.posicaoNoHeap = -1;
+            GrupoDeProcessos ultimo = heap[--tamanho];
+            heap[tamanho] = null;
+            if (ultimo != g) {
+                colocar(ultimo, i);
+                atualizar(ultimo);
+            }
+        }
+
+        // Reposiciona o nó depois que seus créditos mudaram
+        void atualizar(GrupoDeProcessos g) {
+            int i = g.posicaoNoHeap;
+            if (i > 0 && vemAntes(g, heap[(i - 1) >>> 1])) {
+                subir(g, i);
+            } else {
+                descer(g, i);
+            }
+        }
+
+        // Refaz o heap depois de um reset que mudou os créditos de todos (O(n))
+        void reconstruir() {
+            for (int i = (tamanho >>> 1) - 1; i >= 0; i--) {
+                descer(heap[i], i);
+            }
+        }
+
+        private void subir(GrupoDeProcessos g, int i) {
+            while (i > 0) {
+                int pai = (i - 1) >>> 1;
+                if (!vemAntes(g, heap[pai])) {
+                    break;
+                }
+                colocar(heap[pai], i);
+                i = pai;
+            }
+            colocar(g, i);
+        }
+
+        private void descer(GrupoDeProcessos g, int i) {
+            int metade = tamanho >>> 1;
+            while (i < metade) {
+                int filho = 2 * i + 1;
+                int direito = filho + 1;
+                if (direito < tamanho && vemAntes(heap[direito], heap[filho])) {
+                    filho = direito;
+                }
+                if (!vemAntes(heap[filho], g)) {
+                    break;
+                }
+                colocar(heap[filho], i);
+                i = filho;
+            }
+            colocar(g, i);
+        }
+
+        private void colocar(GrupoDeProcessos g, int i) {
+            heap[i] = g;
+            g.posicaoNoHeap = i;
+        }
+
+        private static boolean vemAntes(GrupoDeProcessos a, GrupoDeProcessos b) {
+            if (a.creditos != b.creditos) {
+                return a.creditos > b.creditos;
+            }
+            return a.indice < b.indice;
+        }
+    }
+}
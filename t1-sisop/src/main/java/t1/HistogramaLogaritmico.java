@@ -0,0 +1,132 @@
+package t1;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+// Histograma de valores não negativos com memória fixa: cada potência de dois é dividida em 32
+// faixas iguais, então valores abaixo de 32 são exatos e os demais têm erro relativo de no máximo
+// ~3%. São 1888 contadores para cobrir todo o intervalo de long, não importa quantos valores
+// forem registrados.
+public class HistogramaLogaritmico {
+
+    private static final int BITS_POR_FAIXA = 5;
+    private static final int FAIXAS = 1 << BITS_POR_FAIXA;
+
+    private final long[] contagens = new long[(64 - BITS_POR_FAIXA) * FAIXAS];
+    private long quantidade;
+    private long soma;
+    private long minimo = Long.MAX_VALUE;
+    private long maximo;
+
+    public void registrar(long valor) {
+        if (valor < 0) {
+            throw new IllegalArgumentException("O histograma só aceita valores não negativos: " + valor);
+        }
+        contagens[indice(valor)]++;
+        quantidade++;
+        soma += valor;
+        minimo = Math.min(minimo, valor);
+        maximo = Math.max(maximo, valor);
+    }
+
+    // Soma outro histograma a este (por exemplo, os de várias threads)
+    public void juntar(HistogramaLogaritmico outro) {
+        for (int i = 0; i < contagens.length; i++) {
+            contagens[i] += outro.contagens[i];
+        }
+        quantidade += outro.quantidade;
+        soma += outro.soma;
+        minimo = Math.min(minimo, outro.minimo);
+        maximo = Math.max(maximo, outro.maximo);
+    }
+
+    // Grava só as faixas ocupadas, para mandar o histograma a outra JVM (veja ler)
+    public void escrever(DataOutput destino) throws IOException {
+        int ocupadas = 0;
+        for (long contagem : contagens) {
+            if (contagem != 0) {
+                ocupadas++;
+            }
+        }
+        destino.writeLong(quantidade);
+        destino.writeLong(soma);
+        destino.writeLong(minimo);
+        destino.writeLong(maximo);
+        destino.writeInt(ocupadas);
+        for (int i = 0; i < contagens.length; i++) {
+            if (contagens[i] != 0) {
+                destino.writeInt(i);
+                destino.writeLong(contagens[i]);
+            }
+        }
+    }
+
+    public static HistogramaLogaritmico ler(DataInput origem) throws IOException {
+        HistogramaLogaritmico h = new HistogramaLogaritmico();
+        h.quantidade = origem.readLong();
+        h.soma = origem.readLong();
+        h.minimo = origem.readLong();
+        h.maximo = origem.readLong();
+        int ocupadas = origem.readInt();
+        for (int k = 0; k < ocupadas; k++) {
+            int i = origem.readInt();
+            if (i < 0 || i >= h.contagens.length) {
+                throw new IOException("Faixa inválida no histograma: " + i);
+            }
+            h.contagens[i] = origem.readLong();
+        }
+        return h;
+    }
+
+    public long getQuantidade() {
+        return quantidade;
+    }
+
+    public long getMinimo() {
+        return quantidade == 0 ? 0 : minimo;
+    }
+
+    public long getMaximo() {
+        return maximo;
+    }
+
+    public double getMedia() {
+        return quantidade == 0 ? 0.0 : (double) soma / quantidade;
+    }
+
+    // Menor valor tal que pelo menos 'percentil'% dos registros são menores ou iguais a ele
+    // (dentro da precisão da faixa; o resultado nunca passa do máximo registrado)
+    public long percentil(double percentil) {
+        if (quantidade == 0) {
+            return 0;
+        }
+        long alvo = Math.max(1, (long) Math.ceil(percentil / 100.0 * quantidade));
+        long acumulado = 0;
+        for (int i = 0; i < contagens.length; i++) {
+            acumulado += contagens[i];
+            if (acumulado >= alvo) {
+                return Math.max(minimo, Math.min(maximo, maiorValorDaFaixa(i)));
+            }
+        }
+        return maximo;
+    }
+
+    private static int indice(long valor) {
+        if (valor < FAIXAS) {
+            return (int) valor;
+        }
+        int expoente = 63 - Long.numberOfLeadingZeros(valor);
+        int deslocamento = expoente - BITS_POR_FAIXA;
+        return (deslocamento + 1) * FAIXAS + (int) ((valor >>> deslocamento) - FAIXAS);
+    }
+
+    private static long maiorValorDaFaixa(int indice) {
+        if (indice < FAIXAS) {
+            return indice;
+        }
+        int deslocamento = indice / FAIXAS - 1;
+        long faixa = indice % FAIXAS + FAIXAS;
+        return ((faixa + 1) << deslocamento) - 1;
+    }
+}
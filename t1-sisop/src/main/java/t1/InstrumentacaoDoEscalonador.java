@@ -0,0 +1,166 @@
+package t1;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+// Medições do custo do próprio escalonador: quantas seleções e quanto tempo real cada uma leva,
+// quantos resets de créditos e quanto custam, quantas trocas de contexto e o tamanho da fila de
+// prontos ao longo do tempo. Pode ser registrada como MBean para acompanhar uma simulação em
+// andamento pelo jconsole.
+//
+// Para não pesar no laço principal, as seleções só são cronometradas uma vez a cada
+// PERIODO_DE_AMOSTRAGEM (o System.nanoTime custa mais que a seleção) e a fila é amostrada na
+// mesma frequência. Os contadores são LongAdder: vários escalonadores (ou núcleos) podem
+// compartilhar uma instrumentação sem disputar a mesma linha de cache, e a leitura pelo JMX não
+// atrapalha quem escreve. Sem instrumentação o escalonador só paga um teste de null.
+public class InstrumentacaoDoEscalonador implements InstrumentacaoDoEscalonadorMBean, AutoCloseable {
+
+    public static final int PERIODO_DE_AMOSTRAGEM = 64;
+
+    private final LongAdder selecoes = new LongAdder();
+    private final LongAdder selecoesCronometradas = new LongAdder();
+    private final LongAdder nanosEmSelecoes = new LongAdder();
+    private final LongAdder resets = new LongAdder();
+    private final LongAdder nanosEmResets = new LongAdder();
+    private final LongAdder trocasDeContexto = new LongAdder();
+    private final LongAdder amostrasDaFila = new LongAdder();
+    private final LongAdder somaDaFila = new LongAdder();
+    private volatile int prontosNaUltimaAmostra;
+    private volatile int prontosNoMaximo;
+    private volatile int tempoSimulado;
+    private ObjectName nomeRegistrado;
+
+    // Chamado a cada seleção; retorna true quando esta seleção deve ser cronometrada
+    boolean contarSelecao(int ciclo) {
+        selecoes.increment();
+        return (ciclo & (PERIODO_DE_AMOSTRAGEM - 1)) == 0;
+    }
+
+    void registrarSelecaoCronometrada(long nanos) {
+        selecoesCronometradas.increment();
+        nanosEmSelecoes.add(nanos);
+    }
+
+    void registrarReset(long nanos) {
+        resets.increment();
+        nanosEmResets.add(nanos);
+    }
+
+    void registrarTrocaDeContexto() {
+        trocasDeContexto.increment();
+    }
+
+    void amostrarFila(int prontos, int tempo) {
+        amostrasDaFila.increment();
+        somaDaFila.add(prontos);
+        prontosNaUltimaAmostra = prontos;
+        if (prontos > prontosNoMaximo) {
+            prontosNoMaximo = prontos; // Corrida benigna entre escritores: o máximo é aproximado
+        }
+        tempoSimulado = tempo;
+    }
+
+    // Registra no servidor de MBeans da plataforma como t1:type=Escalonador,name=<nome>
+    public void registrarNoJmx(String nome) {
+        try {
+            MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objeto = new ObjectName("t1:type=Escalonador,name=" + ObjectName.quote(nome));
+            servidor.registerMBean(this, objeto);
+            nomeRegistrado = objeto;
+        } catch (JMException e) {
+            throw new IllegalStateException("Não foi possível registrar a instrumentação no JMX.", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (nomeRegistrado != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(nomeRegistrado);
+            } catch (JMException e) {
+                // Já tinha sido removido
+            }
+            nomeRegistrado = null;
+        }
+    }
+
+    @Override
+    public long getSelecoes() {
+        return selecoes.sum();
+    }
+
+    @Override
+    public double getNanosPorSelecao() {
+        long cronometradas = selecoesCronometradas.sum();
+        return cronometradas == 0 ? 0.0 : (double) nanosEmSelecoes.sum() / cronometradas;
+    }
+
+    @Override
+    public long getResets() {
+        return resets.sum();
+    }
+
+    @Override
+    public double getNanosPorReset() {
+        long quantos = resets.sum();
+        return quantos == 0 ? 0.0 : (double) nanosEmResets.sum() / quantos;
+    }
+
+    @Override
+    public double getResetsPorSegundoSimulado() {
+        int tempo = tempoSimulado;
+        return tempo == 0 ? 0.0 : resets.sum() * 1000.0 / tempo;
+    }
+
+    @Override
+    public long getTrocasDeContexto() {
+        return trocasDeContexto.sum();
+    }
+
+    @Override
+    public int getProntosNaUltimaAmostra() {
+        return prontosNaUltimaAmostra;
+    }
+
+    @Override
+    public double getProntosEmMedia() {
+        long amostras = amostrasDaFila.sum();
+        return amostras == 0 ? 0.0 : (double) somaDaFila.sum() / amostras;
+    }
+
+    @Override
+    public int getProntosNoMaximo() {
+        return prontosNoMaximo;
+    }
+
+    @Override
+    public int getTempoSimulado() {
+        return tempoSimulado;
+    }
+
+    @Override
+    public void zerar() {
+        selecoes.reset();
+        selecoesCronometradas.reset();
+        nanosEmSelecoes.reset();
+        resets.reset();
+        nanosEmResets.reset();
+        trocasDeContexto.reset();
+        amostrasDaFila.reset();
+        somaDaFila.reset();
+        prontosNaUltimaAmostra = 0;
+        prontosNoMaximo = 0;
+    }
+
+    public void imprimirResumo(PrintStream destino) {
+        destino.println("--- Custo do escalonador ---");
+        destino.printf("Seleções: %d (%.1fns cada, amostradas 1 a cada %d)%n", getSelecoes(), getNanosPorSelecao(), PERIODO_DE_AMOSTRAGEM);
+        destino.printf("Resets de créditos: %d (%.1fns cada, %.2f por segundo simulado)%n", getResets(), getNanosPorReset(), getResetsPorSegundoSimulado());
+        destino.println("Trocas de contexto: " + getTrocasDeContexto());
+        destino.printf("Fila de prontos: média = %.1f, máx = %d%n", getProntosEmMedia(), getProntosNoMaximo());
+    }
+}
@@ -0,0 +1,29 @@
+package t1;
+
+// Atributos e operações da InstrumentacaoDoEscalonador vistos pelo JMX (por exemplo, no jconsole)
+public interface InstrumentacaoDoEscalonadorMBean {
+
+    long getSelecoes();
+
+    // Média das chamadas de selecionarProcesso cronometradas (uma a cada PERIODO_DE_AMOSTRAGEM)
+    double getNanosPorSelecao();
+
+    long getResets();
+
+    double getNanosPorReset();
+
+    // Resets por segundo simulado
+    double getResetsPorSegundoSimulado();
+
+    long getTrocasDeContexto();
+
+    int getProntosNaUltimaAmostra();
+
+    double getProntosEmMedia();
+
+    int getProntosNoMaximo();
+
+    int getTempoSimulado();
+
+    void zerar();
+}
@@ -0,0 +1,116 @@
+package t1;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Lê um rastro gravado pela SaidaDeRastro, um registro por vez, sem criar objetos por evento:
+// proximo() avança e os getters devolvem os campos do registro atual. O arquivo é lido em blocos
+// para um ByteBuffer direto reaproveitado.
+public class LeitorDeRastro implements AutoCloseable {
+
+    private static final TipoDeEvento[] TIPOS = TipoDeEvento.values();
+
+    private final FileChannel canal;
+    private final ByteBuffer buffer;
+    private final long quantidade;
+    private long indice = -1;
+    private int tempo;
+    private int ordem;
+    private TipoDeEvento tipo;
+    private int creditos;
+    private int cpu;
+
+    public LeitorDeRastro(Path arquivo) throws IOException {
+        this.canal = FileChannel.open(arquivo, StandardOpenOption.READ);
+        try {
+            ByteBuffer cabecalho = ByteBuffer.allocate(SaidaDeRastro.CABECALHO);
+            while (cabecalho.hasRemaining() && canal.read(cabecalho) >= 0) {
+                // Lê até completar o cabeçalho ou acabar o arquivo
+            }
+            cabecalho.flip();
+            if (cabecalho.remaining() < SaidaDeRastro.CABECALHO || cabecalho.getInt() != SaidaDeRastro.MAGICO
+                    || cabecalho.getInt() != SaidaDeRastro.VERSAO || cabecalho.getInt() != SaidaDeRastro.REGISTRO) {
+                throw new IllegalArgumentException("O arquivo " + arquivo + " não é um rastro do escalonador.");
+            }
+            this.quantidade = (canal.size() - SaidaDeRastro.CABECALHO) / SaidaDeRastro.REGISTRO;
+        } catch (IOException | RuntimeException e) {
+            canal.close();
+            throw e;
+        }
+        this.buffer = ByteBuffer.allocateDirect(SaidaDeRastro.TAMANHO_PADRAO_DO_BUFFER / SaidaDeRastro.REGISTRO * SaidaDeRastro.REGISTRO);
+        buffer.flip();
+    }
+
+    // Quantos registros completos o rastro tem
+    public long getQuantidade() {
+        return quantidade;
+    }
+
+    // Avança para o próximo registro; false quando o rastro acabou
+    public boolean proximo() throws IOException {
+        if (indice + 1 >= quantidade) {
+            return false;
+        }
+        if (buffer.remaining() < SaidaDeRastro.REGISTRO) {
+            buffer.compact();
+            while (buffer.position() < SaidaDeRastro.REGISTRO && canal.read(buffer) >= 0) {
+                // Garante pelo menos um registro inteiro no buffer
+            }
+            buffer.flip();
+        }
+        indice++;
+        tempo = buffer.getInt();
+        ordem = buffer.getInt();
+        tipo = TIPOS[buffer.get()];
+        creditos = buffer.getInt();
+        cpu = buffer.getInt();
+        return true;
+    }
+
+    // Reposiciona a leitura: o próximo proximo() lê o registro de índice 'indice'
+    public void irPara(long indice) throws IOException {
+        canal.position(SaidaDeRastro.CABECALHO + indice * SaidaDeRastro.REGISTRO);
+        buffer.clear().flip();
+        this.indice = indice - 1;
+    }
+
+    // Posição do registro atual no rastro, começando em 0
+    public long getIndice() {
+        return indice;
+    }
+
+    public int getTempo() {
+        return tempo;
+    }
+
+    // Ordem do processo do evento, ou -1 nos eventos globais
+    public int getOrdem() {
+        return ordem;
+    }
+
+    public TipoDeEvento getTipo() {
+        return tipo;
+    }
+
+    public int getCreditos() {
+        return creditos;
+    }
+
+    public int getCpu() {
+        return cpu;
+    }
+
+    // Registro atual em texto, para relatórios de reprodução e comparação
+    public String descreverRegistro() {
+        return "#" + indice + " Tempo: " + tempo + "ms - " + tipo + (ordem < 0 ? "" : " | Ordem: " + ordem
+                + " | Créditos: " + creditos + " | CPU restante: " + cpu);
+    }
+
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+}
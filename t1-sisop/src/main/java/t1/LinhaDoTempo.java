@@ -0,0 +1,155 @@
+package t1;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Linha do tempo de um processo reconstruída a partir de um rastro: os intervalos em que ele
+// executou ou esperou E/S (o resto, até o fim, é tempo PRONTO). O fim de uma execução interrompida
+// não tem evento próprio, então é deduzido pela CPU consumida quando o processo volta a ser
+// selecionado, o que vale para qualquer motor (ticks, eventos, compacto ou multinúcleo).
+//
+// Os processos são identificados pela ordem gravada no rastro; cargas com ordens repetidas
+// juntam esses processos numa mesma linha do tempo.
+public class LinhaDoTempo {
+
+    private final int ordem;
+    private int[] inicios = new int[8];
+    private int[] fins = new int[8];
+    private EstadoProcesso[] estados = new EstadoProcesso[8];
+    private int intervalos;
+    private int fim;
+    private int cpuExecutada;
+    private int bloqueios;
+
+    // Intervalo aberto: início e CPU restante quando começou a executar, ou início da E/S
+    private EstadoProcesso aberto;
+    private int inicioAberto;
+    private int cpuNoInicio;
+
+    public LinhaDoTempo(int ordem) {
+        this.ordem = ordem;
+    }
+
+    // Lê o rastro inteiro e monta a linha do tempo de cada processo, em ordem crescente de ordem
+    public static Map<Integer, LinhaDoTempo> reproduzir(Path rastro) throws IOException {
+        Map<Integer, LinhaDoTempo> linhas = new TreeMap<>();
+        try (LeitorDeRastro leitor = new LeitorDeRastro(rastro)) {
+            while (leitor.proximo()) {
+                if (leitor.getOrdem() >= 0) {
+                    linhas.computeIfAbsent(leitor.getOrdem(), LinhaDoTempo::new)
+                            .aplicar(leitor.getTipo(), leitor.getTempo(), leitor.getCpu());
+                }
+            }
+        }
+        return linhas;
+    }
+
+    // Aplica um evento do processo à linha do tempo
+    void aplicar(TipoDeEvento tipo, int tempo, int cpu) {
+        switch (tipo) {
+            case PROCESSO_SELECIONADO:
+            case EXECUCAO_INICIADA:
+                if (aberto == EstadoProcesso.EXECUTANDO && cpu < cpuNoInicio) {
+                    // A execução anterior foi interrompida: durou o tanto de CPU que consumiu
+                    fecharExecucao(inicioAberto + cpuNoInicio - cpu, cpu);
+                }
+                if (aberto != EstadoProcesso.EXECUTANDO) {
+                    aberto = EstadoProcesso.EXECUTANDO;
+                    inicioAberto = tempo;
+                    cpuNoInicio = cpu;
+                }
+                break;
+            case PROCESSO_BLOQUEADO:
+                fecharExecucao(tempo, cpu);
+                aberto = EstadoProcesso.BLOQUEADO;
+                inicioAberto = tempo;
+                bloqueios++;
+                break;
+            case ES_CONCLUIDA:
+                if (aberto == EstadoProcesso.BLOQUEADO) {
+                    adicionar(inicioAberto, tempo, EstadoProcesso.BLOQUEADO);
+                    aberto = null;
+                }
+                break;
+            case PROCESSO_FINALIZADO:
+                fecharExecucao(tempo, cpu);
+                fim = tempo;
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void fecharExecucao(int instante, int cpu) {
+        if (aberto == EstadoProcesso.EXECUTANDO) {
+            if (instante > inicioAberto) {
+                adicionar(inicioAberto, instante, EstadoProcesso.EXECUTANDO);
+            }
+            cpuExecutada += cpuNoInicio - cpu;
+            aberto = null;
+        }
+    }
+
+    private void adicionar(int inicio, int fimDoIntervalo, EstadoProcesso estado) {
+        if (intervalos == inicios.length) {
+            inicios = Arrays.copyOf(inicios, intervalos * 2);
+            fins = Arrays.copyOf(fins, intervalos * 2);
+            estados = Arrays.copyOf(estados, intervalos * 2);
+        }
+        inicios[intervalos] = inicio;
+        fins[intervalos] = fimDoIntervalo;
+        estados[intervalos++] = estado;
+    }
+
+    public int getOrdem() {
+        return ordem;
+    }
+
+    public int getIntervalos() {
+        return intervalos;
+    }
+
+    public int getInicio(int i) {
+        return inicios[i];
+    }
+
+    public int getFim(int i) {
+        return fins[i];
+    }
+
+    public EstadoProcesso getEstado(int i) {
+        return estados[i];
+    }
+
+    // Instante em que o processo terminou, ou 0 se o rastro acaba antes disso
+    public int getFim() {
+        return fim;
+    }
+
+    public int getCpuExecutada() {
+        return cpuExecutada;
+    }
+
+    public int getBloqueios() {
+        return bloqueios;
+    }
+
+    // Imprime uma linha por processo com seus intervalos, por exemplo "[1-5 EXECUTANDO] [5-8 BLOQUEADO]"
+    public static void imprimir(Map<Integer, LinhaDoTempo> linhas, PrintStream destino) {
+        for (LinhaDoTempo linha : linhas.values()) {
+            StringBuilder texto = new StringBuilder();
+            texto.append("Ordem ").append(linha.ordem).append(" | CPU: ").append(linha.cpuExecutada)
+                    .append("ms | Bloqueios: ").append(linha.bloqueios)
+                    .append(" | Fim: ").append(linha.fim == 0 ? "-" : linha.fim + "ms").append(" |");
+            for (int i = 0; i < linha.intervalos; i++) {
+                texto.append(" [").append(linha.inicios[i]).append('-').append(linha.fins[i])
+                        .append(' ').append(linha.estados[i]).append(']');
+            }
+            destino.println(texto);
+        }
+    }
+}
@@ -1,11 +1,19 @@
 package t1;
 
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 public class Main {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
         // Criação de processos de exemplo
         Processo p1 = new Processo("A", 3, 5, 10, 2, 1);
         Processo p2 = new Processo("B", 4, 2, 12, 3, 2);
@@ -19,16 +27,355 @@ public class Main {
         listaDeProcessos.add(p3);
         listaDeProcessos.add(p4);
 
-        // Criando o escalonador com a lista de processos
-        Escalonador escalonador = new Escalonador(listaDeProcessos);
+        List<String> opcoes = Arrays.asList(args);
 
-        // Iniciando o escalonamento
-        escalonador.iniciarEscalonamento();
+        // Com --reproduzir RASTRO imprime a linha do tempo de cada processo de um rastro binário, e
+        // com --comparar RASTRO1 RASTRO2 mostra a primeira decisão em que dois rastros divergem
+        String reproduzir = valorDaOpcao(opcoes, "--reproduzir");
+        if (reproduzir != null) {
+            LinhaDoTempo.imprimir(LinhaDoTempo.reproduzir(Paths.get(reproduzir)), System.out);
+            return;
+        }
+        int comparar = opcoes.indexOf("--comparar");
+        if (comparar >= 0 && comparar + 2 < opcoes.size()) {
+            ComparadorDeRastros.imprimirDivergencia(Paths.get(opcoes.get(comparar + 1)), Paths.get(opcoes.get(comparar + 2)), System.out);
+            return;
+        }
+
+        // Uma JVM trabalhadora de uma simulação distribuída (iniciada pelo CoordenadorDistribuido)
+        int trabalhador = opcoes.indexOf("--trabalhador");
+        if (trabalhador >= 0 && trabalhador + 2 < opcoes.size()) {
+            CoordenadorDistribuido.trabalhar(Paths.get(opcoes.get(trabalhador + 1)), Integer.parseInt(opcoes.get(trabalhador + 2)));
+            return;
+        }
+
+        // Com --daemon fica no ar recebendo cenários (veja DaemonDeSimulacao) pela entrada padrão
+        // até ela terminar, ou por um socket de domínio Unix com --socket ARQUIVO. --limite MS muda
+        // o tempo limite padrão de cada cenário (60s)
+        if (opcoes.contains("--daemon")) {
+            DaemonDeSimulacao daemon = new DaemonDeSimulacao().aquecer();
+            String limite = valorDaOpcao(opcoes, "--limite");
+            if (limite != null) {
+                daemon.setLimitePorCenario(Long.parseLong(limite));
+            }
+            String socket = valorDaOpcao(opcoes, "--socket");
+            if (socket != null) {
+                daemon.escutar(Paths.get(socket));
+            } else {
+                Writer saida = new OutputStreamWriter(System.out, StandardCharsets.UTF_8);
+                daemon.atender(new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8)), saida);
+            }
+            return;
+        }
+
+        // Com --diferencial EVENTOS|COMPACTO roda --cargas N (500 por padrão) cargas aleatórias da
+        // --semente S no motor escolhido e no Escalonador de referência, e mostra a primeira
+        // divergência já reduzida a uma carga mínima
+        String diferencial = valorDaOpcao(opcoes, "--diferencial");
+        if (diferencial != null) {
+            String cargas = valorDaOpcao(opcoes, "--cargas");
+            String semente = valorDaOpcao(opcoes, "--semente");
+            ComparacaoDiferencial.Divergencia divergencia = new ComparacaoDiferencial(ComparacaoDiferencial.Motor.porNome(diferencial))
+                    .procurar(semente == null ? 42 : Long.parseLong(semente), cargas == null ? 500 : Integer.parseInt(cargas));
+            if (divergencia == null) {
+                System.out.println("Nenhuma divergência entre " + diferencial + " e o Escalonador de referência.");
+            } else {
+                divergencia.imprimir(System.out);
+            }
+            return;
+        }
+
+        // Com --eventos a simulação salta de evento em evento em vez de avançar 1ms por vez
+        boolean motorDeEventos = opcoes.contains("--eventos");
+
+        // Com --nucleos N a simulação usa N núcleos, cada um com sua fila
+        String nucleos = valorDaOpcao(opcoes, "--nucleos");
+
+        // Com --compacto os processos são simulados numa tabela de vetores primitivos
+        boolean compacto = opcoes.contains("--compacto");
+        boolean usarTabela = compacto && nucleos == null;
+
+        // Com --distribuido N os processos são repartidos entre N JVMs trabalhadoras, sincronizadas
+        // por um coordenador em janelas de --janela MS simulados (veja CoordenadorDistribuido). Com
+        // --carga ou --gerar cada trabalhador monta a sua partição, e os processos não passam por esta
+        // JVM; por isso não há --processos
+        String distribuido = valorDaOpcao(opcoes, "--distribuido");
+        if (distribuido != null && (usarTabela || motorDeEventos || nucleos != null || opcoes.contains("--varredura"))) {
+            throw new IllegalArgumentException("--distribuido só vale para o Escalonador por ticks.");
+        }
+        if (distribuido != null && opcoes.contains("--processos")) {
+            throw new IllegalArgumentException("--processos não vale com --distribuido: os processos ficam nos trabalhadores.");
+        }
+
+        // Com --carga ARQUIVO os processos vêm de um arquivo CSV ou binário em vez dos exemplos acima
+        String carga = valorDaOpcao(opcoes, "--carga");
+        TabelaDeProcessos tabela = null;
+        if (carga != null && distribuido == null) {
+            tabela = CarregadorDeCarga.carregar(Paths.get(carga));
+            listaDeProcessos.clear();
+            if (!usarTabela) {
+                for (int i = 0; i < tabela.tamanho(); i++) {
+                    listaDeProcessos.add(tabela.paraProcesso(i));
+                }
+            }
+        }
+
+        // Com --gerar N os processos vêm do gerador de carga sintética (--semente S, 42 por padrão).
+        // Com --chegada-media MS eles chegam aos poucos (intervalos exponenciais) e são gerados sob
+        // demanda pelo Escalonador por ticks, sem ficarem todos na memória
+        String gerar = valorDaOpcao(opcoes, "--gerar");
+        GeradorDeCarga gerador = null;
+        if (gerar != null) {
+            gerador = new GeradorDeCarga().quantidade(Long.parseLong(gerar));
+            String semente = valorDaOpcao(opcoes, "--semente");
+            if (semente != null) {
+                gerador.semente(Long.parseLong(semente));
+            }
+            String chegadaMedia = valorDaOpcao(opcoes, "--chegada-media");
+            if (chegadaMedia != null) {
+                gerador.intervaloMedioDeChegada(Double.parseDouble(chegadaMedia));
+            }
+            listaDeProcessos.clear();
+            if (gerador.temChegadas()) {
+                if (usarTabela || motorDeEventos || nucleos != null || distribuido != null) {
+                    throw new IllegalArgumentException("--chegada-media só vale para o Escalonador por ticks.");
+                }
+            } else if (usarTabela) {
+                tabela = new TabelaDeProcessos();
+                for (Processo p : gerador) {
+                    tabela.adicionar(p);
+                }
+            } else if (distribuido == null) {
+                gerador.forEach(listaDeProcessos::add);
+            }
+        }
+
+        // Com --cache DIRETORIO as simulações já feitas (mesmos processos, mesma política e mesma
+        // versão do escalonador) reaproveitam o resultado guardado no diretório em vez de rodar de
+        // novo; vale para a varredura e para o Escalonador por ticks com --silencioso
+        String diretorioDoCache = valorDaOpcao(opcoes, "--cache");
+        CacheDeResultados cache = diretorioDoCache == null ? null : new CacheDeResultados(256, Paths.get(diretorioDoCache));
+
+        // Com --varredura "prioridade=1..4;surto=2,4;es=0,5" roda uma simulação por combinação, em
+        // paralelo (--threads N limita as threads), e imprime só a tabela consolidada
+        String varredura = valorDaOpcao(opcoes, "--varredura");
+        if (varredura != null) {
+            VarreduraDeParametros execucao = new VarreduraDeParametros(GradeDeParametros.interpretar(varredura), ModeloDeCarga.aPartirDe(listaDeProcessos));
+            String threads = valorDaOpcao(opcoes, "--threads");
+            if (threads != null) {
+                execucao.setParalelismo(Integer.parseInt(threads));
+            }
+            execucao.setCache(cache);
+            VarreduraDeParametros.imprimirTabela(execucao.executar(), System.out);
+            return;
+        }
+
+        // Com --politica CREDITOS|CFS o Escalonador usa outra política de escalonamento (CFS reparte a
+        // CPU por tempo virtual ponderado pela prioridade); as métricas são as mesmas
+        String politica = valorDaOpcao(opcoes, "--politica");
+
+        // Com --chegadas MS os processos chegam um a cada MS milissegundos, em vez de estarem todos
+        // presentes no início, e saem do escalonador assim que terminam
+        String chegadas = valorDaOpcao(opcoes, "--chegadas");
+
+        // Com --checkpoint ARQUIVO o Escalonador grava seu estado a cada --intervalo MS simulados
+        // (10000 por padrão), e --retomar ARQUIVO continua uma simulação a partir desse estado
+        String checkpoint = valorDaOpcao(opcoes, "--checkpoint");
+        String retomar = valorDaOpcao(opcoes, "--retomar");
+
+        // Com --real MICROSSEGUNDOS cada processo vira uma tarefa de CPU de verdade numa thread (virtual,
+        // se a JVM tiver), escalonada pela política; cada unidade simulada vale esse tempo real
+        String real = valorDaOpcao(opcoes, "--real");
+
+        // Com --grupos "A:3/web:2=100;A/lote;B:1/x" os processos, em ordem, são repartidos em grupos
+        // de inquilinos com pesos, e a PoliticaHierarquica divide a CPU primeiro entre os inquilinos,
+        // depois entre os grupos de cada um e só então entre os processos
+        String grupos = valorDaOpcao(opcoes, "--grupos");
+        PoliticaHierarquica hierarquica = null;
+        if (grupos != null) {
+            if (usarTabela || motorDeEventos || nucleos != null || distribuido != null || real != null || retomar != null
+                    || (gerador != null && gerador.temChegadas())) {
+                throw new IllegalArgumentException("--grupos só vale para o Escalonador por ticks com uma lista de processos.");
+            }
+            hierarquica = PoliticaHierarquica.aPartirDe(grupos, listaDeProcessos);
+        }
+
+        // Com --jmx o Escalonador por ticks mede o próprio custo (seleções, resets, trocas de
+        // contexto e fila de prontos), publica as medições como MBean para o jconsole e as imprime no fim
+        InstrumentacaoDoEscalonador instrumentacao = opcoes.contains("--jmx") ? new InstrumentacaoDoEscalonador() : null;
+        ExecucaoReal execucaoReal = null;
+        List<Processo> simulados = new ArrayList<>();
+
+        EscalonadorMultiNucleo multiNucleo = null;
+        CoordenadorDistribuido coordenador = null;
+        ColetorDeMetricas metricas = new ColetorDeMetricas();
+        if (nucleos != null) {
+            metricas.setNucleos(Integer.parseInt(nucleos));
+        } else if (distribuido != null) {
+            metricas.setNucleos(Integer.parseInt(distribuido)); // Cada trabalhador é uma CPU
+        }
+
+        // Com --rastro ARQUIVO os eventos também são gravados num rastro binário
+        String rastro = valorDaOpcao(opcoes, "--rastro");
+        SaidaDoEscalonador destino = criarSaida(opcoes);
+        if (rastro != null) {
+            destino = new SaidaCombinada(destino, new SaidaDeRastro(Paths.get(rastro)));
+        }
+
+        try (SaidaDoEscalonador saida = new SaidaCombinada(destino, metricas)) {
+            if (real != null) {
+                long nanosPorUnidade = Long.parseLong(real) * 1000;
+                for (Processo p : listaDeProcessos) {
+                    simulados.add(new Processo(p.getNome(), p.getSurtoCpu(), p.getTempoES(), p.getTempoTotalCpuInicial(), p.getPrioridade(), p.getOrdem()));
+                }
+                new Escalonador(simulados, SaidaSilenciosa.INSTANCIA, criarPolitica(politica)).iniciarEscalonamento();
+                execucaoReal = new ExecucaoReal(nanosPorUnidade, criarPolitica(politica), saida);
+                for (Processo p : listaDeProcessos) {
+                    execucaoReal.adicionar(p, TarefaReal.ocupada(p.getTempoTotalCpu() * nanosPorUnidade));
+                }
+                try {
+                    execucaoReal.executar();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            } else if (nucleos != null) {
+                multiNucleo = new EscalonadorMultiNucleo(listaDeProcessos, Integer.parseInt(nucleos), saida);
+                multiNucleo.iniciarEscalonamento();
+            } else if (distribuido != null) {
+                int trabalhadores = Integer.parseInt(distribuido);
+                if (gerador != null) {
+                    coordenador = CoordenadorDistribuido.doGerador(gerador, trabalhadores, politica);
+                } else if (carga != null) {
+                    coordenador = CoordenadorDistribuido.deArquivo(Paths.get(carga), trabalhadores, politica);
+                } else {
+                    coordenador = new CoordenadorDistribuido(listaDeProcessos, trabalhadores, politica);
+                }
+                String janela = valorDaOpcao(opcoes, "--janela");
+                if (janela != null) {
+                    coordenador.setJanela(Integer.parseInt(janela));
+                }
+                // Só as métricas voltam dos trabalhadores; a saída recebe apenas o fim do escalonamento
+                destino.registrar(TipoDeEvento.ESCALONAMENTO_CONCLUIDO, coordenador.executar(metricas), null);
+            } else if (usarTabela) {
+                if (tabela == null) {
+                    tabela = TabelaDeProcessos.de(listaDeProcessos);
+                }
+                new EscalonadorCompacto(tabela, saida).iniciarEscalonamento();
+            } else if (motorDeEventos) {
+                new MotorDeEventos(listaDeProcessos, saida).iniciarEscalonamento();
+            } else if (cache != null && retomar == null && checkpoint == null && instrumentacao == null && hierarquica == null
+                    && (gerador == null || !gerador.temChegadas())) {
+                // O cache simula (ou reaproveita o resultado) e passa os términos para as métricas
+                if (chegadas != null) {
+                    definirChegadas(listaDeProcessos, Integer.parseInt(chegadas));
+                }
+                cache.simular(listaDeProcessos, politica, saida);
+            } else {
+                // Criando o escalonador com a lista de processos (ou continuando de um checkpoint)
+                Escalonador escalonador;
+                if (retomar != null) {
+                    escalonador = Checkpoint.retomar(Paths.get(retomar), saida);
+                    listaDeProcessos.clear();
+                    listaDeProcessos.addAll(escalonador.getProcessos());
+                    // Os que terminaram antes do checkpoint também entram nas métricas
+                    for (Processo p : listaDeProcessos) {
+                        if (p.getEstado() == EstadoProcesso.FINALIZADO) {
+                            metricas.registrar(TipoDeEvento.PROCESSO_FINALIZADO, p.getTempoDeInicio() + p.getTurnaroundTime(), p);
+                        }
+                    }
+                } else {
+                    PoliticaDeEscalonamento escolhida = hierarquica != null ? hierarquica : criarPolitica(politica);
+                    if (gerador != null && gerador.temChegadas()) {
+                        escalonador = new Escalonador(gerador.iterator(), saida, escolhida);
+                    } else if (chegadas != null) {
+                        definirChegadas(listaDeProcessos, Integer.parseInt(chegadas));
+                        escalonador = new Escalonador(listaDeProcessos.iterator(), saida, escolhida);
+                    } else {
+                        escalonador = new Escalonador(listaDeProcessos, saida, escolhida);
+                    }
+                }
+                if (checkpoint != null) {
+                    String intervalo = valorDaOpcao(opcoes, "--intervalo");
+                    escalonador.setCheckpoints(Paths.get(checkpoint), intervalo == null ? 10000 : Integer.parseInt(intervalo));
+                }
+
+                if (instrumentacao != null) {
+                    instrumentacao.registrarNoJmx("principal");
+                    escalonador.setInstrumentacao(instrumentacao);
+                }
+
+                // Iniciando o escalonamento
+                escalonador.iniciarEscalonamento();
+            }
+        }
+
+        // Com --processos também exibe o estado final de cada processo
+        if (opcoes.contains("--processos")) {
+            System.out.println("\n--- Estado final dos processos ---");
+            if (usarTabela) {
+                // Cria um Processo por vez só para imprimir, sem materializar a tabela inteira
+                for (int i = 0; i < tabela.tamanho(); i++) {
+                    System.out.println(tabela.paraProcesso(i));
+                }
+            } else {
+                for (Processo p : listaDeProcessos) {
+                    System.out.println(p);
+                }
+            }
+        }
+        System.out.println();
+        metricas.imprimirResumo(System.out);
+        if (multiNucleo != null) {
+            multiNucleo.imprimirRelatorio(System.out);
+        }
+        if (coordenador != null) {
+            coordenador.imprimirRelatorio(System.out);
+        }
+        if (hierarquica != null) {
+            hierarquica.imprimirRelatorio(System.out);
+        }
+        if (execucaoReal != null) {
+            System.out.println();
+            execucaoReal.imprimirComparacao(simulados, System.out);
+        }
+        if (instrumentacao != null && instrumentacao.getSelecoes() > 0) {
+            System.out.println();
+            instrumentacao.imprimirResumo(System.out);
+            instrumentacao.close();
+        }
+    }
 
-        // Exibindo o estado final de cada processo
-        System.out.println("\n--- Estado final dos processos ---");
-        for (Processo p : listaDeProcessos) {
-            System.out.println(p);
+    // Um processo chega a cada 'intervalo' ms, na ordem da lista
+    private static void definirChegadas(List<Processo> processos, int intervalo) {
+        for (int i = 0; i < processos.size(); i++) {
+            processos.get(i).setChegada(1 + i * intervalo);
+        }
+    }
+
+    private static PoliticaDeEscalonamento criarPolitica(String nome) {
+        return nome == null ? new PoliticaDeCreditos() : PoliticaDeEscalonamento.porNome(nome);
+    }
+
+    // Valor que segue a opção na linha de comando, ou null se a opção não foi passada
+    private static String valorDaOpcao(List<String> opcoes, String nome) {
+        int i = opcoes.indexOf(nome);
+        return i >= 0 && i + 1 < opcoes.size() ? opcoes.get(i + 1) : null;
+    }
+
+    // --silencioso descarta a saída, --nivel RESUMO|NORMAL|DETALHADO filtra os eventos e
+    // --assincrono escreve em lotes numa thread separada
+    private static SaidaDoEscalonador criarSaida(List<String> opcoes) {
+        if (opcoes.contains("--silencioso")) {
+            return SaidaSilenciosa.INSTANCIA;
+        }
+        SaidaDoEscalonador saida = opcoes.contains("--assincrono")
+                ? new SaidaAssincrona(System.out)
+                : new SaidaDeTexto(System.out);
+        String nivel = valorDaOpcao(opcoes, "--nivel");
+        if (nivel != null) {
+            saida = new SaidaFiltrada(saida, NivelDeDetalhe.valueOf(nivel.toUpperCase()));
         }
+        return saida;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,107 @@
+package t1;
+
+import java.util.Arrays;
+
+// Mapa de bits em dois níveis: cada bit do resumo indica se a palavra correspondente
+// tem algum bit ligado, o que permite achar o maior (ou o próximo) índice ligado
+// olhando poucas palavras, mesmo com milhares de posições.
+final class MapaDeBits {
+    private long[] palavras;
+    private long[] resumo;
+
+    MapaDeBits(int capacidade) {
+        int numPalavras = Math.max(1, (capacidade + 63) >>> 6);
+        this.palavras = new long[numPalavras];
+        this.resumo = new long[(numPalavras + 63) >>> 6];
+    }
+
+    public int capacidade() {
+        return palavras.length << 6;
+    }
+
+    public void garantirCapacidade(int capacidade) {
+        if (capacidade <= capacidade()) {
+            return;
+        }
+        int numPalavras = Math.max(palavras.length * 2, (capacidade + 63) >>> 6);
+        palavras = Arrays.copyOf(palavras, numPalavras);
+        resumo = Arrays.copyOf(resumo, (numPalavras + 63) >>> 6);
+    }
+
+    public void ligar(int i) {
+        int w = i >>> 6;
+        palavras[w] |= 1L << i;
+        resumo[w >>> 6] |= 1L << w;
+    }
+
+    public void desligar(int i) {
+        int w = i >>> 6;
+        palavras[w] &= ~(1L << i);
+        if (palavras[w] == 0) {
+            resumo[w >>> 6] &= ~(1L << w);
+        }
+    }
+
+    public boolean ligado(int i) {
+        int w = i >>> 6;
+        return w < palavras.length && (palavras[w] & (1L << i)) != 0;
+    }
+
+    public boolean vazio() {
+        for (long r : resumo) {
+            if (r != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void limpar() {
+        Arrays.fill(palavras, 0L);
+        Arrays.fill(resumo, 0L);
+    }
+
+    // Retorna o maior índice ligado, ou -1 se o mapa estiver vazio
+    public int maior() {
+        for (int r = resumo.length - 1; r >= 0; r--) {
+            if (resumo[r] != 0) {
+                int w = (r << 6) + 63 - Long.numberOfLeadingZeros(resumo[r]);
+                return (w << 6) + 63 - Long.numberOfLeadingZeros(palavras[w]);
+            }
+        }
+        return -1;
+    }
+
+    // Retorna o menor índice ligado que seja >= desde, ou -1 se não houver
+    public int proximo(int desde) {
+        if (desde < 0) {
+            desde = 0;
+        }
+        int w = desde >>> 6;
+        if (w >= palavras.length) {
+            return -1;
+        }
+        long bits = palavras[w] & (-1L << desde);
+        if (bits != 0) {
+            return (w << 6) + Long.numberOfTrailingZeros(bits);
+        }
+        // Procura a próxima palavra não vazia pelo resumo
+        int proxPalavra = w + 1;
+        int r = proxPalavra >>> 6;
+        if (r >= resumo.length) {
+            return -1;
+        }
+        long resumoBits = resumo[r] & (-1L << proxPalavra);
+        while (true) {
+            if (resumoBits != 0) {
+                int pw = (r << 6) + Long.numberOfTrailingZeros(resumoBits);
+                return (pw << 6) + Long.numberOfTrailingZeros(palavras[pw]);
+            }
+            r++;
+            if (r >= resumo.length) {
+                return -1;
+            }
+            resumoBits = resumo[r];
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package t1;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Gera a lista de processos de uma simulação a partir de um ponto da grade. Precisa devolver
+// processos novos a cada chamada, pois as simulações da varredura rodam em paralelo.
+@FunctionalInterface
+public interface ModeloDeCarga {
+
+    List<Processo> gerar(PontoDaGrade ponto);
+
+    // Modelo que copia os processos base substituindo os campos que o ponto define
+    static ModeloDeCarga aPartirDe(List<Processo> base) {
+        List<Processo> modelos = new ArrayList<>(base);
+        return ponto -> {
+            List<Processo> processos = new ArrayList<>(modelos.size());
+            for (Processo modelo : modelos) {
+                processos.add(ponto.aplicar(modelo));
+            }
+            return processos;
+        };
+    }
+}
@@ -0,0 +1,227 @@
+package t1;
+
+import java.util.List;
+import java.util.PriorityQueue;
+
+// Motor de simulação orientado a eventos. Em vez de avançar o tempo de 1 em 1 ms, calcula no
+// momento do despacho quando o surto vai terminar e salta direto de um evento para o outro.
+// As regras de seleção, créditos e transição de estado são as mesmas do Escalonador, então o
+// estado final dos processos e o turnaround são idênticos aos da simulação por ticks. Os processos
+// em E/S ficam numa roda de temporização, e com a CPU ociosa o motor salta até o próximo despertar.
+public class MotorDeEventos {
+
+    private final Processo[] processos;
+    private final FilaDeProntos filaDeProntos;
+    private final PriorityQueue<Evento> eventos;
+    private final RodaDeTemporizacao bloqueados;
+    private final SaidaDoEscalonador saida;
+    private int tempo;
+    private int finalizados;
+    private long sequenciaDeEventos;
+    private boolean cpuOcupada;
+
+    public MotorDeEventos(List<Processo> processos) {
+        this(processos, new SaidaDeTexto(System.out));
+    }
+
+    // Os eventos CPU_EXECUTADA (1 por milissegundo) não são gerados, pois o motor não passa por cada ms
+    public MotorDeEventos(List<Processo> processos, SaidaDoEscalonador saida) {
+        this.processos = processos.toArray(new Processo[0]);
+        this.saida = saida;
+        this.filaDeProntos = new FilaDeProntos();
+        this.eventos = new PriorityQueue<>();
+        this.tempo = 1; // Mesmo instante inicial do Escalonador
+        this.bloqueados = new RodaDeTemporizacao(tempo, this::concluirES);
+
+        int sequencia = 0;
+        for (Processo p : processos) {
+            p.id = sequencia;
+            p.sequencia = sequencia++;
+            filaDeProntos.acompanhar(p);
+            if (p.getEstado() == EstadoProcesso.FINALIZADO) {
+                finalizados++;
+            }
+        }
+    }
+
+    public int getTempo() {
+        return tempo;
+    }
+
+    // Quantos milissegundos o surto realmente executa: o laço do Escalonador para quando os
+    // créditos acabam ou quando o tempo de CPU chega a zero (executando ao menos 1 ms)
+    static int duracaoDoSurto(int surtoCpu, int creditos, int tempoTotalCpu) {
+        if (surtoCpu <= 0 || creditos <= 0) {
+            return 0;
+        }
+        return Math.min(Math.min(surtoCpu, creditos), Math.max(tempoTotalCpu, 1));
+    }
+
+    public void iniciarEscalonamento() {
+        while (finalizados < processos.length) {
+            if (!cpuOcupada) {
+                decidir();
+            } else {
+                Evento evento = eventos.poll();
+                tempo = evento.tempo;
+                tratar(evento);
+            }
+        }
+        saida.registrar(TipoDeEvento.ESCALONAMENTO_CONCLUIDO, tempo, null);
+    }
+
+    // Ponto de decisão com a CPU livre: equivale a uma volta do laço de iniciarEscalonamento
+    private void decidir() {
+        Processo p = filaDeProntos.primeiro();
+        if (p != null) {
+            saida.registrar(TipoDeEvento.PROCESSO_SELECIONADO, tempo, p);
+            despachar(p);
+            return;
+        }
+        if (filaDeProntos.tamanho() == 0) {
+            if (bloqueados.tamanho() == 0) {
+                // Na simulação por ticks o laço nunca terminaria: nenhum processo pode voltar a executar
+                throw new IllegalStateException("Nenhum processo pronto e nenhum evento pendente no tempo " + tempo + "ms.");
+            }
+            // CPU ociosa: salta direto para o fim da próxima E/S
+            tempo = bloqueados.proximoVencimento();
+            bloqueados.avancar(tempo);
+            return;
+        }
+        resetarCreditos();
+        if (!filaDeProntos.temProntoComCreditos() && bloqueados.tamanho() == 0) {
+            throw new IllegalStateException("O reset não devolveu créditos a nenhum processo pronto no tempo " + tempo + "ms.");
+        }
+        avancarTempo();
+    }
+
+    private void resetarCreditos() {
+        saida.registrar(TipoDeEvento.RESET_DE_CREDITOS, tempo, null);
+        if (!saida.aceita(TipoDeEvento.CREDITOS_RESETADOS)) {
+            filaDeProntos.resetarCreditos(); // Ninguém vai olhar os créditos agora: reset preguiçoso
+            return;
+        }
+        for (Processo p : processos) {
+            p.resetarCreditos();
+            saida.registrar(TipoDeEvento.CREDITOS_RESETADOS, tempo, p);
+        }
+    }
+
+    // Coloca o processo em execução e agenda o evento que encerra o surto
+    private void despachar(Processo p) {
+        p.mudarEstado(EstadoProcesso.EXECUTANDO);
+        saida.registrar(TipoDeEvento.EXECUCAO_INICIADA, tempo, p);
+        if (p.getTempoDeInicio() == 0) p.setTempoDeInicio(tempo);
+
+        int duracao = duracaoDoSurto(p.getSurtoCpu(), p.getCreditos(), p.getTempoTotalCpu());
+        int creditosRestantes = p.getCreditos() - duracao;
+        int cpuRestante = Math.max(0, p.getTempoTotalCpu() - duracao);
+
+        Evento.Tipo tipo;
+        if (cpuRestante > 0 && creditosRestantes <= 0) {
+            tipo = Evento.Tipo.CREDITOS_ESGOTADOS;
+        } else if (cpuRestante <= 0) {
+            tipo = Evento.Tipo.PROCESSO_FINALIZADO;
+        } else {
+            tipo = Evento.Tipo.FIM_DE_SURTO;
+        }
+        agendar(tempo + duracao, tipo, p, duracao);
+        cpuOcupada = true;
+    }
+
+    private void tratar(Evento evento) {
+        Processo p = evento.processo;
+        switch (evento.tipo) {
+            case CREDITOS_ESGOTADOS:
+                consumir(p, evento.duracao);
+                p.mudarEstado(EstadoProcesso.PRONTO);
+                liberarCpu();
+                break;
+
+            case PROCESSO_FINALIZADO:
+                consumir(p, evento.duracao);
+                p.mudarEstado(EstadoProcesso.FINALIZADO);
+                finalizados++;
+                saida.registrar(TipoDeEvento.PROCESSO_FINALIZADO, tempo, p);
+                liberarCpu();
+                break;
+
+            case FIM_DE_SURTO:
+                consumir(p, evento.duracao);
+                if (p.getTempoES() > 0) {
+                    p.mudarEstado(EstadoProcesso.BLOQUEADO);
+                    saida.registrar(TipoDeEvento.PROCESSO_BLOQUEADO, tempo, p);
+                    // A E/S corre em paralelo; o fim dela é um evento da roda de temporização
+                    bloqueados.agendar(p.id, tempo + p.getTempoES());
+                } else {
+                    p.mudarEstado(EstadoProcesso.PRONTO);
+                }
+                liberarCpu();
+                break;
+        }
+    }
+
+    // Evento de conclusão de E/S disparado pela roda de temporização
+    private void concluirES(int id) {
+        Processo p = processos[id];
+        p.mudarEstado(EstadoProcesso.PRONTO);
+        saida.registrar(TipoDeEvento.ES_CONCLUIDA, bloqueados.getAtual(), p);
+    }
+
+    // Aplica de uma vez o que o surto consumiu e calcula o turnaround se a CPU acabou
+    private void consumir(Processo p, int duracao) {
+        p.consumirCpu(duracao);
+        if (p.getSurtoCpu() > 0 && p.getTempoTotalCpu() <= 0) {
+            p.calculaTurnaroundTime(tempo);
+        }
+    }
+
+    // A volta do laço por ticks sempre termina com tempo++
+    private void liberarCpu() {
+        cpuOcupada = false;
+        avancarTempo();
+    }
+
+    // Avança 1ms e acorda de uma vez todos os processos cuja E/S terminou desde o último avanço
+    private void avancarTempo() {
+        tempo++;
+        bloqueados.avancar(tempo);
+    }
+
+    private void agendar(int instante, Evento.Tipo tipo, Processo p, int duracao) {
+        eventos.add(new Evento(instante, sequenciaDeEventos++, tipo, p, duracao));
+    }
+
+    // Evento da simulação, ordenado pelo instante e, em empate, pela ordem de agendamento
+    static final class Evento implements Comparable<Evento> {
+
+        // O fim da E/S não passa por aqui: fica na roda de temporização
+        enum Tipo {
+            FIM_DE_SURTO,
+            CREDITOS_ESGOTADOS,
+            PROCESSO_FINALIZADO
+        }
+
+        final int tempo;
+        final long sequencia;
+        final Tipo tipo;
+        final Processo processo;
+        final int duracao;
+
+        Evento(int tempo, long sequencia, Tipo tipo, Processo processo, int duracao) {
+            this.tempo = tempo;
+            this.sequencia = sequencia;
+            this.tipo = tipo;
+            this.processo = processo;
+            this.duracao = duracao;
+        }
+
+        @Override
+        public int compareTo(Evento outro) {
+            if (tempo != outro.tempo) {
+                return Integer.compare(tempo, outro.tempo);
+            }
+            return Long.compare(sequencia, outro.sequencia);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package t1;
+
+// Quanto da saída do escalonador deve ser mostrado, do menos para o mais detalhado
+public enum NivelDeDetalhe {
+    RESUMO,
+    NORMAL,
+    DETALHADO
+}
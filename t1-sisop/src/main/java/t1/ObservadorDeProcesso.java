@@ -0,0 +1,16 @@
+package t1;
+
+// Recebe as mudanças de estado e de créditos de um processo, para que as estruturas
+// do escalonador possam ser atualizadas sem percorrer a lista inteira
+interface ObservadorDeProcesso {
+
+    void aoMudarEstado(Processo p, EstadoProcesso anterior);
+
+    void aoMudarCreditos(Processo p, int creditosAnteriores);
+
+    // Quantos resets de créditos preguiçosos já aconteceram; o processo aplica os que faltam
+    int epocaDosCreditos();
+
+    // Para de acompanhar o processo, que passa a ser acompanhado por outro observador
+    void deixarDeAcompanhar(Processo p);
+}
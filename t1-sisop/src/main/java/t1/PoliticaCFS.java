@@ -0,0 +1,215 @@
+package t1;
+
+import java.util.Arrays;
+
+// Política no estilo do Completely Fair Scheduler do Linux. Cada processo acumula um tempo
+// virtual: a CPU usada dividida pelo seu peso (a prioridade, no mínimo 1), então quem tem mais
+// prioridade envelhece mais devagar e recebe uma parte maior da CPU. Os prontos ficam num heap
+// mínimo ordenado por tempo virtual, com desempate por ordem e posição na lista, e o escolhido é
+// sempre o de menor tempo virtual: seleção em O(1), remoção e reinserção em O(log n). O heap é
+// intrusivo (cada processo guarda sua posição em posicaoNaFila), então nada é alocado por decisão.
+//
+// Cada seleção dá ao processo uma fatia de LATENCIA ms dividida na proporção do seu peso entre os
+// prontos (nunca menos que GRANULARIDADE_MINIMA). Se a fatia acaba antes do surto, o processo volta
+// para PRONTO. Não há créditos nem reset: quem acorda da E/S entra com o tempo virtual limitado a
+// pouco abaixo do menor tempo virtual do heap, para não monopolizar a CPU depois de dormir.
+public final class PoliticaCFS implements PoliticaDeEscalonamento, ObservadorDeProcesso {
+
+    static final long MS_VIRTUAL = 1 << 20; // Tempo virtual de 1ms com peso 1
+    static final int LATENCIA = 24;
+    static final int GRANULARIDADE_MINIMA = 3;
+    private static final long BONUS_AO_ACORDAR = LATENCIA * MS_VIRTUAL / 2;
+
+    private Processo[] prontos = new Processo[16];
+    private int tamanho;
+    private final int[] porEstado = new int[EstadoProcesso.values().length];
+    private long somaDosPesos; // Dos processos no heap
+    private long menorTempoVirtual; // Só cresce; referência para quem entra ou acorda
+
+    static int peso(Processo p) {
+        return Math.max(1, p.getPrioridade());
+    }
+
+    // Fatia de CPU do processo: a latência repartida pelo peso entre os prontos e ele
+    int fatia(Processo p) {
+        long total = somaDosPesos + (p.getEstado() == EstadoProcesso.PRONTO ? 0 : peso(p));
+        return (int) Math.max(GRANULARIDADE_MINIMA, (long) LATENCIA * peso(p) / total);
+    }
+
+    public long getMenorTempoVirtual() {
+        return menorTempoVirtual;
+    }
+
+    @Override
+    public void acompanhar(Processo p) {
+        if (p.observador == this) {
+            return;
+        }
+        if (p.observador != null) {
+            p.observador.deixarDeAcompanhar(p);
+        }
+        p.observador = this;
+        p.epoca = 0;
+        p.tempoVirtual = Math.max(p.tempoVirtual, menorTempoVirtual);
+        porEstado[p.getEstado().ordinal()]++;
+        if (p.getEstado() == EstadoProcesso.PRONTO) {
+            adicionar(p);
+        }
+    }
+
+    @Override
+    public void deixarDeAcompanhar(Processo p) {
+        if (p.observador != this) {
+            return;
+        }
+        if (p.getEstado() == EstadoProcesso.PRONTO) {
+            remover(p);
+        }
+        porEstado[p.getEstado().ordinal()]--;
+        p.observador = null;
+    }
+
+    @Override
+    public Processo selecionar() {
+        return tamanho == 0 ? null : prontos[0];
+    }
+
+    @Override
+    public boolean podeExecutar(Processo p, int executado) {
+        return executado < fatia(p);
+    }
+
+    // O processo está executando (fora do heap), então seu tempo virtual pode mudar. Com peso acima
+    // de MS_VIRTUAL o incremento seria 0 e o processo nunca envelheceria: avança pelo menos 1
+    @Override
+    public void contabilizar(Processo p) {
+        p.tempoVirtual += Math.max(1, MS_VIRTUAL / peso(p));
+        long menor = tamanho == 0 ? p.tempoVirtual : Math.min(p.tempoVirtual, prontos[0].tempoVirtual);
+        menorTempoVirtual = Math.max(menorTempoVirtual, menor);
+    }
+
+    // A fatia acabou antes do surto
+    @Override
+    public boolean foiInterrompido(Processo p, int executado) {
+        return executado < p.getSurtoCpu();
+    }
+
+    @Override
+    public boolean precisaDeReset() {
+        return false;
+    }
+
+    @Override
+    public boolean resetarSemPercorrer() {
+        return false;
+    }
+
+    @Override
+    public int quantidade(EstadoProcesso estado) {
+        return porEstado[estado.ordinal()];
+    }
+
+    @Override
+    public void aoMudarEstado(Processo p, EstadoProcesso anterior) {
+        porEstado[anterior.ordinal()]--;
+        porEstado[p.getEstado().ordinal()]++;
+        if (p.getEstado() == EstadoProcesso.PRONTO) {
+            if (anterior == EstadoProcesso.BLOQUEADO) {
+                p.tempoVirtual = Math.max(p.tempoVirtual, menorTempoVirtual - BONUS_AO_ACORDAR);
+            }
+            adicionar(p);
+        } else if (anterior == EstadoProcesso.PRONTO) {
+            remover(p);
+        }
+    }
+
+    @Override
+    public void aoMudarCreditos(Processo p, int creditosAnteriores) {
+        // Os créditos não influenciam esta política
+    }
+
+    @Override
+    public int epocaDosCreditos() {
+        return 0;
+    }
+
+    private void adicionar(Processo p) {
+        if (estaNoHeap(p)) {
+            return;
+        }
+        if (tamanho == prontos.length) {
+            prontos = Arrays.copyOf(prontos, tamanho * 2);
+        }
+        subir(p, tamanho++);
+        somaDosPesos += peso(p);
+    }
+
+    private void remover(Processo p) {
+        if (!estaNoHeap(p)) {
+            return;
+        }
+        int i = p.posicaoNaFila;
+        p.posicaoNaFila = -1;
+        Processo ultimo = prontos[--tamanho];
+        prontos[tamanho] = null;
+        if (ultimo != p) {
+            if (i > 0 && vemAntes(ultimo, prontos[(i - 1) >>> 1])) {
+                subir(ultimo, i);
+            } else {
+                descer(ultimo, i);
+            }
+        }
+        somaDosPesos -= peso(p);
+    }
+
+    private boolean estaNoHeap(Processo p) {
+        int i = p.posicaoNaFila;
+        return i >= 0 && i < tamanho && prontos[i] == p;
+    }
+
+    private void subir(Processo p, int i) {
+        while (i > 0) {
+            int pai = (i - 1) >>> 1;
+            Processo q = prontos[pai];
+            if (!vemAntes(p, q)) {
+                break;
+            }
+            colocar(q, i);
+            i = pai;
+        }
+        colocar(p, i);
+    }
+
+    private void descer(Processo p, int i) {
+        int metade = tamanho >>> 1;
+        while (i < metade) {
+            int filho = 2 * i + 1;
+            int direito = filho + 1;
+            if (direito < tamanho && vemAntes(prontos[direito], prontos[filho])) {
+                filho = direito;
+            }
+            if (!vemAntes(prontos[filho], p)) {
+                break;
+            }
+            colocar(prontos[filho], i);
+            i = filho;
+        }
+        colocar(p, i);
+    }
+
+    private void colocar(Processo p, int i) {
+        prontos[i] = p;
+        p.posicaoNaFila = i;
+    }
+
+    // Menor tempo virtual primeiro; empates por ordem e depois pela posição na lista
+    private static boolean vemAntes(Processo a, Processo b) {
+        if (a.tempoVirtual != b.tempoVirtual) {
+            return a.tempoVirtual < b.tempoVirtual;
+        }
+        if (a.getOrdem() != b.getOrdem()) {
+            return a.getOrdem() < b.getOrdem();
+        }
+        return a.sequencia < b.sequencia;
+    }
+}
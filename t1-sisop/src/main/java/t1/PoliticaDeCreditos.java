@@ -0,0 +1,64 @@
+package t1;
+
+// Algoritmo original do escalonador: executa o pronto com mais créditos (desempate por ordem),
+// gasta 1 crédito por ms e, quando nenhum pronto tem créditos, todos recebem creditos / 2 +
+// prioridade. Os processos ficam na FilaDeProntos, que permite o reset preguiçoso.
+public final class PoliticaDeCreditos implements PoliticaDeEscalonamento {
+
+    private final FilaDeProntos filaDeProntos = new FilaDeProntos();
+
+    @Override
+    public void acompanhar(Processo p) {
+        filaDeProntos.acompanhar(p);
+    }
+
+    @Override
+    public void deixarDeAcompanhar(Processo p) {
+        if (p.observador == filaDeProntos) {
+            filaDeProntos.deixarDeAcompanhar(p);
+        }
+    }
+
+    @Override
+    public Processo selecionar() {
+        // A fila de prontos já mantém o processo de maior crédito (desempate por ordem) no topo
+        return filaDeProntos.primeiro();
+    }
+
+    @Override
+    public boolean podeExecutar(Processo p, int executado) {
+        return p.getCreditos() > 0;
+    }
+
+    @Override
+    public void contabilizar(Processo p) {
+        p.decrementarCreditos(); // Reduz 1 crédito a cada milissegundo
+    }
+
+    // Os créditos acabaram antes da CPU: volta para PRONTO mesmo que o surto tenha terminado
+    @Override
+    public boolean foiInterrompido(Processo p, int executado) {
+        return p.getCreditos() <= 0;
+    }
+
+    @Override
+    public boolean precisaDeReset() {
+        return filaDeProntos.tamanho() > 0 && !filaDeProntos.temProntoComCreditos();
+    }
+
+    @Override
+    public boolean resetarSemPercorrer() {
+        if (filaDeProntos.temProntoComCreditos()) {
+            return false;
+        }
+        // Ninguém vai olhar os créditos agora: a fila troca os baldes e cada processo se
+        // atualiza quando for tocado de novo
+        filaDeProntos.resetarCreditos();
+        return true;
+    }
+
+    @Override
+    public int quantidade(EstadoProcesso estado) {
+        return filaDeProntos.quantidade(estado);
+    }
+}
@@ -0,0 +1,56 @@
+package t1;
+
+// Regra que decide qual processo pronto usa a CPU e por quanto tempo. O Escalonador continua
+// cuidando do tempo, da E/S e dos eventos; a política acompanha os processos (recebendo suas
+// mudanças de estado) e responde às perguntas do laço principal. A política padrão é a de
+// créditos (PoliticaDeCreditos); a PoliticaCFS reparte a CPU por tempo virtual.
+public interface PoliticaDeEscalonamento {
+
+    // Passa a acompanhar o processo; o escalonador chama para cada processo da sua lista
+    void acompanhar(Processo p);
+
+    // Para de acompanhar o processo (por exemplo, um FINALIZADO que sai do escalonador)
+    void deixarDeAcompanhar(Processo p);
+
+    // Próximo processo a executar, ou null se nenhum pronto pode executar agora
+    Processo selecionar();
+
+    // Se o processo pode usar mais 1ms de CPU, tendo usado 'executado' ms desde que foi selecionado
+    boolean podeExecutar(Processo p, int executado);
+
+    // Contabiliza 1ms de CPU usado pelo processo
+    void contabilizar(Processo p);
+
+    // Se o processo, que ainda precisa de CPU, foi interrompido pela política e volta para PRONTO
+    // em vez de seguir para a E/S
+    boolean foiInterrompido(Processo p, int executado);
+
+    // Se há processos prontos mas nenhum pode ser escolhido antes de redistribuir os créditos
+    boolean precisaDeReset();
+
+    // Redistribui os créditos sem percorrer os processos, se a política conseguir; retorna false
+    // quando o escalonador deve aplicar o reset em cada processo
+    boolean resetarSemPercorrer();
+
+    // Se o reset global redistribui os créditos de cada processo. Quando não (a PoliticaHierarquica
+    // só reseta os inquilinos e cada nível reseta os próprios filhos), o reset fica todo com
+    // resetarSemPercorrer, mesmo que a saída queira um evento por processo
+    default boolean resetGlobalAlcancaProcessos() {
+        return true;
+    }
+
+    // Quantos processos acompanhados estão no estado
+    int quantidade(EstadoProcesso estado);
+
+    // Política pelo nome usado na linha de comando (CREDITOS ou CFS)
+    static PoliticaDeEscalonamento porNome(String nome) {
+        switch (nome.toUpperCase()) {
+            case "CREDITOS":
+                return new PoliticaDeCreditos();
+            case "CFS":
+                return new PoliticaCFS();
+            default:
+                throw new IllegalArgumentException("Política de escalonamento desconhecida: " + nome + ".");
+        }
+    }
+}
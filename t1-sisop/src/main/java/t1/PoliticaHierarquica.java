@@ -0,0 +1,256 @@
+package t1;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+// Política de créditos com partilha justa hierárquica: inquilino → grupo → processo. Na política
+// de créditos plana, um inquilino com milhares de processos leva quase toda a CPU; aqui cada
+// inquilino e cada grupo têm créditos próprios, proporcionais ao peso (veja GrupoDeProcessos), e
+// um processo só executa enquanto ele, seu grupo e seu inquilino têm créditos. Cada ms de CPU gasta
+// um crédito de cada nível.
+//
+// A seleção desce a hierarquia, sempre pelo de mais créditos (desempate pela ordem de criação):
+// um heap dos inquilinos com prontos, em cada inquilino um heap dos grupos com prontos e em cada
+// grupo uma FilaDeProntos. Escolher é O(1) em cada nível, e gastar um crédito reposiciona o grupo e
+// o inquilino em O(log n).
+//
+// Os resets também são por nível: cada nó reseta só os próprios filhos, quando ainda tem créditos
+// mas nenhum filho com prontos tem. Um grupo reseta seus processos com o reset preguiçoso da
+// FilaDeProntos, um inquilino reseta seus grupos, e o reset global do escalonador (quando nenhum
+// inquilino com prontos tem créditos) reseta só os inquilinos. Os resets locais acontecem durante
+// a seleção e não geram eventos nem gastam tempo; só o global aparece como RESET_DE_CREDITOS.
+public final class PoliticaHierarquica implements PoliticaDeEscalonamento {
+
+    private final List<GrupoDeProcessos> inquilinos = new ArrayList<>();
+    final GrupoDeProcessos.HeapDeGrupos inquilinosComProntos = new GrupoDeProcessos.HeapDeGrupos();
+    private final int[] porEstado = new int[EstadoProcesso.values().length];
+    private GrupoDeProcessos grupoPadrao;
+    private int nos;
+
+    public GrupoDeProcessos criarInquilino(String nome, int peso) {
+        GrupoDeProcessos inquilino = new GrupoDeProcessos(this, nome, peso, null, proximoIndice());
+        inquilinos.add(inquilino);
+        return inquilino;
+    }
+
+    public List<GrupoDeProcessos> getInquilinos() {
+        return List.copyOf(inquilinos);
+    }
+
+    int proximoIndice() {
+        return nos++;
+    }
+
+    // Grupo dos processos que não foram colocados em nenhum, criado quando aparece o primeiro
+    private GrupoDeProcessos grupoPadrao() {
+        if (grupoPadrao == null) {
+            grupoPadrao = criarInquilino("padrao", 1).criarGrupo("padrao", 1);
+        }
+        return grupoPadrao;
+    }
+
+    void contarEstado(EstadoProcesso anterior, EstadoProcesso novo) {
+        if (anterior != null) {
+            porEstado[anterior.ordinal()]--;
+        }
+        if (novo != null) {
+            porEstado[novo.ordinal()]++;
+        }
+    }
+
+    @Override
+    public void acompanhar(Processo p) {
+        if (p.grupo == null) {
+            p.grupo = grupoPadrao();
+        } else if (p.grupo.getPolitica() != this) {
+            throw new IllegalArgumentException("O processo " + p.getNome() + " está num grupo de outra política.");
+        }
+        p.grupo.fila.acompanhar(p);
+    }
+
+    @Override
+    public void deixarDeAcompanhar(Processo p) {
+        if (p.observador instanceof GrupoDeProcessos.FilaDoGrupo
+                && ((GrupoDeProcessos.FilaDoGrupo) p.observador).getGrupo().getPolitica() == this) {
+            p.observador.deixarDeAcompanhar(p);
+        }
+    }
+
+    @Override
+    public Processo selecionar() {
+        GrupoDeProcessos inquilino = inquilinosComProntos.topo();
+        if (inquilino == null || inquilino.creditos <= 0) {
+            return null; // Nenhum pronto, ou é a vez do reset global
+        }
+        GrupoDeProcessos grupo = inquilino.gruposComProntos.topo();
+        if (grupo.creditos <= 0) {
+            inquilino.resetarGrupos();
+            grupo = inquilino.gruposComProntos.topo();
+        }
+        Processo p = grupo.fila.primeiro();
+        if (p == null && grupo.creditos > 0) {
+            grupo.fila.resetarCreditos();
+            p = grupo.fila.primeiro();
+        }
+        return p;
+    }
+
+    @Override
+    public boolean podeExecutar(Processo p, int executado) {
+        GrupoDeProcessos grupo = p.grupo;
+        return p.getCreditos() > 0 && grupo.creditos > 0 && grupo.getInquilino().creditos > 0;
+    }
+
+    @Override
+    public void contabilizar(Processo p) {
+        p.decrementarCreditos();
+        p.grupo.gastarCredito();
+    }
+
+    // Interrompido quando acabam os créditos do processo, do grupo ou do inquilino
+    @Override
+    public boolean foiInterrompido(Processo p, int executado) {
+        return !podeExecutar(p, executado);
+    }
+
+    @Override
+    public boolean precisaDeReset() {
+        GrupoDeProcessos inquilino = inquilinosComProntos.topo();
+        return inquilino != null && inquilino.creditos <= 0;
+    }
+
+    // O reset global só alcança os inquilinos
+    @Override
+    public boolean resetarSemPercorrer() {
+        for (GrupoDeProcessos inquilino : inquilinos) {
+            inquilino.resetarCreditos();
+        }
+        inquilinosComProntos.reconstruir();
+        return true;
+    }
+
+    @Override
+    public boolean resetGlobalAlcancaProcessos() {
+        return false;
+    }
+
+    @Override
+    public int quantidade(EstadoProcesso estado) {
+        return porEstado[estado.ordinal()];
+    }
+
+    // Parte da CPU usada por cada inquilino e por cada grupo, ao lado da parte que o peso daria
+    // se todos tivessem prontos o tempo todo
+    public void imprimirRelatorio(PrintStream destino) {
+        long total = 0;
+        long pesos = 0;
+        for (GrupoDeProcessos inquilino : inquilinos) {
+            total += inquilino.getCpuUsada();
+            pesos += inquilino.getPeso();
+        }
+        destino.println("--- Grupos ---");
+        for (GrupoDeProcessos inquilino : inquilinos) {
+            destino.println(String.format("Inquilino %s: peso %d, %d processos, CPU = %dms (%.1f%%, peso daria %.1f%%)",
+                    inquilino.getNome(), inquilino.getPeso(), inquilino.getProcessos(), inquilino.getCpuUsada(),
+                    percentual(inquilino.getCpuUsada(), total), percentual(inquilino.getPeso(), pesos)));
+            long pesosDosGrupos = 0;
+            for (GrupoDeProcessos grupo : inquilino.getGrupos()) {
+                pesosDosGrupos += grupo.getPeso();
+            }
+            for (GrupoDeProcessos grupo : inquilino.getGrupos()) {
+                destino.println(String.format("  Grupo %s: peso %d, %d processos, CPU = %dms (%.1f%% do inquilino, peso daria %.1f%%; %.1f%% do total)",
+                        grupo.getNome(), grupo.getPeso(), grupo.getProcessos(), grupo.getCpuUsada(),
+                        percentual(grupo.getCpuUsada(), inquilino.getCpuUsada()), percentual(grupo.getPeso(), pesosDosGrupos),
+                        percentual(grupo.getCpuUsada(), total)));
+            }
+        }
+    }
+
+    private static double percentual(long parte, long total) {
+        return total == 0 ? 0.0 : 100.0 * parte / total;
+    }
+
+    // Monta a hierarquia a partir de "INQUILINO[:PESO]/GRUPO[:PESO][=QUANTIDADE];..." (peso 1 por
+    // padrão) e reparte os processos da lista, em ordem: cada grupo fica com os QUANTIDADE seguintes,
+    // e os grupos sem quantidade dividem igualmente os que sobrarem. Um inquilino citado de novo é
+    // o mesmo inquilino
+    public static PoliticaHierarquica aPartirDe(String especificacao, List<Processo> processos) {
+        PoliticaHierarquica politica = new PoliticaHierarquica();
+        String[] entradas = especificacao.split(";");
+        GrupoDeProcessos[] grupos = new GrupoDeProcessos[entradas.length];
+        int[] quantidades = new int[entradas.length];
+        int semQuantidade = 0;
+        int explicitos = 0;
+        for (int i = 0; i < entradas.length; i++) {
+            String entrada = entradas[i].trim();
+            int igual = entrada.indexOf('=');
+            String caminho = igual < 0 ? entrada : entrada.substring(0, igual);
+            quantidades[i] = igual < 0 ? -1 : Integer.parseInt(entrada.substring(igual + 1).trim());
+            if (igual >= 0 && quantidades[i] < 0) {
+                throw new IllegalArgumentException("A quantidade de processos não pode ser negativa: " + entrada);
+            }
+            if (quantidades[i] < 0) {
+                semQuantidade++;
+            } else {
+                explicitos += quantidades[i];
+            }
+            String[] niveis = caminho.split("/");
+            if (niveis.length != 2) {
+                throw new IllegalArgumentException("Esperava INQUILINO/GRUPO, veio: " + entrada);
+            }
+            int pesoDoGrupo = peso(niveis[1]);
+            grupos[i] = politica.inquilino(nome(niveis[0]), peso(niveis[0])).criarGrupo(nome(niveis[1]), pesoDoGrupo == 0 ? 1 : pesoDoGrupo);
+        }
+        if (explicitos > processos.size()) {
+            throw new IllegalArgumentException("Os grupos pedem " + explicitos + " processos, mas só há " + processos.size() + ".");
+        }
+        int sobra = processos.size() - explicitos;
+        int proximo = 0;
+        int restantes = semQuantidade;
+        for (int i = 0; i < entradas.length; i++) {
+            int quantidade = quantidades[i];
+            if (quantidade < 0) {
+                quantidade = (sobra + restantes - 1) / restantes;
+                sobra -= quantidade;
+                restantes--;
+            }
+            for (int j = 0; j < quantidade; j++) {
+                grupos[i].adicionar(processos.get(proximo++));
+            }
+        }
+        return politica;
+    }
+
+    // O inquilino com o nome, criado se ainda não existir (peso 0: o peso não foi informado)
+    private GrupoDeProcessos inquilino(String nome, int peso) {
+        for (GrupoDeProcessos inquilino : inquilinos) {
+            if (inquilino.getNome().equals(nome)) {
+                if (peso != 0 && inquilino.getPeso() != peso) {
+                    throw new IllegalArgumentException("O inquilino " + nome + " aparece com pesos diferentes.");
+                }
+                return inquilino;
+            }
+        }
+        return criarInquilino(nome, peso == 0 ? 1 : peso);
+    }
+
+    private static String nome(String nivel) {
+        int doisPontos = nivel.indexOf(':');
+        return (doisPontos < 0 ? nivel : nivel.substring(0, doisPontos)).trim();
+    }
+
+    // Peso depois de ':', ou 0 se não houver. Um peso informado precisa ser pelo menos 1, como em
+    // GrupoDeProcessos, para o 0 continuar querendo dizer só "não informado"
+    private static int peso(String nivel) {
+        int doisPontos = nivel.indexOf(':');
+        if (doisPontos < 0) {
+            return 0;
+        }
+        int peso = Integer.parseInt(nivel.substring(doisPontos + 1).trim());
+        if (peso < 1) {
+            throw new IllegalArgumentException("O peso de " + nome(nivel) + " precisa ser pelo menos 1.");
+        }
+        return peso;
+    }
+}
@@ -0,0 +1,48 @@
+package t1;
+
+// Uma combinação de parâmetros da grade. Campos com ORIGINAL mantêm o valor do modelo de carga.
+public final class PontoDaGrade {
+
+    public static final int ORIGINAL = Integer.MIN_VALUE;
+
+    private final int prioridade;
+    private final int surtoCpu;
+    private final int tempoES;
+
+    public PontoDaGrade(int prioridade, int surtoCpu, int tempoES) {
+        this.prioridade = prioridade;
+        this.surtoCpu = surtoCpu;
+        this.tempoES = tempoES;
+    }
+
+    public int getPrioridade() {
+        return prioridade;
+    }
+
+    public int getSurtoCpu() {
+        return surtoCpu;
+    }
+
+    public int getTempoES() {
+        return tempoES;
+    }
+
+    // Aplica o ponto a um processo do modelo, criando um processo novo
+    public Processo aplicar(Processo modelo) {
+        return new Processo(modelo.getNome(),
+                surtoCpu == ORIGINAL ? modelo.getSurtoCpu() : surtoCpu,
+                tempoES == ORIGINAL ? modelo.getTempoES() : tempoES,
+                modelo.getTempoTotalCpu(),
+                prioridade == ORIGINAL ? modelo.getPrioridade() : prioridade,
+                modelo.getOrdem());
+    }
+
+    @Override
+    public String toString() {
+        return "prioridade=" + texto(prioridade) + ", surto=" + texto(surtoCpu) + ", es=" + texto(tempoES);
+    }
+
+    private static String texto(int valor) {
+        return valor == ORIGINAL ? "-" : Integer.toString(valor);
+    }
+}
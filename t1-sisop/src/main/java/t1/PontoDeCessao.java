@@ -0,0 +1,8 @@
+package t1;
+
+// Ponto em que uma TarefaReal aceita ser interrompida: se a fatia de CPU acabou, ceder() devolve a
+// vez ao escalonador e só retorna quando o processo for escolhido de novo
+public interface PontoDeCessao {
+
+    void ceder() throws InterruptedException;
+}
@@ -10,20 +10,34 @@ public class Processo {
     private int creditos;
     private int ordem;
     private EstadoProcesso estado;
-    public int tempoRestanteES;
     private int turnaroundTime;
     private int tempoDeInicio;
+    private int tempoTotalCpuInicial;
+    private int bloqueios;
+    private int chegada;
+
+    // Campos usados pelo escalonador para manter a fila de prontos atualizada
+    ObservadorDeProcesso observador;
+    int sequencia;
+    int id = -1;
+    FilaDeProntos.Balde baldeNaFila;
+    int posicaoNaFila = -1;
+    int chaveNaFila; // Créditos com que entrou na FilaDeProntos (ordenam o balde de transbordo)
+    int epoca; // Época de reset em que 'creditos' foi atualizado pela última vez
+    long tempoVirtual; // Tempo de CPU ponderado pela prioridade, usado pela PoliticaCFS
+    boolean dinamico; // Admitido depois da construção do escalonador; sai dele ao terminar
+    GrupoDeProcessos grupo; // Grupo na PoliticaHierarquica (null: o grupo padrão da política)
 
     public Processo(String nome, int surtoCpu, int tempoES, int tempoTotalCpu, int prioridade, int ordem) {
         this.nome = nome;
         this.surtoCpu = surtoCpu;
         this.tempoES = tempoES;
         this.tempoTotalCpu = tempoTotalCpu;
+        this.tempoTotalCpuInicial = tempoTotalCpu;
         this.prioridade = prioridade;
         this.creditos = prioridade;
         this.ordem = ordem;
         this.estado = EstadoProcesso.PRONTO;
-        this.tempoRestanteES = 0; // Inicializamos o tempo restante de E/S como 0
     }
 
     // Getters
@@ -51,11 +65,32 @@ public class Processo {
         return turnaroundTime;
     }
 
+    // Tempo total de CPU pedido na criação do processo (o getTempoTotalCpu é o que ainda falta)
+    public int getTempoTotalCpuInicial() {
+        return tempoTotalCpuInicial;
+    }
+
+    // Instante em que o processo chega ao sistema (usado quando os processos são admitidos aos
+    // poucos, veja o construtor do Escalonador que recebe um Iterator); 0 se já estava no início
+    public int getChegada() {
+        return chegada;
+    }
+
+    public void setChegada(int chegada) {
+        this.chegada = chegada;
+    }
+
+    // Quantas vezes o processo foi bloqueado para E/S
+    public int getBloqueios() {
+        return bloqueios;
+    }
+
     public int getPrioridade() {
         return prioridade;
     }
 
     public int getCreditos() {
+        sincronizarCreditos();
         return creditos;
     }
 
@@ -76,8 +111,12 @@ public class Processo {
     }
 
     public void decrementarCreditos() {
+        sincronizarCreditos();
         if (creditos > 0) {
             creditos--;
+            if (observador != null) {
+                observador.aoMudarCreditos(this, creditos + 1);
+            }
         }
     }
 
@@ -85,6 +124,20 @@ public class Processo {
         this.tempoTotalCpu = Math.max(0, this.tempoTotalCpu - tempo); // Garante que nunca seja negativo
     }
 
+    // Aplica de uma vez o efeito de 'ms' milissegundos de execução (sem passar dos créditos)
+    void consumirCpu(int ms) {
+        if (ms <= 0) {
+            return;
+        }
+        sincronizarCreditos();
+        int anteriores = creditos;
+        creditos -= ms;
+        tempoTotalCpu = Math.max(0, tempoTotalCpu - ms);
+        if (observador != null) {
+            observador.aoMudarCreditos(this, anteriores);
+        }
+    }
+
     public void decrementarTempoTotalCpu() {
         if (tempoTotalCpu > 0) {
             tempoTotalCpu--;
@@ -92,7 +145,31 @@ public class Processo {
     }
 
     public void resetarCreditos() {
+        sincronizarCreditos();
+        int anteriores = this.creditos;
         this.creditos = ((this.creditos / 2) + this.prioridade);  // Garante que ao menos 1 crédito seja atribuído
+        if (observador != null) {
+            observador.aoMudarCreditos(this, anteriores);
+        }
+    }
+
+    // Aplica os resets preguiçosos que aconteceram desde a última atualização dos créditos. A
+    // fórmula converge para um ponto fixo em poucos passos, então o laço é curto mesmo com
+    // muitos resets pendentes
+    void sincronizarCreditos() {
+        if (observador == null) {
+            return;
+        }
+        int atual = observador.epocaDosCreditos();
+        int pendentes = atual - epoca;
+        epoca = atual;
+        while (pendentes-- > 0) {
+            int novos = creditos / 2 + prioridade;
+            if (novos == creditos) {
+                break;
+            }
+            creditos = novos;
+        }
     }
 
     public void mudarEstado(EstadoProcesso novoEstado) {
@@ -123,11 +200,41 @@ public class Processo {
                 throw new IllegalStateException("Transição de estado inválida.");
         }
 
+        EstadoProcesso anterior = this.estado;
         this.estado = novoEstado;
+        if (novoEstado == EstadoProcesso.BLOQUEADO && anterior != EstadoProcesso.BLOQUEADO) {
+            bloqueios++;
+        }
+        if (observador != null && anterior != novoEstado) {
+            observador.aoMudarEstado(this, anterior);
+        }
+    }
+
+    // Restaura o estado dinâmico do processo (usado ao copiar resultados de outras representações).
+    // Não notifica o observador: deve ser chamado com o processo fora de qualquer escalonador.
+    void restaurar(int creditos, int tempoTotalCpu, EstadoProcesso estado, int tempoDeInicio, int turnaroundTime, int bloqueios) {
+        this.creditos = creditos;
+        this.epoca = observador == null ? 0 : observador.epocaDosCreditos();
+        this.tempoTotalCpu = tempoTotalCpu;
+        this.estado = estado;
+        this.tempoDeInicio = tempoDeInicio;
+        this.turnaroundTime = turnaroundTime;
+        this.bloqueios = bloqueios;
+    }
+
+    // Troca os dados fixos do processo, para reaproveitar o objeto como visão de outra posição
+    void carregar(String nome, int surtoCpu, int tempoES, int tempoTotalCpuInicial, int prioridade, int ordem) {
+        this.nome = nome;
+        this.surtoCpu = surtoCpu;
+        this.tempoES = tempoES;
+        this.tempoTotalCpuInicial = tempoTotalCpuInicial;
+        this.prioridade = prioridade;
+        this.ordem = ordem;
     }
 
     @Override
     public String toString() {
+        sincronizarCreditos();
         return String.format("Processo %s: Estado = %s, Créditos = %d, Tempo Total de CPU = %d, Turnarround time = %d",
                 nome, estado, creditos, tempoTotalCpu, turnaroundTime);
     }
@@ -0,0 +1,65 @@
+package t1;
+
+import java.util.List;
+
+// Estatísticas de turnaround e conclusão de uma simulação da varredura
+public final class ResultadoDaSimulacao {
+
+    private final PontoDaGrade ponto;
+    private final int tempoFinal;
+    private final int processos;
+    private final int finalizados;
+    private final long somaDoTurnaround;
+    private final int menorTurnaround;
+    private final int maiorTurnaround;
+
+    ResultadoDaSimulacao(PontoDaGrade ponto, int tempoFinal, List<Processo> resultado) {
+        this.ponto = ponto;
+        this.tempoFinal = tempoFinal;
+        this.processos = resultado.size();
+        int finalizados = 0;
+        long soma = 0;
+        int menor = Integer.MAX_VALUE;
+        int maior = 0;
+        for (Processo p : resultado) {
+            if (p.getEstado() == EstadoProcesso.FINALIZADO) {
+                finalizados++;
+            }
+            soma += p.getTurnaroundTime();
+            menor = Math.min(menor, p.getTurnaroundTime());
+            maior = Math.max(maior, p.getTurnaroundTime());
+        }
+        this.finalizados = finalizados;
+        this.somaDoTurnaround = soma;
+        this.menorTurnaround = processos == 0 ? 0 : menor;
+        this.maiorTurnaround = maior;
+    }
+
+    public PontoDaGrade getPonto() {
+        return ponto;
+    }
+
+    public int getTempoFinal() {
+        return tempoFinal;
+    }
+
+    public int getProcessos() {
+        return processos;
+    }
+
+    public int getFinalizados() {
+        return finalizados;
+    }
+
+    public double getTurnaroundMedio() {
+        return processos == 0 ? 0.0 : (double) somaDoTurnaround / processos;
+    }
+
+    public int getMenorTurnaround() {
+        return menorTurnaround;
+    }
+
+    public int getMaiorTurnaround() {
+        return maiorTurnaround;
+    }
+}
@@ -0,0 +1,230 @@
+package t1;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+// Roda de temporização hierárquica (4 níveis de 256 posições) para os processos bloqueados em E/S.
+// Cada entrada é um identificador inteiro com o instante em que deve acordar. Inserir, remover e
+// disparar um vencimento custam O(1); ao avançar o relógio, os mapas de ocupação de cada nível
+// permitem pular direto para a próxima posição com entradas, sem passar por cada milissegundo.
+// Entradas dos níveis superiores descem ("cascateiam") quando o relógio chega à sua faixa.
+public final class RodaDeTemporizacao {
+
+    private static final int NIVEIS = 4;
+    private static final int BITS = 8;
+    private static final int POSICOES = 1 << BITS;
+    private static final int MASCARA = POSICOES - 1;
+    private static final int NENHUM = -1;
+
+    private final IntConsumer aoVencer;
+    private final int[] cabecas = new int[NIVEIS * POSICOES];
+    private final long[] ocupadas = new long[NIVEIS * (POSICOES / 64)];
+    private int[] proximo = new int[0];
+    private int[] anterior = new int[0];
+    private int[] instantes = new int[0];
+    private int[] posicaoDe = new int[0]; // nível * POSICOES + posição, ou NENHUM
+    private int atual;
+    private int tamanho;
+
+    public RodaDeTemporizacao(int tempoInicial, IntConsumer aoVencer) {
+        this.atual = tempoInicial;
+        this.aoVencer = aoVencer;
+        Arrays.fill(cabecas, NENHUM);
+    }
+
+    public int getAtual() {
+        return atual;
+    }
+
+    public int tamanho() {
+        return tamanho;
+    }
+
+    public boolean contem(int id) {
+        return id < posicaoDe.length && posicaoDe[id] != NENHUM;
+    }
+
+    public int instanteDe(int id) {
+        return instantes[id];
+    }
+
+    // Agenda o identificador para acordar no instante indicado (precisa estar no futuro)
+    public void agendar(int id, int instante) {
+        if (instante <= atual) {
+            throw new IllegalArgumentException("O instante " + instante + " não está depois do tempo atual " + atual + ".");
+        }
+        garantirCapacidade(id + 1);
+        if (posicaoDe[id] != NENHUM) {
+            remover(id);
+            tamanho--;
+        }
+        instantes[id] = instante;
+        inserir(id);
+        tamanho++;
+    }
+
+    public void cancelar(int id) {
+        if (contem(id)) {
+            remover(id);
+            tamanho--;
+        }
+    }
+
+    // Avança o relógio até 'alvo', disparando em ordem de tempo todas as entradas vencidas
+    public void avancar(int alvo) {
+        while (atual < alvo) {
+            int instante = proximoInstanteRelevante();
+            if (instante == NENHUM || instante > alvo) {
+                atual = alvo;
+                return;
+            }
+            atual = instante;
+            cascatear();
+            vencerPosicao(atual & MASCARA);
+        }
+    }
+
+    // Menor instante agendado, ou -1 se a roda estiver vazia
+    public int proximoVencimento() {
+        if (tamanho == 0) {
+            return NENHUM;
+        }
+        for (int nivel = 0; nivel < NIVEIS; nivel++) {
+            int posicao = proximaOcupada(nivel, ((atual >>> (nivel * BITS)) & MASCARA) + 1);
+            if (posicao != NENHUM) {
+                // As entradas de um nível sempre vencem antes das dos níveis acima
+                int menor = Integer.MAX_VALUE;
+                for (int id = cabecas[nivel * POSICOES + posicao]; id != NENHUM; id = proximo[id]) {
+                    menor = Math.min(menor, instantes[id]);
+                }
+                return menor;
+            }
+        }
+        return NENHUM;
+    }
+
+    // Próximo instante (depois do atual) em que alguma posição vence ou precisa cascatear
+    private int proximoInstanteRelevante() {
+        int melhor = NENHUM;
+        for (int nivel = 0; nivel < NIVEIS; nivel++) {
+            int deslocamento = nivel * BITS;
+            int posicao = proximaOcupada(nivel, ((atual >>> deslocamento) & MASCARA) + 1);
+            if (posicao == NENHUM) {
+                continue;
+            }
+            int acima = deslocamento + BITS;
+            int base = acima >= 32 ? 0 : (atual >>> acima) << acima;
+            int instante = base | (posicao << deslocamento);
+            if (melhor == NENHUM || Integer.compareUnsigned(instante, melhor) < 0) {
+                melhor = instante;
+            }
+        }
+        return melhor;
+    }
+
+    // Desce para os níveis inferiores as entradas cuja faixa começa no instante atual
+    private void cascatear() {
+        for (int nivel = NIVEIS - 1; nivel >= 1; nivel--) {
+            int deslocamento = nivel * BITS;
+            if ((atual & ((1 << deslocamento) - 1)) != 0) {
+                continue;
+            }
+            int posicao = (atual >>> deslocamento) & MASCARA;
+            int indice = nivel * POSICOES + posicao;
+            int id = cabecas[indice];
+            if (id == NENHUM) {
+                continue;
+            }
+            cabecas[indice] = NENHUM;
+            desocupar(nivel, posicao);
+            while (id != NENHUM) {
+                int seguinte = proximo[id];
+                inserir(id);
+                id = seguinte;
+            }
+        }
+    }
+
+    private void vencerPosicao(int posicao) {
+        int id = cabecas[posicao];
+        if (id == NENHUM) {
+            return;
+        }
+        // Desliga a lista inteira antes dos callbacks, que podem agendar novas entradas
+        cabecas[posicao] = NENHUM;
+        desocupar(0, posicao);
+        while (id != NENHUM) {
+            int seguinte = proximo[id];
+            posicaoDe[id] = NENHUM;
+            tamanho--;
+            aoVencer.accept(id);
+            id = seguinte;
+        }
+    }
+
+    private void inserir(int id) {
+        int instante = instantes[id];
+        int diferenca = instante ^ atual;
+        int nivel = diferenca == 0 ? 0 : (31 - Integer.numberOfLeadingZeros(diferenca)) / BITS;
+        int posicao = (instante >>> (nivel * BITS)) & MASCARA;
+        int indice = nivel * POSICOES + posicao;
+        int cabeca = cabecas[indice];
+        proximo[id] = cabeca;
+        anterior[id] = NENHUM;
+        if (cabeca != NENHUM) {
+            anterior[cabeca] = id;
+        }
+        cabecas[indice] = id;
+        posicaoDe[id] = indice;
+        ocupadas[indice >>> 6] |= 1L << indice;
+    }
+
+    private void remover(int id) {
+        int indice = posicaoDe[id];
+        if (anterior[id] != NENHUM) {
+            proximo[anterior[id]] = proximo[id];
+        } else {
+            cabecas[indice] = proximo[id];
+        }
+        if (proximo[id] != NENHUM) {
+            anterior[proximo[id]] = anterior[id];
+        }
+        posicaoDe[id] = NENHUM;
+        if (cabecas[indice] == NENHUM) {
+            desocupar(indice / POSICOES, indice & MASCARA);
+        }
+    }
+
+    private void desocupar(int nivel, int posicao) {
+        int indice = nivel * POSICOES + posicao;
+        ocupadas[indice >>> 6] &= ~(1L << indice);
+    }
+
+    // Primeira posição ocupada do nível a partir de 'inicio', ou -1
+    private int proximaOcupada(int nivel, int inicio) {
+        int palavrasPorNivel = POSICOES / 64;
+        for (int w = inicio >>> 6; w < palavrasPorNivel; w++) {
+            long bits = ocupadas[nivel * palavrasPorNivel + w];
+            if (w == inicio >>> 6) {
+                bits &= -1L << inicio;
+            }
+            if (bits != 0) {
+                return (w << 6) + Long.numberOfTrailingZeros(bits);
+            }
+        }
+        return NENHUM;
+    }
+
+    private void garantirCapacidade(int capacidade) {
+        if (capacidade <= posicaoDe.length) {
+            return;
+        }
+        int novo = Math.max(capacidade, Math.max(16, posicaoDe.length * 2));
+        proximo = Arrays.copyOf(proximo, novo);
+        anterior = Arrays.copyOf(anterior, novo);
+        instantes = Arrays.copyOf(instantes, novo);
+        int antigo = posicaoDe.length;
+        posicaoDe = Arrays.copyOf(posicaoDe, novo);
+        Arrays.fill(posicaoDe, antigo, novo, NENHUM);
+    }
+}
@@ -0,0 +1,113 @@
+package t1;
+
+import java.io.PrintStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+// Formata os eventos em lotes grandes e entrega cada lote a uma thread de fundo, que faz a escrita.
+// O escalonador só paga o custo de montar o texto; a E/S do console fica fora do laço de simulação.
+// Os buffers são reaproveitados entre a thread do escalonador e a de escrita, sem alocar por lote.
+public class SaidaAssincrona implements SaidaDoEscalonador {
+
+    public static final int TAMANHO_PADRAO_DO_LOTE = 64 * 1024;
+    private static final int BUFFERS = 4;
+
+    private final PrintStream destino;
+    private final int tamanhoDoLote;
+    private final String separador = System.lineSeparator();
+    private final BlockingQueue<StringBuilder> cheios = new ArrayBlockingQueue<>(BUFFERS);
+    private final BlockingQueue<StringBuilder> livres = new ArrayBlockingQueue<>(BUFFERS);
+    private final StringBuilder fim = new StringBuilder(0); // Sinaliza o encerramento para a thread de escrita
+    private final Thread escritora;
+    private StringBuilder atual;
+    private boolean fechada;
+    private volatile Throwable falha; // O que derrubou a thread de escrita, repassado a quem registra
+
+    public SaidaAssincrona(PrintStream destino) {
+        this(destino, TAMANHO_PADRAO_DO_LOTE);
+    }
+
+    public SaidaAssincrona(PrintStream destino, int tamanhoDoLote) {
+        this.destino = destino;
+        this.tamanhoDoLote = tamanhoDoLote;
+        for (int i = 0; i < BUFFERS - 1; i++) {
+            livres.add(new StringBuilder(tamanhoDoLote + 256));
+        }
+        this.atual = new StringBuilder(tamanhoDoLote + 256);
+        this.escritora = new Thread(this::escrever, "saida-do-escalonador");
+        this.escritora.setDaemon(true);
+        this.escritora.start();
+    }
+
+    @Override
+    public void registrar(TipoDeEvento tipo, int tempo, Processo p) {
+        if (fechada) {
+            throw new IllegalStateException("A saída do escalonador já foi fechada.");
+        }
+        if (FormatadorDeEventos.formatar(tipo, tempo, p, atual)) {
+            atual.append(separador);
+            if (atual.length() >= tamanhoDoLote) {
+                entregar();
+            }
+        }
+    }
+
+    // Passa o lote atual para a thread de escrita e pega um buffer vazio. Há só BUFFERS buffers,
+    // então o put nunca espera; o take é acordado pela thread de escrita mesmo se ela falhar
+    private void entregar() {
+        try {
+            verificarFalha();
+            cheios.put(atual);
+            atual = livres.take();
+            verificarFalha();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido ao entregar a saída do escalonador.", e);
+        }
+    }
+
+    private void escrever() {
+        try {
+            while (true) {
+                StringBuilder lote = cheios.take();
+                if (lote == fim) {
+                    break;
+                }
+                destino.append(lote);
+                lote.setLength(0);
+                livres.put(lote);
+            }
+            destino.flush();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException | Error e) {
+            falha = e;
+            livres.offer(new StringBuilder(0)); // Acorda o escalonador, que vai ver a falha
+        }
+    }
+
+    private void verificarFalha() {
+        if (falha != null) {
+            throw new IllegalStateException("A thread de escrita da saída do escalonador falhou.", falha);
+        }
+    }
+
+    // Escreve o que faltou e espera a thread de escrita terminar
+    @Override
+    public void close() {
+        if (fechada) {
+            return;
+        }
+        fechada = true;
+        try {
+            if (atual.length() > 0) {
+                entregar();
+            }
+            cheios.put(fim);
+            escritora.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        verificarFalha();
+    }
+}
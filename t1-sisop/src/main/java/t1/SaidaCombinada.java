@@ -0,0 +1,37 @@
+package t1;
+
+// Repassa cada evento para várias saídas (por exemplo, o texto e o coletor de métricas)
+public class SaidaCombinada implements SaidaDoEscalonador {
+
+    private final SaidaDoEscalonador[] destinos;
+
+    public SaidaCombinada(SaidaDoEscalonador... destinos) {
+        this.destinos = destinos.clone();
+    }
+
+    @Override
+    public void registrar(TipoDeEvento tipo, int tempo, Processo p) {
+        for (SaidaDoEscalonador destino : destinos) {
+            if (destino.aceita(tipo)) {
+                destino.registrar(tipo, tempo, p);
+            }
+        }
+    }
+
+    @Override
+    public boolean aceita(TipoDeEvento tipo) {
+        for (SaidaDoEscalonador destino : destinos) {
+            if (destino.aceita(tipo)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void close() {
+        for (SaidaDoEscalonador destino : destinos) {
+            destino.close();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package t1;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Grava os eventos do escalonador num rastro binário, muito menor e mais rápido de gerar que o
+// texto, e que pode ser reproduzido (LinhaDoTempo) ou comparado com outro rastro (ComparadorDeRastros).
+// Cada evento vira um registro de tamanho fixo montado num ByteBuffer direto, escrito no
+// FileChannel só quando o buffer enche.
+//
+// Formato (big-endian): cabeçalho com MAGICO, VERSAO e tamanho do registro; depois um REGISTRO por
+// evento com tempo, ordem do processo, tipo (ordinal de TipoDeEvento, 1 byte), créditos e CPU
+// restante. Eventos globais (reset, fim do escalonamento) têm ordem -1 e créditos e CPU zerados.
+public class SaidaDeRastro implements SaidaDoEscalonador {
+
+    public static final int MAGICO = 0x54524143; // "TRAC"
+    public static final int VERSAO = 1;
+    public static final int CABECALHO = 3 * Integer.BYTES;
+    public static final int REGISTRO = 4 * Integer.BYTES + 1;
+    public static final int TAMANHO_PADRAO_DO_BUFFER = 1 << 20;
+
+    private final FileChannel canal;
+    private final ByteBuffer buffer;
+    private final NivelDeDetalhe nivel;
+    private long registros;
+    private boolean fechada;
+
+    // Por padrão grava até o nível NORMAL: as decisões, sem um registro por ms de CPU
+    public SaidaDeRastro(Path arquivo) throws IOException {
+        this(arquivo, NivelDeDetalhe.NORMAL);
+    }
+
+    public SaidaDeRastro(Path arquivo, NivelDeDetalhe nivel) throws IOException {
+        this.nivel = nivel;
+        this.canal = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.buffer = ByteBuffer.allocateDirect(TAMANHO_PADRAO_DO_BUFFER / REGISTRO * REGISTRO);
+        buffer.putInt(MAGICO).putInt(VERSAO).putInt(REGISTRO);
+    }
+
+    @Override
+    public void registrar(TipoDeEvento tipo, int tempo, Processo p) {
+        if (!aceita(tipo)) {
+            return;
+        }
+        if (buffer.remaining() < REGISTRO) {
+            descarregar();
+        }
+        buffer.putInt(tempo);
+        if (p == null) {
+            buffer.putInt(-1).put((byte) tipo.ordinal()).putInt(0).putInt(0);
+        } else {
+            buffer.putInt(p.getOrdem()).put((byte) tipo.ordinal()).putInt(p.getCreditos()).putInt(p.getTempoTotalCpu());
+        }
+        registros++;
+    }
+
+    @Override
+    public boolean aceita(TipoDeEvento tipo) {
+        return tipo.getNivel().compareTo(nivel) <= 0;
+    }
+
+    public long getRegistros() {
+        return registros;
+    }
+
+    private void descarregar() {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                canal.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao gravar o rastro do escalonador.", e);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() {
+        if (fechada) {
+            return;
+        }
+        fechada = true;
+        try {
+            descarregar();
+        } finally {
+            try {
+                canal.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Falha ao fechar o rastro do escalonador.", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package t1;
+
+import java.io.PrintStream;
+
+// Imprime cada evento imediatamente, uma linha por evento (o comportamento original)
+public class SaidaDeTexto implements SaidaDoEscalonador {
+
+    private final PrintStream destino;
+    private final StringBuilder linha = new StringBuilder(128);
+
+    public SaidaDeTexto(PrintStream destino) {
+        this.destino = destino;
+    }
+
+    @Override
+    public void registrar(TipoDeEvento tipo, int tempo, Processo p) {
+        linha.setLength(0);
+        if (FormatadorDeEventos.formatar(tipo, tempo, p, linha)) {
+            destino.println(linha.toString());
+        }
+    }
+
+    @Override
+    public void close() {
+        destino.flush();
+    }
+}
@@ -0,0 +1,17 @@
+package t1;
+
+// Destino dos eventos do escalonador. O evento chega com o tempo e o processo envolvido
+// (null nos eventos globais), e cada implementação decide se e como formatá-lo.
+public interface SaidaDoEscalonador extends AutoCloseable {
+
+    void registrar(TipoDeEvento tipo, int tempo, Processo p);
+
+    // Permite ao escalonador pular trabalho que só serviria para gerar eventos descartados
+    default boolean aceita(TipoDeEvento tipo) {
+        return true;
+    }
+
+    @Override
+    default void close() {
+    }
+}
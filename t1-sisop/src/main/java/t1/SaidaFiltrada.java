@@ -0,0 +1,30 @@
+package t1;
+
+// Repassa para outra saída apenas os eventos até o nível de detalhe escolhido
+public class SaidaFiltrada implements SaidaDoEscalonador {
+
+    private final SaidaDoEscalonador destino;
+    private final NivelDeDetalhe nivelMaximo;
+
+    public SaidaFiltrada(SaidaDoEscalonador destino, NivelDeDetalhe nivelMaximo) {
+        this.destino = destino;
+        this.nivelMaximo = nivelMaximo;
+    }
+
+    @Override
+    public void registrar(TipoDeEvento tipo, int tempo, Processo p) {
+        if (aceita(tipo)) {
+            destino.registrar(tipo, tempo, p);
+        }
+    }
+
+    @Override
+    public boolean aceita(TipoDeEvento tipo) {
+        return tipo.getNivel().compareTo(nivelMaximo) <= 0 && destino.aceita(tipo);
+    }
+
+    @Override
+    public void close() {
+        destino.close();
+    }
+}
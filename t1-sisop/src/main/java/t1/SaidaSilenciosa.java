@@ -0,0 +1,19 @@
+package t1;
+
+// Saída que descarta todos os eventos
+public final class SaidaSilenciosa implements SaidaDoEscalonador {
+
+    public static final SaidaSilenciosa INSTANCIA = new SaidaSilenciosa();
+
+    private SaidaSilenciosa() {
+    }
+
+    @Override
+    public void registrar(TipoDeEvento tipo, int tempo, Processo p) {
+    }
+
+    @Override
+    public boolean aceita(TipoDeEvento tipo) {
+        return false;
+    }
+}
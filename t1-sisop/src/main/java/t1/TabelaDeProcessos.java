@@ -0,0 +1,193 @@
+package t1;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+// Tabela compacta de processos: cada campo do Processo vira um vetor de primitivos indexado pela
+// posição do processo, e os nomes ficam todos num único vetor de bytes. Evita o cabeçalho de
+// objeto, a String e a referência ao enum de cada processo, permitindo simular dezenas de milhões
+// de processos com poucos GB de heap. O Processo só aparece nas bordas, para montar a tabela e
+// para visualizar ou devolver o resultado de uma posição.
+public class TabelaDeProcessos {
+
+    static final byte PRONTO = (byte) EstadoProcesso.PRONTO.ordinal();
+    static final byte EXECUTANDO = (byte) EstadoProcesso.EXECUTANDO.ordinal();
+    static final byte BLOQUEADO = (byte) EstadoProcesso.BLOQUEADO.ordinal();
+    static final byte FINALIZADO = (byte) EstadoProcesso.FINALIZADO.ordinal();
+    private static final EstadoProcesso[] ESTADOS = EstadoProcesso.values();
+
+    int[] creditos;
+    int[] cpuRestante;
+    int[] cpuTotal;
+    int[] bloqueios;
+    int[] surtoCpu;
+    int[] tempoES;
+    int[] prioridade;
+    int[] ordem;
+    int[] tempoDeInicio;
+    int[] turnaround;
+    byte[] estado;
+    private int[] inicioDoNome; // Posição do nome em 'nomes'; o fim é o início do próximo
+    private byte[] nomes;
+    private int bytesDeNomes;
+    private int tamanho;
+
+    public TabelaDeProcessos() {
+        this(16);
+    }
+
+    public TabelaDeProcessos(int capacidade) {
+        capacidade = Math.max(1, capacidade);
+        creditos = new int[capacidade];
+        cpuRestante = new int[capacidade];
+        cpuTotal = new int[capacidade];
+        bloqueios = new int[capacidade];
+        surtoCpu = new int[capacidade];
+        tempoES = new int[capacidade];
+        prioridade = new int[capacidade];
+        ordem = new int[capacidade];
+        tempoDeInicio = new int[capacidade];
+        turnaround = new int[capacidade];
+        estado = new byte[capacidade];
+        inicioDoNome = new int[capacidade + 1];
+        nomes = new byte[capacidade * 4];
+    }
+
+    // Monta a tabela a partir de processos já criados, na mesma ordem da lista
+    public static TabelaDeProcessos de(List<Processo> processos) {
+        TabelaDeProcessos tabela = new TabelaDeProcessos(processos.size());
+        for (Processo p : processos) {
+            tabela.adicionar(p);
+        }
+        return tabela;
+    }
+
+    public int tamanho() {
+        return tamanho;
+    }
+
+    // Adiciona um processo novo (PRONTO, com créditos iguais à prioridade) e retorna sua posição
+    public int adicionar(String nome, int surtoCpu, int tempoES, int tempoTotalCpu, int prioridade, int ordem) {
+        byte[] bytes = nome.getBytes(StandardCharsets.UTF_8);
+        return adicionar(bytes, 0, bytes.length, surtoCpu, tempoES, tempoTotalCpu, prioridade, ordem);
+    }
+
+    // Versão que recebe o nome já em bytes (UTF-8), sem criar String
+    public int adicionar(byte[] nome, int inicio, int comprimento, int surtoCpu, int tempoES, int tempoTotalCpu, int prioridade, int ordem) {
+        int i = reservar(comprimento);
+        System.arraycopy(nome, inicio, nomes, bytesDeNomes, comprimento);
+        return preencher(i, comprimento, surtoCpu, tempoES, tempoTotalCpu, prioridade, ordem);
+    }
+
+    // Versão que lê o nome direto de um buffer (por exemplo, um arquivo mapeado em memória)
+    int adicionarDe(ByteBuffer origem, int inicio, int comprimento, int surtoCpu, int tempoES, int tempoTotalCpu, int prioridade, int ordem) {
+        int i = reservar(comprimento);
+        origem.get(inicio, nomes, bytesDeNomes, comprimento);
+        return preencher(i, comprimento, surtoCpu, tempoES, tempoTotalCpu, prioridade, ordem);
+    }
+
+    // Copia o estado atual de um Processo para uma nova posição
+    public int adicionar(Processo p) {
+        int i = adicionar(p.getNome(), p.getSurtoCpu(), p.getTempoES(), p.getTempoTotalCpuInicial(), p.getPrioridade(), p.getOrdem());
+        cpuRestante[i] = p.getTempoTotalCpu();
+        bloqueios[i] = p.getBloqueios();
+        creditos[i] = p.getCreditos();
+        estado[i] = (byte) p.getEstado().ordinal();
+        tempoDeInicio[i] = p.getTempoDeInicio();
+        turnaround[i] = p.getTurnaroundTime();
+        return i;
+    }
+
+    private int reservar(int comprimentoDoNome) {
+        if (tamanho == creditos.length) {
+            crescer(tamanho * 2);
+        }
+        long necessario = (long) bytesDeNomes + comprimentoDoNome;
+        if (necessario > nomes.length) {
+            long novo = Math.max(necessario, (long) nomes.length * 2);
+            if (novo > Integer.MAX_VALUE - 8) {
+                novo = Integer.MAX_VALUE - 8;
+                if (necessario > novo) {
+                    throw new IllegalStateException("Nomes de processos excedem 2GB.");
+                }
+            }
+            nomes = Arrays.copyOf(nomes, (int) novo);
+        }
+        return tamanho;
+    }
+
+    private int preencher(int i, int comprimentoDoNome, int surtoCpu, int tempoES, int tempoTotalCpu, int prioridade, int ordem) {
+        this.surtoCpu[i] = surtoCpu;
+        this.tempoES[i] = tempoES;
+        this.cpuRestante[i] = tempoTotalCpu;
+        this.cpuTotal[i] = tempoTotalCpu;
+        this.prioridade[i] = prioridade;
+        this.creditos[i] = prioridade;
+        this.ordem[i] = ordem;
+        this.estado[i] = PRONTO;
+        bytesDeNomes += comprimentoDoNome;
+        inicioDoNome[i + 1] = bytesDeNomes;
+        tamanho++;
+        return i;
+    }
+
+    private void crescer(int capacidade) {
+        creditos = Arrays.copyOf(creditos, capacidade);
+        cpuRestante = Arrays.copyOf(cpuRestante, capacidade);
+        cpuTotal = Arrays.copyOf(cpuTotal, capacidade);
+        bloqueios = Arrays.copyOf(bloqueios, capacidade);
+        surtoCpu = Arrays.copyOf(surtoCpu, capacidade);
+        tempoES = Arrays.copyOf(tempoES, capacidade);
+        prioridade = Arrays.copyOf(prioridade, capacidade);
+        ordem = Arrays.copyOf(ordem, capacidade);
+        tempoDeInicio = Arrays.copyOf(tempoDeInicio, capacidade);
+        turnaround = Arrays.copyOf(turnaround, capacidade);
+        estado = Arrays.copyOf(estado, capacidade);
+        inicioDoNome = Arrays.copyOf(inicioDoNome, capacidade + 1);
+    }
+
+    public String nome(int i) {
+        int inicio = inicioDoNome[i];
+        return new String(nomes, inicio, inicioDoNome[i + 1] - inicio, StandardCharsets.UTF_8);
+    }
+
+    public int getCreditos(int i) {
+        return creditos[i];
+    }
+
+    public int getTempoTotalCpu(int i) {
+        return cpuRestante[i];
+    }
+
+    public int getTurnaroundTime(int i) {
+        return turnaround[i];
+    }
+
+    public int getTempoDeInicio(int i) {
+        return tempoDeInicio[i];
+    }
+
+    public EstadoProcesso getEstado(int i) {
+        return ESTADOS[estado[i]];
+    }
+
+    // Cria um Processo com o estado atual da posição i
+    public Processo paraProcesso(int i) {
+        Processo p = new Processo(nome(i), surtoCpu[i], tempoES[i], cpuTotal[i], prioridade[i], ordem[i]);
+        copiarPara(i, p);
+        return p;
+    }
+
+    // Atualiza um Processo existente com o estado da posição i (por exemplo, ao fim da simulação)
+    public void copiarPara(int i, Processo p) {
+        p.restaurar(creditos[i], cpuRestante[i], ESTADOS[estado[i]], tempoDeInicio[i], turnaround[i], bloqueios[i]);
+    }
+
+    // Reaproveita um Processo como visão da posição i, para publicar eventos sem criar objetos novos
+    void carregarVisao(int i, Processo visao) {
+        visao.carregar(nome(i), surtoCpu[i], tempoES[i], cpuTotal[i], prioridade[i], ordem[i]);
+        copiarPara(i, visao);
+    }
+}
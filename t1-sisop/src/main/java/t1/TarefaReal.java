@@ -0,0 +1,26 @@
+package t1;
+
+// Trabalho de verdade por trás de um Processo no modo de execução real (ExecucaoReal). A tarefa
+// roda na sua própria thread e deve chamar cessao.ceder() com frequência: é nesses pontos que a
+// fatia de CPU dada pelo escalonador é verificada e a thread devolve a vez quando ela acaba.
+@FunctionalInterface
+public interface TarefaReal {
+
+    void executar(PontoDeCessao cessao) throws Exception;
+
+    // Tarefa só de CPU que gira até ter usado 'nanos' de CPU, cedendo a cada poucos microssegundos.
+    // O tempo em que a thread fica esperando a vez não conta
+    static TarefaReal ocupada(long nanos) {
+        return cessao -> {
+            long usado = 0;
+            long ultimo = System.nanoTime();
+            while (usado < nanos) {
+                Thread.onSpinWait();
+                long agora = System.nanoTime();
+                usado += agora - ultimo;
+                cessao.ceder();
+                ultimo = System.nanoTime();
+            }
+        };
+    }
+}
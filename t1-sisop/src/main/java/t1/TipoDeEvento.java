@@ -0,0 +1,24 @@
+package t1;
+
+// Eventos que o escalonador publica na sua saída, cada um com o nível de detalhe a que pertence
+public enum TipoDeEvento {
+    PROCESSO_SELECIONADO(NivelDeDetalhe.NORMAL),
+    EXECUCAO_INICIADA(NivelDeDetalhe.NORMAL),
+    CPU_EXECUTADA(NivelDeDetalhe.DETALHADO), // Um evento por milissegundo de CPU
+    PROCESSO_FINALIZADO(NivelDeDetalhe.NORMAL),
+    PROCESSO_BLOQUEADO(NivelDeDetalhe.NORMAL),
+    ES_CONCLUIDA(NivelDeDetalhe.NORMAL),
+    RESET_DE_CREDITOS(NivelDeDetalhe.NORMAL),
+    CREDITOS_RESETADOS(NivelDeDetalhe.DETALHADO), // Um evento por processo a cada reset
+    ESCALONAMENTO_CONCLUIDO(NivelDeDetalhe.RESUMO);
+
+    private final NivelDeDetalhe nivel;
+
+    TipoDeEvento(NivelDeDetalhe nivel) {
+        this.nivel = nivel;
+    }
+
+    public NivelDeDetalhe getNivel() {
+        return nivel;
+    }
+}
@@ -0,0 +1,85 @@
+package t1;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+// Executa uma simulação independente do Escalonador para cada ponto da grade. As simulações não
+// compartilham nenhum estado mutável (cada uma recebe processos novos do modelo e usa a saída
+// silenciosa), então são distribuídas num ForkJoinPool e escalam com o número de núcleos. Cada
+// resultado é gravado na sua própria posição do vetor, na ordem da grade.
+public class VarreduraDeParametros {
+
+    private final GradeDeParametros grade;
+    private final ModeloDeCarga modelo;
+    private int paralelismo = Runtime.getRuntime().availableProcessors();
+    private CacheDeResultados cache;
+
+    public VarreduraDeParametros(GradeDeParametros grade, ModeloDeCarga modelo) {
+        this.grade = grade;
+        this.modelo = modelo;
+    }
+
+    // Quantas threads usar; 1 executa as simulações em série na thread atual
+    public VarreduraDeParametros setParalelismo(int paralelismo) {
+        if (paralelismo < 1) {
+            throw new IllegalArgumentException("O paralelismo precisa ser pelo menos 1.");
+        }
+        this.paralelismo = paralelismo;
+        return this;
+    }
+
+    // Pontos cuja carga já foi simulada (nesta ou, com cache em disco, em outra execução) não são
+    // simulados de novo
+    public VarreduraDeParametros setCache(CacheDeResultados cache) {
+        this.cache = cache;
+        return this;
+    }
+
+    public List<ResultadoDaSimulacao> executar() {
+        ResultadoDaSimulacao[] resultados = new ResultadoDaSimulacao[grade.tamanho()];
+        if (paralelismo == 1) {
+            for (int i = 0; i < resultados.length; i++) {
+                resultados[i] = simular(grade.ponto(i));
+            }
+        } else {
+            ForkJoinPool pool = new ForkJoinPool(paralelismo);
+            try {
+                pool.submit(() -> IntStream.range(0, resultados.length).parallel()
+                        .forEach(i -> resultados[i] = simular(grade.ponto(i)))).join();
+            } finally {
+                pool.shutdown();
+            }
+        }
+        return Arrays.asList(resultados);
+    }
+
+    private ResultadoDaSimulacao simular(PontoDaGrade ponto) {
+        List<Processo> processos = modelo.gerar(ponto);
+        if (cache != null) {
+            return new ResultadoDaSimulacao(ponto, cache.simular(processos, null, SaidaSilenciosa.INSTANCIA), processos);
+        }
+        Escalonador escalonador = new Escalonador(processos, SaidaSilenciosa.INSTANCIA);
+        escalonador.iniciarEscalonamento();
+        return new ResultadoDaSimulacao(ponto, escalonador.getTempo(), processos);
+    }
+
+    // Escreve a tabela consolidada, uma linha por ponto da grade
+    public static void imprimirTabela(List<ResultadoDaSimulacao> resultados, PrintStream destino) {
+        destino.println(String.format("%-12s %-8s %-8s %12s %12s %12s %12s %12s",
+                "Prioridade", "Surto", "E/S", "Tempo final", "Finalizados", "Turn. médio", "Turn. mín.", "Turn. máx."));
+        for (ResultadoDaSimulacao r : resultados) {
+            PontoDaGrade p = r.getPonto();
+            destino.println(String.format("%-12s %-8s %-8s %12d %8d/%-3d %12.1f %12d %12d",
+                    valor(p.getPrioridade()), valor(p.getSurtoCpu()), valor(p.getTempoES()),
+                    r.getTempoFinal(), r.getFinalizados(), r.getProcessos(),
+                    r.getTurnaroundMedio(), r.getMenorTurnaround(), r.getMaiorTurnaround()));
+        }
+    }
+
+    private static String valor(int v) {
+        return v == PontoDaGrade.ORIGINAL ? "-" : Integer.toString(v);
+    }
+}
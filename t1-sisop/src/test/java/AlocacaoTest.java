@@ -0,0 +1,90 @@
+import org.junit.jupiter.api.Test;
+import t1.ColetorDeMetricas;
+import t1.Escalonador;
+import t1.NivelDeDetalhe;
+import t1.PoliticaDeEscalonamento;
+import t1.Processo;
+import t1.SaidaCombinada;
+import t1.SaidaDeTexto;
+import t1.SaidaDoEscalonador;
+import t1.SaidaFiltrada;
+import t1.SaidaSilenciosa;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class AlocacaoTest {
+
+    private static final int AQUECIMENTO = 200_000;
+    private static final int DECISOES = 1_000_000;
+    private static final int JANELAS = 3;
+
+    // Processos que nunca terminam durante o teste, com surtos curtos e bastante E/S
+    private static List<Processo> carga() {
+        Random random = new Random(3);
+        List<Processo> processos = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            processos.add(new Processo("P" + i, 1 + random.nextInt(6), random.nextInt(20),
+                    Integer.MAX_VALUE / 2, 1 + random.nextInt(8), 1 + random.nextInt(1000)));
+        }
+        return processos;
+    }
+
+    // Bytes alocados pela thread atual em DECISOES ciclos, depois do aquecimento. A primeira leitura
+    // do MXBean aloca (inicialização preguiçosa), então ele também é aquecido, e o que uma leitura
+    // ainda aloca é medido com duas leituras seguidas e descontado do total. Uma desotimização do
+    // JIT pode recriar de uma só vez alguns objetos eliminados pela análise de escape; por isso
+    // mede até JANELAS janelas seguidas e devolve a menor: uma alocação por decisão aparece em todas
+    private static long bytesAlocados(PoliticaDeEscalonamento politica, SaidaDoEscalonador saida) {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        assumeTrue(threads instanceof com.sun.management.ThreadMXBean, "A JVM não mede alocação por thread.");
+        com.sun.management.ThreadMXBean medidor = (com.sun.management.ThreadMXBean) threads;
+        assumeTrue(medidor.isThreadAllocatedMemorySupported() && medidor.isThreadAllocatedMemoryEnabled());
+
+        Escalonador escalonador = new Escalonador(carga(), saida, politica);
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            escalonador.executarCiclo();
+        }
+        long id = Thread.currentThread().getId();
+        for (int i = 0; i < 100; i++) {
+            medidor.getThreadAllocatedBytes(id);
+        }
+        long leitura = -medidor.getThreadAllocatedBytes(id) + medidor.getThreadAllocatedBytes(id);
+        long menor = Long.MAX_VALUE;
+        for (int janela = 0; janela < JANELAS && menor > 0; janela++) {
+            long antes = medidor.getThreadAllocatedBytes(id);
+            for (int i = 0; i < DECISOES; i++) {
+                escalonador.executarCiclo();
+            }
+            menor = Math.min(menor, medidor.getThreadAllocatedBytes(id) - antes - leitura);
+        }
+        return menor;
+    }
+
+    @Test
+    public void testCreditosNaoAlocamPorDecisao() {
+        long bytes = bytesAlocados(PoliticaDeEscalonamento.porNome("CREDITOS"), SaidaSilenciosa.INSTANCIA);
+        assertEquals(0, bytes, "Bytes alocados em " + DECISOES + " decisões");
+    }
+
+    @Test
+    public void testCfsNaoAlocaPorDecisao() {
+        long bytes = bytesAlocados(PoliticaDeEscalonamento.porNome("CFS"), SaidaSilenciosa.INSTANCIA);
+        assertEquals(0, bytes, "Bytes alocados em " + DECISOES + " decisões");
+    }
+
+    @Test
+    public void testMetricasESaidaFiltradaNaoAlocamPorDecisao() {
+        PrintStream descarte = new PrintStream(OutputStream.nullOutputStream());
+        SaidaDoEscalonador saida = new SaidaCombinada(new SaidaFiltrada(new SaidaDeTexto(descarte), NivelDeDetalhe.RESUMO), new ColetorDeMetricas());
+        long bytes = bytesAlocados(PoliticaDeEscalonamento.porNome("CREDITOS"), saida);
+        assertEquals(0, bytes, "Bytes alocados em " + DECISOES + " decisões");
+    }
+}
@@ -0,0 +1,145 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import t1.CacheDeResultados;
+import t1.ColetorDeMetricas;
+import t1.Escalonador;
+import t1.EstadoProcesso;
+import t1.GeradorDeCarga;
+import t1.Processo;
+import t1.SaidaDeTexto;
+import t1.SaidaSilenciosa;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CacheDeResultadosTest {
+
+    private static List<Processo> carga() {
+        return new GeradorDeCarga().semente(11).quantidade(300).stream().collect(Collectors.toList());
+    }
+
+    private static void assertMesmoResultado(List<Processo> esperado, List<Processo> obtido) {
+        assertEquals(esperado.size(), obtido.size());
+        for (int i = 0; i < esperado.size(); i++) {
+            Processo e = esperado.get(i);
+            Processo o = obtido.get(i);
+            assertEquals(e.getEstado(), o.getEstado(), "Estado de " + e.getNome());
+            assertEquals(e.getTempoDeInicio(), o.getTempoDeInicio(), "Início de " + e.getNome());
+            assertEquals(e.getTurnaroundTime(), o.getTurnaroundTime(), "Turnaround de " + e.getNome());
+            assertEquals(e.getBloqueios(), o.getBloqueios(), "Bloqueios de " + e.getNome());
+            assertEquals(e.getCreditos(), o.getCreditos(), "Créditos de " + e.getNome());
+        }
+    }
+
+    private static String resumo(ColetorDeMetricas metricas) {
+        ByteArrayOutputStream texto = new ByteArrayOutputStream();
+        metricas.imprimirResumo(new PrintStream(texto));
+        return texto.toString();
+    }
+
+    @Test
+    public void testAcertoEmMemoriaIgualASimulacao() {
+        List<Processo> simulados = carga();
+        ColetorDeMetricas esperadas = new ColetorDeMetricas();
+        Escalonador escalonador = new Escalonador(simulados, esperadas);
+        escalonador.iniciarEscalonamento();
+
+        CacheDeResultados cache = new CacheDeResultados(4);
+        List<Processo> primeira = carga();
+        assertEquals(escalonador.getTempo(), cache.simular(primeira, null, new ColetorDeMetricas()));
+        List<Processo> segunda = carga();
+        ColetorDeMetricas doCache = new ColetorDeMetricas();
+        assertEquals(escalonador.getTempo(), cache.simular(segunda, "creditos", doCache));
+
+        assertEquals(1, cache.getFalhas());
+        assertEquals(1, cache.getAcertosNaMemoria());
+        assertMesmoResultado(simulados, segunda);
+        assertEquals(resumo(esperadas), resumo(doCache), "As métricas do acerto são as mesmas da simulação");
+
+        // Outra política é outra chave
+        cache.simular(carga(), "CFS", SaidaSilenciosa.INSTANCIA);
+        assertEquals(2, cache.getFalhas());
+    }
+
+    @Test
+    public void testNivelEmDiscoEntreInstancias(@TempDir Path diretorio) throws IOException {
+        List<Processo> primeira = carga();
+        new CacheDeResultados(1, diretorio).simular(primeira, null, SaidaSilenciosa.INSTANCIA);
+
+        CacheDeResultados outro = new CacheDeResultados(1, diretorio);
+        List<Processo> segunda = carga();
+        outro.simular(segunda, null, SaidaSilenciosa.INSTANCIA);
+        assertEquals(1, outro.getAcertosNoDisco());
+        assertEquals(0, outro.getFalhas());
+        assertMesmoResultado(primeira, segunda);
+
+    }
+
+    private static List<Path> resultados(Path diretorio) throws IOException {
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            return arquivos.filter(a -> a.toString().endsWith(".res")).collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    public void testNovaVersaoSubstituiOsResultadosAntigos(@TempDir Path diretorio) throws IOException {
+        int versao = Escalonador.VERSAO_DOS_RESULTADOS;
+        List<Processo> primeira = carga();
+        new CacheDeResultados(1, diretorio, versao).simular(primeira, null, SaidaSilenciosa.INSTANCIA);
+        List<Path> antigos = resultados(diretorio);
+        assertEquals(1, antigos.size());
+
+        // A mesma carga numa versão nova cai no mesmo arquivo: o antigo é descartado e regravado
+        CacheDeResultados novaVersao = new CacheDeResultados(1, diretorio, versao + 1);
+        List<Processo> segunda = carga();
+        novaVersao.simular(segunda, null, SaidaSilenciosa.INSTANCIA);
+        assertEquals(0, novaVersao.getAcertosNoDisco());
+        assertEquals(1, novaVersao.getFalhas());
+        assertMesmoResultado(primeira, segunda);
+        assertEquals(antigos, resultados(diretorio), "O resultado antigo não pode ficar esquecido no diretório");
+
+        CacheDeResultados mesmaVersao = new CacheDeResultados(1, diretorio, versao + 1);
+        mesmaVersao.simular(carga(), null, SaidaSilenciosa.INSTANCIA);
+        assertEquals(1, mesmaVersao.getAcertosNoDisco(), "O arquivo regravado é da versão nova");
+        CacheDeResultados versaoAntiga = new CacheDeResultados(1, diretorio, versao);
+        versaoAntiga.simular(carga(), null, SaidaSilenciosa.INSTANCIA);
+        assertEquals(0, versaoAntiga.getAcertosNoDisco());
+        assertEquals(1, resultados(diretorio).size());
+    }
+
+    @Test
+    public void testEstadoInvalidoNoArquivoEhUmaFalha(@TempDir Path diretorio) throws IOException {
+        List<Processo> primeira = carga();
+        new CacheDeResultados(1, diretorio).simular(primeira, null, SaidaSilenciosa.INSTANCIA);
+        Path arquivo = resultados(diretorio).get(0);
+        byte[] bytes = Files.readAllBytes(arquivo);
+        int primeiroEstado = 5 * Integer.BYTES + 32; // Logo depois do cabeçalho
+        for (byte invalido : new byte[] {(byte) EstadoProcesso.values().length, -1}) {
+            bytes[primeiroEstado] = invalido;
+            Files.write(arquivo, bytes);
+            CacheDeResultados cache = new CacheDeResultados(1, diretorio);
+            List<Processo> segunda = carga();
+            cache.simular(segunda, null, SaidaSilenciosa.INSTANCIA);
+            assertEquals(0, cache.getAcertosNoDisco());
+            assertEquals(1, cache.getFalhas());
+            assertMesmoResultado(primeira, segunda);
+        }
+    }
+
+    @Test
+    public void testSaidaComEventosNaoUsaCache() {
+        CacheDeResultados cache = new CacheDeResultados(4);
+        PrintStream descarte = new PrintStream(new ByteArrayOutputStream());
+        cache.simular(carga(), null, new SaidaDeTexto(descarte));
+        cache.simular(carga(), null, new SaidaDeTexto(descarte));
+        assertEquals(0, cache.getFalhas() + cache.getAcertosNaMemoria(), "Os eventos detalhados só saem simulando");
+    }
+}
@@ -0,0 +1,37 @@
+import t1.Processo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Cargas aleatórias reprodutíveis (pela semente) compartilhadas pelos testes
+final class CargasDeTeste {
+
+    private CargasDeTeste() {
+    }
+
+    // Surto de 1 a 6, E/S de 0 a 7, CPU total de 1 a 40, prioridade de 1 a 5 e ordem sorteada
+    // entre 1 e a quantidade (com repetições, para exercitar os desempates)
+    static List<Processo> cargaAleatoria(long semente, int quantidade) {
+        return gerar(semente, quantidade, false);
+    }
+
+    // A mesma distribuição, mas com ordens distintas (i + 1): cada processo tem sua própria linha do tempo
+    static List<Processo> cargaAleatoriaComOrdensDistintas(long semente, int quantidade) {
+        return gerar(semente, quantidade, true);
+    }
+
+    private static List<Processo> gerar(long semente, int quantidade, boolean ordensDistintas) {
+        Random random = new Random(semente);
+        List<Processo> processos = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            int surto = 1 + random.nextInt(6);
+            int es = random.nextInt(8);
+            int cpu = 1 + random.nextInt(40);
+            int prioridade = 1 + random.nextInt(5);
+            int ordem = ordensDistintas ? i + 1 : 1 + random.nextInt(quantidade);
+            processos.add(new Processo("P" + i, surto, es, cpu, prioridade, ordem));
+        }
+        return processos;
+    }
+}
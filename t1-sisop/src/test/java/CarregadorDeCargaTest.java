@@ -0,0 +1,151 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import t1.CarregadorDeCarga;
+import t1.Processo;
+import t1.TabelaDeProcessos;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CarregadorDeCargaTest {
+
+    @TempDir
+    Path pasta;
+
+    @Test
+    public void testCarregaCsvComCabecalhoEComentarios() throws IOException {
+        Path csv = pasta.resolve("carga.csv");
+        Files.write(csv, ("nome,surtoCpu,tempoES,tempoTotalCpu,prioridade,ordem\n"
+                + "# processos de exemplo\n"
+                + "A,3,5,10,2,1\r\n"
+                + "\n"
+                + " Ação , 4, 2, 12, 3, 2\n"
+                + "C,2,6,8,1,3").getBytes(StandardCharsets.UTF_8));
+
+        TabelaDeProcessos tabela = CarregadorDeCarga.carregar(csv);
+
+        assertEquals(3, tabela.tamanho(), "Cabeçalho, comentário e linha vazia não são processos.");
+        assertEquals(new Processo("A", 3, 5, 10, 2, 1).toString(), tabela.paraProcesso(0).toString());
+        assertEquals("Ação", tabela.nome(1), "O nome deveria ser lido em UTF-8 e sem espaços nas pontas.");
+        assertEquals(12, tabela.getTempoTotalCpu(1));
+        assertEquals("C", tabela.nome(2), "A última linha não precisa terminar com quebra de linha.");
+        assertEquals(8, tabela.getTempoTotalCpu(2));
+    }
+
+    @Test
+    public void testBinarioIdaEVolta() throws IOException {
+        TabelaDeProcessos original = new TabelaDeProcessos();
+        for (int i = 0; i < 1000; i++) {
+            original.adicionar("P" + i, 1 + i % 5, i % 7, 10 + i % 13, 1 + i % 4, i);
+        }
+        Path binario = pasta.resolve("carga.bin");
+        CarregadorDeCarga.gravarBinario(original, binario);
+
+        TabelaDeProcessos lida = CarregadorDeCarga.carregar(binario);
+
+        assertEquals(original.tamanho(), lida.tamanho());
+        for (int i = 0; i < original.tamanho(); i++) {
+            assertEquals(original.paraProcesso(i).toString(), lida.paraProcesso(i).toString(), "Registro " + i + " divergente.");
+        }
+    }
+
+    @Test
+    public void testCsvInvalidoInformaALinha() throws IOException {
+        Path csv = pasta.resolve("invalido.csv");
+        Files.write(csv, "A,3,5,10,2,1\nB,4,x,12,3,2\n".getBytes(StandardCharsets.UTF_8));
+
+        IllegalArgumentException erro = assertThrows(IllegalArgumentException.class, () -> CarregadorDeCarga.carregar(csv));
+        assertTrue(erro.getMessage().startsWith("Linha 2"), "A mensagem deveria indicar a linha com erro.");
+    }
+
+    @Test
+    public void testCsvQueComecaComProcNaoViraBinario() throws IOException {
+        Path csv = pasta.resolve("proc.csv");
+        Files.write(csv, "PROCA,3,5,10,2,1\nPROCB,4,2,12,3,2\n".getBytes(StandardCharsets.UTF_8));
+
+        TabelaDeProcessos tabela = CarregadorDeCarga.carregar(csv);
+
+        assertEquals(2, tabela.tamanho());
+        assertEquals("PROCA", tabela.nome(0));
+        assertEquals("PROCB", tabela.nome(1));
+    }
+
+    @Test
+    public void testBinarioTruncadoNaoEhDetectado() throws IOException {
+        TabelaDeProcessos original = new TabelaDeProcessos();
+        original.adicionar("A", 1, 2, 3, 4, 5);
+        original.adicionar("B", 1, 2, 3, 4, 6);
+        Path binario = pasta.resolve("carga.bin");
+        CarregadorDeCarga.gravarBinario(original, binario);
+        byte[] bytes = Files.readAllBytes(binario);
+        Path truncado = pasta.resolve("truncado.bin");
+        Files.write(truncado, Arrays.copyOf(bytes, bytes.length - 1));
+
+        // Sem um cabeçalho que bata com o tamanho do arquivo, o conteúdo é tratado como CSV (e falha como CSV)
+        assertThrows(IllegalArgumentException.class, () -> CarregadorDeCarga.carregar(truncado));
+        IllegalArgumentException erro = assertThrows(IllegalArgumentException.class, () -> CarregadorDeCarga.carregarBinario(truncado));
+        assertTrue(erro.getMessage().contains("truncado"));
+    }
+
+    @Test
+    public void testPrimeiraLinhaInvalidaNaoEhCabecalho() throws IOException {
+        Path csv = pasta.resolve("primeira.csv");
+        Files.write(csv, "# comentario\nA,x,5,10,2,1\nB,4,2,12,3,2\n".getBytes(StandardCharsets.UTF_8));
+
+        IllegalArgumentException erro = assertThrows(IllegalArgumentException.class, () -> CarregadorDeCarga.carregar(csv));
+        assertTrue(erro.getMessage().startsWith("Linha 2"), "A primeira linha malformada deveria ser um erro com o número da linha: " + erro.getMessage());
+
+        Path outroCabecalho = pasta.resolve("outro.csv");
+        Files.write(outroCabecalho, "name,burst,io,total,priority,order\nA,3,5,10,2,1\n".getBytes(StandardCharsets.UTF_8));
+        erro = assertThrows(IllegalArgumentException.class, () -> CarregadorDeCarga.carregar(outroCabecalho));
+        assertTrue(erro.getMessage().startsWith("Linha 1"), "Só o cabeçalho com as colunas esperadas é ignorado.");
+    }
+
+    @Test
+    public void testCabecalhoSoAntesDoPrimeiroProcesso() throws IOException {
+        Path csv = pasta.resolve("cabecalhos.csv");
+        Files.write(csv, (" NOME , SurtoCpu,tempoes,tempoTotalCpu,prioridade,ordem\n"
+                + "A,3,5,10,2,1\n"
+                + "nome,surtoCpu,tempoES,tempoTotalCpu,prioridade,ordem\n").getBytes(StandardCharsets.UTF_8));
+
+        IllegalArgumentException erro = assertThrows(IllegalArgumentException.class, () -> CarregadorDeCarga.carregar(csv));
+        assertTrue(erro.getMessage().startsWith("Linha 3"), "Um segundo cabeçalho no meio dos dados é um erro.");
+    }
+
+    @Test
+    public void testParticoesCobremOArquivo() throws IOException {
+        TabelaDeProcessos original = new TabelaDeProcessos();
+        StringBuilder csv = new StringBuilder("nome,surtoCpu,tempoES,tempoTotalCpu,prioridade,ordem\n");
+        for (int i = 0; i < 1000; i++) {
+            original.adicionar("P" + i, 1 + i % 5, i % 7, 10 + i % 13, 1 + i % 4, i);
+            if (i % 100 == 0) {
+                csv.append("# bloco ").append(i / 100).append('\n');
+            }
+            csv.append("P").append(i).append(',').append(1 + i % 5).append(',').append(i % 7).append(',')
+                    .append(10 + i % 13).append(',').append(1 + i % 4).append(',').append(i).append('\n');
+        }
+        Path binario = pasta.resolve("particoes.bin");
+        CarregadorDeCarga.gravarBinario(original, binario);
+        Path texto = pasta.resolve("particoes.csv");
+        Files.write(texto, csv.toString().getBytes(StandardCharsets.UTF_8));
+
+        for (Path arquivo : new Path[] {binario, texto}) {
+            int total = 0;
+            for (int particao = 0; particao < 3; particao++) {
+                TabelaDeProcessos parte = CarregadorDeCarga.carregar(arquivo, particao, 3);
+                for (int j = 0; j < parte.tamanho(); j++) {
+                    assertEquals(original.paraProcesso(particao + 3 * j).toString(), parte.paraProcesso(j).toString(),
+                            "Registro " + j + " da partição " + particao + " de " + arquivo.getFileName());
+                }
+                total += parte.tamanho();
+            }
+            assertEquals(original.tamanho(), total, "As partições deveriam cobrir o arquivo inteiro.");
+        }
+        assertThrows(IllegalArgumentException.class, () -> CarregadorDeCarga.carregar(binario, 3, 3));
+    }
+}
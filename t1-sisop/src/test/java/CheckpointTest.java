@@ -0,0 +1,75 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import t1.Checkpoint;
+import t1.Escalonador;
+import t1.Processo;
+import t1.SaidaDoEscalonador;
+import t1.SaidaSilenciosa;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CheckpointTest {
+
+    @TempDir
+    Path pasta;
+
+    private static List<Processo> carga(long semente) {
+        Random random = new Random(semente);
+        List<Processo> processos = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            processos.add(new Processo("P" + i, 1 + random.nextInt(6), random.nextInt(25), 1 + random.nextInt(50), 1 + random.nextInt(6), random.nextInt(30)));
+        }
+        return processos;
+    }
+
+    // Saída que derruba a simulação no primeiro evento depois do instante limite, como uma queda da JVM
+    private static SaidaDoEscalonador quedaApos(int limite) {
+        return (tipo, tempo, p) -> {
+            if (tempo > limite) {
+                throw new IllegalStateException("Queda simulada no tempo " + tempo);
+            }
+        };
+    }
+
+    @Test
+    public void testRetomarDepoisDeQuedaDaMesmoResultado() throws IOException {
+        for (long semente = 1; semente <= 10; semente++) {
+            List<Processo> ininterrupta = carga(semente);
+            Escalonador referencia = new Escalonador(ininterrupta, SaidaSilenciosa.INSTANCIA);
+            referencia.iniciarEscalonamento();
+
+            Path arquivo = pasta.resolve("simulacao-" + semente + ".ckpt");
+            Escalonador interrompido = new Escalonador(carga(semente), quedaApos(referencia.getTempo() / 2));
+            interrompido.setCheckpoints(arquivo, 17);
+            assertThrows(IllegalStateException.class, interrompido::iniciarEscalonamento);
+            assertTrue(Files.exists(arquivo), "Deveria haver um checkpoint antes da queda.");
+
+            Escalonador retomado = Checkpoint.retomar(arquivo, SaidaSilenciosa.INSTANCIA);
+            assertTrue(retomado.getTempo() > 1, "O checkpoint deveria ser de um ponto no meio da simulação.");
+            retomado.iniciarEscalonamento();
+
+            assertEquals(referencia.getTempo(), retomado.getTempo(), "Tempo final divergente na semente " + semente);
+            for (int i = 0; i < ininterrupta.size(); i++) {
+                Processo esperado = ininterrupta.get(i);
+                Processo obtido = retomado.getProcessos().get(i);
+                assertEquals(esperado.toString(), obtido.toString(), "Processo divergente na semente " + semente);
+                assertEquals(esperado.getTempoDeInicio(), obtido.getTempoDeInicio());
+                assertEquals(esperado.getBloqueios(), obtido.getBloqueios());
+            }
+        }
+    }
+
+    @Test
+    public void testArquivoInvalidoERejeitado() throws IOException {
+        Path arquivo = pasta.resolve("lixo.ckpt");
+        Files.write(arquivo, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16});
+        assertThrows(IllegalArgumentException.class, () -> Checkpoint.retomar(arquivo, SaidaSilenciosa.INSTANCIA));
+    }
+}
@@ -0,0 +1,88 @@
+import org.junit.jupiter.api.Test;
+import t1.ColetorDeMetricas;
+import t1.Escalonador;
+import t1.EstadoProcesso;
+import t1.Processo;
+import t1.SaidaDoEscalonador;
+import t1.SaidaSilenciosa;
+import t1.TipoDeEvento;
+
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChegadasTest {
+
+    @Test
+    public void testTodosChegandoNoInicioIgualAoSistemaFechado() {
+        List<Processo> fechado = CargasDeTeste.cargaAleatoria(21, 120);
+        List<Processo> aberto = CargasDeTeste.cargaAleatoria(21, 120);
+        new Escalonador(fechado, SaidaSilenciosa.INSTANCIA).iniciarEscalonamento();
+        Escalonador escalonador = new Escalonador(aberto.iterator(), SaidaSilenciosa.INSTANCIA);
+        escalonador.iniciarEscalonamento();
+
+        for (int i = 0; i < fechado.size(); i++) {
+            assertEquals(EstadoProcesso.FINALIZADO, aberto.get(i).getEstado());
+            assertEquals(fechado.get(i).getTempoDeInicio(), aberto.get(i).getTempoDeInicio(), "Início de " + fechado.get(i).getNome());
+            assertEquals(fechado.get(i).getTurnaroundTime(), aberto.get(i).getTurnaroundTime(), "Turnaround de " + fechado.get(i).getNome());
+        }
+        assertEquals(fechado.size(), escalonador.getRetirados());
+        assertTrue(escalonador.getProcessos().isEmpty(), "Os finalizados saem do escalonador.");
+    }
+
+    @Test
+    public void testFluxoLongoComMemoriaLimitadaAosVivos() {
+        // 200 mil processos gerados sob demanda, um a cada 3ms, cada um com no máximo 2ms de CPU
+        int total = 200_000;
+        int[] entregues = new int[1];
+        Iterator<Processo> fluxo = new Iterator<Processo>() {
+            @Override
+            public boolean hasNext() {
+                return entregues[0] < total;
+            }
+
+            @Override
+            public Processo next() {
+                int i = entregues[0]++;
+                Processo p = new Processo("P" + i, 2, 1, 1 + i % 2, 1 + i % 3, i);
+                p.setChegada(1 + 3 * i);
+                return p;
+            }
+        };
+        ColetorDeMetricas metricas = new ColetorDeMetricas();
+        int[] maisVivos = new int[1];
+        SaidaDoEscalonador saida = new SaidaDoEscalonador() {
+            @Override
+            public void registrar(TipoDeEvento tipo, int tempo, Processo p) {
+                metricas.registrar(tipo, tempo, p);
+                if (tipo == TipoDeEvento.PROCESSO_FINALIZADO) {
+                    maisVivos[0] = Math.max(maisVivos[0], entregues[0] - (int) metricas.getFinalizados());
+                }
+            }
+
+            @Override
+            public boolean aceita(TipoDeEvento tipo) {
+                return metricas.aceita(tipo);
+            }
+        };
+
+        Escalonador escalonador = new Escalonador(fluxo, saida);
+        escalonador.iniciarEscalonamento();
+
+        assertEquals(total, metricas.getFinalizados());
+        assertEquals(total, escalonador.getRetirados());
+        assertTrue(maisVivos[0] <= 3, "Vivos ao mesmo tempo: " + maisVivos[0]);
+        assertTrue(metricas.getResposta().getMaximo() <= 3, "Com o sistema folgado, cada processo executa logo que chega.");
+    }
+
+    @Test
+    public void testChegadasForaDeOrdemSaoRecusadas() {
+        Processo a = new Processo("A", 2, 0, 4, 1, 1);
+        Processo b = new Processo("B", 2, 0, 4, 1, 2);
+        a.setChegada(10);
+        b.setChegada(5);
+        Escalonador escalonador = new Escalonador(List.of(a, b).iterator(), SaidaSilenciosa.INSTANCIA);
+        assertThrows(IllegalArgumentException.class, escalonador::iniciarEscalonamento);
+    }
+}
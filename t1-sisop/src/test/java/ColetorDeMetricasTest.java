@@ -0,0 +1,139 @@
+import org.junit.jupiter.api.Test;
+import t1.ColetorDeMetricas;
+import t1.Escalonador;
+import t1.EscalonadorCompacto;
+import t1.HistogramaLogaritmico;
+import t1.Processo;
+import t1.TabelaDeProcessos;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ColetorDeMetricasTest {
+
+    @Test
+    public void testPercentisDentroDaPrecisao() {
+        Random random = new Random(11);
+        HistogramaLogaritmico histograma = new HistogramaLogaritmico();
+        long[] valores = new long[100000];
+        for (int i = 0; i < valores.length; i++) {
+            valores[i] = (long) Math.exp(random.nextDouble() * 20); // De 1 a ~500 milhões
+            histograma.registrar(valores[i]);
+        }
+        Arrays.sort(valores);
+
+        for (double percentil : new double[]{50, 90, 99, 99.9}) {
+            long exato = valores[(int) Math.ceil(percentil / 100 * valores.length) - 1];
+            long aproximado = histograma.percentil(percentil);
+            assertTrue(Math.abs(aproximado - exato) <= exato * 0.04, "p" + percentil + ": esperado ~" + exato + ", obtido " + aproximado);
+        }
+        assertEquals(valores[0], histograma.getMinimo());
+        assertEquals(valores[valores.length - 1], histograma.getMaximo());
+        assertEquals(valores[valores.length - 1], histograma.percentil(100));
+    }
+
+    @Test
+    public void testValoresPequenosSaoExatos() {
+        HistogramaLogaritmico histograma = new HistogramaLogaritmico();
+        for (int v = 1; v <= 20; v++) {
+            histograma.registrar(v);
+        }
+        assertEquals(10, histograma.percentil(50), "Abaixo de 32 cada valor tem sua própria faixa.");
+        assertEquals(20, histograma.percentil(99));
+        assertEquals(10.5, histograma.getMedia(), 1e-9);
+    }
+
+    @Test
+    public void testMetricasDeUmProcesso() {
+        // Um único processo com 5 créditos: executa 4ms, bloqueia 3ms e depois executa os 2ms restantes
+        Processo p = new Processo("A", 4, 3, 6, 5, 1);
+        ColetorDeMetricas metricas = new ColetorDeMetricas();
+        new Escalonador(List.of(p), metricas).iniciarEscalonamento();
+
+        assertEquals(1, metricas.getFinalizados());
+        assertEquals(p.getTurnaroundTime(), metricas.getTurnaround().getMaximo());
+        assertEquals(0, metricas.getResposta().getMaximo(), "O processo é executado assim que a simulação começa.");
+        assertEquals(1, p.getBloqueios());
+        assertTrue(metricas.getUtilizacao() > 0 && metricas.getUtilizacao() <= 1.0);
+    }
+
+    @Test
+    public void testTurnaroundContaAEsperaAntesDoPrimeiroDespacho() {
+        // A ocupa a CPU do tempo 1 ao 11; B só é despachado no 12 e termina no 15
+        Processo a = new Processo("A", 10, 0, 10, 10, 1);
+        Processo b = new Processo("B", 3, 0, 3, 5, 2);
+        ColetorDeMetricas metricas = new ColetorDeMetricas();
+        new Escalonador(List.of(a, b), metricas).iniciarEscalonamento();
+
+        assertEquals(12, b.getTempoDeInicio());
+        assertEquals(3, b.getTurnaroundTime(), "O turnaround do Processo começa no primeiro despacho");
+        assertEquals(10, metricas.getTurnaround().getMinimo());
+        assertEquals(14, metricas.getTurnaround().getMaximo(), "O turnaround das métricas começa no envio (tempo 1)");
+        assertEquals(11, metricas.getResposta().getMaximo());
+    }
+
+    @Test
+    public void testMesmasMetricasNoEscalonadorCompacto() {
+        Random random = new Random(5);
+        List<Processo> processos = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            processos.add(new Processo("P" + i, 1 + random.nextInt(6), random.nextInt(20), 1 + random.nextInt(40), 1 + random.nextInt(6), i));
+        }
+        TabelaDeProcessos tabela = TabelaDeProcessos.de(processos);
+
+        ColetorDeMetricas porTicks = new ColetorDeMetricas();
+        new Escalonador(processos, porTicks).iniciarEscalonamento();
+        ColetorDeMetricas compacto = new ColetorDeMetricas();
+        new EscalonadorCompacto(tabela, compacto).iniciarEscalonamento();
+
+        assertEquals(porTicks.getFinalizados(), compacto.getFinalizados());
+        assertEquals(porTicks.getUtilizacao(), compacto.getUtilizacao(), 1e-12);
+        assertEquals(porTicks.getEspera().getMedia(), compacto.getEspera().getMedia(), 1e-9, "Tempo de espera divergente.");
+        assertEquals(porTicks.getResposta().percentil(99), compacto.getResposta().percentil(99));
+        assertEquals(porTicks.getTurnaround().percentil(50), compacto.getTurnaround().percentil(50));
+    }
+
+    @Test
+    public void testJuntarMetricasGravadasEmPartes() throws IOException {
+        List<Processo> processos = CargasDeTeste.cargaAleatoria(9, 300);
+        ColetorDeMetricas inteiro = new ColetorDeMetricas();
+        ColetorDeMetricas[] partes = {new ColetorDeMetricas(), new ColetorDeMetricas()};
+        new Escalonador(processos, (tipo, tempo, p) -> {
+            inteiro.registrar(tipo, tempo, p);
+            partes[p == null ? 0 : p.getOrdem() % 2].registrar(tipo, tempo, p);
+        }).iniciarEscalonamento();
+
+        // As partes passam por bytes, como as métricas de um trabalhador do CoordenadorDistribuido
+        ColetorDeMetricas juntas = new ColetorDeMetricas();
+        for (ColetorDeMetricas parte : partes) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            parte.escrever(new DataOutputStream(bytes));
+            juntas.juntar(ColetorDeMetricas.ler(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))));
+        }
+
+        assertEquals(inteiro.getFinalizados(), juntas.getFinalizados());
+        assertEquals(inteiro.getVazao(), juntas.getVazao(), 1e-12);
+        assertEquals(inteiro.getUtilizacao(), juntas.getUtilizacao(), 1e-12);
+        HistogramaLogaritmico[][] pares = {
+                {inteiro.getTurnaround(), juntas.getTurnaround()},
+                {inteiro.getResposta(), juntas.getResposta()},
+                {inteiro.getEspera(), juntas.getEspera()}};
+        for (HistogramaLogaritmico[] par : pares) {
+            assertEquals(par[0].getQuantidade(), par[1].getQuantidade());
+            assertEquals(par[0].getMedia(), par[1].getMedia(), 1e-9);
+            assertEquals(par[0].getMinimo(), par[1].getMinimo());
+            assertEquals(par[0].getMaximo(), par[1].getMaximo());
+            assertEquals(par[0].percentil(50), par[1].percentil(50));
+            assertEquals(par[0].percentil(99), par[1].percentil(99));
+        }
+    }
+}
@@ -0,0 +1,40 @@
+import org.junit.jupiter.api.Test;
+import t1.ComparacaoDiferencial;
+import t1.ComparacaoDiferencial.Motor;
+import t1.Processo;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ComparacaoDiferencialTest {
+
+    @Test
+    public void testMotoresOtimizadosIguaisAReferencia() {
+        for (String motor : new String[] {"EVENTOS", "COMPACTO"}) {
+            ComparacaoDiferencial.Divergencia divergencia = new ComparacaoDiferencial(Motor.porNome(motor)).procurar(2024, 150);
+            assertNull(divergencia, () -> motor + " divergiu: " + divergencia);
+        }
+    }
+
+    @Test
+    public void testDivergenciaEncolhidaAteOEmpate() {
+        // Inverter a lista troca o desempate entre processos de mesma ordem
+        Motor invertido = (processos, saida) -> {
+            List<Processo> inversa = new ArrayList<>(processos);
+            Collections.reverse(inversa);
+            return Motor.REFERENCIA.simular(inversa, saida);
+        };
+        ComparacaoDiferencial.Divergencia divergencia = new ComparacaoDiferencial(invertido).procurar(5, 50);
+
+        assertNotNull(divergencia, "O desempate invertido deveria divergir");
+        List<Processo> minima = divergencia.getCarga();
+        assertEquals(2, minima.size(), "Dois processos empatados bastam: " + divergencia);
+        assertEquals(minima.get(0).getOrdem(), minima.get(1).getOrdem());
+        assertTrue(divergencia.getProcessosOriginais() > 2);
+        assertTrue(divergencia.getDescricao().startsWith("decisão 0"), divergencia.getDescricao());
+        assertNotNull(new ComparacaoDiferencial(invertido).comparar(minima), "A carga mínima ainda reproduz a divergência");
+    }
+}
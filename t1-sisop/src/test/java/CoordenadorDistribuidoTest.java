@@ -0,0 +1,101 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import t1.CarregadorDeCarga;
+import t1.ColetorDeMetricas;
+import t1.CoordenadorDistribuido;
+import t1.Escalonador;
+import t1.GeradorDeCarga;
+import t1.HistogramaLogaritmico;
+import t1.PoliticaDeEscalonamento;
+import t1.Processo;
+import t1.TabelaDeProcessos;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CoordenadorDistribuidoTest {
+
+    @TempDir
+    Path pasta;
+
+    private static GeradorDeCarga gerador() {
+        return new GeradorDeCarga().semente(5).quantidade(200);
+    }
+
+    private static List<Processo> carga() {
+        return gerador().stream().collect(Collectors.toList());
+    }
+
+    private static void assertMesmoHistograma(String nome, HistogramaLogaritmico esperado, HistogramaLogaritmico obtido) {
+        assertEquals(esperado.getQuantidade(), obtido.getQuantidade(), nome);
+        assertEquals(esperado.getMedia(), obtido.getMedia(), 1e-9, nome);
+        assertEquals(esperado.getMinimo(), obtido.getMinimo(), nome);
+        assertEquals(esperado.getMaximo(), obtido.getMaximo(), nome);
+        assertEquals(esperado.percentil(50), obtido.percentil(50), nome);
+        assertEquals(esperado.percentil(99), obtido.percentil(99), nome);
+    }
+
+    private static void assertMesmasMetricas(ColetorDeMetricas esperado, ColetorDeMetricas obtido) {
+        assertEquals(esperado.getFinalizados(), obtido.getFinalizados());
+        assertEquals(esperado.getVazao(), obtido.getVazao(), 1e-12, "Vazão (e tempo final)");
+        assertMesmoHistograma("Turnaround", esperado.getTurnaround(), obtido.getTurnaround());
+        assertMesmoHistograma("Resposta", esperado.getResposta(), obtido.getResposta());
+        assertMesmoHistograma("Espera", esperado.getEspera(), obtido.getEspera());
+    }
+
+    private static ColetorDeMetricas distribuir(CoordenadorDistribuido coordenador, int janela, boolean emThreads) throws IOException {
+        coordenador.setJanela(janela);
+        coordenador.setEmThreads(emThreads);
+        ColetorDeMetricas metricas = new ColetorDeMetricas();
+        assertEquals(coordenador.executar(metricas), coordenador.getTempoFinal());
+        assertEquals(200, metricas.getFinalizados(), "Todos os processos devem terminar");
+        return metricas;
+    }
+
+    private static ColetorDeMetricas distribuir(int trabalhadores, String politica, int janela, boolean emThreads) throws IOException {
+        return distribuir(new CoordenadorDistribuido(carga(), trabalhadores, politica), janela, emThreads);
+    }
+
+    @Test
+    public void testUmTrabalhadorIgualAoEscalonador() throws IOException {
+        for (String politica : new String[] {"CREDITOS", "CFS"}) {
+            ColetorDeMetricas esperado = new ColetorDeMetricas();
+            Escalonador escalonador = new Escalonador(carga(), esperado, PoliticaDeEscalonamento.porNome(politica));
+            escalonador.iniciarEscalonamento();
+            CoordenadorDistribuido coordenador = new CoordenadorDistribuido(carga(), 1, politica);
+            assertMesmasMetricas(esperado, distribuir(coordenador, 100, true));
+            assertEquals(escalonador.getTempo(), coordenador.getTempoFinal(), "Tempo final com a política " + politica);
+        }
+    }
+
+    @Test
+    public void testResultadoNaoDependeDaJanela() throws IOException {
+        ColetorDeMetricas grande = distribuir(3, null, 5000, true);
+        assertMesmasMetricas(grande, distribuir(3, null, 1, true));
+        assertMesmasMetricas(grande, distribuir(3, null, 37, true));
+    }
+
+    @Test
+    public void testTrabalhadoresMontamAsPropriasParticoes() throws IOException {
+        ColetorDeMetricas lista = distribuir(3, null, 100, true);
+
+        assertMesmasMetricas(lista, distribuir(CoordenadorDistribuido.doGerador(gerador(), 3, null), 100, true));
+
+        Path binario = pasta.resolve("carga.bin");
+        CarregadorDeCarga.gravarBinario(TabelaDeProcessos.de(carga()), binario);
+        assertMesmasMetricas(lista, distribuir(CoordenadorDistribuido.deArquivo(binario, 3, null), 100, true));
+
+        assertThrows(IllegalArgumentException.class, () -> CoordenadorDistribuido.deArquivo(pasta.resolve("nao-existe.csv"), 3, null));
+        assertThrows(IllegalArgumentException.class, () -> CoordenadorDistribuido.doGerador(new GeradorDeCarga(), 3, null),
+                "Um gerador sem fim não pode ser repartido");
+    }
+
+    @Test
+    public void testTrabalhadoresEmOutrasJvms() throws IOException {
+        assertMesmasMetricas(distribuir(2, null, 1000, true), distribuir(CoordenadorDistribuido.doGerador(gerador(), 2, null), 1000, false));
+    }
+}
@@ -0,0 +1,155 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import t1.ColetorDeMetricas;
+import t1.DaemonDeSimulacao;
+import t1.Escalonador;
+import t1.Processo;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DaemonDeSimulacaoTest {
+
+    private static final String PROCESSOS = "A,3,5,10,2,1\nB,4,2,12,3,2\nC,2,6,8,1,3\nD,5,4,15,4,4\n";
+
+    private static List<String> linhasDe(String texto, String prefixo) {
+        return Arrays.stream(texto.split("\n")).filter(l -> l.startsWith(prefixo)).collect(Collectors.toList());
+    }
+
+    @Test
+    public void testCenariosPelaEntrada() throws Exception {
+        String entrada = "# dois cenários iguais, um com CFS e um inválido\n"
+                + "cenario um\n" + PROCESSOS + "fim\n"
+                + "cenario dois\n" + PROCESSOS + "fim\n"
+                + "cenario tres politica=CFS\n" + PROCESSOS + "fim\n"
+                + "cenario ruim\nX,1,2\nfim\n";
+        StringWriter saida = new StringWriter();
+        new DaemonDeSimulacao().atender(new BufferedReader(new StringReader(entrada)), saida);
+        String resposta = saida.toString();
+
+        List<Processo> processos = new ArrayList<>(List.of(new Processo("A", 3, 5, 10, 2, 1), new Processo("B", 4, 2, 12, 3, 2),
+                new Processo("C", 2, 6, 8, 1, 3), new Processo("D", 5, 4, 15, 4, 4)));
+        ColetorDeMetricas metricas = new ColetorDeMetricas();
+        Escalonador escalonador = new Escalonador(processos, metricas);
+        escalonador.iniciarEscalonamento();
+
+        for (String id : new String[] {"um", "dois"}) {
+            List<String> resultado = linhasDe(resposta, "resultado " + id + " ");
+            assertEquals(1, resultado.size(), "Uma resposta por cenário");
+            assertTrue(resultado.get(0).contains(" tempo=" + escalonador.getTempo() + " finalizados=4 "), resultado.get(0));
+            for (Processo p : processos) {
+                assertTrue(resposta.contains("processo " + id + " " + p.getNome() + " FINALIZADO inicio=" + p.getTempoDeInicio()
+                        + " turnaround=" + p.getTurnaroundTime() + " "), "Processo " + p.getNome() + " no cenário " + id);
+            }
+        }
+        assertEquals(1, linhasDe(resposta, "resultado tres ").size());
+        assertEquals(1, linhasDe(resposta, "erro ruim ").size());
+    }
+
+    @Test
+    public void testProcessosInvalidosRespondemComErro() throws Exception {
+        String entrada = "cenario prioridade\nA,3,5,10,0,1\nfim\n"
+                + "cenario surto\nA,0,5,10,2,1\nfim\n"
+                + "cenario negativo\nA,3,5,10,-4,1\nfim\n"
+                + "cenario bom\n" + PROCESSOS + "fim\n";
+        StringWriter saida = new StringWriter();
+        new DaemonDeSimulacao().atender(new BufferedReader(new StringReader(entrada)), saida);
+        String resposta = saida.toString();
+
+        for (String id : new String[] {"prioridade", "surto", "negativo"}) {
+            List<String> erro = linhasDe(resposta, "erro " + id + " ");
+            assertEquals(1, erro.size(), "Uma linha de erro para o cenário " + id);
+            assertEquals(List.of(), linhasDe(resposta, "processo " + id + " "));
+        }
+        assertTrue(linhasDe(resposta, "erro prioridade ").get(0).contains("prioridade 0"));
+        assertTrue(linhasDe(resposta, "erro surto ").get(0).contains("surto 0"));
+        assertEquals(1, linhasDe(resposta, "resultado bom ").size());
+    }
+
+    @Test
+    public void testCenarioQueEstouraOLimiteRecebeErro() throws Exception {
+        // Um processo de ~2 bilhões de ms simulados não termina em 200ms de relógio
+        String entrada = "cenario longo limite=200\nA,5,0,2000000000,3,1\nfim\n"
+                + "cenario curto\n" + PROCESSOS + "fim\n";
+        StringWriter saida = new StringWriter();
+        DaemonDeSimulacao daemon = new DaemonDeSimulacao().setLimitePorCenario(30_000);
+        long inicio = System.nanoTime();
+        daemon.atender(new BufferedReader(new StringReader(entrada)), saida);
+        long decorrido = (System.nanoTime() - inicio) / 1_000_000;
+        String resposta = saida.toString();
+
+        assertTrue(decorrido < 10_000, "atender não pode esperar o fim do cenário longo (" + decorrido + "ms)");
+        assertEquals(List.of("erro longo tempo limite de 200ms excedido"), linhasDe(resposta, "erro longo "));
+        assertEquals(List.of(), linhasDe(resposta, "resultado longo "));
+        assertEquals(1, linhasDe(resposta, "resultado curto ").size());
+        assertThrows(IllegalArgumentException.class, () -> daemon.setLimitePorCenario(0));
+    }
+
+    // O arquivo do socket aparece um pouco antes de o servidor aceitar conexões
+    private static SocketChannel conectar(Path socket) throws Exception {
+        for (int tentativa = 0; ; tentativa++) {
+            SocketChannel canal = SocketChannel.open(StandardProtocolFamily.UNIX);
+            try {
+                canal.connect(UnixDomainSocketAddress.of(socket));
+                return canal;
+            } catch (java.io.IOException e) {
+                canal.close();
+                if (tentativa == 200) {
+                    throw e;
+                }
+                Thread.sleep(10);
+            }
+        }
+    }
+
+    @Test
+    public void testCenariosPeloSocket(@TempDir Path diretorio) throws Exception {
+        Path socket = diretorio.resolve("daemon.sock");
+        DaemonDeSimulacao daemon = new DaemonDeSimulacao();
+        Thread servidor = new Thread(() -> {
+            try {
+                daemon.escutar(socket);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        servidor.start();
+        try {
+            try (SocketChannel canal = conectar(socket)) {
+                Writer escrita = Channels.newWriter(canal, StandardCharsets.UTF_8);
+                escrita.write("cenario s1\n" + PROCESSOS + "fim\n");
+                escrita.flush();
+                BufferedReader leitura = new BufferedReader(Channels.newReader(canal, StandardCharsets.UTF_8));
+                String linha;
+                int processos = 0;
+                while ((linha = leitura.readLine()) != null && !linha.startsWith("resultado")) {
+                    assertTrue(linha.startsWith("processo s1 "), linha);
+                    processos++;
+                }
+                assertEquals(4, processos);
+                assertNotNull(linha, "O resultado chega antes de o cliente fechar a conexão");
+                assertTrue(linha.startsWith("resultado s1 ") && linha.contains(" finalizados=4 "), linha);
+            }
+        } finally {
+            daemon.close();
+            servidor.join(5000);
+        }
+        assertFalse(servidor.isAlive(), "close() encerra o laço de conexões");
+        assertFalse(Files.exists(socket));
+    }
+}
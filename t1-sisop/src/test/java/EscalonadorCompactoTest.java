@@ -0,0 +1,112 @@
+import org.junit.jupiter.api.Test;
+import t1.Escalonador;
+import t1.EscalonadorCompacto;
+import t1.EstadoProcesso;
+import t1.Processo;
+import t1.SaidaSilenciosa;
+import t1.TabelaDeProcessos;
+import t1.TipoDeEvento;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EscalonadorCompactoTest {
+
+    @Test
+    public void testTabelaTerminaIgualAoEscalonador() {
+        for (long semente = 1; semente <= 20; semente++) {
+            List<Processo> porTicks = CargasDeTeste.cargaAleatoria(semente, 12);
+            Escalonador escalonador = new Escalonador(porTicks, SaidaSilenciosa.INSTANCIA);
+            escalonador.iniciarEscalonamento();
+
+            TabelaDeProcessos tabela = TabelaDeProcessos.de(CargasDeTeste.cargaAleatoria(semente, 12));
+            EscalonadorCompacto compacto = new EscalonadorCompacto(tabela);
+            compacto.iniciarEscalonamento();
+
+            assertEquals(escalonador.getTempo(), compacto.getTempo(), "Tempo final divergente na semente " + semente);
+            for (int i = 0; i < porTicks.size(); i++) {
+                Processo resultado = tabela.paraProcesso(i);
+                assertEquals(porTicks.get(i).toString(), resultado.toString(), "Processo divergente na semente " + semente);
+                assertEquals(porTicks.get(i).getTempoDeInicio(), resultado.getTempoDeInicio());
+            }
+        }
+    }
+
+    @Test
+    public void testTabelaGuardaNomesECresce() {
+        TabelaDeProcessos tabela = new TabelaDeProcessos(1);
+        for (int i = 0; i < 100; i++) {
+            tabela.adicionar("Processo-" + i + "-ç", 2, 0, 4, 1 + i % 5, i);
+        }
+
+        assertEquals(100, tabela.tamanho());
+        assertEquals("Processo-42-ç", tabela.nome(42), "O nome deveria sobreviver ao crescimento da tabela.");
+        assertEquals(EstadoProcesso.PRONTO, tabela.getEstado(99));
+
+        new EscalonadorCompacto(tabela).iniciarEscalonamento();
+        for (int i = 0; i < tabela.tamanho(); i++) {
+            assertEquals(EstadoProcesso.FINALIZADO, tabela.getEstado(i), "Todos os processos deveriam terminar.");
+        }
+    }
+
+    @Test
+    public void testTabelaCresceDepoisDeCriarOEscalonador() {
+        TabelaDeProcessos antes = new TabelaDeProcessos(1);
+        TabelaDeProcessos depois = new TabelaDeProcessos(1);
+        antes.adicionar("P0", 2, 3, 7, 2, 0);
+        depois.adicionar("P0", 2, 3, 7, 2, 0);
+        EscalonadorCompacto criadoAntes = new EscalonadorCompacto(antes);
+        for (int i = 1; i < 200; i++) {
+            antes.adicionar("P" + i, 1 + i % 4, i % 3, 5 + i % 11, 1 + i % 6, i);
+            depois.adicionar("P" + i, 1 + i % 4, i % 3, 5 + i % 11, 1 + i % 6, i);
+        }
+        criadoAntes.iniciarEscalonamento();
+        EscalonadorCompacto criadoDepois = new EscalonadorCompacto(depois);
+        criadoDepois.iniciarEscalonamento();
+
+        assertEquals(criadoDepois.getTempo(), criadoAntes.getTempo());
+        for (int i = 0; i < 200; i++) {
+            assertEquals(depois.paraProcesso(i).toString(), antes.paraProcesso(i).toString(), "Processo " + i);
+        }
+    }
+
+    @Test
+    public void testProcessosAcrescentadosDuranteAExecucao() {
+        TabelaDeProcessos tabela = new TabelaDeProcessos(1);
+        tabela.adicionar("P0", 3, 2, 9, 3, 0);
+        // Cada processo que termina cria mais dois, até 500: a tabela troca de vetores no meio dos eventos
+        EscalonadorCompacto escalonador = new EscalonadorCompacto(tabela, (tipo, tempo, p) -> {
+            for (int i = 0; i < 2 && tipo == TipoDeEvento.PROCESSO_FINALIZADO && tabela.tamanho() < 500; i++) {
+                int n = tabela.tamanho();
+                tabela.adicionar("P" + n, 1 + n % 5, n % 4, 3 + n % 13, 1 + n % 7, n);
+            }
+        });
+        escalonador.iniciarEscalonamento();
+
+        assertEquals(500, tabela.tamanho());
+        for (int i = 0; i < tabela.tamanho(); i++) {
+            assertEquals(EstadoProcesso.FINALIZADO, tabela.getEstado(i), "Processo " + i);
+            assertEquals(0, tabela.paraProcesso(i).getTempoTotalCpu(), "O processo " + i + " deveria ter usado toda a CPU");
+        }
+    }
+
+    @Test
+    public void testPrioridadeEnormeNaoAlocaUmBaldePorCredito() {
+        List<Processo> porTicks = List.of(new Processo("A", 2, 0, 4, 2_000_000_000, 1),
+                new Processo("B", 3, 1, 5, 1_999_999_999, 2), new Processo("C", 1, 0, 3, 5_000, 3));
+        Escalonador escalonador = new Escalonador(porTicks, SaidaSilenciosa.INSTANCIA);
+        escalonador.iniciarEscalonamento();
+
+        TabelaDeProcessos tabela = TabelaDeProcessos.de(List.of(new Processo("A", 2, 0, 4, 2_000_000_000, 1),
+                new Processo("B", 3, 1, 5, 1_999_999_999, 2), new Processo("C", 1, 0, 3, 5_000, 3)));
+        EscalonadorCompacto compacto = new EscalonadorCompacto(tabela);
+        compacto.iniciarEscalonamento();
+
+        assertEquals(escalonador.getTempo(), compacto.getTempo());
+        for (int i = 0; i < porTicks.size(); i++) {
+            assertEquals(porTicks.get(i).toString(), tabela.paraProcesso(i).toString(), "Processo " + i);
+            assertEquals(porTicks.get(i).getTempoDeInicio(), tabela.paraProcesso(i).getTempoDeInicio(), "Início do processo " + i);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+import org.junit.jupiter.api.Test;
+import t1.EscalonadorMultiNucleo;
+import t1.EstadoProcesso;
+import t1.Processo;
+import t1.SaidaDeTexto;
+import t1.SaidaSilenciosa;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EscalonadorMultiNucleoTest {
+
+    private static List<Processo> carga(long semente, int quantidade) {
+        Random random = new Random(semente);
+        List<Processo> processos = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            processos.add(new Processo("P" + i, 1 + random.nextInt(8), random.nextInt(20), 1 + random.nextInt(60), 1 + random.nextInt(6), i));
+        }
+        return processos;
+    }
+
+    @Test
+    public void testTodosOsProcessosTerminam() {
+        List<Processo> processos = carga(3, 40);
+        EscalonadorMultiNucleo escalonador = new EscalonadorMultiNucleo(processos, 8, SaidaSilenciosa.INSTANCIA);
+        escalonador.iniciarEscalonamento();
+
+        for (Processo p : processos) {
+            assertEquals(EstadoProcesso.FINALIZADO, p.getEstado(), "Todos os processos deveriam terminar.");
+            assertEquals(0, p.getTempoTotalCpu());
+        }
+        for (int i = 0; i < escalonador.getQuantidadeDeNucleos(); i++) {
+            assertTrue(escalonador.getUtilizacao(i) > 0 && escalonador.getUtilizacao(i) <= 1.0, "Utilização fora do intervalo no núcleo " + i);
+        }
+    }
+
+    @Test
+    public void testSaltosIguaisAosPassosDeUmMilissegundo() {
+        for (int nucleos : new int[] {1, 3, 16}) {
+            // A saída de texto pede CPU_EXECUTADA, então a simulação anda de 1 em 1ms
+            List<Processo> passos = carga(11, 200);
+            EscalonadorMultiNucleo a = new EscalonadorMultiNucleo(passos, nucleos, new SaidaDeTexto(new PrintStream(OutputStream.nullOutputStream())));
+            a.iniciarEscalonamento();
+
+            List<Processo> saltos = carga(11, 200);
+            EscalonadorMultiNucleo b = new EscalonadorMultiNucleo(saltos, nucleos, SaidaSilenciosa.INSTANCIA);
+            b.iniciarEscalonamento();
+
+            assertEquals(a.getTempo(), b.getTempo(), "O tempo final não deveria depender dos saltos com " + nucleos + " núcleos.");
+            assertEquals(a.getMigracoes(), b.getMigracoes());
+            for (int i = 0; i < nucleos; i++) {
+                assertEquals(a.getUtilizacao(i), b.getUtilizacao(i), "Utilização do núcleo " + i);
+            }
+            for (int i = 0; i < passos.size(); i++) {
+                assertEquals(passos.get(i).toString(), saltos.get(i).toString());
+                assertEquals(passos.get(i).getTempoDeInicio(), saltos.get(i).getTempoDeInicio(), "Início de " + passos.get(i).getNome());
+            }
+        }
+    }
+
+    @Test
+    public void testNucleoOciosoRoubaTrabalho() {
+        // Com a distribuição circular, o núcleo 1 recebe só o processo B, que termina logo
+        List<Processo> processos = new ArrayList<>();
+        processos.add(new Processo("A", 5, 0, 40, 5, 1));
+        processos.add(new Processo("B", 1, 0, 1, 5, 2));
+        processos.add(new Processo("C", 5, 0, 40, 5, 3));
+        EscalonadorMultiNucleo escalonador = new EscalonadorMultiNucleo(processos, 2, SaidaSilenciosa.INSTANCIA);
+        escalonador.iniciarEscalonamento();
+
+        assertTrue(escalonador.getMigracoes(1) > 0, "O núcleo 1 deveria roubar processos do núcleo 0.");
+    }
+}
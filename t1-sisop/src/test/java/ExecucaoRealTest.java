@@ -0,0 +1,62 @@
+import org.junit.jupiter.api.Test;
+import t1.EstadoProcesso;
+import t1.ExecucaoReal;
+import t1.PoliticaDeCreditos;
+import t1.Processo;
+import t1.SaidaDoEscalonador;
+import t1.TarefaReal;
+import t1.TipoDeEvento;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExecucaoRealTest {
+
+    private static final long UNIDADE = 200_000; // 0,2ms por unidade para o teste ser rápido
+
+    @Test
+    public void testTarefasReaisSeguemOsCreditos() throws InterruptedException {
+        List<String> selecionados = new ArrayList<>();
+        SaidaDoEscalonador saida = (tipo, tempo, p) -> {
+            if (tipo == TipoDeEvento.PROCESSO_SELECIONADO) {
+                selecionados.add(p.getNome());
+            }
+        };
+        List<Processo> processos = List.of(
+                new Processo("A", 3, 0, 10, 2, 1),
+                new Processo("B", 4, 2, 12, 3, 2),
+                new Processo("C", 2, 0, 8, 1, 3),
+                new Processo("D", 5, 4, 15, 4, 4));
+        ExecucaoReal execucao = new ExecucaoReal(UNIDADE, new PoliticaDeCreditos(), saida);
+        for (Processo p : processos) {
+            execucao.adicionar(p, TarefaReal.ocupada(p.getTempoTotalCpu() * UNIDADE));
+        }
+        execucao.executar();
+
+        // A primeira volta não depende do tempo real: maior crédito primeiro
+        assertEquals(List.of("D", "B", "A", "C"), selecionados.subList(0, 4));
+        for (Processo p : processos) {
+            assertEquals(EstadoProcesso.FINALIZADO, p.getEstado());
+            assertEquals(0, p.getTempoTotalCpu());
+            assertTrue(execucao.getTurnaroundReal(p) >= p.getTempoTotalCpuInicial() * UNIDADE,
+                    "O turnaround real de " + p.getNome() + " não pode ser menor que a CPU que ele usou.");
+        }
+    }
+
+    @Test
+    public void testFalhaDeUmaTarefaNaoParaAsOutras() {
+        Processo falha = new Processo("F", 2, 0, 4, 3, 1);
+        Processo boa = new Processo("B", 2, 0, 4, 2, 2);
+        ExecucaoReal execucao = new ExecucaoReal(UNIDADE);
+        execucao.adicionar(falha, cessao -> {
+            throw new IllegalArgumentException("falha de teste");
+        });
+        execucao.adicionar(boa, TarefaReal.ocupada(4 * UNIDADE));
+
+        IllegalStateException erro = assertThrows(IllegalStateException.class, execucao::executar);
+        assertEquals("falha de teste", erro.getCause().getMessage());
+        assertEquals(EstadoProcesso.FINALIZADO, boa.getEstado());
+    }
+}
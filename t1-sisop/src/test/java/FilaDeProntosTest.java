@@ -0,0 +1,162 @@
+import org.junit.jupiter.api.Test;
+import t1.Escalonador;
+import t1.EstadoProcesso;
+import t1.Processo;
+import t1.SaidaDoEscalonador;
+import t1.SaidaSilenciosa;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FilaDeProntosTest {
+
+    // Busca linear original, usada como referência para a fila por baldes
+    private static Processo selecionarLinear(List<Processo> processos) {
+        Processo processoSelecionado = null;
+        for (Processo p : processos) {
+            if (p.getEstado() == EstadoProcesso.PRONTO && p.getCreditos() > 0) {
+                if (processoSelecionado == null ||
+                        p.getCreditos() > processoSelecionado.getCreditos() ||
+                        (p.getCreditos() == processoSelecionado.getCreditos() && p.getOrdem() < processoSelecionado.getOrdem())) {
+                    processoSelecionado = p;
+                }
+            }
+        }
+        return processoSelecionado;
+    }
+
+    @Test
+    public void testSelecaoIgualABuscaLinear() {
+        Random random = new Random(42);
+        List<Processo> processos = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            // Ordens repetidas para exercitar o desempate pela posição na lista
+            processos.add(new Processo("P" + i, 1 + random.nextInt(5), random.nextInt(3), 10, random.nextInt(8), random.nextInt(50)));
+        }
+        compararComBuscaLinear(processos, random);
+    }
+
+    @Test
+    public void testPrioridadeEnormeNaoAlocaUmBaldePorCredito() {
+        // Créditos acima do balde de transbordo dividem um único balde ordenado pelos créditos
+        Random random = new Random(9);
+        int[] prioridades = {Integer.MAX_VALUE / 4, 1_000_000, 5000, 4097, 4096, 4095, 3};
+        List<Processo> processos = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            processos.add(new Processo("P" + i, 1 + random.nextInt(5), random.nextInt(3), 10,
+                    prioridades[random.nextInt(prioridades.length)], random.nextInt(20)));
+        }
+        compararComBuscaLinear(processos, random);
+    }
+
+    // Aplica operações aleatórias nos processos e compara cada seleção com a busca linear
+    private static void compararComBuscaLinear(List<Processo> processos, Random random) {
+        Escalonador escalonador = new Escalonador(processos, SaidaSilenciosa.INSTANCIA);
+
+        for (int passo = 0; passo < 20000; passo++) {
+            Processo p = processos.get(random.nextInt(processos.size()));
+            switch (random.nextInt(5)) {
+                case 0:
+                    p.decrementarCreditos();
+                    break;
+                case 1:
+                    p.resetarCreditos();
+                    break;
+                case 2:
+                    if (p.getEstado() == EstadoProcesso.PRONTO) {
+                        p.mudarEstado(random.nextBoolean() ? EstadoProcesso.EXECUTANDO : EstadoProcesso.BLOQUEADO);
+                    }
+                    break;
+                case 3:
+                    if (p.getEstado() == EstadoProcesso.EXECUTANDO || p.getEstado() == EstadoProcesso.BLOQUEADO) {
+                        p.mudarEstado(EstadoProcesso.PRONTO);
+                    }
+                    break;
+                default:
+                    if (p.getEstado() == EstadoProcesso.EXECUTANDO && random.nextInt(10) == 0) {
+                        p.mudarEstado(EstadoProcesso.FINALIZADO);
+                    }
+                    break;
+            }
+            assertSame(selecionarLinear(processos), escalonador.selecionarProcesso(), "Seleção divergente no passo " + passo);
+        }
+    }
+
+    @Test
+    public void testProcessoVoltaParaFilaComNovosCreditos() {
+        Processo a = new Processo("A", 2, 0, 10, 2, 1);
+        Processo b = new Processo("B", 2, 0, 10, 3, 2);
+        Escalonador escalonador = new Escalonador(List.of(a, b));
+
+        b.mudarEstado(EstadoProcesso.EXECUTANDO);
+        assertSame(a, escalonador.selecionarProcesso(), "B em execução não deveria estar na fila de prontos.");
+
+        b.decrementarCreditos();
+        b.decrementarCreditos();
+        b.mudarEstado(EstadoProcesso.PRONTO); // B volta com 1 crédito
+        assertSame(a, escalonador.selecionarProcesso(), "A tem mais créditos que B após a execução.");
+
+        b.resetarCreditos(); // 1/2 + 3 = 3
+        assertSame(b, escalonador.selecionarProcesso(), "B deveria ser selecionado após o reset dos seus créditos.");
+    }
+
+    @Test
+    public void testResetPreguicosoIgualAoImediato() {
+        Random random = new Random(7);
+        List<Processo> preguicosos = new ArrayList<>();
+        List<Processo> imediatos = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            int surto = 1 + random.nextInt(5), prioridade = random.nextInt(8) - 1, ordem = random.nextInt(30);
+            if (i % 10 == 0) {
+                prioridade = 4000 + random.nextInt(200); // Dentro e acima do balde de transbordo
+            }
+            preguicosos.add(new Processo("P" + i, surto, 2, 10, prioridade, ordem));
+            imediatos.add(new Processo("P" + i, surto, 2, 10, prioridade, ordem));
+        }
+        // Com a saída silenciosa o reset é preguiçoso; uma saída que aceita todos os eventos força o imediato
+        Escalonador preguicoso = new Escalonador(preguicosos, SaidaSilenciosa.INSTANCIA);
+        SaidaDoEscalonador descarte = (tipo, tempo, p) -> { };
+        Escalonador imediato = new Escalonador(imediatos, descarte);
+
+        for (int passo = 0; passo < 20000; passo++) {
+            int i = random.nextInt(preguicosos.size());
+            int operacao = random.nextInt(1000);
+            aplicar(operacao, preguicosos.get(i), preguicoso);
+            aplicar(operacao, imediatos.get(i), imediato);
+
+            for (int k = 0; k < preguicosos.size(); k++) {
+                assertEquals(imediatos.get(k).toString(), preguicosos.get(k).toString(), "Processo " + k + " divergente no passo " + passo);
+            }
+            assertEquals(imediatos.indexOf(imediato.selecionarProcesso()), preguicosos.indexOf(preguicoso.selecionarProcesso()), "Seleção divergente no passo " + passo);
+            for (EstadoProcesso estado : EstadoProcesso.values()) {
+                long esperado = preguicosos.stream().filter(p -> p.getEstado() == estado).count();
+                assertEquals(esperado, preguicoso.quantidadeDeProcessos(estado), "Contador de " + estado + " divergente no passo " + passo);
+            }
+        }
+    }
+
+    private static void aplicar(int operacao, Processo p, Escalonador escalonador) {
+        if (operacao < 600) {
+            p.decrementarCreditos();
+        } else if (operacao < 700) {
+            // Reset no ponto em que o laço principal faria (preguiçoso) ou fora dele (sempre imediato)
+            if (operacao == 600 || escalonador.selecionarProcesso() == null) {
+                escalonador.resetarCreditos();
+            }
+        } else if (operacao < 800) {
+            if (p.getEstado() == EstadoProcesso.PRONTO) {
+                p.mudarEstado(EstadoProcesso.BLOQUEADO);
+            }
+        } else if (operacao < 980) {
+            if (p.getEstado() == EstadoProcesso.BLOQUEADO) {
+                p.mudarEstado(EstadoProcesso.PRONTO);
+            }
+        } else if (p.getEstado() == EstadoProcesso.PRONTO && p.getCreditos() == 0) {
+            p.mudarEstado(EstadoProcesso.EXECUTANDO);
+            p.mudarEstado(EstadoProcesso.FINALIZADO);
+        }
+    }
+}
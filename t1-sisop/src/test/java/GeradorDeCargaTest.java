@@ -0,0 +1,100 @@
+import org.junit.jupiter.api.Test;
+import t1.Escalonador;
+import t1.GeradorDeCarga;
+import t1.Processo;
+import t1.SaidaSilenciosa;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GeradorDeCargaTest {
+
+    private static String descrever(Processo p) {
+        return p + " chegada=" + p.getChegada();
+    }
+
+    @Test
+    public void testMesmaSementeMesmaCarga() {
+        GeradorDeCarga gerador = new GeradorDeCarga().semente(7).quantidade(1000).intervaloMedioDeChegada(3);
+        List<String> primeira = gerador.stream().map(GeradorDeCargaTest::descrever).collect(Collectors.toList());
+        List<String> segunda = new GeradorDeCarga().semente(7).quantidade(1000).intervaloMedioDeChegada(3)
+                .stream().map(GeradorDeCargaTest::descrever).collect(Collectors.toList());
+        List<String> outraSemente = new GeradorDeCarga().semente(8).quantidade(1000).intervaloMedioDeChegada(3)
+                .stream().map(GeradorDeCargaTest::descrever).collect(Collectors.toList());
+
+        assertEquals(1000, primeira.size());
+        assertEquals(primeira, segunda, "A mesma semente deveria gerar a mesma carga.");
+        assertEquals(primeira, gerador.stream().map(GeradorDeCargaTest::descrever).collect(Collectors.toList()),
+                "Cada passada recomeça do início.");
+        assertNotEquals(primeira, outraSemente);
+    }
+
+    @Test
+    public void testDistribuicoesConfiguradas() {
+        int n = 200_000;
+        GeradorDeCarga gerador = new GeradorDeCarga().semente(3).quantidade(n).fracaoDeES(0.3)
+                .surtosMedios(10, 2).esMedio(25).cpuTotal(5, 2.0, 1000).prioridades(2, 6).intervaloMedioDeChegada(4);
+        int deES = 0;
+        long somaDoSurtoCpu = 0;
+        long somaDaES = 0;
+        long somaDaCpu = 0;
+        int ultimaChegada = 0;
+        for (Processo p : gerador) {
+            if (p.getTempoES() > 0) {
+                deES++;
+                somaDaES += p.getTempoES();
+            } else {
+                somaDoSurtoCpu += p.getSurtoCpu();
+            }
+            assertTrue(p.getTempoTotalCpu() >= 5 && p.getTempoTotalCpu() <= 1000);
+            assertTrue(p.getPrioridade() >= 2 && p.getPrioridade() <= 6);
+            assertTrue(p.getChegada() >= ultimaChegada, "As chegadas vêm em ordem.");
+            ultimaChegada = p.getChegada();
+            somaDaCpu += p.getTempoTotalCpu();
+        }
+        assertEquals(0.3, (double) deES / n, 0.01);
+        assertEquals(10, (double) somaDoSurtoCpu / (n - deES), 0.3, "Surto médio dos processos de CPU.");
+        assertEquals(25, (double) somaDaES / deES, 0.5, "E/S média dos processos de E/S.");
+        // Pareto com alfa 2 e mínimo 5 tem média 10 (um pouco menos com o limite de 1000)
+        assertEquals(10, (double) somaDaCpu / n, 0.3);
+        assertEquals(4, (double) ultimaChegada / n, 0.1, "Intervalo médio entre chegadas.");
+    }
+
+    @Test
+    public void testGeracaoSemFimAlimentaOEscalonador() {
+        // Sem quantidade o gerador não acaba; o escalonador consome só os primeiros sob demanda
+        Iterator<Processo> semFim = new GeradorDeCarga().semente(5).intervaloMedioDeChegada(40).iterator();
+        assertTrue(semFim.hasNext());
+        Iterator<Processo> primeiros = new Iterator<Processo>() {
+            int entregues;
+
+            @Override
+            public boolean hasNext() {
+                return entregues < 5000;
+            }
+
+            @Override
+            public Processo next() {
+                entregues++;
+                return semFim.next();
+            }
+        };
+        Escalonador escalonador = new Escalonador(primeiros, SaidaSilenciosa.INSTANCIA);
+        escalonador.iniciarEscalonamento();
+        assertEquals(5000, escalonador.getRetirados());
+        assertTrue(semFim.hasNext());
+    }
+
+    @Test
+    public void testParametrosInvalidosSaoRecusados() {
+        GeradorDeCarga gerador = new GeradorDeCarga();
+        assertThrows(IllegalArgumentException.class, () -> gerador.prioridades(0, 5), "Prioridade 0 nunca recebe créditos no reset");
+        assertThrows(IllegalArgumentException.class, () -> gerador.prioridades(-3, -1));
+        assertThrows(IllegalArgumentException.class, () -> gerador.prioridades(5, 4));
+        assertThrows(IllegalArgumentException.class, () -> gerador.cpuTotal(0, 1.5, 10));
+        gerador.prioridades(1, 1);
+    }
+}
@@ -0,0 +1,78 @@
+import org.junit.jupiter.api.Test;
+import t1.Escalonador;
+import t1.InstrumentacaoDoEscalonador;
+import t1.Processo;
+import t1.SaidaDoEscalonador;
+import t1.TipoDeEvento;
+
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InstrumentacaoDoEscalonadorTest {
+
+    // Conta os eventos de cada tipo
+    private static final class Contador implements SaidaDoEscalonador {
+        final Map<TipoDeEvento, Integer> eventos = new EnumMap<>(TipoDeEvento.class);
+
+        @Override
+        public void registrar(TipoDeEvento tipo, int tempo, Processo p) {
+            eventos.merge(tipo, 1, Integer::sum);
+        }
+
+        int de(TipoDeEvento tipo) {
+            return eventos.getOrDefault(tipo, 0);
+        }
+    }
+
+    @Test
+    public void testContadoresBatemComOsEventos() {
+        List<Processo> medidos = CargasDeTeste.cargaAleatoria(5, 200);
+        List<Processo> livres = CargasDeTeste.cargaAleatoria(5, 200);
+        Contador eventos = new Contador();
+        Escalonador escalonador = new Escalonador(medidos, eventos);
+        InstrumentacaoDoEscalonador instrumentacao = new InstrumentacaoDoEscalonador();
+        escalonador.setInstrumentacao(instrumentacao);
+        escalonador.iniciarEscalonamento();
+        new Escalonador(livres, new Contador()).iniciarEscalonamento();
+
+        for (int i = 0; i < medidos.size(); i++) {
+            assertEquals(livres.get(i).getTurnaroundTime(), medidos.get(i).getTurnaroundTime(), "A instrumentação não muda o escalonamento");
+        }
+        assertEquals(eventos.de(TipoDeEvento.RESET_DE_CREDITOS), instrumentacao.getResets());
+        assertTrue(instrumentacao.getSelecoes() >= eventos.de(TipoDeEvento.PROCESSO_SELECIONADO), "Toda seleção é contada");
+        assertTrue(instrumentacao.getTrocasDeContexto() > 0 && instrumentacao.getTrocasDeContexto() <= eventos.de(TipoDeEvento.EXECUCAO_INICIADA),
+                "Uma troca de contexto é uma execução de outro processo");
+        assertTrue(instrumentacao.getNanosPorSelecao() > 0, "Algumas seleções foram cronometradas");
+        assertTrue(instrumentacao.getProntosNoMaximo() <= medidos.size());
+        assertTrue(instrumentacao.getProntosEmMedia() > 0);
+
+        instrumentacao.zerar();
+        assertEquals(0, instrumentacao.getSelecoes());
+        assertEquals(0, instrumentacao.getResets());
+    }
+
+    @Test
+    public void testAtributosVisiveisPeloJmx() throws Exception {
+        MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+        ObjectName nome = new ObjectName("t1:type=Escalonador,name=" + ObjectName.quote("teste"));
+        try (InstrumentacaoDoEscalonador instrumentacao = new InstrumentacaoDoEscalonador()) {
+            instrumentacao.registrarNoJmx("teste");
+            Escalonador escalonador = new Escalonador(CargasDeTeste.cargaAleatoria(9, 50), new Contador());
+            escalonador.setInstrumentacao(instrumentacao);
+            escalonador.iniciarEscalonamento();
+
+            assertTrue(servidor.isRegistered(nome));
+            assertEquals(instrumentacao.getSelecoes(), servidor.getAttribute(nome, "Selecoes"));
+            assertEquals(instrumentacao.getResets(), servidor.getAttribute(nome, "Resets"));
+            servidor.invoke(nome, "zerar", null, null);
+            assertEquals(0L, servidor.getAttribute(nome, "Selecoes"));
+        }
+        assertFalse(servidor.isRegistered(nome), "close() remove o MBean");
+    }
+}
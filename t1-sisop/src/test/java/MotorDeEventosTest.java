@@ -0,0 +1,65 @@
+import org.junit.jupiter.api.Test;
+import t1.Escalonador;
+import t1.EstadoProcesso;
+import t1.MotorDeEventos;
+import t1.Processo;
+import t1.SaidaSilenciosa;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MotorDeEventosTest {
+
+    @Test
+    public void testMesmoResultadoQueEscalonadorPorTicks() {
+        for (long semente = 1; semente <= 20; semente++) {
+            List<Processo> porTicks = CargasDeTeste.cargaAleatoria(semente, 8);
+            List<Processo> porEventos = CargasDeTeste.cargaAleatoria(semente, 8);
+
+            Escalonador escalonador = new Escalonador(porTicks);
+            escalonador.iniciarEscalonamento();
+            MotorDeEventos motor = new MotorDeEventos(porEventos);
+            motor.iniciarEscalonamento();
+
+            assertEquals(escalonador.getTempo(), motor.getTempo(), "Tempo final divergente na semente " + semente);
+            for (int i = 0; i < porTicks.size(); i++) {
+                assertEquals(porTicks.get(i).toString(), porEventos.get(i).toString(), "Processo divergente na semente " + semente);
+                assertEquals(porTicks.get(i).getTempoDeInicio(), porEventos.get(i).getTempoDeInicio());
+            }
+        }
+    }
+
+    @Test
+    public void testCpuSegueExecutandoDuranteES() {
+        Processo a = new Processo("A", 2, 10, 4, 5, 1); // Bloqueia 10ms após cada surto
+        Processo b = new Processo("B", 3, 0, 6, 3, 2);
+        MotorDeEventos motor = new MotorDeEventos(List.of(a, b), SaidaSilenciosa.INSTANCIA);
+        motor.iniciarEscalonamento();
+
+        // A executa 2ms e bloqueia; B usa a CPU enquanto A espera a E/S
+        assertEquals(EstadoProcesso.FINALIZADO, a.getEstado());
+        assertEquals(EstadoProcesso.FINALIZADO, b.getEstado());
+        assertTrue(b.getTurnaroundTime() < 10, "B deveria terminar enquanto A ainda está em E/S.");
+    }
+
+    @Test
+    public void testSurtoTerminaQuandoCreditosAcabam() {
+        Processo p = new Processo("A", 5, 0, 7, 3, 1); // 3 créditos para um surto de 5ms
+        MotorDeEventos motor = new MotorDeEventos(List.of(p));
+        motor.iniciarEscalonamento();
+
+        assertEquals(EstadoProcesso.FINALIZADO, p.getEstado(), "O processo A deveria terminar após os resets de créditos.");
+        assertEquals(0, p.getTempoTotalCpu(), "Todo o tempo de CPU deveria ter sido consumido.");
+    }
+
+    @Test
+    public void testSemProcessoExecutavelLancaExcecao() {
+        Processo p = new Processo("A", 2, 0, 6, 3, 1);
+        p.mudarEstado(EstadoProcesso.BLOQUEADO); // Nunca volta para PRONTO
+
+        MotorDeEventos motor = new MotorDeEventos(List.of(p));
+        assertThrows(IllegalStateException.class, motor::iniciarEscalonamento,
+                "Sem processos prontos nem eventos pendentes a simulação não pode continuar.");
+    }
+}
@@ -0,0 +1,100 @@
+import org.junit.jupiter.api.Test;
+import t1.ColetorDeMetricas;
+import t1.Escalonador;
+import t1.EstadoProcesso;
+import t1.MotorDeEventos;
+import t1.PoliticaCFS;
+import t1.PoliticaDeCreditos;
+import t1.PoliticaDeEscalonamento;
+import t1.Processo;
+import t1.SaidaSilenciosa;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PoliticaCFSTest {
+
+    @Test
+    public void testCfsFinalizaTodosComAsMesmasMetricas() {
+        List<Processo> processos = CargasDeTeste.cargaAleatoria(5, 200);
+        ColetorDeMetricas metricas = new ColetorDeMetricas();
+        Escalonador escalonador = new Escalonador(processos, metricas, new PoliticaCFS());
+        escalonador.iniciarEscalonamento();
+
+        assertTrue(escalonador.todosProcessosFinalizados());
+        assertEquals(processos.size(), escalonador.quantidadeDeProcessos(EstadoProcesso.FINALIZADO));
+        assertEquals(processos.size(), metricas.getFinalizados());
+        for (Processo p : processos) {
+            assertEquals(0, p.getTempoTotalCpu(), "Processo " + p.getNome() + " terminou sem usar toda a CPU.");
+        }
+        assertTrue(metricas.getEspera().getMinimo() >= 0, "A espera nunca é negativa.");
+    }
+
+    @Test
+    public void testCfsRepartePelaPrioridade() {
+        // Dois processos só de CPU: o de prioridade 3 deve receber ~3x mais CPU que o de prioridade 1
+        Processo leve = new Processo("L", 1000, 0, 100000, 1, 1);
+        Processo pesado = new Processo("P", 1000, 0, 100000, 3, 2);
+        Escalonador escalonador = new Escalonador(List.of(leve, pesado), SaidaSilenciosa.INSTANCIA, new PoliticaCFS());
+        while (escalonador.getTempo() < 4000) {
+            executarUmaVez(escalonador);
+        }
+        double usadoLeve = 100000 - leve.getTempoTotalCpu();
+        double usadoPesado = 100000 - pesado.getTempoTotalCpu();
+        assertEquals(3.0, usadoPesado / usadoLeve, 0.1, "Proporção de CPU diferente dos pesos.");
+    }
+
+    @Test
+    public void testCfsNaoDeixaNinguemEsperandoMaisQueALatencia() {
+        // Com prioridades iguais, todo pronto executa dentro de uma volta da latência
+        List<Processo> processos = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            processos.add(new Processo("P" + i, 100, 0, 1000, 2, i + 1));
+        }
+        Escalonador escalonador = new Escalonador(processos, SaidaSilenciosa.INSTANCIA, new PoliticaCFS());
+        for (int volta = 0; volta < 4; volta++) {
+            executarUmaVez(escalonador);
+        }
+        for (Processo p : processos) {
+            assertTrue(p.getTempoTotalCpu() < 1000, "Processo " + p.getNome() + " não executou na primeira volta.");
+        }
+    }
+
+    @Test
+    public void testPrioridadesEnormesNaoTransbordam() {
+        // A fatia do primeiro passaria de int e o tempo virtual de ambos não andaria
+        Processo a = new Processo("A", 1000, 0, 100000, 2_000_000_000, 1);
+        Processo b = new Processo("B", 1000, 0, 100000, 100_000_000, 2);
+        Escalonador escalonador = new Escalonador(List.of(a, b), SaidaSilenciosa.INSTANCIA, new PoliticaCFS());
+        executarUmaVez(escalonador);
+        assertEquals(24L * 2_000_000_000 / 2_100_000_000, 100000 - a.getTempoTotalCpu(), "Fatia do processo de maior peso.");
+        while (escalonador.getTempo() < 2000) {
+            executarUmaVez(escalonador);
+        }
+        assertTrue(b.getTempoTotalCpu() < 100000, "O tempo virtual de A deveria avançar e deixar B executar.");
+    }
+
+    @Test
+    public void testPoliticaDeCreditosMantemOResultadoOriginal() {
+        // A política padrão, explícita ou não, chega ao mesmo resultado do MotorDeEventos
+        List<Processo> porTicks = CargasDeTeste.cargaAleatoria(9, 100);
+        List<Processo> porEventos = CargasDeTeste.cargaAleatoria(9, 100);
+        Escalonador escalonador = new Escalonador(porTicks, SaidaSilenciosa.INSTANCIA, new PoliticaDeCreditos());
+        escalonador.iniciarEscalonamento();
+        new MotorDeEventos(porEventos, SaidaSilenciosa.INSTANCIA).iniciarEscalonamento();
+
+        for (int i = 0; i < porTicks.size(); i++) {
+            assertEquals(porEventos.get(i).getTurnaroundTime(), porTicks.get(i).getTurnaroundTime(), "Turnaround de " + porTicks.get(i).getNome());
+            assertEquals(porEventos.get(i).getCreditos(), porTicks.get(i).getCreditos(), "Créditos de " + porTicks.get(i).getNome());
+        }
+        assertInstanceOf(PoliticaDeCreditos.class, PoliticaDeEscalonamento.porNome("creditos"));
+        assertThrows(IllegalArgumentException.class, () -> PoliticaDeEscalonamento.porNome("fifo"));
+    }
+
+    private static void executarUmaVez(Escalonador escalonador) {
+        Processo p = escalonador.selecionarProcesso();
+        escalonador.executarProcesso(p);
+    }
+}
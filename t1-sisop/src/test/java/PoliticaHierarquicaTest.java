@@ -0,0 +1,114 @@
+import org.junit.jupiter.api.Test;
+import t1.ColetorDeMetricas;
+import t1.Escalonador;
+import t1.EstadoProcesso;
+import t1.GrupoDeProcessos;
+import t1.PoliticaHierarquica;
+import t1.Processo;
+import t1.SaidaCombinada;
+import t1.SaidaDeTexto;
+import t1.SaidaSilenciosa;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PoliticaHierarquicaTest {
+
+    // Processos só de CPU, que ficam prontos o tempo todo
+    private static void adicionarOcupados(List<Processo> processos, GrupoDeProcessos grupo, int quantidade, int prioridade) {
+        for (int i = 0; i < quantidade; i++) {
+            Processo p = new Processo(grupo.getNome() + i, 5, 0, 100_000, prioridade, processos.size() + 1);
+            grupo.adicionar(p);
+            processos.add(p);
+        }
+    }
+
+    private static void executarAte(Escalonador escalonador, int tempo) {
+        while (escalonador.getTempo() < tempo) {
+            escalonador.executarCiclo();
+        }
+    }
+
+    private static double parte(GrupoDeProcessos grupo, long total) {
+        return (double) grupo.getCpuUsada() / total;
+    }
+
+    @Test
+    public void testInquilinoComPoucosProcessosNaoPassaFome() {
+        PoliticaHierarquica politica = new PoliticaHierarquica();
+        GrupoDeProcessos muitos = politica.criarInquilino("A", 1).criarGrupo("lote", 1);
+        GrupoDeProcessos poucos = politica.criarInquilino("B", 1).criarGrupo("interativo", 1);
+        List<Processo> processos = new ArrayList<>();
+        adicionarOcupados(processos, muitos, 200, 4);
+        adicionarOcupados(processos, poucos, 2, 1);
+
+        Escalonador escalonador = new Escalonador(processos, SaidaSilenciosa.INSTANCIA, politica);
+        executarAte(escalonador, 20_000);
+        long total = muitos.getCpuUsada() + poucos.getCpuUsada();
+        assertEquals(0.5, parte(poucos, total), 0.05, "Pesos iguais devem dividir a CPU ao meio entre os inquilinos");
+    }
+
+    @Test
+    public void testPesosDosGruposDividemACpuDoInquilino() {
+        PoliticaHierarquica politica = new PoliticaHierarquica();
+        GrupoDeProcessos inquilino = politica.criarInquilino("A", 5);
+        GrupoDeProcessos pesado = inquilino.criarGrupo("pesado", 30);
+        GrupoDeProcessos leve = inquilino.criarGrupo("leve", 10);
+        List<Processo> processos = new ArrayList<>();
+        adicionarOcupados(processos, pesado, 3, 2);
+        adicionarOcupados(processos, leve, 50, 6);
+
+        Escalonador escalonador = new Escalonador(processos, SaidaSilenciosa.INSTANCIA, politica);
+        executarAte(escalonador, 20_000);
+        long total = pesado.getCpuUsada() + leve.getCpuUsada();
+        assertEquals(0.75, parte(pesado, total), 0.05, "O grupo com peso 30 deve levar 3/4 da CPU contra um de peso 10");
+        assertEquals(total, inquilino.getCpuUsada());
+    }
+
+    @Test
+    public void testResultadoNaoDependeDaSaida() {
+        List<List<Processo>> execucoes = new ArrayList<>();
+        for (int execucao = 0; execucao < 2; execucao++) {
+            List<Processo> processos = CargasDeTeste.cargaAleatoria(3, 300);
+            PoliticaHierarquica politica = PoliticaHierarquica.aPartirDe("A:3/web:2=100;A/lote;B:1/x=20;C:2/y", processos);
+            ColetorDeMetricas metricas = new ColetorDeMetricas();
+            // Uma saída que pede todos os eventos não pode mudar os resets (o global não alcança os processos)
+            Escalonador escalonador = new Escalonador(processos,
+                    execucao == 0 ? metricas : new SaidaCombinada(new SaidaDeTexto(new PrintStream(OutputStream.nullOutputStream())), metricas),
+                    politica);
+            escalonador.iniciarEscalonamento();
+            assertEquals(processos.size(), metricas.getFinalizados());
+            assertEquals(processos.size(), escalonador.quantidadeDeProcessos(EstadoProcesso.FINALIZADO));
+            assertEquals(3, politica.getInquilinos().size());
+            assertEquals(190, politica.getInquilinos().get(0).getProcessos());
+            assertEquals(20, politica.getInquilinos().get(1).getProcessos());
+            assertEquals(90, politica.getInquilinos().get(2).getProcessos());
+            execucoes.add(processos);
+        }
+        for (int i = 0; i < 300; i++) {
+            Processo a = execucoes.get(0).get(i);
+            Processo b = execucoes.get(1).get(i);
+            assertEquals(a.getTurnaroundTime(), b.getTurnaroundTime(), "Turnaround de " + a.getNome());
+            assertEquals(a.getTempoDeInicio(), b.getTempoDeInicio(), "Início de " + a.getNome());
+        }
+    }
+
+    @Test
+    public void testEspecificacaoRejeitaQuantidadeNegativaEPesoZero() {
+        List<Processo> processos = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            processos.add(new Processo("P" + i, 2, 0, 10, 1, i));
+        }
+        assertThrows(IllegalArgumentException.class, () -> PoliticaHierarquica.aPartirDe("A/x=-3;B/y", processos), "Quantidade negativa.");
+        assertThrows(IllegalArgumentException.class, () -> PoliticaHierarquica.aPartirDe("A/x:0;B/y", processos), "Peso 0 no grupo.");
+        assertThrows(IllegalArgumentException.class, () -> PoliticaHierarquica.aPartirDe("A:0/x;B/y", processos), "Peso 0 no inquilino.");
+        assertThrows(IllegalArgumentException.class, () -> PoliticaHierarquica.aPartirDe("A:2/x;A:-1/y", processos), "Peso negativo no inquilino citado de novo.");
+
+        // Sem peso continua valendo 1, e quantidade 0 continua valendo
+        assertDoesNotThrow(() -> PoliticaHierarquica.aPartirDe("A/x=0;B/y", processos));
+    }
+}
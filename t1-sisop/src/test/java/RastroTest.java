@@ -0,0 +1,96 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import t1.ComparadorDeRastros;
+import t1.EstadoProcesso;
+import t1.Escalonador;
+import t1.LeitorDeRastro;
+import t1.LinhaDoTempo;
+import t1.MotorDeEventos;
+import t1.PoliticaCFS;
+import t1.Processo;
+import t1.SaidaDeRastro;
+import t1.TipoDeEvento;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RastroTest {
+
+    @TempDir
+    Path pasta;
+
+    @Test
+    public void testReproducaoReconstroiCadaProcesso() throws IOException {
+        Path arquivo = pasta.resolve("ticks.rastro");
+        List<Processo> processos = CargasDeTeste.cargaAleatoriaComOrdensDistintas(3, 150);
+        try (SaidaDeRastro rastro = new SaidaDeRastro(arquivo)) {
+            new Escalonador(processos, rastro).iniciarEscalonamento();
+        }
+
+        try (LeitorDeRastro leitor = new LeitorDeRastro(arquivo)) {
+            assertTrue(leitor.proximo());
+            assertEquals(TipoDeEvento.PROCESSO_SELECIONADO, leitor.getTipo());
+            assertEquals(1, leitor.getTempo());
+        }
+        Map<Integer, LinhaDoTempo> linhas = LinhaDoTempo.reproduzir(arquivo);
+        assertEquals(processos.size(), linhas.size());
+        for (Processo p : processos) {
+            LinhaDoTempo linha = linhas.get(p.getOrdem());
+            assertEquals(p.getTempoTotalCpuInicial(), linha.getCpuExecutada(), "CPU de " + p.getNome());
+            assertEquals(p.getBloqueios(), linha.getBloqueios(), "Bloqueios de " + p.getNome());
+            assertEquals(p.getTempoDeInicio() + p.getTurnaroundTime(), linha.getFim(), "Fim de " + p.getNome());
+            int executado = 0;
+            for (int i = 0; i < linha.getIntervalos(); i++) {
+                assertTrue(linha.getInicio(i) < linha.getFim(i));
+                if (linha.getEstado(i) == EstadoProcesso.EXECUTANDO) {
+                    executado += linha.getFim(i) - linha.getInicio(i);
+                }
+            }
+            assertEquals(p.getTempoTotalCpuInicial(), executado, "Intervalos de execução de " + p.getNome());
+        }
+    }
+
+    @Test
+    public void testComparacaoEncontraAPrimeiraDivergencia() throws IOException {
+        Path ticks = pasta.resolve("ticks.rastro");
+        Path eventos = pasta.resolve("eventos.rastro");
+        Path cfs = pasta.resolve("cfs.rastro");
+        try (SaidaDeRastro rastro = new SaidaDeRastro(ticks)) {
+            new Escalonador(CargasDeTeste.cargaAleatoriaComOrdensDistintas(8, 100), rastro).iniciarEscalonamento();
+        }
+        try (SaidaDeRastro rastro = new SaidaDeRastro(eventos)) {
+            new MotorDeEventos(CargasDeTeste.cargaAleatoriaComOrdensDistintas(8, 100), rastro).iniciarEscalonamento();
+        }
+        try (SaidaDeRastro rastro = new SaidaDeRastro(cfs)) {
+            new Escalonador(CargasDeTeste.cargaAleatoriaComOrdensDistintas(8, 100), rastro, new PoliticaCFS()).iniciarEscalonamento();
+        }
+        assertEquals(-1, ComparadorDeRastros.primeiraDecisaoDivergente(ticks, eventos), "Os dois motores tomam as mesmas decisões.");
+        assertEquals(-1, ComparadorDeRastros.primeiraDecisaoDivergente(ticks, ticks));
+        assertEquals(-1, ComparadorDeRastros.primeiraDivergencia(ticks, ticks));
+        assertEquals(0, ComparadorDeRastros.primeiraDecisaoDivergente(ticks, cfs), "A CFS começa pela menor ordem, não pelos créditos.");
+
+        // Os dois motores só mudam a ordem de alguns eventos: os registros anteriores são iguais
+        long divergencia = ComparadorDeRastros.primeiraDivergencia(ticks, eventos);
+        assertTrue(divergencia > 0);
+        try (LeitorDeRastro a = new LeitorDeRastro(ticks); LeitorDeRastro b = new LeitorDeRastro(eventos)) {
+            for (long i = 0; i < divergencia; i++) {
+                assertTrue(a.proximo() && b.proximo());
+                assertEquals(a.descreverRegistro(), b.descreverRegistro());
+            }
+            assertTrue(a.proximo() && b.proximo());
+            assertNotEquals(a.descreverRegistro(), b.descreverRegistro());
+        }
+
+        // Um rastro cortado diverge no primeiro registro que falta
+        Path cortado = pasta.resolve("cortado.rastro");
+        byte[] bytes = Files.readAllBytes(ticks);
+        Files.write(cortado, Arrays.copyOf(bytes, SaidaDeRastro.CABECALHO + 10 * SaidaDeRastro.REGISTRO));
+        assertEquals(10, ComparadorDeRastros.primeiraDivergencia(ticks, cortado));
+    }
+}
@@ -0,0 +1,197 @@
+import org.junit.jupiter.api.Test;
+import t1.Escalonador;
+import t1.EstadoProcesso;
+import t1.Processo;
+import t1.RodaDeTemporizacao;
+import t1.SaidaSilenciosa;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RodaDeTemporizacaoTest {
+
+    @Test
+    public void testProcessoVoltaParaProntoAposES() {
+        Processo a = new Processo("A", 2, 5, 6, 3, 1);
+        Processo b = new Processo("B", 1, 0, 20, 1, 2);
+        Escalonador escalonador = new Escalonador(List.of(a, b), SaidaSilenciosa.INSTANCIA);
+
+        escalonador.executarProcesso(a); // Executa 2ms (tempo 3) e bloqueia até o tempo 8
+        assertEquals(EstadoProcesso.BLOQUEADO, a.getEstado());
+        assertEquals(5, escalonador.tempoRestanteDeES(a), "O tempo restante de E/S deveria ser o tempo de E/S do processo.");
+        assertEquals(3, escalonador.getTempo(), "A E/S não deveria congelar o tempo da CPU.");
+
+        // B ocupa a CPU enquanto A espera a E/S
+        for (int i = 0; i < 4; i++) {
+            b.resetarCreditos();
+            escalonador.executarProcesso(b);
+        }
+        assertEquals(7, escalonador.getTempo());
+        assertEquals(EstadoProcesso.BLOQUEADO, a.getEstado(), "A ainda não terminou a E/S no tempo 7.");
+        assertEquals(1, escalonador.tempoRestanteDeES(a));
+
+        b.resetarCreditos();
+        escalonador.executarProcesso(b);
+        assertEquals(EstadoProcesso.PRONTO, a.getEstado(), "A deveria acordar no tempo 8.");
+        assertEquals(0, escalonador.tempoRestanteDeES(a));
+    }
+
+    @Test
+    public void testEsperasLongasAtravessamOsNiveisDaRoda() {
+        // Tempos de E/S que caem em níveis diferentes da roda (256, 65536 e além)
+        Processo a = new Processo("A", 1, 300, 3, 2, 1);
+        Processo b = new Processo("B", 1, 70000, 2, 2, 2);
+        Processo c = new Processo("C", 1, 17_000_000, 2, 2, 3);
+        Escalonador escalonador = new Escalonador(List.of(a, b, c), SaidaSilenciosa.INSTANCIA);
+        escalonador.iniciarEscalonamento();
+
+        assertEquals(EstadoProcesso.FINALIZADO, a.getEstado());
+        assertEquals(EstadoProcesso.FINALIZADO, b.getEstado());
+        assertEquals(EstadoProcesso.FINALIZADO, c.getEstado());
+        assertTrue(c.getTurnaroundTime() > 17_000_000, "C só termina depois de acordar da E/S longa.");
+    }
+
+    // Registra cada vencimento como {id, instante em que disparou}
+    private static RodaDeTemporizacao roda(int tempoInicial, List<int[]> vencidos) {
+        RodaDeTemporizacao[] roda = new RodaDeTemporizacao[1];
+        roda[0] = new RodaDeTemporizacao(tempoInicial, id -> vencidos.add(new int[] {id, roda[0].getAtual()}));
+        return roda[0];
+    }
+
+    @Test
+    public void testAgendarEAvancarDisparamNoInstanteCerto() {
+        List<int[]> vencidos = new ArrayList<>();
+        RodaDeTemporizacao roda = roda(10, vencidos);
+        assertThrows(IllegalArgumentException.class, () -> roda.agendar(0, 10), "O instante precisa estar no futuro");
+
+        roda.agendar(0, 15);
+        roda.agendar(1, 12);
+        roda.agendar(2, 15);
+        assertEquals(3, roda.tamanho());
+        assertEquals(12, roda.proximoVencimento());
+
+        roda.avancar(11);
+        assertTrue(vencidos.isEmpty(), "Nada vence antes do tempo 12");
+        assertEquals(11, roda.getAtual());
+
+        roda.avancar(20);
+        assertEquals(20, roda.getAtual());
+        assertEquals(3, vencidos.size());
+        assertArrayEquals(new int[] {1, 12}, vencidos.get(0));
+        assertEquals(15, vencidos.get(1)[1]);
+        assertEquals(15, vencidos.get(2)[1]);
+        assertEquals(0, roda.tamanho());
+        assertEquals(-1, roda.proximoVencimento());
+    }
+
+    @Test
+    public void testCancelarEReagendar() {
+        List<int[]> vencidos = new ArrayList<>();
+        RodaDeTemporizacao roda = roda(0, vencidos);
+        roda.agendar(3, 100);
+        roda.agendar(4, 50);
+        roda.cancelar(4);
+        assertFalse(roda.contem(4));
+        roda.agendar(3, 40_000); // Reagendar move a entrada para outro nível
+        assertEquals(1, roda.tamanho());
+        assertEquals(40_000, roda.instanteDe(3));
+
+        roda.avancar(39_999);
+        assertTrue(vencidos.isEmpty());
+        roda.avancar(40_000);
+        assertArrayEquals(new int[] {3, 40_000}, vencidos.get(0));
+    }
+
+    @Test
+    public void testCascataEntreOsNiveis() {
+        // Começa fora do alinhamento para que cada entrada precise descer de nível no caminho
+        int inicio = 250;
+        int[] instantes = {inicio + 3, 256, 300, 65_536, 70_000, 16_777_216, 17_000_000, 1 << 30};
+        List<int[]> vencidos = new ArrayList<>();
+        RodaDeTemporizacao roda = roda(inicio, vencidos);
+        for (int i = instantes.length - 1; i >= 0; i--) {
+            roda.agendar(i, instantes[i]);
+        }
+        assertEquals(instantes[0], roda.proximoVencimento());
+
+        // Avança em passos que param no meio das faixas, e também de uma vez só até o fim
+        roda.avancar(65_535);
+        assertEquals(3, vencidos.size());
+        assertEquals(65_536, roda.proximoVencimento(), "A entrada do nível 2 deve continuar agendada");
+        roda.avancar(Integer.MAX_VALUE);
+        assertEquals(instantes.length, vencidos.size());
+        for (int i = 0; i < instantes.length; i++) {
+            assertArrayEquals(new int[] {i, instantes[i]}, vencidos.get(i), "Vencimento " + i);
+        }
+    }
+
+    @Test
+    public void testAgendarDentroDoCallback() {
+        List<Integer> disparos = new ArrayList<>();
+        RodaDeTemporizacao[] roda = new RodaDeTemporizacao[1];
+        roda[0] = new RodaDeTemporizacao(0, id -> {
+            disparos.add(roda[0].getAtual());
+            if (disparos.size() < 5) {
+                roda[0].agendar(id, roda[0].getAtual() + 200); // Cruza a fronteira de 256 a cada duas voltas
+            }
+        });
+        roda[0].agendar(0, 100);
+        roda[0].avancar(10_000);
+        assertEquals(List.of(100, 300, 500, 700, 900), disparos);
+    }
+
+    @Test
+    public void testIgualAUmaBuscaOrdenada() {
+        Random random = new Random(11);
+        for (int repeticao = 0; repeticao < 20; repeticao++) {
+            int inicio = random.nextInt(1 << 20);
+            List<int[]> vencidos = new ArrayList<>();
+            RodaDeTemporizacao roda = roda(inicio, vencidos);
+            TreeMap<Integer, Integer> esperado = new TreeMap<>(); // id -> instante
+            int atual = inicio;
+            for (int passo = 0; passo < 300; passo++) {
+                int id = random.nextInt(64);
+                if (random.nextInt(4) == 0) {
+                    roda.cancelar(id);
+                    esperado.remove(id);
+                } else {
+                    int espera = 1 + (random.nextBoolean() ? random.nextInt(300) : random.nextInt(1 << (8 + random.nextInt(16))));
+                    roda.agendar(id, atual + espera);
+                    esperado.put(id, atual + espera);
+                }
+                int alvo = atual + random.nextInt(2000);
+                roda.avancar(alvo);
+                int limite = alvo;
+                List<int[]> esperados = new ArrayList<>();
+                esperado.entrySet().removeIf(e -> {
+                    if (e.getValue() <= limite) {
+                        esperados.add(new int[] {e.getKey(), e.getValue()});
+                        return true;
+                    }
+                    return false;
+                });
+                // Entre vencimentos do mesmo instante a ordem não importa
+                Comparator<int[]> ordem = Comparator.<int[]>comparingInt(v -> v[1]).thenComparingInt(v -> v[0]);
+                esperados.sort(ordem);
+                for (int i = 1; i < vencidos.size(); i++) {
+                    assertTrue(vencidos.get(i - 1)[1] <= vencidos.get(i)[1], "Os vencimentos devem sair em ordem de tempo");
+                }
+                vencidos.sort(ordem);
+                assertEquals(esperados.size(), vencidos.size(), "Vencimentos até " + alvo);
+                for (int i = 0; i < esperados.size(); i++) {
+                    assertArrayEquals(esperados.get(i), vencidos.get(i), "Vencimento " + i + " até " + alvo);
+                }
+                vencidos.clear();
+                atual = alvo;
+                assertEquals(esperado.size(), roda.tamanho());
+                assertEquals(esperado.isEmpty() ? -1 : esperado.values().stream().min(Integer::compare).get(),
+                        roda.proximoVencimento());
+            }
+        }
+    }
+}
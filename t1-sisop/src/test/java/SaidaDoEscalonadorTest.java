@@ -0,0 +1,101 @@
+import org.junit.jupiter.api.Test;
+import t1.Escalonador;
+import t1.NivelDeDetalhe;
+import t1.Processo;
+import t1.SaidaAssincrona;
+import t1.SaidaDeTexto;
+import t1.SaidaDoEscalonador;
+import t1.SaidaFiltrada;
+import t1.SaidaSilenciosa;
+import t1.TipoDeEvento;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SaidaDoEscalonadorTest {
+
+    private static List<Processo> carga() {
+        List<Processo> processos = new ArrayList<>();
+        processos.add(new Processo("A", 3, 0, 10, 2, 1));
+        processos.add(new Processo("B", 4, 0, 12, 3, 2));
+        processos.add(new Processo("C", 2, 0, 8, 1, 3));
+        return processos;
+    }
+
+    private static String executar(SaidaDoEscalonador saida, ByteArrayOutputStream bytes, List<Processo> processos) {
+        try (saida) {
+            new Escalonador(processos, saida).iniciarEscalonamento();
+        }
+        return bytes.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testSaidaAssincronaIgualASincrona() {
+        ByteArrayOutputStream sincrona = new ByteArrayOutputStream();
+        String esperado = executar(new SaidaDeTexto(new PrintStream(sincrona, true, StandardCharsets.UTF_8)), sincrona, carga());
+
+        ByteArrayOutputStream assincrona = new ByteArrayOutputStream();
+        // Lote pequeno para forçar várias entregas à thread de escrita
+        String obtido = executar(new SaidaAssincrona(new PrintStream(assincrona, true, StandardCharsets.UTF_8), 100), assincrona, carga());
+
+        assertTrue(esperado.startsWith("Tempo: 1ms - Processo selecionado para execução: B"), "A saída deveria começar pela seleção de B.");
+        assertEquals(esperado, obtido, "A saída assíncrona deveria ter exatamente os mesmos bytes da síncrona.");
+    }
+
+    @Test
+    public void testFalhaNaEscritaChegaAoEscalonador() {
+        PrintStream quebrado = new PrintStream(new ByteArrayOutputStream()) {
+            @Override
+            public PrintStream append(CharSequence texto) {
+                throw new UnsupportedOperationException("destino quebrado");
+            }
+        };
+        SaidaAssincrona saida = new SaidaAssincrona(quebrado, 10);
+        Processo p = new Processo("A", 3, 0, 10, 2, 1);
+        // Sem a falha guardada, o escalonador esperaria para sempre por um buffer livre
+        IllegalStateException erro = assertTimeoutPreemptively(Duration.ofSeconds(10), () -> assertThrows(IllegalStateException.class, () -> {
+            for (int tempo = 1; tempo <= 1000; tempo++) {
+                saida.registrar(TipoDeEvento.PROCESSO_SELECIONADO, tempo, p);
+            }
+        }));
+        assertInstanceOf(UnsupportedOperationException.class, erro.getCause(), "A falha da thread de escrita deveria vir como causa.");
+        assertThrows(IllegalStateException.class, saida::close, "O close também deveria repassar a falha.");
+    }
+
+    @Test
+    public void testRegistrarDepoisDeFecharFalha() {
+        SaidaAssincrona saida = new SaidaAssincrona(new PrintStream(new ByteArrayOutputStream(), true, StandardCharsets.UTF_8));
+        saida.close();
+        assertThrows(IllegalStateException.class, () -> saida.registrar(TipoDeEvento.PROCESSO_SELECIONADO, 1, new Processo("A", 3, 0, 10, 2, 1)),
+                "Um evento registrado depois do close seria perdido.");
+    }
+
+    @Test
+    public void testSaidaFiltradaPorNivel() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SaidaDoEscalonador texto = new SaidaDeTexto(new PrintStream(bytes, true, StandardCharsets.UTF_8));
+        String saida = executar(new SaidaFiltrada(texto, NivelDeDetalhe.NORMAL), bytes, carga());
+
+        assertFalse(saida.contains("Tempo restante de CPU"), "Eventos por milissegundo só aparecem no nível DETALHADO.");
+        assertTrue(saida.contains("Executando processo: B"), "Eventos do nível NORMAL deveriam aparecer.");
+        assertTrue(saida.endsWith("Todos os processos foram finalizados." + System.lineSeparator()));
+    }
+
+    @Test
+    public void testSaidaSilenciosaNaoAlteraResultado() {
+        List<Processo> comTexto = carga();
+        executar(new SaidaDeTexto(new PrintStream(new ByteArrayOutputStream())), new ByteArrayOutputStream(), comTexto);
+        List<Processo> silencioso = carga();
+        new Escalonador(silencioso, SaidaSilenciosa.INSTANCIA).iniciarEscalonamento();
+
+        for (int i = 0; i < comTexto.size(); i++) {
+            assertEquals(comTexto.get(i).toString(), silencioso.get(i).toString(), "A saída não deveria influenciar a simulação.");
+        }
+    }
+}
@@ -0,0 +1,164 @@
+import org.junit.jupiter.api.Test;
+import t1.Escalonador;
+import t1.EstadoProcesso;
+import t1.Processo;
+import t1.SaidaDoEscalonador;
+import t1.TipoDeEvento;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SubmissaoConcorrenteTest {
+
+    // Conta as finalizações na thread do escalonador, guardando duplicatas
+    private static final class Finalizacoes implements SaidaDoEscalonador {
+        final Set<String> nomes = new HashSet<>();
+        final List<String> duplicados = new ArrayList<>();
+
+        @Override
+        public void registrar(TipoDeEvento tipo, int tempo, Processo p) {
+            if (tipo == TipoDeEvento.PROCESSO_FINALIZADO && !nomes.add(p.getNome())) {
+                duplicados.add(p.getNome());
+            }
+        }
+
+        @Override
+        public boolean aceita(TipoDeEvento tipo) {
+            return tipo == TipoDeEvento.PROCESSO_FINALIZADO;
+        }
+    }
+
+    @Test
+    public void testMuitosProdutoresSemPerdaNemDuplicacao() throws Exception {
+        int produtores = 8;
+        int porProdutor = 25_000;
+        Finalizacoes finalizacoes = new Finalizacoes();
+        List<Processo> iniciais = List.of(new Processo("inicial", 3, 2, 50, 2, 1));
+        Escalonador escalonador = new Escalonador(iniciais, finalizacoes);
+        escalonador.abrirSubmissoes();
+
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < produtores; t++) {
+            int produtor = t;
+            Thread thread = new Thread(() -> {
+                try {
+                    largada.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < porProdutor; i++) {
+                    escalonador.submit(new Processo(produtor + "-" + i, 2, i % 3, 1 + i % 4, 1 + i % 3, i));
+                    if (i % 1000 == 0) {
+                        Thread.yield();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        // O escalonador roda numa thread própria enquanto os produtores submetem
+        Throwable[] falha = new Throwable[1];
+        Thread laco = new Thread(() -> {
+            try {
+                escalonador.iniciarEscalonamento();
+            } catch (Throwable e) {
+                falha[0] = e;
+            }
+        });
+        laco.start();
+        largada.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        escalonador.fecharSubmissoes();
+        laco.join(60_000);
+
+        assertFalse(laco.isAlive(), "O escalonador não terminou depois de fechar as submissões.");
+        assertNull(falha[0]);
+        assertEquals(List.of(), finalizacoes.duplicados, "Processos finalizados mais de uma vez.");
+        assertEquals(produtores * porProdutor + 1, finalizacoes.nomes.size(), "Algum processo submetido se perdeu.");
+        assertEquals(produtores * porProdutor, escalonador.getRetirados());
+        assertEquals(EstadoProcesso.FINALIZADO, iniciais.get(0).getEstado());
+        assertTrue(escalonador.todosProcessosFinalizados());
+    }
+
+    @Test
+    public void testSubmissaoAntesDeIniciar() {
+        Escalonador escalonador = new Escalonador(new ArrayList<>(), new Finalizacoes());
+        Processo p = new Processo("A", 2, 0, 5, 2, 1);
+        escalonador.submit(p);
+        escalonador.iniciarEscalonamento();
+        assertEquals(EstadoProcesso.FINALIZADO, p.getEstado());
+        assertEquals(1, escalonador.getRetirados());
+        assertTrue(escalonador.getProcessos().isEmpty());
+    }
+
+    @Test
+    public void testSubmitDepoisDeFecharLancaExcecao() {
+        Finalizacoes finalizacoes = new Finalizacoes();
+        Escalonador escalonador = new Escalonador(new ArrayList<>(), finalizacoes);
+        escalonador.abrirSubmissoes();
+        escalonador.submit(new Processo("antes", 2, 0, 5, 2, 1));
+        escalonador.fecharSubmissoes();
+
+        assertThrows(IllegalStateException.class, () -> escalonador.submit(new Processo("depois", 2, 0, 5, 2, 2)));
+        assertThrows(IllegalStateException.class, escalonador::abrirSubmissoes, "As submissões não reabrem depois de fechadas");
+        escalonador.iniciarEscalonamento();
+        assertEquals(Set.of("antes"), finalizacoes.nomes, "O processo aceito antes de fechar ainda deve ser executado");
+        assertThrows(IllegalStateException.class, () -> escalonador.submit(new Processo("fim", 2, 0, 5, 2, 3)));
+    }
+
+    @Test
+    public void testFecharDuranteSubmissoesNaoPerdeOsAceitos() throws Exception {
+        for (int repeticao = 0; repeticao < 20; repeticao++) {
+            Finalizacoes finalizacoes = new Finalizacoes();
+            Escalonador escalonador = new Escalonador(new ArrayList<>(), finalizacoes);
+            escalonador.abrirSubmissoes();
+            int produtores = 4;
+            AtomicInteger aceitos = new AtomicInteger();
+            CountDownLatch largada = new CountDownLatch(1);
+            List<Thread> threads = new ArrayList<>();
+            for (int t = 0; t < produtores; t++) {
+                int produtor = t;
+                Thread thread = new Thread(() -> {
+                    try {
+                        largada.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int i = 0; ; i++) {
+                        try {
+                            escalonador.submit(new Processo(produtor + "-" + i, 1, 0, 1, 1, i));
+                        } catch (IllegalStateException fechado) {
+                            return;
+                        }
+                        aceitos.incrementAndGet();
+                    }
+                });
+                thread.start();
+                threads.add(thread);
+            }
+            Thread laco = new Thread(escalonador::iniciarEscalonamento);
+            laco.start();
+            largada.countDown();
+            Thread.sleep(5);
+            escalonador.fecharSubmissoes(); // Sem esperar os produtores: alguns estão no meio do submit
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            laco.join(60_000);
+
+            assertFalse(laco.isAlive(), "O escalonador não terminou depois de fechar as submissões.");
+            assertEquals(aceitos.get(), finalizacoes.nomes.size(), "Todo submit que não lançou exceção deve ser executado");
+            assertEquals(aceitos.get(), escalonador.getRetirados());
+        }
+    }
+}
@@ -0,0 +1,69 @@
+import org.junit.jupiter.api.Test;
+import t1.Escalonador;
+import t1.GradeDeParametros;
+import t1.ModeloDeCarga;
+import t1.PontoDaGrade;
+import t1.Processo;
+import t1.ResultadoDaSimulacao;
+import t1.SaidaSilenciosa;
+import t1.VarreduraDeParametros;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VarreduraDeParametrosTest {
+
+    private static List<Processo> base() {
+        List<Processo> processos = new ArrayList<>();
+        processos.add(new Processo("A", 3, 5, 10, 2, 1));
+        processos.add(new Processo("B", 4, 2, 12, 3, 2));
+        processos.add(new Processo("C", 2, 6, 8, 1, 3));
+        processos.add(new Processo("D", 5, 4, 15, 4, 4));
+        return processos;
+    }
+
+    @Test
+    public void testGradeGeraProdutoCartesiano() {
+        GradeDeParametros grade = GradeDeParametros.interpretar("prioridade=1..3;es=0,5");
+
+        assertEquals(6, grade.tamanho(), "3 prioridades x 2 tempos de E/S.");
+        PontoDaGrade ultimo = grade.ponto(5);
+        assertEquals(3, ultimo.getPrioridade());
+        assertEquals(5, ultimo.getTempoES());
+        assertEquals(PontoDaGrade.ORIGINAL, ultimo.getSurtoCpu(), "Dimensão ausente mantém o valor do modelo.");
+    }
+
+    @Test
+    public void testIntervalosNasPontasEInvalidos() {
+        GradeDeParametros grade = GradeDeParametros.interpretar("surto=2147483645..2147483647");
+        assertEquals(3, grade.tamanho(), "O intervalo até Integer.MAX_VALUE precisa terminar.");
+        assertEquals(Integer.MAX_VALUE, grade.ponto(2).getSurtoCpu());
+
+        assertThrows(IllegalArgumentException.class, () -> GradeDeParametros.interpretar("prioridade=5..3"), "Intervalo invertido.");
+        assertThrows(IllegalArgumentException.class, () -> GradeDeParametros.interpretar("es=0..2147483647"), "Valores demais numa dimensão.");
+    }
+
+    @Test
+    public void testParaleloIgualAoSerialEAoEscalonador() {
+        GradeDeParametros grade = new GradeDeParametros().prioridades(1, 2, 3, 4).surtos(1, 3, 5).temposES(0, 4, 9);
+        ModeloDeCarga modelo = ModeloDeCarga.aPartirDe(base());
+
+        List<ResultadoDaSimulacao> serial = new VarreduraDeParametros(grade, modelo).setParalelismo(1).executar();
+        List<ResultadoDaSimulacao> paralelo = new VarreduraDeParametros(grade, modelo).setParalelismo(4).executar();
+
+        assertEquals(grade.tamanho(), paralelo.size());
+        for (int i = 0; i < serial.size(); i++) {
+            assertEquals(serial.get(i).getTempoFinal(), paralelo.get(i).getTempoFinal(), "Tempo final divergente no ponto " + i);
+            assertEquals(serial.get(i).getTurnaroundMedio(), paralelo.get(i).getTurnaroundMedio(), "Turnaround divergente no ponto " + i);
+            assertEquals(4, paralelo.get(i).getFinalizados(), "Todos os processos deveriam terminar no ponto " + i);
+        }
+
+        // Cada ponto deve dar o mesmo resultado de uma simulação avulsa
+        List<Processo> avulsa = modelo.gerar(grade.ponto(7));
+        Escalonador escalonador = new Escalonador(avulsa, SaidaSilenciosa.INSTANCIA);
+        escalonador.iniciarEscalonamento();
+        assertEquals(escalonador.getTempo(), paralelo.get(7).getTempoFinal());
+    }
+}